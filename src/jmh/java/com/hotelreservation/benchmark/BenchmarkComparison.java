@@ -0,0 +1,247 @@
+package com.hotelreservation.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * BenchmarkComparison - compare a JMH JSON result file against a baseline run
+ *
+ * Prints one line per benchmark (and parameter set) with both scores and the change,
+ * and exits with status 1 when any benchmark got slower by more than the allowed
+ * percentage and by more than the two runs' combined error margins. Throughput modes
+ * regress when the score falls; time modes (avgt, sample, ss) when it rises.
+ * Benchmarks that exist in only one of the files are listed but never fail the run.
+ *
+ * Usage (mvn -P benchmarks verify -Djmh.baseline=... runs it after the benchmarks):
+ *   java -cp ... com.hotelreservation.benchmark.BenchmarkComparison BASELINE.json CURRENT.json [maxRegressionPercent]
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(Paths.get(args[0]));
+        Map<String, Score> current = read(Paths.get(args[1]));
+        List<String> regressions = compare(baseline, current, maxRegression);
+        if (!regressions.isEmpty()) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%:%n", regressions.size(), maxRegression);
+            regressions.forEach(name -> System.out.println("  " + name));
+            System.exit(1);
+        }
+        System.out.printf("No benchmark regressed by more than %.1f%%%n", maxRegression);
+    }
+
+    /**
+     * Print the comparison table and return the names of the benchmarks that regressed
+     */
+    static List<String> compare(Map<String, Score> baseline, Map<String, Score> current, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        Map<String, Score> all = new TreeMap<>(baseline);
+        current.forEach(all::putIfAbsent);
+        System.out.printf("%-70s %6s %14s %14s %-8s %8s%n", "Benchmark", "Mode", "Baseline", "Current", "Units", "Change");
+        for (String name : all.keySet()) {
+            Score before = baseline.get(name);
+            Score after = current.get(name);
+            if (before == null || after == null) {
+                Score only = before != null ? before : after;
+                System.out.printf("%-70s %6s %14s %14s %-8s %8s%n", name, only.mode,
+                        before != null ? format(before.score) : "-", after != null ? format(after.score) : "-",
+                        only.unit, before == null ? "new" : "removed");
+                continue;
+            }
+            double change = before.score == 0 ? 0 : (after.score - before.score) / before.score * 100;
+            double worse = before.higherIsBetter() ? -change : change;
+            boolean beyondNoise = Math.abs(after.score - before.score) > before.error + after.error;
+            boolean regressed = worse > maxRegression && beyondNoise;
+            System.out.printf("%-70s %6s %14s %14s %-8s %+7.1f%%%s%n", name, after.mode, format(before.score),
+                    format(after.score), after.unit, change, regressed ? "  REGRESSION" : "");
+            if (regressed) {
+                regressions.add(name);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Read a JMH result file (-rf json) into scores keyed by benchmark name and parameters
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Score> read(Path file) throws IOException {
+        Object parsed = new JsonReader(Files.readString(file, StandardCharsets.UTF_8)).value();
+        if (!(parsed instanceof List)) {
+            throw new IOException(file + " is not a JMH JSON result file");
+        }
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (Object entry : (List<Object>) parsed) {
+            Map<String, Object> result = (Map<String, Object>) entry;
+            String name = (String) result.get("benchmark");
+            Object params = result.get("params");
+            if (params instanceof Map<?, ?> values && !values.isEmpty()) {
+                name += " " + new TreeMap<>(values);
+            }
+            Map<String, Object> metric = (Map<String, Object>) result.get("primaryMetric");
+            scores.put(name, new Score((String) result.get("mode"), number(metric.get("score")),
+                    number(metric.get("scoreError")), (String) metric.get("scoreUnit")));
+        }
+        return scores;
+    }
+
+    private static double number(Object value) {
+        // JMH writes "NaN" as a string when a score has no error estimate
+        return value instanceof Double d && !d.isNaN() ? d : 0;
+    }
+
+    private static String format(double score) {
+        return String.format("%.3f", score);
+    }
+
+    /**
+     * Primary metric of one benchmark
+     */
+    record Score(String mode, double score, double error, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    /**
+     * Minimal JSON reader for JMH result files: objects become LinkedHashMaps, arrays
+     * ArrayLists, numbers Doubles
+     */
+    private static final class JsonReader {
+        private final String text;
+        private int pos;
+
+        private JsonReader(String text) {
+            this.text = text;
+        }
+
+        private Object value() {
+            skipWhitespace();
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return object();
+                case '[':
+                    return array();
+                case '"':
+                    return string();
+                default:
+                    if (text.startsWith("true", pos)) {
+                        pos += 4;
+                        return Boolean.TRUE;
+                    }
+                    if (text.startsWith("false", pos)) {
+                        pos += 5;
+                        return Boolean.FALSE;
+                    }
+                    if (text.startsWith("null", pos)) {
+                        pos += 4;
+                        return null;
+                    }
+                    return number();
+            }
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (text.charAt(pos) == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (text.charAt(pos++) == '}') {
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (text.charAt(pos) == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (text.charAt(pos++) == ']') {
+                    return list;
+                }
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escaped);
+                }
+            }
+        }
+
+        private Double number() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Unexpected character at " + pos + ": " + text.charAt(pos));
+            }
+            return Double.valueOf(text.substring(start, pos));
+        }
+
+        private void expect(char c) {
+            if (text.charAt(pos) != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + pos);
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hotelreservation.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationBenchmark - Reservation.getNumberOfNights
+ * Stays cycle through 1-14 nights across month and year ends, through both subclasses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class ReservationBenchmark {
+
+    private Reservation[] reservations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        reservations = new Reservation[256];
+        LocalDate checkIn = LocalDate.of(2025, 12, 20);
+        for (int i = 0; i < reservations.length; i++) {
+            LocalDate from = checkIn.plusDays(i * 3L);
+            LocalDate to = from.plusDays(1 + i % 14);
+            reservations[i] = i % 3 == 0
+                    ? new WalkInReservation("WLK_" + i, 1, 1, from, to, 100.00)
+                    : new OnlineReservation("ONL_" + i, 1, 1, from, to, 100.00);
+        }
+    }
+
+    @Benchmark
+    public int numberOfNights() {
+        Reservation reservation = reservations[next];
+        next = (next + 1) & (reservations.length - 1);
+        return reservation.getNumberOfNights();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hotelreservation.filter;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthFilterBenchmark - AuthFilter.doFilter path matching for a logged-in ADMIN
+ *
+ * Paths cover a public page, a static resource, an allowed admin page and a front-desk
+ * page the admin is refused (forwarded to accessDenied.jsp). The servlet objects are
+ * java.lang.reflect.Proxy stubs rather than Mockito mocks: their cost is small and the
+ * same for every path, where mock bookkeeping would swamp the filter itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class AuthFilterBenchmark {
+    private static final String CONTEXT_PATH = "/projectweb";
+
+    @Param({"/login", "/css/style.css", "/admin/dashboard", "/frontdesk/checkin"})
+    private String path;
+
+    private AuthFilter filter;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain chain;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        filter = new AuthFilter();
+        String requestURI = CONTEXT_PATH + path;
+        HttpSession session = stub(HttpSession.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getAttribute" -> switch ((String) args[0]) {
+                case "userId" -> 1;
+                case "role" -> "ADMIN";
+                case "username" -> "admin";
+                default -> null;
+            };
+            default -> null;
+        });
+        RequestDispatcher dispatcher = stub(RequestDispatcher.class, (proxy, method, args) -> null);
+        request = stub(HttpServletRequest.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getDispatcherType" -> DispatcherType.REQUEST;
+            case "getRequestURI" -> requestURI;
+            case "getContextPath" -> CONTEXT_PATH;
+            case "getMethod" -> "GET";
+            case "getSession" -> session;
+            case "getRequestDispatcher" -> dispatcher;
+            default -> null;
+        });
+        response = stub(HttpServletResponse.class, (proxy, method, args) -> null);
+        chain = (req, res) -> this.blackhole.consume(req);
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(AuthFilterBenchmark.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
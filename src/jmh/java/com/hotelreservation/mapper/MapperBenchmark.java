@@ -0,0 +1,84 @@
+package com.hotelreservation.mapper;
+
+import com.hotelreservation.dto.GuestDTO;
+import com.hotelreservation.dto.RoomDTO;
+import com.hotelreservation.dto.UserDTO;
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapperBenchmark - RoomMapper, GuestMapper and UserMapper conversions
+ *
+ * UserMapper.toEntity with a password is left out on purpose: it is a BCrypt hash
+ * (cost 12), slow by design, and would only measure jBCrypt. The user benchmarks
+ * cover the conversions done on every request instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private Room room;
+    private RoomDTO roomDTO;
+    private Guest guest;
+    private GuestDTO guestDTO;
+    private User user;
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+        room = new Room(12, "1204", "DOUBLE", 175.00, "AVAILABLE", true);
+        roomDTO = RoomMapper.toDTO(room);
+        guest = new Guest(42, "Nimal Perera", "901234567V", "+94771234567", "nimal@example.com", "12 Galle Road, Colombo");
+        guestDTO = GuestMapper.toDTO(guest);
+        user = new User(7, "receptionist", "$2a$12$abcdefghijklmnopqrstuuv0123456789012345678901234567", "RECEPTIONIST");
+        userDTO = new UserDTO("receptionist", null, "ADMIN");
+    }
+
+    @Benchmark
+    public RoomDTO roomToDTO() {
+        return RoomMapper.toDTO(room);
+    }
+
+    @Benchmark
+    public Room roomToEntity() {
+        return RoomMapper.toEntity(roomDTO);
+    }
+
+    @Benchmark
+    public GuestDTO guestToDTO() {
+        return GuestMapper.toDTO(guest);
+    }
+
+    @Benchmark
+    public Guest guestToEntity() {
+        return GuestMapper.toEntity(guestDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public User userUpdateEntity() {
+        UserMapper.updateEntity(user, userDTO);
+        return user;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hotelreservation.service;
+
+import com.hotelreservation.cache.SeasonalPricingCache;
+import com.hotelreservation.entity.SeasonalPricing;
+import com.hotelreservation.repository.SeasonalPricingRepository;
+import com.hotelreservation.service.impl.SeasonalPricingServiceImpl;
+import com.hotelreservation.strategy.IPricingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SeasonalPricingBenchmark - SeasonalPricingServiceImpl.resolveStrategy over the cached season table
+ *
+ * The repository is a stub returning either the three seed.sql seasons or one season
+ * per week of two years (to show how the lookup scales). Check-in dates cycle through
+ * two years so every segment of the table is hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class SeasonalPricingBenchmark {
+
+    @Param({"seed", "weekly"})
+    private String seasons;
+
+    private SeasonalPricingService service;
+    private LocalDate[] dates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SeasonalPricingRepository repository = mock(SeasonalPricingRepository.class);
+        List<SeasonalPricing> active = "seed".equals(seasons) ? seedSeasons() : weeklySeasons();
+        when(repository.findActive()).thenReturn(active);
+        when(repository.findAll()).thenReturn(active);
+
+        SeasonalPricingCache cache = SeasonalPricingCache.getInstance();
+        cache.reload(repository);
+        service = new SeasonalPricingServiceImpl(repository, cache);
+
+        dates = new LocalDate[730];
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = start.plusDays(i);
+        }
+    }
+
+    @Benchmark
+    public IPricingStrategy resolveStrategy() {
+        LocalDate date = dates[next];
+        next = next + 1 == dates.length ? 0 : next + 1;
+        return service.resolveStrategy(date);
+    }
+
+    private static List<SeasonalPricing> seedSeasons() {
+        List<SeasonalPricing> seasons = new ArrayList<>();
+        for (int year = 2024; year <= 2026; year++) {
+            seasons.add(new SeasonalPricing(seasons.size() + 1, "Christmas " + year, LocalDate.of(year, 12, 15),
+                    LocalDate.of(year + 1, 1, 5), 1.5, true));
+            seasons.add(new SeasonalPricing(seasons.size() + 1, "Summer " + year, LocalDate.of(year, 7, 1),
+                    LocalDate.of(year, 8, 31), 1.3, true));
+            seasons.add(new SeasonalPricing(seasons.size() + 1, "Off-season " + year, LocalDate.of(year, 2, 1),
+                    LocalDate.of(year, 3, 31), 0.85, true));
+        }
+        return seasons;
+    }
+
+    private static List<SeasonalPricing> weeklySeasons() {
+        List<SeasonalPricing> seasons = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int week = 0; week < 104; week++) {
+            LocalDate from = start.plusWeeks(week);
+            seasons.add(new SeasonalPricing(week + 1, "Week " + week, from, from.plusDays(5),
+                    1.0 + (week % 10) / 10.0, true));
+        }
+        return seasons;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hotelreservation.strategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PricingStrategyBenchmark - IPricingStrategy.calculateTotal for both strategies
+ * Calls go through the interface, as ReservationServiceImpl makes them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Thread)
+public class PricingStrategyBenchmark {
+
+    @Param({"1", "7", "30"})
+    private int nights;
+
+    private double baseRate;
+    private IPricingStrategy standard;
+    private IPricingStrategy seasonal;
+
+    @Setup
+    public void setUp() {
+        baseRate = 175.00;
+        standard = new StandardRateStrategy();
+        seasonal = new SeasonalRateStrategy(1.5);
+    }
+
+    @Benchmark
+    public double standardRate() {
+        return standard.calculateTotal(nights, baseRate);
+    }
+
+    @Benchmark
+    public double seasonalRate() {
+        return seasonal.calculateTotal(nights, baseRate);
+    }
+}
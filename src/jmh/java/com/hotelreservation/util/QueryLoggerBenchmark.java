@@ -0,0 +1,70 @@
+package com.hotelreservation.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueryLoggerBenchmark - QueryLogger.log alone and under contention
+ *
+ * Every DAO call logs through the shared QueryLogger, so its cost grows with the number
+ * of request threads. "contended" runs log on 8 threads at once; "readWrite" runs 3
+ * logging threads next to one thread reading the entries, as /debug/queries does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class QueryLoggerBenchmark {
+    private static final String SQL = "SELECT id, number, type, base_price, status, is_clean FROM rooms WHERE id = ?";
+
+    private QueryLogger queryLogger;
+    private Object[] params;
+
+    @Setup
+    public void setUp() {
+        queryLogger = new QueryLogger(512, true);
+        params = new Object[] {12};
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void uncontended() {
+        queryLogger.log(SQL, params, 1, 2, null, "RoomDAOImpl");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void contended() {
+        queryLogger.log(SQL, params, 1, 2, null, "RoomDAOImpl");
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public void readWriteLog() {
+        queryLogger.log(SQL, params, 1, 2, null, "RoomDAOImpl");
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public List<QueryLogger.QueryEntry> readWriteEntries() {
+        return queryLogger.getEntries();
+    }
+}
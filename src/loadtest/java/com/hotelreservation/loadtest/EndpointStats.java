@@ -0,0 +1,156 @@
+package com.hotelreservation.loadtest;
+
+import com.hotelreservation.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EndpointStats - latencies and outcomes of one endpoint during the measured window
+ *
+ * Every completed request goes into the latency histogram. A request is an error when it
+ * fails, answers with a 5xx status or renders the error page; it is rejected when the
+ * application answers normally but turns the action down (no room free, reservation
+ * already checked in), which is expected under load and counted apart from errors.
+ */
+class EndpointStats {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void recordSuccess(long nanos) {
+        requests.increment();
+        latency.record(nanos);
+    }
+
+    void recordRejected(long nanos) {
+        recordSuccess(nanos);
+        rejected.increment();
+    }
+
+    /**
+     * @param nanos time until the response, or -1 when no response arrived
+     */
+    void recordError(long nanos) {
+        requests.increment();
+        errors.increment();
+        if (nanos >= 0) {
+            latency.record(nanos);
+        }
+    }
+
+    long getRequests() {
+        return requests.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Print one line per endpoint plus a total line
+     */
+    static void print(Collection<EndpointStats> stats, double seconds, PrintStream out) {
+        String header = "%-34s %9s %7s %8s %9s %9s %9s %9s %9s %9s%n";
+        String row = "%-34s %9d %7d %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n";
+        out.printf(Locale.ROOT, header, "Endpoint", "Requests", "Errors", "Rejected", "Req/s",
+                "Mean ms", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+        long requests = 0;
+        long errors = 0;
+        long rejected = 0;
+        for (EndpointStats s : stats) {
+            LatencyHistogram h = s.latency;
+            out.printf(Locale.ROOT, row, s.name, s.getRequests(), s.getErrors(), s.getRejected(),
+                    s.getRequests() / seconds, h.getMeanNanos() / 1e6, millis(h.getPercentileNanos(50)),
+                    millis(h.getPercentileNanos(90)), millis(h.getPercentileNanos(99)), millis(h.getMaxNanos()));
+            requests += s.getRequests();
+            errors += s.getErrors();
+            rejected += s.getRejected();
+        }
+        out.printf(Locale.ROOT, "%-34s %9d %7d %8d %9.1f%n", "TOTAL", requests, errors, rejected, requests / seconds);
+    }
+
+    /**
+     * Print throughput and latency of each endpoint in the platform and virtual thread runs
+     * side by side, with the change in throughput
+     */
+    static void printComparison(Collection<EndpointStats> platform, Collection<EndpointStats> virtual,
+                                double seconds, PrintStream out) {
+        Map<String, EndpointStats> byName = new TreeMap<>();
+        virtual.forEach(s -> byName.put(s.name, s));
+        String header = "%-34s %11s %11s %8s %11s %11s %11s %11s%n";
+        String row = "%-34s %11.1f %11.1f %+7.1f%% %11.1f %11.1f %11.1f %11.1f%n";
+        out.println("Platform vs virtual threads:");
+        out.printf(Locale.ROOT, header, "Endpoint", "Plat req/s", "Virt req/s", "Change",
+                "Plat p50 ms", "Virt p50 ms", "Plat p99 ms", "Virt p99 ms");
+        long platformRequests = 0;
+        long virtualRequests = 0;
+        for (EndpointStats p : platform) {
+            EndpointStats v = byName.get(p.name);
+            if (v == null) {
+                continue;
+            }
+            out.printf(Locale.ROOT, row, p.name, p.getRequests() / seconds, v.getRequests() / seconds,
+                    change(p.getRequests(), v.getRequests()),
+                    millis(p.latency.getPercentileNanos(50)), millis(v.latency.getPercentileNanos(50)),
+                    millis(p.latency.getPercentileNanos(99)), millis(v.latency.getPercentileNanos(99)));
+            platformRequests += p.getRequests();
+            virtualRequests += v.getRequests();
+        }
+        out.printf(Locale.ROOT, "%-34s %11.1f %11.1f %+7.1f%%%n", "TOTAL",
+                platformRequests / seconds, virtualRequests / seconds, change(platformRequests, virtualRequests));
+    }
+
+    /**
+     * Write the same figures as CSV, one row per connector mode and endpoint
+     */
+    static void writeCsv(Map<String, Collection<EndpointStats>> byConnector, double seconds, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("connector,endpoint,requests,errors,rejected,throughput_rps,mean_ms,p50_ms,p90_ms,p99_ms,max_ms\n");
+            for (Map.Entry<String, Collection<EndpointStats>> run : byConnector.entrySet()) {
+                for (EndpointStats s : run.getValue()) {
+                    LatencyHistogram h = s.latency;
+                    writer.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                            run.getKey(), s.name, s.getRequests(), s.getErrors(), s.getRejected(), s.getRequests() / seconds,
+                            h.getMeanNanos() / 1e6, millis(h.getPercentileNanos(50)), millis(h.getPercentileNanos(90)),
+                            millis(h.getPercentileNanos(99)), millis(h.getMaxNanos())));
+                }
+            }
+        }
+    }
+
+    private static double change(long before, long after) {
+        return before == 0 ? 0 : (after - before) * 100.0 / before;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
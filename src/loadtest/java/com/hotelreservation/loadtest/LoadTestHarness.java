@@ -0,0 +1,311 @@
+package com.hotelreservation.loadtest;
+
+import com.hotelreservation.persistence.DatabaseConnection;
+import com.hotelreservation.repository.impl.GuestRepositoryImpl;
+import com.hotelreservation.repository.impl.ReservationDAOImpl;
+import com.hotelreservation.repository.impl.RoomDAOImpl;
+import com.hotelreservation.util.GenerateSeedData;
+import com.hotelreservation.util.SeedDataGenerator;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LoadTestHarness - end-to-end HTTP load test of the webapp
+ *
+ * Boots src/main/webapp (web.xml with its servlets and AuthFilter, JSPs compiled by
+ * Jasper) in embedded Tomcat against an in-memory H2 database in MySQL mode. The
+ * database gets schema.sql, seed.sql and a SeedDataGenerator dataset (one year of
+ * history and a month of bookings ahead), plus a login account for every guest user.
+ * Virtual users then run on virtual threads, 7 in 10 as guests booking rooms, 2 in 10
+ * at the front desk and 1 in 10 as admins (see Scenario), and after the warm-up the
+ * harness records throughput and latency percentiles per endpoint.
+ *
+ * The connector serves requests either on its platform thread pool (maxThreads) or, as
+ * with useVirtualThreads="true" on a server.xml Connector, on a virtual thread per
+ * request. With loadtest.connector=both the run is repeated in each mode on a freshly
+ * seeded database and the two are compared side by side; use more users than
+ * loadtest.tomcat.threads and loadtest.mix=booking to compare them on the booking flow.
+ *
+ * Settings are system properties (mvn -P loadtest verify -Dloadtest.users=...):
+ *   loadtest.users              virtual users (50)
+ *   loadtest.duration.seconds   measured time (60)
+ *   loadtest.warmup.seconds     time before measuring: logins, JSP compilation, JIT (15)
+ *   loadtest.rooms / guests     generated dataset size (500 / 5000)
+ *   loadtest.think.ms           mean pause between a user's requests (100)
+ *   loadtest.tomcat.threads     connector maxThreads in platform mode (200)
+ *   loadtest.connector          platform, virtual or both (platform)
+ *   loadtest.mix                mixed (guests, front desk, admins) or booking (guests only) (mixed)
+ *   loadtest.seed               dataset seed (42)
+ *   loadtest.webapp             webapp directory (src/main/webapp)
+ *   loadtest.report             CSV report file (target/loadtest-report.csv)
+ *
+ * H2 stands in for MySQL; absolute figures are for comparing runs on one machine, not
+ * for sizing production.
+ */
+public class LoadTestHarness {
+    static final String GUEST_PASSWORD = "guest123";
+    private static final String CONTEXT_PATH = "/projectweb";
+    private static final String DB_URL = "jdbc:h2:mem:hotel_reservation;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * The measured part of the run, in System.nanoTime() terms
+     */
+    record Window(long opensAt, long closesAt) {
+        boolean isOpen() {
+            long now = System.nanoTime();
+            return now >= opensAt && now < closesAt;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        int durationSeconds = Integer.getInteger("loadtest.duration.seconds", 60);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup.seconds", 15);
+        int rooms = Integer.getInteger("loadtest.rooms", 500);
+        int guests = Integer.getInteger("loadtest.guests", 5000);
+        int thinkMillis = Integer.getInteger("loadtest.think.ms", 100);
+        int tomcatThreads = Integer.getInteger("loadtest.tomcat.threads", 200);
+        long seed = Long.getLong("loadtest.seed", 42);
+        Path webapp = Paths.get(System.getProperty("loadtest.webapp", "src/main/webapp"));
+        Path report = Paths.get(System.getProperty("loadtest.report", "target/loadtest-report.csv"));
+        String connectorMode = System.getProperty("loadtest.connector", "platform");
+        boolean bookingOnly = "booking".equals(System.getProperty("loadtest.mix", "mixed"));
+
+        List<Boolean> modes = switch (connectorMode) {
+            case "platform" -> List.of(false);
+            case "virtual" -> List.of(true);
+            case "both" -> List.of(false, true);
+            default -> {
+                System.err.println("loadtest.connector must be platform, virtual or both, not " + connectorMode);
+                System.exit(2);
+                yield List.of();
+            }
+        };
+        List<Scenario> roles = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int slot = i % 10;
+            roles.add(bookingOnly || slot < 7 ? Scenario.GUEST_BOOKING : slot < 9 ? Scenario.FRONT_DESK : Scenario.ADMIN);
+        }
+        int guestUsers = (int) roles.stream().filter(role -> role == Scenario.GUEST_BOOKING).count();
+        if (guestUsers > guests) {
+            System.err.println("loadtest.guests must be at least the number of guest users (" + guestUsers + ")");
+            System.exit(2);
+        }
+
+        // DatabaseConnection takes db.* system properties over application.properties
+        System.setProperty("db.url", DB_URL);
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.replica.url", "");
+
+        LocalDate today = LocalDate.now();
+        SeedDataGenerator generator = new SeedDataGenerator(seed, rooms, guests, today.minusYears(1),
+                today.plusMonths(1), today, 0.12);
+        Map<String, Collection<EndpointStats>> results = new LinkedHashMap<>();
+        for (boolean virtualThreads : modes) {
+            String mode = virtualThreads ? "virtual" : "platform";
+            // The webapp's listener closed the shared pool when the previous mode's Tomcat stopped
+            DatabaseConnection.reopen();
+            createDatabase();
+            GenerateSeedData.writeDatabase(generator, new RoomDAOImpl(), new GuestRepositoryImpl(), new ReservationDAOImpl(),
+                    1000, Runtime.getRuntime().availableProcessors(), System.out);
+            createGuestLogins(generator, guestUsers);
+            occupyRoomsWithStaysInProgress();
+
+            Tomcat tomcat = startTomcat(webapp, tomcatThreads, virtualThreads);
+            try {
+                String baseUrl = "http://localhost:" + tomcat.getConnector().getLocalPort() + CONTEXT_PATH;
+                System.out.printf("Webapp started at %s on %s; %d users (%d guests), %d s warm-up, %d s measured%n",
+                        baseUrl, virtualThreads ? "virtual threads" : tomcatThreads + " platform threads",
+                        users, guestUsers, warmupSeconds, durationSeconds);
+                Map<String, EndpointStats> stats = run(baseUrl, roles, new Scenario.Context(generator),
+                        warmupSeconds, durationSeconds, thinkMillis);
+                EndpointStats.print(stats.values(), durationSeconds, System.out);
+                results.put(mode, stats.values());
+            } finally {
+                tomcat.stop();
+                tomcat.destroy();
+                DatabaseConnection.getInstance().close();
+            }
+        }
+        if (results.size() > 1) {
+            EndpointStats.printComparison(results.get("platform"), results.get("virtual"), durationSeconds, System.out);
+        }
+        EndpointStats.writeCsv(results, durationSeconds, report);
+        System.out.println("Report written to " + report.toAbsolutePath());
+        // The webapp leaves scheduler threads behind (reporting counters), so end the JVM here
+        System.exit(0);
+    }
+
+    /**
+     * Run every virtual user on its own virtual thread until the measured window closes
+     */
+    private static Map<String, EndpointStats> run(String baseUrl, List<Scenario> roles, Scenario.Context context,
+                                                  int warmupSeconds, int durationSeconds, int thinkMillis)
+            throws InterruptedException {
+        ConcurrentMap<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+        long opensAt = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        Window window = new Window(opensAt, opensAt + Duration.ofSeconds(durationSeconds).toNanos());
+        AtomicInteger failedLogins = new AtomicInteger();
+        AtomicInteger aborted = new AtomicInteger();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .followRedirects(HttpClient.Redirect.NEVER)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(clients)
+                     .build()) {
+            ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+            int guestNumber = 0;
+            for (Scenario role : roles) {
+                int number = role == Scenario.GUEST_BOOKING ? guestNumber++ : 0;
+                users.submit(() -> {
+                    VirtualUser user = new VirtualUser(client, baseUrl, stats, window, thinkMillis);
+                    try {
+                        if (!role.login(user, number)) {
+                            failedLogins.incrementAndGet();
+                            return null;
+                        }
+                        while (System.nanoTime() < window.closesAt()) {
+                            role.iterate(user, context);
+                            user.think();
+                        }
+                    } catch (RuntimeException e) {
+                        if (aborted.getAndIncrement() == 0) {
+                            e.printStackTrace();
+                        }
+                    }
+                    return null;
+                });
+            }
+            users.shutdown();
+            while (!users.awaitTermination(10, TimeUnit.SECONDS)) {
+                long total = stats.values().stream().mapToLong(EndpointStats::getRequests).sum();
+                System.out.printf("  %s, %,d requests measured%n", window.isOpen() ? "measuring" : "warming up", total);
+            }
+        }
+        if (failedLogins.get() > 0 || aborted.get() > 0) {
+            System.out.printf("%d users could not log in, %d stopped on an exception%n", failedLogins.get(), aborted.get());
+        }
+        return new TreeMap<>(stats);
+    }
+
+    /**
+     * Create the tables and load seed.sql, dropping what an earlier run left behind
+     * The final schema.sql statement (backfilling night claims of older reservations) uses
+     * MySQL's DATE_ADD, which H2 lacks; on an empty database it has nothing to do anyway.
+     */
+    private static void createDatabase() throws IOException, SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement statement = conn.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String script : new String[] {"database/schema.sql", "database/seed.sql"}) {
+                for (String sql : statements(script)) {
+                    if (!sql.contains("DATE_ADD(")) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<String> statements(String resource) throws IOException {
+        String text;
+        try (InputStream in = LoadTestHarness.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException(resource + " not found on the classpath");
+            }
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : text.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                withoutComments.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String sql : withoutComments.toString().split(";")) {
+            if (!sql.isBlank()) {
+                statements.add(sql.trim());
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Give the first guestUsers generated guests a GUEST login, loadguest0, loadguest1, ...
+     * All share one password hash, so setup does not pay for thousands of BCrypt rounds.
+     */
+    private static void createGuestLogins(SeedDataGenerator generator, int guestUsers) throws SQLException {
+        String hash = BCrypt.hashpw(GUEST_PASSWORD, BCrypt.gensalt(12));
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement user = conn.prepareStatement(
+                     "INSERT INTO users (username, password_hash, role) VALUES (?, ?, 'GUEST')");
+             PreparedStatement link = conn.prepareStatement(
+                     "UPDATE guests SET user_id = (SELECT id FROM users WHERE username = ?) WHERE nic = ?")) {
+            for (int i = 0; i < guestUsers; i++) {
+                user.setString(1, "loadguest" + i);
+                user.setString(2, hash);
+                user.addBatch();
+                link.setString(1, "loadguest" + i);
+                link.setString(2, generator.guest(i).getNic());
+                link.addBatch();
+            }
+            user.executeBatch();
+            link.executeBatch();
+        }
+    }
+
+    /**
+     * The generator leaves every room AVAILABLE; mark the rooms of stays in progress
+     * OCCUPIED, as check-in would have, so walk-ins are not offered rooms that are taken
+     */
+    private static void occupyRoomsWithStaysInProgress() throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement statement = conn.createStatement()) {
+            statement.executeUpdate("UPDATE rooms SET status = 'OCCUPIED' WHERE id IN "
+                    + "(SELECT room_id FROM reservations WHERE status = 'CHECKED_IN')");
+        }
+    }
+
+    private static Tomcat startTomcat(Path webapp, int maxThreads, boolean virtualThreads) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("loadtest-tomcat").toString());
+        tomcat.setPort(0);
+        Connector connector = tomcat.getConnector();
+        connector.setProperty("maxThreads", String.valueOf(maxThreads));
+        connector.setProperty("useVirtualThreads", String.valueOf(virtualThreads));
+        tomcat.addWebapp(CONTEXT_PATH, webapp.toAbsolutePath().toString());
+        tomcat.start();
+        return tomcat;
+    }
+}
@@ -0,0 +1,210 @@
+package com.hotelreservation.loadtest;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.util.SeedDataGenerator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.hotelreservation.loadtest.VirtualUser.Page;
+import static com.hotelreservation.loadtest.VirtualUser.redirectTo;
+import static com.hotelreservation.loadtest.VirtualUser.title;
+
+/**
+ * Scenario - the scripted journey a virtual user repeats after logging in
+ *
+ * A booked room stays RESERVED until the front desk checks the stay in and out, and a
+ * checked-out room is dirty until housekeeping marks it clean. The scenarios close that
+ * loop so the room supply does not run dry: guests hand their bookings to the front desk
+ * as arrivals, and the admin journey cleans the rooms the front desk checked out.
+ */
+enum Scenario {
+
+    /** Guest: search, open the payment page, book, list bookings; some cancel again */
+    GUEST_BOOKING("loadguest", LoadTestHarness.GUEST_PASSWORD, "/reservation/search") {
+        @Override
+        void iterate(VirtualUser user, Context context) throws InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (user.get("GET /reservation/search", "/reservation/search", title("Search Rooms")) == null) {
+                return;
+            }
+            user.think();
+            LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(1, 91));
+            String checkOut = checkIn.plusDays(random.nextInt(1, 5)).toString();
+            Page results = user.post("POST /reservation/search", "/reservation/search",
+                    title("Available Rooms").and(page -> page.body().contains("id=\"row-")),
+                    "checkIn", checkIn.toString(), "checkOut", checkOut);
+            if (results == null) {
+                return;
+            }
+            user.think();
+            String roomId = pick(ids(SEARCH_ROW, results.body()));
+            Guest guest = context.generator().guest(random.nextInt(context.generator().getGuestCount()));
+            String[] booking = {"roomId", roomId, "checkIn", checkIn.toString(), "checkOut", checkOut,
+                    "name", guest.getName(), "nic", guest.getNic(), "phone", guest.getPhone(), "email", guest.getEmail()};
+            if (user.post("POST /reservation/pay", "/reservation/pay", title("Payment"), booking) == null) {
+                return;
+            }
+            user.think();
+            Page confirmation = user.post("POST /reservation/create", "/reservation/create",
+                    title("Reservation Confirmed"), booking);
+            if (confirmation == null) {
+                return;
+            }
+            Matcher id = ONLINE_ID.matcher(confirmation.body());
+            user.think();
+            user.get("GET /reservation/list", "/reservation/list", title("My Reservations"));
+            if (!id.find()) {
+                return;
+            }
+            if (random.nextInt(10) == 0) {
+                user.think();
+                user.post("POST /reservation/cancel", "/reservation/cancel", title("Cancellation Confirmed"),
+                        "reservationId", id.group(1));
+            } else {
+                context.arrivals().add(id.group(1));
+            }
+        }
+    },
+
+    /** Receptionist: check in and out an arrival, or a walk-in when no arrival is waiting */
+    FRONT_DESK("receptionist", "recep123", "/frontdesk/dashboard") {
+        @Override
+        void iterate(VirtualUser user, Context context) throws InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (user.get("GET /frontdesk/dashboard", "/frontdesk/dashboard", title("Receptionist Dashboard")) == null) {
+                return;
+            }
+            user.think();
+            String reservationId = context.arrivals().poll();
+            if (reservationId == null) {
+                Page form = user.get("GET /frontdesk/walkin", "/frontdesk/walkin",
+                        title("Walk-In Reservation").and(page -> page.body().contains("id=\"room-row-")));
+                if (form == null) {
+                    return;
+                }
+                user.think();
+                Guest guest = context.generator().guest(random.nextInt(context.generator().getGuestCount()));
+                LocalDate today = LocalDate.now();
+                Page confirmation = user.post("POST /frontdesk/walkin", "/frontdesk/walkin", title("Walk-In Confirmation"),
+                        "name", guest.getName(), "nic", guest.getNic(), "phone", guest.getPhone(),
+                        "roomId", pick(ids(WALK_IN_ROW, form.body())),
+                        "checkIn", today.toString(), "checkOut", today.plusDays(random.nextInt(1, 4)).toString());
+                Matcher id = confirmation == null ? null : WALK_IN_ID.matcher(confirmation.body());
+                if (id == null || !id.find()) {
+                    return;
+                }
+                reservationId = id.group(1);
+                user.think();
+            }
+            user.get("GET /frontdesk/checkin", "/frontdesk/checkin", title("Check-In Guest"));
+            user.think();
+            if (user.post("POST /frontdesk/checkin", "/frontdesk/checkin", title("Check-In Confirmation"),
+                    "reservationId", reservationId) == null) {
+                return;
+            }
+            user.think();
+            user.get("GET /frontdesk/checkout", "/frontdesk/checkout", title("Check-Out Guest"));
+            user.think();
+            user.post("POST /frontdesk/checkout", "/frontdesk/checkout", title("Bill / Invoice"),
+                    "reservationId", reservationId);
+        }
+    },
+
+    /** Admin: dashboard, one report, the reservation list and housekeeping of dirty rooms */
+    ADMIN("admin", "admin123", "/admin/dashboard") {
+        @Override
+        void iterate(VirtualUser user, Context context) throws InterruptedException {
+            if (user.get("GET /admin/dashboard", "/admin/dashboard", title("Admin Dashboard")) == null) {
+                return;
+            }
+            user.think();
+            String[][] reports = {
+                {"revenue", "Revenue Report"}, {"occupancy", "Occupancy Report"},
+                {"comprehensive", "Comprehensive Report"}, {"cancellation", "Cancellation Report"}
+            };
+            String[] report = reports[ThreadLocalRandom.current().nextInt(reports.length)];
+            user.post("POST /admin/reports/" + report[0], "/admin/reports/" + report[0], title(report[1]));
+            user.think();
+            user.get("GET /admin/reservations", "/admin/reservations", title("Reservations"));
+            user.think();
+            Page maintenance = user.get("GET /admin/maintenance", "/admin/maintenance", title("Room Maintenance"));
+            if (maintenance == null) {
+                return;
+            }
+            List<String> dirty = ids(DIRTY_ROOM, maintenance.body());
+            if (dirty.isEmpty()) {
+                return;
+            }
+            user.think();
+            List<String> form = new ArrayList<>(List.of("action", "markClean"));
+            for (String roomId : dirty.subList(0, Math.min(dirty.size(), 50))) {
+                form.add("roomId");
+                form.add(roomId);
+            }
+            user.post("POST /admin/maintenance", "/admin/maintenance",
+                    title("Room Maintenance").and(page -> page.body().contains("marked as clean")),
+                    form.toArray(new String[0]));
+        }
+    };
+
+    private static final Pattern SEARCH_ROW = Pattern.compile("<tr id=\"row-(\\d+)\"");
+    private static final Pattern WALK_IN_ROW = Pattern.compile("<tr id=\"room-row-(\\d+)\"");
+    private static final Pattern ONLINE_ID = Pattern.compile("<span class=\"value\">(ONL_[A-Za-z0-9]+)</span>");
+    private static final Pattern WALK_IN_ID = Pattern.compile("<td>(WLK_[A-Za-z0-9]+)</td>");
+    private static final Pattern DIRTY_ROOM = Pattern.compile(
+            "name=\"roomId\" value=\"(\\d+)\">\\s*<input type=\"hidden\" name=\"action\" value=\"markClean\">");
+
+    private final String username;
+    private final String password;
+    private final String landingPath;
+
+    Scenario(String username, String password, String landingPath) {
+        this.username = username;
+        this.password = password;
+        this.landingPath = landingPath;
+    }
+
+    /**
+     * Run the journey once
+     */
+    abstract void iterate(VirtualUser user, Context context) throws InterruptedException;
+
+    /**
+     * Log the user in; guests each have their own account (loadguest0, loadguest1, ...)
+     * @return true when the login redirected to the role's landing page
+     */
+    boolean login(VirtualUser user, int guestNumber) throws InterruptedException {
+        String name = this == GUEST_BOOKING ? username + guestNumber : username;
+        return user.post("POST /login", "/login", redirectTo(landingPath), "username", name, "password", password) != null;
+    }
+
+    /**
+     * State the virtual users share: the generated dataset and the online bookings waiting
+     * for the front desk
+     */
+    record Context(SeedDataGenerator generator, Queue<String> arrivals) {
+        Context(SeedDataGenerator generator) {
+            this(generator, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    private static List<String> ids(Pattern pattern, String body) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = pattern.matcher(body);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static String pick(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.hotelreservation.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * VirtualUser - one simulated browser: its own session cookie over the shared HttpClient
+ *
+ * Requests are timed from send to the full body and recorded under an endpoint name
+ * while the measurement window is open. Redirects are not followed, so a redirect is
+ * one request, as a browser would see it.
+ */
+class VirtualUser {
+    private static final String ERROR_PAGE_TITLE = "<title>Error - Ocean View Resort</title>";
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ConcurrentMap<String, EndpointStats> stats;
+    private final LoadTestHarness.Window window;
+    private final int thinkMillis;
+    private String sessionCookie;
+
+    VirtualUser(HttpClient client, String baseUrl, ConcurrentMap<String, EndpointStats> stats,
+                LoadTestHarness.Window window, int thinkMillis) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.window = window;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Response of one request
+     */
+    record Page(int status, String body, String location) {
+        boolean hasTitle(String title) {
+            return body.contains("<title>" + title);
+        }
+    }
+
+    static Predicate<Page> title(String title) {
+        return page -> page.status() == 200 && page.hasTitle(title);
+    }
+
+    static Predicate<Page> redirectTo(String path) {
+        return page -> page.status() == 302 && page.location() != null && page.location().contains(path);
+    }
+
+    /**
+     * GET a page
+     * @return the page when the application accepted the request, null otherwise
+     */
+    Page get(String endpoint, String path, Predicate<Page> accepted) throws InterruptedException {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), accepted);
+    }
+
+    /**
+     * POST a form given as name, value pairs (names may repeat; null values are sent empty)
+     * @return the page when the application accepted the request, null otherwise
+     */
+    Page post(String endpoint, String path, Predicate<Page> accepted, String... form) throws InterruptedException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i + 1 < form.length; i += 2) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(form[i], StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(form[i + 1] != null ? form[i + 1] : "", StandardCharsets.UTF_8));
+        }
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())), accepted);
+    }
+
+    /**
+     * Pause for a random think time around the configured mean
+     */
+    void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMillis * 2 + 1));
+        }
+    }
+
+    private Page send(String endpoint, HttpRequest.Builder builder, Predicate<Page> accepted) throws InterruptedException {
+        builder.timeout(TIMEOUT);
+        if (sessionCookie != null) {
+            builder.header("Cookie", sessionCookie);
+        }
+        boolean measured = window.isOpen();
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            if (measured) {
+                stats(endpoint).recordError(-1);
+            }
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+        response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                .findFirst()
+                .ifPresent(cookie -> sessionCookie = cookie.split(";", 2)[0]);
+
+        Page page = new Page(response.statusCode(), response.body(),
+                response.headers().firstValue("Location").orElse(null));
+        boolean ok = accepted.test(page);
+        boolean failed = !ok && (page.status() >= 300 || page.body().contains(ERROR_PAGE_TITLE));
+        if (measured) {
+            EndpointStats endpointStats = stats(endpoint);
+            if (ok) {
+                endpointStats.recordSuccess(elapsed);
+            } else if (failed) {
+                endpointStats.recordError(elapsed);
+            } else {
+                endpointStats.recordRejected(elapsed);
+            }
+        }
+        return ok ? page : null;
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return stats.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+}
@@ -24,5 +24,24 @@ public interface IPaymentAdapter {
      * @return payment details string
      */
     String getPaymentDetails();
-}
 
+    /**
+     * Get the transaction ID of the last successful payment
+     * Recorded in payment_transactions, whose transaction_id column is unique
+     * @return transaction ID, or null if none / not supported
+     */
+    default String getLastTransactionId() {
+        return null;
+    }
+
+    /**
+     * Refund or void a payment this channel took, e.g. when the booking it paid for could
+     * not be recorded
+     * @param transactionId the transaction to refund, as returned by getLastTransactionId
+     * @param amount the amount to refund
+     * @return true if the channel accepted the refund, false if it failed or is not supported
+     */
+    default boolean refund(String transactionId, double amount) {
+        return false;
+    }
+}
@@ -3,6 +3,8 @@ package com.hotelreservation.adapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.UUID;
+
 /**
  * OnlineGatewayAdapter - Adapter for Online Payment Gateway (e.g., Stripe, PayPal)
  * Adapts to external online payment portal for online reservations
@@ -40,7 +42,7 @@ public class OnlineGatewayAdapter implements IPaymentAdapter {
             boolean success = bankPortal.processPaymentCallback(paymentLink);
 
             if (success) {
-                lastTransactionId = "GW_" + System.currentTimeMillis();
+                lastTransactionId = "GW_" + UUID.randomUUID();
                 logger.info("Online payment successful. Transaction ID: {}", lastTransactionId);
                 return true;
             } else {
@@ -53,6 +55,17 @@ public class OnlineGatewayAdapter implements IPaymentAdapter {
         }
     }
 
+    @Override
+    public boolean refund(String transactionId, double amount) {
+        try {
+            logger.info("Refunding online gateway transaction {} for amount: {}", transactionId, amount);
+            return bankPortal.refund(transactionId, amount);
+        } catch (Exception e) {
+            logger.error("Error refunding online gateway transaction: {}", transactionId, e);
+            return false;
+        }
+    }
+
     @Override
     public String getAdapterName() {
         return "ONLINE_GATEWAY_ADAPTER";
@@ -67,6 +80,7 @@ public class OnlineGatewayAdapter implements IPaymentAdapter {
         return lastPaymentLink;
     }
 
+    @Override
     public String getLastTransactionId() {
         return lastTransactionId;
     }
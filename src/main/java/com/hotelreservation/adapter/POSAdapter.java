@@ -3,6 +3,8 @@ package com.hotelreservation.adapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.UUID;
+
 /**
  * POSAdapter - Adapter for Point-of-Sale (POS) terminal payment processing
  * Adapts to external POS system interface for walk-in reservations
@@ -28,7 +30,7 @@ public class POSAdapter implements IPaymentAdapter {
             boolean success = posSystem.authorize(amount);
 
             if (success) {
-                lastTransactionId = "POS_" + System.currentTimeMillis();
+                lastTransactionId = "POS_" + UUID.randomUUID();
                 logger.info("POS payment successful. Transaction ID: {}", lastTransactionId);
                 return true;
             } else {
@@ -41,6 +43,17 @@ public class POSAdapter implements IPaymentAdapter {
         }
     }
 
+    @Override
+    public boolean refund(String transactionId, double amount) {
+        try {
+            logger.info("Reversing POS transaction {} for amount: {}", transactionId, amount);
+            return posSystem.reverse(transactionId);
+        } catch (Exception e) {
+            logger.error("Error reversing POS transaction: {}", transactionId, e);
+            return false;
+        }
+    }
+
     @Override
     public String getAdapterName() {
         return "POS_ADAPTER";
@@ -51,6 +64,7 @@ public class POSAdapter implements IPaymentAdapter {
         return "POS Terminal | Transaction ID: " + (lastTransactionId != null ? lastTransactionId : "N/A");
     }
 
+    @Override
     public String getLastTransactionId() {
         return lastTransactionId;
     }
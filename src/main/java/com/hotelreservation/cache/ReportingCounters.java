@@ -0,0 +1,273 @@
+package com.hotelreservation.cache;
+
+import com.hotelreservation.dto.ReportSnapshot;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ReportingCounters - running totals behind the admin reports
+ *
+ * Holds the same numbers as ReservationRepository.getReportSnapshot and
+ * RoomRepository.countAllByStatus (reservations per status and type with their amounts,
+ * rooms per status), plus CHECKED_OUT revenue bucketed by check-out date.
+ * BookingService and RoomServiceImpl report every change as it happens, so
+ * building a report costs O(number of statuses), not a table scan.
+ *
+ * The counters are loaded from the database on first use and replaced by a fresh
+ * load every reporting.reconcile.interval.minutes, which corrects any drift (writes made
+ * outside those services, or an event racing the reload). A load whose queries fail
+ * changes nothing: the previous counters stay, or the counters stay unloaded and reports
+ * go to the database. Events are ignored until the first load. Can be switched off with reporting.counters.enabled=false, in which case
+ * ReportServiceImpl queries the database on every report.
+ */
+public class ReportingCounters {
+    private static final Logger logger = LoggerFactory.getLogger(ReportingCounters.class);
+    private static final ReportingCounters INSTANCE = new ReportingCounters();
+    private static final LocalDate FIRST_DAY = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 12, 31);
+
+    private final boolean enabled;
+    private final long reconcileMinutes;
+    private volatile Counters counters;
+    private ScheduledExecutorService reconciler;
+    // Guards start/stop; start() reads the database, so a lock rather than a pinning monitor
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    ReportingCounters() {
+        this.enabled = AppConfig.getInstance().getBoolean("reporting.counters.enabled", true);
+        this.reconcileMinutes = Math.max(1, AppConfig.getInstance().getInt("reporting.reconcile.interval.minutes", 15));
+    }
+
+    public static ReportingCounters getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isLoaded() {
+        return counters != null;
+    }
+
+    /**
+     * Load the counters if enabled and not loaded yet, and start the periodic reconciler
+     * @return true if the counters are ready to serve reports
+     */
+    public boolean start(ReservationRepository reservationRepository, RoomRepository roomRepository) {
+        if (!enabled) {
+            return false;
+        }
+        lifecycleLock.lock();
+        try {
+            if (counters == null) {
+                try {
+                    reconcile(reservationRepository, roomRepository);
+                } catch (RuntimeException e) {
+                    logger.error("Reporting counters not loaded, reports will query the database", e);
+                }
+            }
+            if (reconciler == null) {
+                reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "reporting-reconciler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                reconciler.scheduleWithFixedDelay(() -> {
+                    try {
+                        reconcile(reservationRepository, roomRepository);
+                    } catch (RuntimeException e) {
+                        logger.error("Reporting counter reconciliation failed", e);
+                    }
+                }, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+                logger.info("Reporting counters reconcile every {} min", reconcileMinutes);
+            }
+            return counters != null;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Stop the reconciler and drop the counters
+     */
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            if (reconciler != null) {
+                reconciler.shutdownNow();
+                reconciler = null;
+            }
+            counters = null;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the counters from the database and swap them in
+     * @throws com.hotelreservation.exception.DataAccessException if a query fails; the
+     *         current counters are kept
+     */
+    public void reconcile(ReservationRepository reservationRepository, RoomRepository roomRepository) {
+        long start = System.currentTimeMillis();
+        ReportSnapshot snapshot = reservationRepository.loadReportSnapshot();
+        roomRepository.loadCountsByStatus().forEach(snapshot::addRooms);
+        load(snapshot, reservationRepository.loadDailyRevenue(FIRST_DAY, LAST_DAY));
+        logger.info("Reporting counters reconciled: {} reservations, {} rooms in {} ms",
+                snapshot.getTotalReservations(), snapshot.getTotalRooms(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replace the counters with the given totals
+     * @param snapshot reservation groups and room counts
+     * @param dailyRevenue CHECKED_OUT revenue per check-out date
+     */
+    public void load(ReportSnapshot snapshot, Map<LocalDate, Double> dailyRevenue) {
+        Counters fresh = new Counters();
+        for (ReportSnapshot.ReservationGroup group : snapshot.getReservationGroups()) {
+            Group target = fresh.group(group.getStatus(), group.getType());
+            target.count.add(group.getCount());
+            target.amount.add(group.getAmount());
+        }
+        snapshot.getRoomsByStatus().forEach((status, count) -> fresh.rooms(status).add(count));
+        dailyRevenue.forEach((day, amount) -> fresh.day(day).add(amount));
+        counters = fresh;
+    }
+
+    // ===================== Reads =====================
+
+    /**
+     * @return the current totals as a ReportSnapshot, or null when not loaded
+     */
+    public ReportSnapshot snapshot() {
+        Counters current = counters;
+        if (current == null) {
+            return null;
+        }
+        ReportSnapshot snapshot = new ReportSnapshot();
+        current.groups.forEach((key, group) -> {
+            int count = group.count.intValue();
+            if (count != 0) {
+                snapshot.addReservations(key.substring(0, key.indexOf('|')), key.substring(key.indexOf('|') + 1),
+                        count, group.amount.sum());
+            }
+        });
+        current.rooms.forEach((status, count) -> {
+            if (count.intValue() != 0) {
+                snapshot.addRooms(status, count.intValue());
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * CHECKED_OUT revenue per check-out date in [from, to]
+     * @return map of date to revenue, or null when not loaded
+     */
+    public Map<LocalDate, Double> getDailyRevenue(LocalDate from, LocalDate to) {
+        Counters current = counters;
+        if (current == null) {
+            return null;
+        }
+        Map<LocalDate, Double> result = new TreeMap<>();
+        current.dailyRevenue.subMap(from, true, to, true)
+                .forEach((day, amount) -> result.put(day, amount.sum()));
+        return result;
+    }
+
+    // ===================== Events =====================
+
+    /**
+     * A reservation was created (counted under its current status)
+     */
+    public void onReservationCreated(Reservation reservation) {
+        Counters current = counters;
+        if (current == null || reservation == null) {
+            return;
+        }
+        Group group = current.group(reservation.getStatus(), reservation.getReservationType());
+        group.count.increment();
+        group.amount.add(reservation.getTotalAmount());
+    }
+
+    /**
+     * A reservation moved from oldStatus to its current status
+     */
+    public void onReservationStatusChanged(Reservation reservation, String oldStatus) {
+        Counters current = counters;
+        if (current == null || reservation == null || reservation.getStatus().equals(oldStatus)) {
+            return;
+        }
+        Group from = current.group(oldStatus, reservation.getReservationType());
+        from.count.decrement();
+        from.amount.add(-reservation.getTotalAmount());
+        Group to = current.group(reservation.getStatus(), reservation.getReservationType());
+        to.count.increment();
+        to.amount.add(reservation.getTotalAmount());
+
+        if ("CHECKED_OUT".equals(reservation.getStatus())) {
+            current.day(reservation.getCheckOutDate()).add(reservation.getTotalAmount());
+        } else if ("CHECKED_OUT".equals(oldStatus)) {
+            current.day(reservation.getCheckOutDate()).add(-reservation.getTotalAmount());
+        }
+    }
+
+    /**
+     * A room moved from oldStatus to newStatus
+     */
+    public void onRoomStatusChanged(String oldStatus, String newStatus) {
+        Counters current = counters;
+        if (current == null || oldStatus == null || oldStatus.equals(newStatus)) {
+            return;
+        }
+        current.rooms(oldStatus).decrement();
+        current.rooms(newStatus).increment();
+    }
+
+    /**
+     * Count and amount of reservations sharing a status and type
+     */
+    private static final class Group {
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder amount = new DoubleAdder();
+    }
+
+    /**
+     * One generation of counters; reconcile swaps in a new instance
+     */
+    private static final class Counters {
+        private final Map<String, Group> groups = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> rooms = new ConcurrentHashMap<>();
+        private final NavigableMap<LocalDate, DoubleAdder> dailyRevenue = new ConcurrentSkipListMap<>();
+
+        private Group group(String status, String type) {
+            return groups.computeIfAbsent(status + "|" + type, key -> new Group());
+        }
+
+        private LongAdder rooms(String status) {
+            return rooms.computeIfAbsent(status, key -> new LongAdder());
+        }
+
+        private DoubleAdder day(LocalDate day) {
+            return dailyRevenue.computeIfAbsent(day, key -> new DoubleAdder());
+        }
+    }
+}
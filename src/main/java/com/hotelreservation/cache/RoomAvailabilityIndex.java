@@ -0,0 +1,419 @@
+package com.hotelreservation.cache;
+
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * RoomAvailabilityIndex - in-memory, per-room bitset of booked nights
+ *
+ * Answers "which rooms are free between checkIn and checkOut" without the NOT IN
+ * subquery of RoomDAOImpl.findAvailableByDateRange. Bit i of a room's set means the
+ * night starting ORIGIN + i days is held by a reservation that is neither CANCELLED
+ * nor CHECKED_OUT (the same rule the SQL query applies).
+ *
+ * Loaded once from the rooms/reservations tables, then kept current by the DAOs
+ * (ReservationDAOImpl save/update/delete, RoomDAOImpl save/update/delete). A change
+ * committed while a load is reading the tables may be missing from what it read, so
+ * the hooks queue changes during a load and the load replays them once it is built.
+ * Can be switched off with availability.index.enabled=false, in which case
+ * RoomServiceImpl falls back to SQL.
+ */
+public class RoomAvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+    private static final RoomAvailabilityIndex INSTANCE = new RoomAvailabilityIndex();
+    private static final LocalDate ORIGIN = LocalDate.of(2000, 1, 1);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Room> rooms = new TreeMap<>();
+    private final Map<Integer, RoomNights> nightsByRoom = new HashMap<>();
+    private final Map<String, Stay> staysById = new HashMap<>();
+    // Changes made while ensureLoaded reads the database; guarded by changeLock
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean enabled;
+    private volatile boolean loaded;
+
+    RoomAvailabilityIndex() {
+        this.enabled = AppConfig.getInstance().getBoolean("availability.index.enabled", true);
+    }
+
+    public static RoomAvailabilityIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switch the index on or off at runtime. Turning it off drops the in-memory
+     * state so that a later re-enable reloads from the database.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+        logger.info("Room availability index {}", enabled ? "enabled" : "disabled");
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Load the index from the repositories if it is enabled and not loaded yet
+     * @return true if the index is enabled and ready to answer queries
+     */
+    public boolean ensureLoaded(RoomRepository roomRepository, ReservationRepository reservationRepository) {
+        if (!enabled) {
+            return false;
+        }
+        if (loaded) {
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                long start = System.currentTimeMillis();
+                setLoading(true);
+                try {
+                    List<Room> allRooms = roomRepository.findAllFromPrimary();
+                    if (allRooms.isEmpty()) {
+                        // DAOs return empty lists on SQL errors; do not cache a hotel with no rooms
+                        logger.warn("Room availability index not loaded: no rooms returned");
+                        return false;
+                    }
+                    List<Reservation> active = reservationRepository.findActive();
+                    rebuild(allRooms, active);
+                    int replayed = replayPendingChanges();
+                    logger.info("Room availability index loaded: {} rooms, {} active reservations, {} changes replayed in {} ms",
+                            allRooms.size(), active.size(), replayed, System.currentTimeMillis() - start);
+                } finally {
+                    setLoading(false);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index with the given rooms and reservations
+     * @param allRooms every room in the hotel
+     * @param reservations reservations to index (non-blocking statuses are skipped)
+     */
+    public void load(List<Room> allRooms, List<Reservation> reservations) {
+        lock.writeLock().lock();
+        try {
+            rebuild(allRooms, reservations);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop all state; the next ensureLoaded() call reloads from the database
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            nightsByRoom.clear();
+            staysById.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===================== Queries =====================
+
+    /**
+     * Find rooms that are AVAILABLE, clean and have no blocking reservation
+     * overlapping [checkIn, checkOut)
+     * @return copies of the matching rooms ordered by ID
+     */
+    public List<Room> findAvailable(LocalDate checkIn, LocalDate checkOut) {
+        int from = toIndex(checkIn);
+        int to = toIndex(checkOut);
+        List<Room> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Room room : rooms.values()) {
+                if (room.isAvailable() && isFree(room.getId(), from, to)) {
+                    result.add(copyOf(room));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Count rooms that would be returned by findAvailable(checkIn, checkOut)
+     */
+    public int countAvailable(LocalDate checkIn, LocalDate checkOut) {
+        int from = toIndex(checkIn);
+        int to = toIndex(checkOut);
+        int count = 0;
+        lock.readLock().lock();
+        try {
+            for (Room room : rooms.values()) {
+                if (room.isAvailable() && isFree(room.getId(), from, to)) {
+                    count++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count;
+    }
+
+    /**
+     * Check whether a room has no blocking reservation overlapping [checkIn, checkOut)
+     */
+    public boolean isRoomFree(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        lock.readLock().lock();
+        try {
+            return isFree(roomId, toIndex(checkIn), toIndex(checkOut));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return total number of indexed rooms
+     */
+    public int getRoomCount() {
+        lock.readLock().lock();
+        try {
+            return rooms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================== Write-through hooks =====================
+
+    /**
+     * Record a new or updated room (status and cleanliness affect availability)
+     */
+    public void onRoomSaved(Room room) {
+        if (room == null) {
+            return;
+        }
+        Room copy = copyOf(room);
+        apply(() -> rooms.put(copy.getId(), copy));
+    }
+
+    /**
+     * Record a status-only room change made outside RoomDAOImpl (e.g. the booking transaction)
+     */
+    public void onRoomStatusChanged(int roomId, String status) {
+        apply(() -> {
+            Room room = rooms.get(roomId);
+            if (room != null) {
+                room.updateStatus(status);
+            }
+        });
+    }
+
+    public void onRoomDeleted(int roomId) {
+        apply(() -> {
+            rooms.remove(roomId);
+            nightsByRoom.remove(roomId);
+            staysById.values().removeIf(stay -> stay.roomId == roomId);
+        });
+    }
+
+    /**
+     * Record a saved or updated reservation. Reservations that are CANCELLED or
+     * CHECKED_OUT release their nights.
+     */
+    public void onReservationSaved(Reservation reservation) {
+        if (reservation == null || reservation.getId() == null) {
+            return;
+        }
+        apply(() -> {
+            removeStay(reservation.getId());
+            addStay(reservation);
+        });
+    }
+
+    public void onReservationDeleted(String reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        apply(() -> removeStay(reservationId));
+    }
+
+    /**
+     * Apply a committed change: queue it while a load is reading the database, apply it
+     * under the write lock once loaded, and drop it when nothing is loaded (the next load
+     * reads it from the database). Every change is idempotent, so replaying one the load
+     * already read is harmless.
+     */
+    private void apply(Runnable change) {
+        changeLock.lock();
+        try {
+            if (loading) {
+                pendingChanges.add(change);
+                return;
+            }
+        } finally {
+            changeLock.unlock();
+        }
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setLoading(boolean loading) {
+        changeLock.lock();
+        try {
+            this.loading = loading;
+            pendingChanges.clear();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Apply the changes queued during the load (caller holds the write lock)
+     * @return number of changes replayed
+     */
+    private int replayPendingChanges() {
+        changeLock.lock();
+        try {
+            pendingChanges.forEach(Runnable::run);
+            int replayed = pendingChanges.size();
+            pendingChanges.clear();
+            loading = false;
+            return replayed;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    // ===================== Internals (caller holds the lock) =====================
+
+    private void rebuild(List<Room> allRooms, List<Reservation> reservations) {
+        rooms.clear();
+        nightsByRoom.clear();
+        staysById.clear();
+        for (Room room : allRooms) {
+            rooms.put(room.getId(), copyOf(room));
+        }
+        for (Reservation reservation : reservations) {
+            addStay(reservation);
+        }
+        loaded = true;
+    }
+
+    private void addStay(Reservation reservation) {
+        if (!isBlocking(reservation.getStatus())
+                || reservation.getCheckInDate() == null || reservation.getCheckOutDate() == null) {
+            return;
+        }
+        Stay stay = new Stay(reservation.getRoomId(),
+                toIndex(reservation.getCheckInDate()), toIndex(reservation.getCheckOutDate()));
+        staysById.put(reservation.getId(), stay);
+        RoomNights nights = nightsByRoom.computeIfAbsent(stay.roomId, id -> new RoomNights());
+        nights.stays.add(stay);
+        if (stay.to > stay.from) {
+            nights.booked.set(stay.from, stay.to);
+        }
+    }
+
+    private void removeStay(String reservationId) {
+        Stay stay = staysById.remove(reservationId);
+        if (stay == null) {
+            return;
+        }
+        RoomNights nights = nightsByRoom.get(stay.roomId);
+        if (nights == null) {
+            return;
+        }
+        nights.stays.remove(stay);
+        // Rebuild from the remaining stays so overlapping legacy rows keep their nights
+        nights.booked.clear();
+        for (Stay remaining : nights.stays) {
+            if (remaining.to > remaining.from) {
+                nights.booked.set(remaining.from, remaining.to);
+            }
+        }
+    }
+
+    private boolean isFree(int roomId, int from, int to) {
+        RoomNights nights = nightsByRoom.get(roomId);
+        if (nights == null) {
+            return true;
+        }
+        int next = nights.booked.nextSetBit(from);
+        return next < 0 || next >= to;
+    }
+
+    private static boolean isBlocking(String status) {
+        return !"CANCELLED".equals(status) && !"CHECKED_OUT".equals(status);
+    }
+
+    private static int toIndex(LocalDate date) {
+        long days = date.toEpochDay() - ORIGIN.toEpochDay();
+        return (int) Math.max(0, Math.min(days, Integer.MAX_VALUE - 1));
+    }
+
+    private static Room copyOf(Room room) {
+        return new Room(room.getId(), room.getNumber(), room.getType(),
+                room.getBasePrice(), room.getStatus(), room.isClean());
+    }
+
+    /**
+     * Nights [from, to) held by one reservation, as bit offsets from ORIGIN
+     */
+    private static final class Stay {
+        private final int roomId;
+        private final int from;
+        private final int to;
+
+        private Stay(int roomId, int from, int to) {
+            this.roomId = roomId;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Booked nights of a single room plus the stays that produced them
+     */
+    private static final class RoomNights {
+        private final BitSet booked = new BitSet();
+        private final List<Stay> stays = new ArrayList<>();
+    }
+}
@@ -0,0 +1,285 @@
+package com.hotelreservation.cache;
+
+import com.hotelreservation.entity.SeasonalPricing;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.repository.SeasonalPricingRepository;
+import com.hotelreservation.strategy.IPricingStrategy;
+import com.hotelreservation.strategy.NightlyRateEngine;
+import com.hotelreservation.strategy.SeasonalRateStrategy;
+import com.hotelreservation.strategy.StandardRateStrategy;
+import com.hotelreservation.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SeasonalPricingCache - in-memory, sorted interval table of active seasons
+ *
+ * Active seasons are flattened into non-overlapping [start, end) day segments, each owned
+ * by the season with the highest multiplier (the rule SeasonalPricingDAOImpl.findByDate
+ * applies with ORDER BY multiplier DESC). A lookup is a binary search over the segment
+ * starts, with no DB round trip.
+ *
+ * The table is immutable and published through a volatile field. Reloads build a new
+ * table and swap it in (copy-on-write), so readers never block. A reload whose query
+ * fails keeps the current table. A first load that fails leaves the cache unloaded:
+ * lookups get the standard rate, and only the first one after
+ * pricing.cache.retry.interval.ms tries the database again, so an outage does not cost
+ * every booking a query. Each season gets one shared SeasonalRateStrategy per table,
+ * and dates outside all seasons share one StandardRateStrategy; callers must not mutate
+ * the returned strategies. Each table also carries a NightlyRateEngine over the same
+ * segments for per-night pricing.
+ */
+public class SeasonalPricingCache {
+    private static final Logger logger = LoggerFactory.getLogger(SeasonalPricingCache.class);
+    private static final SeasonalPricingCache INSTANCE = new SeasonalPricingCache();
+    private static final IPricingStrategy STANDARD_RATE = new StandardRateStrategy();
+
+    // Held across the database read, so a lock rather than a monitor that would pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Segments segments;
+    private final long retryMillis;
+    // No load is tried before this time, after a failed one
+    private volatile long retryAt;
+
+    SeasonalPricingCache() {
+        this(AppConfig.getInstance().getInt("pricing.cache.retry.interval.ms", 5000));
+    }
+
+    SeasonalPricingCache(long retryMillis) {
+        this.retryMillis = retryMillis;
+    }
+
+    public static SeasonalPricingCache getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isLoaded() {
+        return segments != null;
+    }
+
+    /**
+     * Load the table from the repository unless it is already loaded, or a load failed
+     * less than pricing.cache.retry.interval.ms ago
+     * @return true if a table is loaded
+     */
+    public boolean ensureLoaded(SeasonalPricingRepository repository) {
+        if (segments != null) {
+            return true;
+        }
+        if (System.currentTimeMillis() < retryAt) {
+            return false;
+        }
+        reloadLock.lock();
+        try {
+            if (segments != null) {
+                return true;
+            }
+            // Threads queued behind a load that just failed do not repeat it
+            return System.currentTimeMillis() >= retryAt && reload(repository);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Re-read the active seasons and atomically replace the table.
+     * Reloads are serialized so a slow, stale read cannot overwrite a newer table.
+     * @return true if the table was replaced, false if the read failed and the current
+     *         table (or none) was kept
+     */
+    public boolean reload(SeasonalPricingRepository repository) {
+        reloadLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            List<SeasonalPricing> active = repository.loadActive();
+            load(active);
+            retryAt = 0;
+            logger.info("Seasonal pricing cache loaded: {} active seasons, {} segments in {} ms",
+                    active.size(), segments.size(), System.currentTimeMillis() - start);
+            return true;
+        } catch (DataAccessException e) {
+            retryAt = System.currentTimeMillis() + retryMillis;
+            if (segments != null) {
+                logger.error("Seasonal pricing cache not reloaded, keeping the previous table", e);
+            } else {
+                logger.error("Seasonal pricing cache not loaded, standard rates until a retry in {} ms", retryMillis, e);
+            }
+            return false;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the table with the given seasons (inactive ones are ignored)
+     */
+    public void load(List<SeasonalPricing> seasons) {
+        segments = Segments.build(seasons);
+    }
+
+    /**
+     * Drop the table; the next ensureLoaded() call reloads from the database
+     */
+    public void clear() {
+        segments = null;
+        retryAt = 0;
+    }
+
+    // ===================== Queries =====================
+
+    /**
+     * Find the season that prices the given date
+     * @return the highest-multiplier active season containing the date, if any
+     */
+    public Optional<SeasonalPricing> findSeason(LocalDate date) {
+        Segments current = segments;
+        int i = current != null ? current.indexOf(date.toEpochDay()) : -1;
+        return i >= 0 ? Optional.of(current.seasons[i]) : Optional.empty();
+    }
+
+    /**
+     * Resolve the pricing strategy for a date
+     * @return the season's shared SeasonalRateStrategy, or the shared StandardRateStrategy
+     */
+    public IPricingStrategy resolve(LocalDate date) {
+        Segments current = segments;
+        int i = current != null ? current.indexOf(date.toEpochDay()) : -1;
+        return i >= 0 ? current.strategies[i] : STANDARD_RATE;
+    }
+
+    /**
+     * Per-night rate engine for the current table
+     * @return the engine, or NightlyRateEngine.STANDARD when no table is loaded
+     */
+    public NightlyRateEngine getRateEngine() {
+        Segments current = segments;
+        return current != null ? current.rateEngine : NightlyRateEngine.STANDARD;
+    }
+
+    /**
+     * @return number of non-overlapping segments in the current table
+     */
+    public int getSegmentCount() {
+        Segments current = segments;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Immutable segment table: segment i covers epoch days [starts[i], ends[i])
+     */
+    private static final class Segments {
+        private final long[] starts;
+        private final long[] ends;
+        private final SeasonalPricing[] seasons;
+        private final IPricingStrategy[] strategies;
+        private final NightlyRateEngine rateEngine;
+
+        private Segments(long[] starts, long[] ends, SeasonalPricing[] seasons, IPricingStrategy[] strategies) {
+            this.starts = starts;
+            this.ends = ends;
+            this.seasons = seasons;
+            this.strategies = strategies;
+            this.rateEngine = buildRateEngine();
+        }
+
+        private static Segments build(List<SeasonalPricing> input) {
+            List<SeasonalPricing> active = new ArrayList<>();
+            TreeSet<Long> bounds = new TreeSet<>();
+            for (SeasonalPricing season : input) {
+                if (season.isActive() && season.getStartDate() != null && season.getEndDate() != null
+                        && !season.getEndDate().isBefore(season.getStartDate())) {
+                    active.add(season);
+                    bounds.add(season.getStartDate().toEpochDay());
+                    bounds.add(season.getEndDate().toEpochDay() + 1);
+                }
+            }
+
+            // Copies of the seasons, each with its single shared strategy
+            SeasonalPricing[] copies = new SeasonalPricing[active.size()];
+            IPricingStrategy[] strategyBySeason = new IPricingStrategy[active.size()];
+            for (int s = 0; s < active.size(); s++) {
+                SeasonalPricing season = active.get(s);
+                copies[s] = new SeasonalPricing(season.getId(), season.getSeasonName(), season.getStartDate(),
+                        season.getEndDate(), season.getMultiplier(), true);
+                strategyBySeason[s] = new SeasonalRateStrategy(season.getMultiplier());
+            }
+
+            // Walk the elementary intervals between boundaries, merging runs owned by the same season
+            Long[] points = bounds.toArray(new Long[0]);
+            long[] starts = new long[points.length];
+            long[] ends = new long[points.length];
+            int[] owners = new int[points.length];
+            int count = 0;
+            for (int p = 0; p + 1 < points.length; p++) {
+                long from = points[p];
+                long to = points[p + 1];
+                int owner = -1;
+                for (int s = 0; s < active.size(); s++) {
+                    SeasonalPricing season = active.get(s);
+                    if (season.getStartDate().toEpochDay() <= from && season.getEndDate().toEpochDay() >= from
+                            && (owner < 0 || season.getMultiplier() > active.get(owner).getMultiplier())) {
+                        owner = s;
+                    }
+                }
+                if (owner < 0) {
+                    continue;
+                }
+                if (count > 0 && owners[count - 1] == owner && ends[count - 1] == from) {
+                    ends[count - 1] = to;
+                } else {
+                    starts[count] = from;
+                    ends[count] = to;
+                    owners[count] = owner;
+                    count++;
+                }
+            }
+
+            SeasonalPricing[] seasons = new SeasonalPricing[count];
+            IPricingStrategy[] strategies = new IPricingStrategy[count];
+            for (int i = 0; i < count; i++) {
+                seasons[i] = copies[owners[i]];
+                strategies[i] = strategyBySeason[owners[i]];
+            }
+            return new Segments(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), seasons, strategies);
+        }
+
+        /**
+         * Expand the segments into a dense daily multiplier calendar spanning first start to last end
+         */
+        private NightlyRateEngine buildRateEngine() {
+            if (starts.length == 0) {
+                return NightlyRateEngine.STANDARD;
+            }
+            long origin = starts[0];
+            double[] multipliers = new double[(int) (ends[ends.length - 1] - origin)];
+            Arrays.fill(multipliers, 1.0);
+            for (int i = 0; i < starts.length; i++) {
+                Arrays.fill(multipliers, (int) (starts[i] - origin), (int) (ends[i] - origin), seasons[i].getMultiplier());
+            }
+            return new NightlyRateEngine(LocalDate.ofEpochDay(origin), multipliers);
+        }
+
+        private int size() {
+            return starts.length;
+        }
+
+        /**
+         * @return index of the segment containing the day, or -1
+         */
+        private int indexOf(long epochDay) {
+            int i = Arrays.binarySearch(starts, epochDay);
+            if (i < 0) {
+                i = -i - 2; // insertion point - 1 = last segment starting before the day
+            }
+            return i >= 0 && epochDay < ends[i] ? i : -1;
+        }
+    }
+}
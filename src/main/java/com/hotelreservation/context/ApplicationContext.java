@@ -0,0 +1,373 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.cache.ReportingCounters;
+import com.hotelreservation.cache.RoomAvailabilityIndex;
+import com.hotelreservation.cache.SeasonalPricingCache;
+import com.hotelreservation.dto.RoomDTO;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.NotificationOutboxRepository;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.SeasonalPricingRepository;
+import com.hotelreservation.repository.UserRepository;
+import com.hotelreservation.repository.impl.GuestRepositoryImpl;
+import com.hotelreservation.repository.impl.NotificationOutboxDAOImpl;
+import com.hotelreservation.repository.impl.ReservationDAOImpl;
+import com.hotelreservation.repository.impl.RoomDAOImpl;
+import com.hotelreservation.repository.impl.SeasonalPricingDAOImpl;
+import com.hotelreservation.repository.impl.UserDAOImpl;
+import com.hotelreservation.service.PaymentService;
+import com.hotelreservation.service.ReportService;
+import com.hotelreservation.service.RoomService;
+import com.hotelreservation.service.SeasonalPricingService;
+import com.hotelreservation.service.UserService;
+import com.hotelreservation.service.impl.BookingService;
+import com.hotelreservation.service.impl.OnlineResService;
+import com.hotelreservation.service.impl.PaymentServiceImpl;
+import com.hotelreservation.service.impl.ReportServiceImpl;
+import com.hotelreservation.service.impl.RoomServiceImpl;
+import com.hotelreservation.service.impl.SeasonalPricingServiceImpl;
+import com.hotelreservation.service.impl.UserServiceImpl;
+import com.hotelreservation.service.impl.WalkInResService;
+import com.hotelreservation.strategy.NightlyRateEngine;
+import com.hotelreservation.util.AppConfig;
+import jakarta.servlet.ServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ApplicationContext - the one set of repositories and services the servlets share
+ *
+ * Built by ApplicationContextListener when the webapp starts and kept as a servlet
+ * context attribute, so the availability index, seasonal pricing cache and reporting
+ * counters are fed by a single BookingService and RoomService instead of one per servlet.
+ * Bookings run on the shared BookingExecutor rather than on container threads, and their
+ * confirmation emails and receipts are sent afterwards by the NotificationOutboxWorker.
+ * start() loads the caches and runs synthetic availability searches and price quotes
+ * (startup.warmup.iterations of them) so the JIT has compiled the hot paths before the
+ * first request. isReady() turns true only once every step has succeeded; the listener
+ * runs start() in the background and repeats the failed steps every
+ * startup.retry.interval.ms, so /ready answers 503 until then. close() stops the booking
+ * and outbox pools, the booking hold sweeper and the reporting reconciler and drops the
+ * caches. The connection pool around them is opened and closed by the listener.
+ */
+public class ApplicationContext {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationContext.class);
+    public static final String ATTRIBUTE = ApplicationContext.class.getName();
+
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+    private final GuestRepository guestRepository;
+    private final UserRepository userRepository;
+    private final SeasonalPricingRepository seasonalPricingRepository;
+    private final NotificationOutboxRepository outboxRepository;
+
+    private final RoomServiceImpl roomService;
+    private final SeasonalPricingServiceImpl seasonalPricingService;
+    private final PaymentService paymentService;
+    private final UserService userService;
+    private final ReportServiceImpl reportService;
+    private final BookingService bookingService;
+    private final BookingExecutor bookingExecutor;
+    private final NotificationOutboxWorker outboxWorker;
+    private final BookingHoldSweeper holdSweeper;
+
+    // Startup steps that have succeeded; guarded by startLock
+    private boolean indexLoaded;
+    private boolean pricingLoaded;
+    private boolean countersStarted;
+    private boolean warmedUp;
+    private final ReentrantLock startLock = new ReentrantLock();
+    private ScheduledExecutorService starter;
+    private volatile boolean ready;
+    private volatile boolean closed;
+
+    public ApplicationContext() {
+        this(new RoomDAOImpl(), new ReservationDAOImpl(), new GuestRepositoryImpl(), new UserDAOImpl(),
+                new SeasonalPricingDAOImpl(), new NotificationOutboxDAOImpl());
+    }
+
+    ApplicationContext(RoomRepository roomRepository, ReservationRepository reservationRepository,
+                       GuestRepository guestRepository, UserRepository userRepository,
+                       SeasonalPricingRepository seasonalPricingRepository,
+                       NotificationOutboxRepository outboxRepository) {
+        this.roomRepository = roomRepository;
+        this.reservationRepository = reservationRepository;
+        this.guestRepository = guestRepository;
+        this.userRepository = userRepository;
+        this.seasonalPricingRepository = seasonalPricingRepository;
+        this.outboxRepository = outboxRepository;
+
+        this.roomService = new RoomServiceImpl(roomRepository, reservationRepository);
+        this.seasonalPricingService = new SeasonalPricingServiceImpl(seasonalPricingRepository);
+        this.paymentService = new PaymentServiceImpl();
+        this.userService = new UserServiceImpl(userRepository);
+        this.reportService = new ReportServiceImpl(reservationRepository, roomRepository);
+        OnlineResService onlineResService = new OnlineResService(reservationRepository);
+        WalkInResService walkInResService = new WalkInResService(reservationRepository);
+        this.bookingService = new BookingService(
+                onlineResService,
+                walkInResService,
+                roomService,
+                paymentService,
+                reservationRepository,
+                guestRepository,
+                seasonalPricingService);
+        AppConfig config = AppConfig.getInstance();
+        this.bookingExecutor = new BookingExecutor(
+                config.getInt("booking.executor.threads", 16),
+                config.getInt("booking.executor.queue.capacity", 200),
+                config.getInt("booking.async.timeout.ms", 30000));
+        this.outboxWorker = new NotificationOutboxWorker(outboxRepository, onlineResService, walkInResService,
+                config.getInt("outbox.worker.threads", 2),
+                config.getInt("outbox.batch.size", 50),
+                config.getInt("outbox.poll.interval.ms", 500),
+                config.getInt("outbox.lease.ms", 60000),
+                config.getInt("outbox.max.attempts", 8),
+                config.getInt("outbox.retry.backoff.ms", 5000),
+                config.getInt("outbox.retry.backoff.max.ms", 3600000));
+        // Bookings move their room to RESERVED while the hold waits for the payment
+        this.holdSweeper = new BookingHoldSweeper(reservationRepository, "RESERVED",
+                config.getInt("booking.hold.sweep.interval.ms", 60000),
+                config.getInt("booking.hold.lease.ms", 900000));
+    }
+
+    /**
+     * The context the listener registered for this webapp
+     * @throws IllegalStateException if ApplicationContextListener is not registered
+     */
+    public static ApplicationContext get(ServletContext servletContext) {
+        Object context = servletContext.getAttribute(ATTRIBUTE);
+        if (!(context instanceof ApplicationContext)) {
+            throw new IllegalStateException("ApplicationContext not initialized; is ApplicationContextListener registered in web.xml?");
+        }
+        return (ApplicationContext) context;
+    }
+
+    /**
+     * Load the availability index, the seasonal pricing cache and the reporting counters,
+     * then warm up the availability and pricing paths. Steps that succeeded on an earlier
+     * call are not repeated; a failed step is logged, left to the lazy load on first use
+     * and tried again on the next call. The outbox worker and the booking hold sweeper
+     * start on the first call.
+     * @return true once every step has succeeded, which makes the context ready
+     */
+    public boolean start() {
+        startLock.lock();
+        try {
+            if (closed || ready) {
+                return ready;
+            }
+            long start = System.currentTimeMillis();
+            outboxWorker.start();
+            holdSweeper.start();
+            if (!indexLoaded) {
+                indexLoaded = roomService.loadAvailabilityIndex() || !RoomAvailabilityIndex.getInstance().isEnabled();
+                if (!indexLoaded) {
+                    logger.info("Room availability index not loaded at startup, searches use the database");
+                }
+            }
+            if (!pricingLoaded) {
+                try {
+                    pricingLoaded = seasonalPricingService.loadCache();
+                } catch (RuntimeException e) {
+                    logger.error("Seasonal pricing cache warm-up failed", e);
+                }
+            }
+            if (!countersStarted) {
+                try {
+                    countersStarted = reportService.startReportingCounters() || !ReportingCounters.getInstance().isEnabled();
+                } catch (RuntimeException e) {
+                    logger.error("Reporting counters warm-up failed", e);
+                }
+            }
+            if (!warmedUp && indexLoaded && pricingLoaded) {
+                try {
+                    warmUpHotPaths(AppConfig.getInstance().getInt("startup.warmup.iterations", 200));
+                    warmedUp = true;
+                } catch (RuntimeException e) {
+                    logger.error("Availability and pricing warm-up failed", e);
+                }
+            }
+            ready = indexLoaded && pricingLoaded && countersStarted && warmedUp;
+            if (ready) {
+                logger.info("Application context started in {} ms", System.currentTimeMillis() - start);
+            } else {
+                logger.warn("Application context not ready: index {}, pricing {}, counters {}, warm-up {}",
+                        indexLoaded, pricingLoaded, countersStarted, warmedUp);
+            }
+            return ready;
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    /**
+     * Run start() on a background thread and repeat it every startup.retry.interval.ms
+     * until the context is ready, so the webapp accepts requests (and /ready answers 503)
+     * while the caches load
+     */
+    public void startInBackground() {
+        startInBackground(Math.max(100, AppConfig.getInstance().getInt("startup.retry.interval.ms", 5000)));
+    }
+
+    void startInBackground(long retryMillis) {
+        startLock.lock();
+        try {
+            if (starter != null || closed) {
+                return;
+            }
+            starter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "context-startup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ScheduledExecutorService scheduler = starter;
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    if (start() || closed) {
+                        scheduler.shutdown();
+                    }
+                } catch (RuntimeException e) {
+                    // A scheduled task that throws is never run again
+                    logger.error("Application context startup failed, retrying in {} ms", retryMillis, e);
+                }
+            }, 0, retryMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    /**
+     * Run availability searches over the coming months and price a stay in every room
+     * they return. Searches are only made when the availability index is loaded, so the
+     * warm-up does not put load on the database.
+     * @param iterations number of searches
+     * @return number of price quotes made
+     */
+    int warmUpHotPaths(int iterations) {
+        if (iterations <= 0) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        boolean searchIndex = RoomAvailabilityIndex.getInstance().isLoaded();
+        List<RoomDTO> rooms = searchIndex ? List.of() : roomService.getAllRooms();
+        LocalDate today = LocalDate.now();
+        int quotes = 0;
+        for (int i = 0; i < iterations; i++) {
+            LocalDate checkIn = today.plusDays(i % 90);
+            LocalDate checkOut = checkIn.plusDays(1 + i % 4);
+            if (searchIndex) {
+                rooms = roomService.getAvailableRooms(checkIn, checkOut);
+            }
+            NightlyRateEngine engine = seasonalPricingService.getRateEngine();
+            for (RoomDTO room : rooms) {
+                engine.price(room.getBasePrice(), checkIn, checkOut);
+                quotes++;
+            }
+        }
+        logger.info("Warm-up ran {} searches and {} price quotes in {} ms",
+                searchIndex ? iterations : 0, quotes, System.currentTimeMillis() - start);
+        return quotes;
+    }
+
+    /**
+     * @return true once every start() step has succeeded, until close()
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Let queued bookings and the notifications being sent finish, then stop the reporting
+     * reconciler and drop the caches
+     */
+    public void close() {
+        closed = true;
+        ScheduledExecutorService scheduler = starter;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // Wait out a start() pass in progress so it cannot mark the context ready afterwards
+        startLock.lock();
+        try {
+            ready = false;
+        } finally {
+            startLock.unlock();
+        }
+        bookingExecutor.shutdown(10000);
+        outboxWorker.stop(10000);
+        holdSweeper.stop();
+        ReportingCounters.getInstance().stop();
+        RoomAvailabilityIndex.getInstance().clear();
+        SeasonalPricingCache.getInstance().clear();
+        logger.info("Application context closed");
+    }
+
+    public RoomRepository getRoomRepository() {
+        return roomRepository;
+    }
+
+    public ReservationRepository getReservationRepository() {
+        return reservationRepository;
+    }
+
+    public GuestRepository getGuestRepository() {
+        return guestRepository;
+    }
+
+    public UserRepository getUserRepository() {
+        return userRepository;
+    }
+
+    public SeasonalPricingRepository getSeasonalPricingRepository() {
+        return seasonalPricingRepository;
+    }
+
+    public RoomService getRoomService() {
+        return roomService;
+    }
+
+    public SeasonalPricingService getSeasonalPricingService() {
+        return seasonalPricingService;
+    }
+
+    public PaymentService getPaymentService() {
+        return paymentService;
+    }
+
+    public UserService getUserService() {
+        return userService;
+    }
+
+    public ReportService getReportService() {
+        return reportService;
+    }
+
+    public BookingService getBookingService() {
+        return bookingService;
+    }
+
+    public BookingExecutor getBookingExecutor() {
+        return bookingExecutor;
+    }
+
+    public NotificationOutboxRepository getOutboxRepository() {
+        return outboxRepository;
+    }
+
+    public NotificationOutboxWorker getOutboxWorker() {
+        return outboxWorker;
+    }
+
+    public BookingHoldSweeper getHoldSweeper() {
+        return holdSweeper;
+    }
+}
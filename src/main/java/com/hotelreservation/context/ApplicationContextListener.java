@@ -0,0 +1,80 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.persistence.DatabaseConnection;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * ApplicationContextListener - builds the shared ApplicationContext before any servlet
+ * initializes and closes it when the webapp is undeployed
+ *
+ * Startup opens the connection pool's idle connections, registers the context and
+ * loads its caches on a background thread, so /ready reports 503 until they are loaded.
+ * Shutdown runs in reverse: the context (reporting reconciler, caches), the connection
+ * pools, then the JDBC drivers this webapp registered and the MySQL driver's cleanup
+ * thread, so a redeploy does not leak the old class loader. Each step runs even when
+ * an earlier one fails.
+ */
+public class ApplicationContextListener implements ServletContextListener {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationContextListener.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        try {
+            DatabaseConnection.getInstance().warmUp();
+        } catch (RuntimeException e) {
+            logger.error("Connection pool warm-up failed, connections open on first use", e);
+        }
+        ApplicationContext context = new ApplicationContext();
+        event.getServletContext().setAttribute(ApplicationContext.ATTRIBUTE, context);
+        context.startInBackground();
+        logger.info("Application context registered, loading caches in the background");
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        ServletContext servletContext = event.getServletContext();
+        Object context = servletContext.getAttribute(ApplicationContext.ATTRIBUTE);
+        servletContext.removeAttribute(ApplicationContext.ATTRIBUTE);
+        if (context instanceof ApplicationContext applicationContext) {
+            try {
+                applicationContext.close();
+            } catch (RuntimeException e) {
+                logger.error("Failed to close application context", e);
+            }
+        }
+        try {
+            DatabaseConnection.shutdown();
+        } catch (RuntimeException e) {
+            logger.error("Failed to close connection pools", e);
+        }
+        deregisterDrivers();
+    }
+
+    private void deregisterDrivers() {
+        ClassLoader webappLoader = Thread.currentThread().getContextClassLoader();
+        for (Driver driver : Collections.list(DriverManager.getDrivers())) {
+            if (driver.getClass().getClassLoader() == webappLoader) {
+                try {
+                    DriverManager.deregisterDriver(driver);
+                    logger.info("Deregistered JDBC driver {}", driver.getClass().getName());
+                } catch (SQLException e) {
+                    logger.warn("Failed to deregister JDBC driver {}", driver.getClass().getName(), e);
+                }
+            }
+        }
+        try {
+            com.mysql.cj.jdbc.AbandonedConnectionCleanupThread.checkedShutdown();
+        } catch (RuntimeException | LinkageError e) {
+            logger.debug("MySQL connection cleanup thread not stopped", e);
+        }
+    }
+}
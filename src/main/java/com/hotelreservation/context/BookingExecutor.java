@@ -0,0 +1,256 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.exception.HotelSystemException;
+import com.hotelreservation.metrics.PrometheusText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BookingExecutor - bounded worker pool that runs bookings outside the container threads
+ *
+ * A booking looks up the guest, inserts the reservation, calls the payment adapter,
+ * updates the room and sends the confirmation email, all blocking. The booking servlets
+ * start Servlet async processing and hand that work to this pool, so their container
+ * thread returns at once and stays free for searches and dashboards during a booking
+ * burst. The queue is bounded: when it is full the booking is turned down with 503 and
+ * Retry-After instead of piling up (back-pressure). Queue depth, active bookings and the
+ * outcome counters are exported with the query metrics.
+ *
+ * A task gets no request: it returns the page to show and its attributes, which are only
+ * applied if the request has not timed out in the meantime. A booking still queued when
+ * its request times out is never started, so the guest is told it was not made.
+ */
+public class BookingExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(BookingExecutor.class);
+    static final String ERROR_PAGE = "/jsp/error.jsp";
+    static final String BUSY_MESSAGE = "The booking system is busy. Please try again in a few seconds.";
+    static final String TIMEOUT_MESSAGE = "The booking is taking longer than expected. "
+            + "Please check your reservations before trying again.";
+    static final String NOT_STARTED_MESSAGE = "The booking system is busy and your booking was not made. "
+            + "Please try again in a few seconds.";
+    private static final int QUEUED = 0;
+    private static final int STARTED = 1;
+    private static final int FINISHED = 2;
+
+    /**
+     * Booking work run on a pool thread
+     */
+    @FunctionalInterface
+    public interface BookingTask {
+        View run() throws Exception;
+    }
+
+    /**
+     * The page a booking ends on and the request attributes it renders
+     */
+    public static final class View {
+        private final String page;
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+        private View(String page) {
+            this.page = page;
+        }
+
+        public static View of(String page) {
+            return new View(page);
+        }
+
+        public View with(String name, Object value) {
+            attributes.put(name, value);
+            return this;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public BookingExecutor(int threads, int queueCapacity, long timeoutMillis) {
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "booking-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        logger.info("Booking executor: {} threads, queue of {}, {} ms timeout", threads, queueCapacity, timeoutMillis);
+    }
+
+    /**
+     * Put the request in async mode and queue the booking. The request is dispatched to
+     * the task's page when it finishes, to the error page (503) when the queue is full or
+     * the booking outlasts the timeout, and to the error page when the task throws.
+     */
+    public void submit(HttpServletRequest request, HttpServletResponse response, BookingTask task) {
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(timeoutMillis);
+        // QUEUED -> STARTED -> FINISHED; whoever moves it to FINISHED answers the request
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        Runnable booking = () -> run(async, state, task);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                int previous = state.getAndSet(FINISHED);
+                if (previous == FINISHED) {
+                    return;
+                }
+                timedOut.increment();
+                if (previous == QUEUED) {
+                    executor.remove(booking);
+                    logger.warn("Booking timed out after {} ms before it started, {} bookings queued", timeoutMillis, getQueueDepth());
+                    unavailable(async, NOT_STARTED_MESSAGE);
+                } else {
+                    logger.warn("Booking timed out after {} ms, {} bookings queued", timeoutMillis, getQueueDepth());
+                    unavailable(async, TIMEOUT_MESSAGE);
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        try {
+            executor.execute(booking);
+        } catch (RejectedExecutionException e) {
+            state.set(FINISHED);
+            rejected.increment();
+            logger.warn("Booking rejected, queue full ({} bookings queued)", getQueueDepth());
+            ((HttpServletResponse) async.getResponse()).setHeader("Retry-After", "5");
+            unavailable(async, BUSY_MESSAGE);
+        }
+    }
+
+    private void run(AsyncContext async, AtomicInteger state, BookingTask task) {
+        if (!state.compareAndSet(QUEUED, STARTED)) {
+            logger.warn("Booking skipped, its request timed out while it was queued");
+            return;
+        }
+        View view;
+        try {
+            view = task.run();
+            completed.increment();
+        } catch (Exception e) {
+            failed.increment();
+            view = View.of(ERROR_PAGE).with("error", e.getMessage());
+            if (e instanceof HotelSystemException hse) {
+                logger.error("Hotel system error during booking: [{}] {}", hse.getErrorCode(), hse.getMessage(), hse);
+                view.with("errorCode", hse.getErrorCode()).with("statusCode", hse.getStatusCode());
+            } else {
+                logger.error("Error during booking", e);
+            }
+        }
+        if (!state.compareAndSet(STARTED, FINISHED)) {
+            logger.warn("Booking finished after its request timed out; {} not shown", view.getPage());
+            return;
+        }
+        try {
+            view.getAttributes().forEach(async.getRequest()::setAttribute);
+            async.dispatch(view.getPage());
+        } catch (IllegalStateException e) {
+            logger.warn("Booking finished as its request timed out; {} not shown", view.getPage());
+        }
+    }
+
+    private static void unavailable(AsyncContext async, String message) {
+        async.getRequest().setAttribute("error", message);
+        async.getRequest().setAttribute("statusCode", HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        ((HttpServletResponse) async.getResponse()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        async.dispatch(ERROR_PAGE);
+    }
+
+    /**
+     * Stop taking bookings and give the queued and running ones time to finish
+     */
+    public void shutdown(long waitMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(waitMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("{} bookings still running at shutdown, interrupting", executor.getActiveCount());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Render the pool gauges and counters in the Prometheus text exposition format
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        PrometheusText.appendMetric(out, "hotel_booking_queue_depth", "gauge", "Bookings waiting for a booking thread", getQueueDepth());
+        PrometheusText.appendMetric(out, "hotel_booking_queue_capacity", "gauge", "Bookings that can wait before new ones are rejected", queueCapacity);
+        PrometheusText.appendMetric(out, "hotel_booking_active", "gauge", "Bookings being processed", getActiveCount());
+        PrometheusText.appendMetric(out, "hotel_booking_completed_total", "counter", "Bookings processed", getCompleted());
+        PrometheusText.appendMetric(out, "hotel_booking_failed_total", "counter", "Bookings that ended on the error page", getFailed());
+        PrometheusText.appendMetric(out, "hotel_booking_rejected_total", "counter", "Bookings turned down because the queue was full", getRejected());
+        PrometheusText.appendMetric(out, "hotel_booking_timeouts_total", "counter", "Bookings answered with a timeout", getTimedOut());
+        return out.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * BookingHoldSweeper - background thread that frees booking holds nobody will confirm
+ *
+ * ReservationRepository.saveBooking holds the room with a PENDING reservation before the
+ * payment is charged and confirms or releases it afterwards. If the JVM dies or the request
+ * is lost in between, the hold would keep its room, its nights and its queued notification
+ * for good. Every booking.hold.sweep.interval.ms this releases the holds older than
+ * booking.hold.lease.ms, which must be well above the time a booking takes
+ * (booking.async.timeout.ms plus the payment channel's answer).
+ */
+public class BookingHoldSweeper {
+    private static final Logger logger = LoggerFactory.getLogger(BookingHoldSweeper.class);
+
+    private final ReservationRepository reservationRepository;
+    private final String roomStatus;
+    private final long intervalMillis;
+    private final long leaseMillis;
+    private final LongAdder released = new LongAdder();
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * @param roomStatus status bookings move their room to, given back as AVAILABLE on release
+     * @param intervalMillis delay between sweeps; 0 leaves the holds to another instance
+     * @param leaseMillis age after which an unconfirmed hold is released
+     */
+    public BookingHoldSweeper(ReservationRepository reservationRepository, String roomStatus,
+                              long intervalMillis, long leaseMillis) {
+        this.reservationRepository = reservationRepository;
+        this.roomStatus = roomStatus;
+        this.intervalMillis = intervalMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Start sweeping, the first sweep one interval from now
+     */
+    public void start() {
+        if (intervalMillis <= 0) {
+            logger.info("Booking hold sweeper disabled (booking.hold.sweep.interval.ms=0)");
+            return;
+        }
+        lifecycleLock.lock();
+        try {
+            if (scheduler != null) {
+                return;
+            }
+            scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "booking-hold-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::sweep, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            logger.info("Booking hold sweeper: releasing holds older than {} ms every {} ms", leaseMillis, intervalMillis);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Stop sweeping; a sweep in progress is interrupted between its statements
+     */
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Release every expired hold once
+     * @return number of holds released
+     */
+    int sweep() {
+        try {
+            int count = reservationRepository.releaseExpiredHolds(roomStatus, leaseMillis);
+            if (count > 0) {
+                released.add(count);
+                logger.warn("Released {} booking holds not confirmed within {} ms", count, leaseMillis);
+            }
+            return count;
+        } catch (RuntimeException e) {
+            // A scheduled task that throws is never run again
+            logger.error("Booking hold sweep failed", e);
+        }
+        return 0;
+    }
+
+    public long getReleased() {
+        return released.sum();
+    }
+}
@@ -0,0 +1,243 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OutboxMessage;
+import com.hotelreservation.metrics.PrometheusText;
+import com.hotelreservation.repository.NotificationOutboxRepository;
+import com.hotelreservation.service.impl.OnlineResService;
+import com.hotelreservation.service.impl.WalkInResService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * NotificationOutboxWorker - background pool that sends the confirmation emails and POS
+ * receipts queued in the notification outbox
+ *
+ * A booking only inserts an outbox row when it holds its room, so the guest's response
+ * never waits on the mail server or the printer. The row is claimed only once the
+ * booking is confirmed and is deleted with a released hold, so a notification is neither
+ * lost when the webapp stops nor sent for a booking that failed. Each worker thread polls every
+ * outbox.poll.interval.ms, claims up to outbox.batch.size due messages with a lease, sends
+ * them and writes the whole batch's outcome, including the email_sent / receipt_printed
+ * flags, in one transaction. A failed send is retried with exponential backoff until
+ * outbox.max.attempts, then left FAILED for an operator; an online guest without an email
+ * address is SKIPPED. Delivery is at least once: a worker that dies mid-batch leaves its
+ * messages to be claimed again when the lease expires.
+ */
+public class NotificationOutboxWorker {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+    static final String NO_EMAIL = "Guest has no email address";
+    static final String NOT_DELIVERED = "Notification not delivered";
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final OnlineResService onlineResService;
+    private final WalkInResService walkInResService;
+    private final int threads;
+    private final int batchSize;
+    private final long pollMillis;
+    private final long leaseMillis;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private ScheduledThreadPoolExecutor scheduler;
+
+    public NotificationOutboxWorker(NotificationOutboxRepository outboxRepository, OnlineResService onlineResService,
+                                    WalkInResService walkInResService, int threads, int batchSize, long pollMillis,
+                                    long leaseMillis, int maxAttempts, long backoffMillis, long maxBackoffMillis) {
+        this.outboxRepository = outboxRepository;
+        this.onlineResService = onlineResService;
+        this.walkInResService = walkInResService;
+        this.threads = threads;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollMillis = Math.max(1, pollMillis);
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Start the polling threads; with 0 threads the outbox is left for another instance to drain
+     */
+    public void start() {
+        if (threads <= 0) {
+            logger.info("Notification outbox worker disabled (outbox.worker.threads=0)");
+            return;
+        }
+        lifecycleLock.lock();
+        try {
+            if (scheduler != null) {
+                return;
+            }
+            AtomicInteger threadNumber = new AtomicInteger();
+            scheduler = new ScheduledThreadPoolExecutor(threads, runnable -> {
+                Thread thread = new Thread(runnable, "outbox-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < threads; i++) {
+                // Stagger the threads so their polls spread over the interval
+                scheduler.scheduleWithFixedDelay(this::drain, pollMillis * i / threads, pollMillis, TimeUnit.MILLISECONDS);
+            }
+            logger.info("Notification outbox worker: {} threads, batches of {}, polling every {} ms", threads, batchSize, pollMillis);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Stop polling and give the batches being sent time to finish. Messages of a batch cut
+     * short are claimed again once their lease expires.
+     */
+    public void stop(long waitMillis) {
+        lifecycleLock.lock();
+        try {
+            if (scheduler == null) {
+                return;
+            }
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(waitMillis, TimeUnit.MILLISECONDS)) {
+                logger.warn("Notification outbox batches still running at shutdown, interrupting");
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            scheduler = null;
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Claim and dispatch batches until the outbox has no more due messages
+     * @return number of messages dispatched
+     */
+    int drain() {
+        int dispatched = 0;
+        try {
+            List<OutboxMessage> batch;
+            do {
+                batch = outboxRepository.claimBatch(batchSize, leaseMillis);
+                if (!batch.isEmpty()) {
+                    dispatch(batch);
+                    dispatched += batch.size();
+                }
+            } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            // A scheduled task that throws is never run again
+            logger.error("Notification outbox poll failed", e);
+        }
+        return dispatched;
+    }
+
+    /**
+     * Send every message of a claimed batch, then record the batch's outcome in bulk
+     */
+    void dispatch(List<OutboxMessage> batch) {
+        long now = System.currentTimeMillis();
+        for (OutboxMessage message : batch) {
+            deliver(message, now);
+        }
+        outboxRepository.completeBatch(batch);
+        batches.increment();
+        logger.debug("Notification outbox batch of {} dispatched in {} ms", batch.size(), System.currentTimeMillis() - now);
+    }
+
+    private void deliver(OutboxMessage message, long now) {
+        Guest guest = message.getGuest();
+        try {
+            boolean delivered;
+            if (OutboxMessage.RESERVATION_RECEIPT.equals(message.getKind())) {
+                delivered = walkInResService.printReservationReceipt(guest, message.getReservation(), message.getRoom());
+            } else if (guest.getEmail() == null || guest.getEmail().isEmpty()) {
+                message.markSkipped(NO_EMAIL);
+                skipped.increment();
+                return;
+            } else {
+                delivered = onlineResService.sendConfirmationEmail(guest, message.getReservation());
+            }
+            if (delivered) {
+                message.markSent();
+                sent.increment();
+            } else {
+                fail(message, NOT_DELIVERED, now);
+            }
+        } catch (RuntimeException e) {
+            fail(message, e.getMessage() != null ? e.getMessage() : e.getClass().getName(), now);
+        }
+    }
+
+    private void fail(OutboxMessage message, String error, long now) {
+        if (message.getAttempts() >= maxAttempts) {
+            message.markFailed(error, 0);
+            failed.increment();
+            logger.error("Giving up on {} for reservation {} after {} attempts: {}", message.getKind(),
+                    message.getReservation().getId(), message.getAttempts(), error);
+        } else {
+            message.markFailed(error, now + backoff(message.getAttempts()));
+            retried.increment();
+            logger.warn("{} for reservation {} failed (attempt {} of {}), retrying in {} ms: {}", message.getKind(),
+                    message.getReservation().getId(), message.getAttempts(), maxAttempts, backoff(message.getAttempts()), error);
+        }
+    }
+
+    /**
+     * Delay before the next attempt: outbox.retry.backoff.ms doubled per failed attempt,
+     * capped at outbox.retry.backoff.max.ms
+     * @param attempts attempts made so far (1 after the first failure)
+     */
+    long backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), MAX_BACKOFF_DOUBLINGS);
+        return Math.min(backoffMillis << doublings, maxBackoffMillis);
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Render the outbox backlog and delivery counters in the Prometheus text exposition format
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        PrometheusText.appendMetric(out, "hotel_outbox_pending", "gauge", "Notifications waiting to be sent",
+                outboxRepository.countByStatus(OutboxMessage.PENDING));
+        PrometheusText.appendMetric(out, "hotel_outbox_sent_total", "counter", "Notifications sent", getSent());
+        PrometheusText.appendMetric(out, "hotel_outbox_skipped_total", "counter", "Notifications with nobody to send them to", getSkipped());
+        PrometheusText.appendMetric(out, "hotel_outbox_retries_total", "counter", "Failed sends scheduled for another attempt", getRetried());
+        PrometheusText.appendMetric(out, "hotel_outbox_failed_total", "counter", "Notifications given up after the last attempt", getFailed());
+        PrometheusText.appendMetric(out, "hotel_outbox_batches_total", "counter", "Outbox batches dispatched", getBatches());
+        return out.toString();
+    }
+}
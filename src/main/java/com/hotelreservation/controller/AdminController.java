@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * AdminController - handles admin operations
@@ -285,6 +286,40 @@ public class AdminController {
         }
     }
 
+    /**
+     * Set the active status of several seasons in one batched update
+     * @param seasonIds the season IDs
+     * @param active new active status
+     * @return ControllerResult with the number of seasons updated
+     */
+    public ControllerResult<Integer> toggleSeasons(List<Integer> seasonIds, boolean active) {
+        try {
+            if (seasonalPricingService == null) {
+                return new ControllerResult<>(false, "Seasonal pricing service not configured", 0);
+            }
+            if (seasonIds == null || seasonIds.isEmpty()) {
+                return new ControllerResult<>(false, "No seasons selected", 0);
+            }
+            List<SeasonalPricing> seasons = seasonalPricingService.getAllSeasons().stream()
+                    .filter(season -> seasonIds.contains(season.getId()))
+                    .collect(Collectors.toList());
+            if (seasons.isEmpty()) {
+                return new ControllerResult<>(false, "Season not found", 0);
+            }
+            seasons.forEach(season -> season.setActive(active));
+            int updated = seasonalPricingService.updateSeasons(seasons);
+            String status = active ? "activated" : "deactivated";
+            logger.info("{} seasons {}: {}", updated, status, seasonIds);
+            if (updated == 0) {
+                return new ControllerResult<>(false, "Failed to update seasons", 0);
+            }
+            return new ControllerResult<>(true, updated + " season(s) " + status, updated);
+        } catch (Exception e) {
+            logger.error("Error toggling seasons", e);
+            return new ControllerResult<>(false, "Error: " + e.getMessage(), 0);
+        }
+    }
+
     /**
      * Delete a seasonal pricing entry
      * @param seasonId the season ID to delete
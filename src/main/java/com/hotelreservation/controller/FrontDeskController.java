@@ -2,6 +2,8 @@ package com.hotelreservation.controller;
 
 import com.hotelreservation.dto.GuestDTO;
 import com.hotelreservation.dto.ReservationDTO;
+import com.hotelreservation.dto.ReservationFilter;
+import com.hotelreservation.dto.ReservationPage;
 import com.hotelreservation.service.impl.BookingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,6 +118,24 @@ public class FrontDeskController {
         }
     }
 
+    /**
+     * List one page of all reservations, newest first
+     * @param status optional status filter
+     * @param type optional reservation type filter (ONLINE or WALK_IN)
+     * @param cursor cursor of the page to show, or null for the first page
+     * @return ControllerResult with the page
+     */
+    public ControllerResult<ReservationPage> listReservations(String status, String type, String cursor) {
+        try {
+            ReservationPage page = bookingService.getReservationPage(new ReservationFilter(null, status, type),
+                    cursor, BookingService.DEFAULT_PAGE_SIZE);
+            return new ControllerResult<>(true, "Reservations retrieved", page);
+        } catch (Exception e) {
+            logger.error("Error listing reservations", e);
+            return new ControllerResult<>(false, "Error listing reservations: " + e.getMessage(), null);
+        }
+    }
+
     /**
      * Generic result wrapper for controller responses
      */
@@ -2,16 +2,17 @@
 
     import com.hotelreservation.dto.GuestDTO;
     import com.hotelreservation.dto.ReservationDTO;
+    import com.hotelreservation.dto.ReservationFilter;
+    import com.hotelreservation.dto.ReservationPage;
     import com.hotelreservation.dto.RoomDTO;
     import com.hotelreservation.service.impl.BookingService;
-    import com.hotelreservation.service.impl.RoomServiceImpl;
+    import com.hotelreservation.service.RoomService;
     import org.slf4j.Logger;
     import org.slf4j.LoggerFactory;
 
     import java.time.LocalDate;
     import java.time.format.DateTimeParseException;
     import java.util.List;
-    import java.util.stream.Collectors;
 
     /**
      * ReservationController - handles guest reservation requests
@@ -20,9 +21,9 @@
     public class ReservationController {
         private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
         private BookingService bookingService;
-        private RoomServiceImpl roomService;
+        private RoomService roomService;
 
-        public ReservationController(BookingService bookingService, RoomServiceImpl roomService) {
+        public ReservationController(BookingService bookingService, RoomService roomService) {
             this.bookingService = bookingService;
             this.roomService = roomService;
         }
@@ -164,6 +165,25 @@
             }
         }
 
+        /**
+         * List one page of a guest's reservations, newest first
+         * @param guestId the guest's ID (from guests table)
+         * @param status optional status filter
+         * @param cursor cursor of the page to show, or null for the first page
+         * @return ControllerResult with the page
+         */
+        public ControllerResult<ReservationPage> listReservationPageForGuest(int guestId, String status, String cursor) {
+            try {
+                ReservationPage page = bookingService.getReservationPage(new ReservationFilter(guestId, status, null),
+                        cursor, BookingService.DEFAULT_PAGE_SIZE);
+                logger.info("Retrieved {} reservations for guest {}", page.getReservations().size(), guestId);
+                return new ControllerResult<>(true, "Reservations retrieved", page);
+            } catch (Exception e) {
+                logger.error("Error listing reservations for guest {}", guestId, e);
+                return new ControllerResult<>(false, "Error listing reservations: " + e.getMessage(), null);
+            }
+        }
+
         /**
          * List reservations for a specific guest user
          * NOTE: This previously assumed userId==guestId; now it delegates to listReservationsForGuest
@@ -172,12 +192,9 @@
         @Deprecated
         public ControllerResult<List<ReservationDTO>> listReservationsForUser(int userId) {
             // This method is kept for backward compatibility but no longer used.
-            // It simply returns all reservations filtered in-memory by guestId==userId.
+            // It treats userId as the guestId and queries that guest's reservations.
             try {
-                List<ReservationDTO> allReservations = bookingService.getAllReservations();
-                List<ReservationDTO> guestReservations = allReservations.stream()
-                        .filter(res -> res.getGuestId() == userId)
-                        .collect(Collectors.toList());
+                List<ReservationDTO> guestReservations = bookingService.getReservationsByGuest(userId);
 
                 logger.info("Retrieved {} reservations for user {} (deprecated path)", guestReservations.size(), userId);
                 return new ControllerResult<>(true, "Reservations retrieved", guestReservations);
@@ -0,0 +1,159 @@
+package com.hotelreservation.dto;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * OccupancyHistogram - occupied rooms and room revenue for every night of a date range
+ *
+ * Stays are added one at a time as they are streamed from the database. Each stay
+ * costs O(1): it is recorded as +1/-1 at its first and past-the-end night in a
+ * difference array, and its total is spread evenly over its nights the same way.
+ * The per-night arrays are resolved by one prefix-sum pass on first read, so memory
+ * is bounded by the number of nights in the range, not the number of reservations.
+ */
+public class OccupancyHistogram {
+    /** Longest range accepted (about 100 years) */
+    public static final int MAX_NIGHTS = 36525;
+
+    private final LocalDate firstNight;
+    private final int totalRooms;
+    private final int[] occupied;
+    private final double[] revenue;
+    private int stays;
+    private boolean resolved;
+
+    /**
+     * @param firstNight first night of the range
+     * @param lastNight last night of the range (inclusive)
+     * @param totalRooms rooms available each night
+     */
+    public OccupancyHistogram(LocalDate firstNight, LocalDate lastNight, int totalRooms) {
+        long nights = ChronoUnit.DAYS.between(firstNight, lastNight) + 1;
+        if (nights < 1) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (nights > MAX_NIGHTS) {
+            throw new IllegalArgumentException("Date range exceeds " + MAX_NIGHTS + " nights");
+        }
+        this.firstNight = firstNight;
+        this.totalRooms = totalRooms;
+        // One extra slot holds the past-the-end deltas
+        this.occupied = new int[(int) nights + 1];
+        this.revenue = new double[(int) nights + 1];
+    }
+
+    /**
+     * Add one stay; nights outside the range are ignored
+     * @param checkIn first night of the stay
+     * @param checkOut morning after the last night
+     * @param totalAmount total charged, spread evenly over the stay's nights
+     */
+    public void addStay(LocalDate checkIn, LocalDate checkOut, double totalAmount) {
+        if (resolved) {
+            throw new IllegalStateException("Histogram already read");
+        }
+        long stayNights = Math.max(1, ChronoUnit.DAYS.between(checkIn, checkOut));
+        long from = Math.max(0, ChronoUnit.DAYS.between(firstNight, checkIn));
+        long to = Math.min(getNights(), ChronoUnit.DAYS.between(firstNight, checkIn) + stayNights);
+        if (from >= to) {
+            return;
+        }
+        double perNight = totalAmount / stayNights;
+        occupied[(int) from]++;
+        occupied[(int) to]--;
+        revenue[(int) from] += perNight;
+        revenue[(int) to] -= perNight;
+        stays++;
+    }
+
+    private void resolve() {
+        if (!resolved) {
+            for (int i = 1; i < occupied.length; i++) {
+                occupied[i] += occupied[i - 1];
+                revenue[i] += revenue[i - 1];
+            }
+            resolved = true;
+        }
+    }
+
+    public LocalDate getFirstNight() {
+        return firstNight;
+    }
+
+    public int getNights() {
+        return occupied.length - 1;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    /**
+     * @return number of stays that covered at least one night of the range
+     */
+    public int getStays() {
+        return stays;
+    }
+
+    public LocalDate getNight(int i) {
+        return firstNight.plusDays(i);
+    }
+
+    public int getOccupied(int i) {
+        resolve();
+        return occupied[i];
+    }
+
+    /**
+     * @return occupancy of night i as a percentage of total rooms
+     */
+    public double getOccupancyRate(int i) {
+        return totalRooms > 0 ? getOccupied(i) * 100.0 / totalRooms : 0;
+    }
+
+    /**
+     * @return index of the first night with the most occupied rooms
+     */
+    public int getPeakNight() {
+        resolve();
+        int peak = 0;
+        for (int i = 1; i < getNights(); i++) {
+            if (occupied[i] > occupied[peak]) {
+                peak = i;
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * @return occupied room-nights over available room-nights, as a percentage
+     */
+    public double getAverageOccupancyRate() {
+        resolve();
+        long roomNights = 0;
+        for (int i = 0; i < getNights(); i++) {
+            roomNights += occupied[i];
+        }
+        return totalRooms > 0 ? roomNights * 100.0 / ((long) totalRooms * getNights()) : 0;
+    }
+
+    /**
+     * @return room revenue earned on nights inside the range
+     */
+    public double getRevenue() {
+        resolve();
+        double total = 0;
+        for (int i = 0; i < getNights(); i++) {
+            total += revenue[i];
+        }
+        return total;
+    }
+
+    /**
+     * @return revenue per available room-night
+     */
+    public double getRevPar() {
+        return totalRooms > 0 ? getRevenue() / ((long) totalRooms * getNights()) : 0;
+    }
+}
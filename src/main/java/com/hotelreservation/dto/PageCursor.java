@@ -0,0 +1,48 @@
+package com.hotelreservation.dto;
+
+/**
+ * PageCursor - position of the last row of a reservation page
+ * Reservations are listed newest first by (created_at, id); the next page starts strictly
+ * after this key, so the database seeks straight to it through the index instead of
+ * skipping OFFSET rows. Travels in URLs as "createdAtMillis:id".
+ */
+public final class PageCursor {
+    private final long createdAt;
+    private final String id;
+
+    public PageCursor(long createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String encode() {
+        return createdAt + ":" + id;
+    }
+
+    /**
+     * Parse a cursor from a request parameter
+     * @return the cursor, or null for a missing or malformed value (meaning the first page)
+     */
+    public static PageCursor decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(':');
+        if (separator <= 0 || separator == value.length() - 1) {
+            return null;
+        }
+        try {
+            return new PageCursor(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.hotelreservation.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ReportSnapshot - Data Transfer Object holding every admin report counter
+ * Reservation counters come from one grouped query (ReservationRepository.getReportSnapshot),
+ * room counters from another (RoomRepository.countAllByStatus). ReportServiceImpl builds
+ * all of its reports from a single snapshot.
+ */
+public class ReportSnapshot {
+    private final Map<String, Integer> reservationsByStatus = new TreeMap<>();
+    private final Map<String, Integer> reservationsByType = new TreeMap<>();
+    private final Map<String, Integer> roomsByStatus = new TreeMap<>();
+    private final List<ReservationGroup> reservationGroups = new ArrayList<>();
+    private int totalReservations;
+    private int totalRooms;
+    private double checkedOutRevenue;
+
+    /**
+     * Add one (status, type) group of reservations
+     * @param status reservation status
+     * @param type reservation type (ONLINE or WALK_IN)
+     * @param count number of reservations in the group
+     * @param amount sum of their total_amount
+     */
+    public void addReservations(String status, String type, int count, double amount) {
+        reservationGroups.add(new ReservationGroup(status, type, count, amount));
+        reservationsByStatus.merge(status, count, Integer::sum);
+        reservationsByType.merge(type, count, Integer::sum);
+        totalReservations += count;
+        if ("CHECKED_OUT".equals(status)) {
+            checkedOutRevenue += amount;
+        }
+    }
+
+    /**
+     * Add the room count for one status
+     */
+    public void addRooms(String status, int count) {
+        roomsByStatus.merge(status, count, Integer::sum);
+        totalRooms += count;
+    }
+
+    public int getReservationCount(String status) {
+        return reservationsByStatus.getOrDefault(status, 0);
+    }
+
+    public int getReservationTypeCount(String type) {
+        return reservationsByType.getOrDefault(type, 0);
+    }
+
+    public int getTotalReservations() {
+        return totalReservations;
+    }
+
+    /**
+     * @return revenue from CHECKED_OUT reservations
+     */
+    public double getCheckedOutRevenue() {
+        return checkedOutRevenue;
+    }
+
+    public int getRoomCount(String status) {
+        return roomsByStatus.getOrDefault(status, 0);
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    public Map<String, Integer> getReservationsByStatus() {
+        return Collections.unmodifiableMap(reservationsByStatus);
+    }
+
+    public Map<String, Integer> getReservationsByType() {
+        return Collections.unmodifiableMap(reservationsByType);
+    }
+
+    public Map<String, Integer> getRoomsByStatus() {
+        return Collections.unmodifiableMap(roomsByStatus);
+    }
+
+    /**
+     * @return the (status, type) groups in the order they were added
+     */
+    public List<ReservationGroup> getReservationGroups() {
+        return Collections.unmodifiableList(reservationGroups);
+    }
+
+    /**
+     * One row of the grouped reservation query: reservations sharing a status and type
+     */
+    public static class ReservationGroup {
+        private final String status;
+        private final String type;
+        private final int count;
+        private final double amount;
+
+        public ReservationGroup(String status, String type, int count, double amount) {
+            this.status = status;
+            this.type = type;
+            this.count = count;
+            this.amount = amount;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+    }
+}
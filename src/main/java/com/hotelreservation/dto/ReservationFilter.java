@@ -0,0 +1,41 @@
+package com.hotelreservation.dto;
+
+/**
+ * ReservationFilter - optional criteria for a reservation page
+ * A null field means "any"; blank strings are treated as null.
+ */
+public class ReservationFilter {
+    private final Integer guestId;
+    private final String status;
+    private final String reservationType;
+
+    public ReservationFilter(Integer guestId, String status, String reservationType) {
+        this.guestId = guestId;
+        this.status = blankToNull(status);
+        this.reservationType = blankToNull(reservationType);
+    }
+
+    public static ReservationFilter all() {
+        return new ReservationFilter(null, null, null);
+    }
+
+    public static ReservationFilter forGuest(int guestId) {
+        return new ReservationFilter(guestId, null, null);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    public Integer getGuestId() {
+        return guestId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getReservationType() {
+        return reservationType;
+    }
+}
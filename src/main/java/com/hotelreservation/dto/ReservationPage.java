@@ -0,0 +1,33 @@
+package com.hotelreservation.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ReservationPage - one page of a keyset-paginated reservation listing
+ */
+public class ReservationPage {
+    private final List<ReservationDTO> reservations;
+    private final String nextCursor;
+
+    /**
+     * @param reservations the rows of this page, newest first
+     * @param nextCursor encoded PageCursor of the next page, or null on the last page
+     */
+    public ReservationPage(List<ReservationDTO> reservations, String nextCursor) {
+        this.reservations = Collections.unmodifiableList(reservations);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ReservationDTO> getReservations() {
+        return reservations;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,172 @@
+package com.hotelreservation.entity;
+
+/**
+ * OutboxMessage entity - a claimed notification_outbox row with the reservation, guest and
+ * room it is about, loaded together so a batch is dispatched without further queries.
+ */
+public class OutboxMessage {
+    public static final String CONFIRMATION_EMAIL = "CONFIRMATION_EMAIL";
+    public static final String RESERVATION_RECEIPT = "RESERVATION_RECEIPT";
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String FAILED = "FAILED";
+
+    private long id;
+    private String kind;
+    private String status = PENDING;
+    private int attempts;
+    private long nextAttemptAt;
+    private String lastError;
+    private String claimedBy;
+    private Reservation reservation;
+    private Guest guest;
+    private Room room;
+
+    public OutboxMessage() {}
+
+    public OutboxMessage(long id, String kind, int attempts, Reservation reservation, Guest guest, Room room) {
+        this.id = id;
+        this.kind = kind;
+        this.attempts = attempts;
+        this.reservation = reservation;
+        this.guest = guest;
+        this.room = room;
+    }
+
+    /**
+     * The notification a new booking owes its guest: a confirmation email for an online
+     * reservation, a POS receipt for a walk-in
+     * @param reservation the booked reservation
+     * @return CONFIRMATION_EMAIL or RESERVATION_RECEIPT
+     */
+    public static String kindFor(Reservation reservation) {
+        return reservation instanceof WalkInReservation ? RESERVATION_RECEIPT : CONFIRMATION_EMAIL;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Record a successful delivery
+     */
+    public void markSent() {
+        this.status = SENT;
+        this.lastError = null;
+    }
+
+    /**
+     * Record that there is nothing to deliver (e.g. the guest left no email address)
+     * @param reason why the notification was not sent
+     */
+    public void markSkipped(String reason) {
+        this.status = SKIPPED;
+        this.lastError = reason;
+    }
+
+    /**
+     * Record a failed delivery: retried at nextAttemptAt, or FAILED for good when it is 0
+     * @param error the failure
+     * @param nextAttemptAt epoch millis of the next attempt, 0 to give up
+     */
+    public void markFailed(String error, long nextAttemptAt) {
+        this.status = nextAttemptAt > 0 ? PENDING : FAILED;
+        this.lastError = error;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * @return delivery attempts so far, including the one in progress
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(long nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    /**
+     * @return the claim token of the worker holding this message
+     */
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(Reservation reservation) {
+        this.reservation = reservation;
+    }
+
+    public Guest getGuest() {
+        return guest;
+    }
+
+    public void setGuest(Guest guest) {
+        this.guest = guest;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "id=" + id +
+                ", kind='" + kind + '\'' +
+                ", status='" + status + '\'' +
+                ", attempts=" + attempts +
+                ", reservationId='" + (reservation != null ? reservation.getId() : null) + '\'' +
+                '}';
+    }
+}
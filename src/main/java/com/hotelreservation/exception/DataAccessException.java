@@ -0,0 +1,45 @@
+package com.hotelreservation.exception;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+/**
+ * Unchecked wrapper for a SQLException raised while JdbcTemplate ran a statement.
+ * Keeps the failing SQL and exposes the SQLState checks the DAOs branch on.
+ */
+public class DataAccessException extends RuntimeException {
+    private final String sql;
+
+    public DataAccessException(String message, SQLException cause) {
+        this(message, null, cause);
+    }
+
+    public DataAccessException(String message, String sql, SQLException cause) {
+        super(message, cause);
+        this.sql = sql;
+    }
+
+    /**
+     * @return the statement that failed, or null for connection/transaction errors
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    public String getSqlState() {
+        return ((SQLException) getCause()).getSQLState();
+    }
+
+    /**
+     * True for unique/primary key violations (SQLState class 23), including batch failures
+     */
+    public boolean isDuplicateKey() {
+        for (SQLException current = (SQLException) getCause(); current != null; current = current.getNextException()) {
+            if (current instanceof SQLIntegrityConstraintViolationException
+                    || (current.getSQLState() != null && current.getSQLState().startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -42,6 +42,10 @@ public class AuthFilter implements Filter {
         PUBLIC_PATHS.add("/index.jsp");
         PUBLIC_PATHS.add("/help");
         PUBLIC_PATHS.add("/jsp/help.jsp");
+        // Prometheus scrape endpoint; MetricsServlet requires the metrics.scrape.token bearer token
+        PUBLIC_PATHS.add("/metrics");
+        // Readiness probe; answers only READY or STARTING
+        PUBLIC_PATHS.add("/ready");
         // DEBUG ONLY - remove before production
         PUBLIC_PATHS.add("/debug/session");
         PUBLIC_PATHS.add("/debug/queries");
@@ -0,0 +1,36 @@
+package com.hotelreservation.metrics;
+
+/**
+ * PrometheusText - writers for the Prometheus text exposition format
+ *
+ * Shared by QueryMetrics, BookingExecutor and NotificationOutboxWorker so /metrics and
+ * /admin/metrics/prometheus print every family the same way.
+ */
+public final class PrometheusText {
+
+    private PrometheusText() {
+    }
+
+    /**
+     * Append the HELP and TYPE lines that open a metric family
+     */
+    public static void appendHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Append a family with a single unlabelled sample
+     */
+    public static void appendMetric(StringBuilder out, String name, String type, String help, long value) {
+        appendHeader(out, name, type, help);
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Escape a label value (backslash, double quote and newline)
+     */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,144 @@
+package com.hotelreservation.metrics;
+
+import com.hotelreservation.util.AppConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QueryMetrics - registry of per-statement query metrics, keyed by DAO class and SQL text
+ *
+ * JdbcTemplate takes a System.nanoTime() start for every DAO statement and reports the
+ * outcome here.
+ * Each (DAO, SQL) pair keeps a LatencyHistogram plus call, error and row counts. Once a
+ * statement has been seen, recording does two map lookups on cached string hashes and
+ * allocates nothing. Can be switched off with metrics.enabled=false.
+ */
+public class QueryMetrics {
+    private static final QueryMetrics INSTANCE = new QueryMetrics(AppConfig.getInstance().getBoolean("metrics.enabled", true));
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final Map<String, Map<String, StatementStats>> statsByDao = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    QueryMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record a successful execution
+     * @param dao short name of the DAO class
+     * @param sql the SQL text (with ? placeholders)
+     * @param rows rows returned or affected
+     * @param startNanos System.nanoTime() taken before the statement ran
+     */
+    public void recordSuccess(String dao, String sql, int rows, long startNanos) {
+        if (enabled) {
+            stats(dao, sql).record(System.nanoTime() - startNanos, rows, false);
+        }
+    }
+
+    /**
+     * Record a failed execution
+     */
+    public void recordError(String dao, String sql, long startNanos) {
+        if (enabled) {
+            stats(dao, sql).record(System.nanoTime() - startNanos, 0, true);
+        }
+    }
+
+    /**
+     * Milliseconds since a nanoTime start, for callers that still log in ms
+     */
+    public static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    private StatementStats stats(String dao, String sql) {
+        Map<String, StatementStats> bySql = statsByDao.get(dao);
+        if (bySql == null) {
+            bySql = statsByDao.computeIfAbsent(dao, key -> new ConcurrentHashMap<>());
+        }
+        StatementStats stats = bySql.get(sql);
+        if (stats == null) {
+            stats = bySql.computeIfAbsent(sql, key -> new StatementStats(dao, key));
+        }
+        return stats;
+    }
+
+    /**
+     * @return all statements, slowest p99 first
+     */
+    public List<StatementStats> getStatements() {
+        List<StatementStats> all = new ArrayList<>();
+        statsByDao.values().forEach(bySql -> all.addAll(bySql.values()));
+        all.sort(Comparator.comparingLong((StatementStats s) -> s.getLatency().getPercentileNanos(99)).reversed());
+        return all;
+    }
+
+    /**
+     * Zero every counter (statements stay registered)
+     */
+    public void reset() {
+        statsByDao.values().forEach(bySql -> bySql.values().forEach(StatementStats::reset));
+    }
+
+    /**
+     * Render all statements in the Prometheus text exposition format (version 0.0.4)
+     */
+    public String toPrometheusText() {
+        List<StatementStats> statements = getStatements();
+        StringBuilder out = new StringBuilder();
+        PrometheusText.appendHeader(out, "hotel_db_query_duration_seconds", "summary", "DAO statement latency");
+        for (StatementStats s : statements) {
+            String labels = labels(s);
+            for (double q : QUANTILES) {
+                out.append("hotel_db_query_duration_seconds{").append(labels).append(",quantile=\"").append(q).append("\"} ")
+                        .append(seconds(s.getLatency().getPercentileNanos(q * 100))).append('\n');
+            }
+            out.append("hotel_db_query_duration_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(s.getLatency().getSumNanos())).append('\n');
+            out.append("hotel_db_query_duration_seconds_count{").append(labels).append("} ")
+                    .append(s.getCalls()).append('\n');
+        }
+        appendFamily(out, statements, "hotel_db_query_duration_seconds_max", "gauge",
+                "Slowest execution of a DAO statement", s -> seconds(s.getLatency().getMaxNanos()));
+        appendFamily(out, statements, "hotel_db_query_errors_total", "counter",
+                "Failed executions of a DAO statement", s -> String.valueOf(s.getErrors()));
+        appendFamily(out, statements, "hotel_db_query_rows_total", "counter",
+                "Rows returned or affected by a DAO statement", s -> String.valueOf(s.getRows()));
+        return out.toString();
+    }
+
+    private static void appendFamily(StringBuilder out, List<StatementStats> statements, String name, String type,
+                                     String help, java.util.function.Function<StatementStats, String> value) {
+        PrometheusText.appendHeader(out, name, type, help);
+        for (StatementStats s : statements) {
+            out.append(name).append('{').append(labels(s)).append("} ").append(value.apply(s)).append('\n');
+        }
+    }
+
+    private static String labels(StatementStats s) {
+        return "dao=\"" + PrometheusText.escape(s.getDao()) + "\",statement=\"" + PrometheusText.escape(s.getSql()) + "\"";
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotelreservation.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StatementStats - call, error, row and latency counters for one SQL statement of one DAO
+ */
+public class StatementStats {
+    private final String dao;
+    private final String sql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    public StatementStats(String dao, String sql) {
+        this.dao = dao;
+        this.sql = sql;
+    }
+
+    void record(long nanos, int rowCount, boolean error) {
+        latency.record(nanos);
+        if (error) {
+            errors.increment();
+        } else if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    public String getDao() {
+        return dao;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return number of executions, successful or not
+     */
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return rows returned or affected by successful executions
+     */
+    public long getRows() {
+        return rows.sum();
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+    }
+}
@@ -0,0 +1,12 @@
+package com.hotelreservation.persistence;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * ConnectionProvider - where JdbcTemplate borrows its connections from
+ */
+@FunctionalInterface
+public interface ConnectionProvider {
+    Connection getConnection() throws SQLException;
+}
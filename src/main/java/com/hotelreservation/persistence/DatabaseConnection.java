@@ -9,30 +9,53 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 public class DatabaseConnection {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
     private static volatile DatabaseConnection instance;
-    private static final Object lock = new Object();
+    // A lock rather than synchronized: pool creation does I/O, and a virtual thread blocked
+    // inside a monitor would pin its carrier thread
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final String DRIVER_PROPERTY_PREFIX = "db.datasource.";
+    private static final String REPLICA_PREFIX = "db.replica.";
     private HikariDataSource dataSource;
+    private HikariDataSource replicaDataSource;
     private Properties config;
+    // Set by close(); the pools are never reopened, so a late caller cannot leak a new pool
+    private volatile boolean closed;
 
 
     private DatabaseConnection() {
         loadConfiguration();
         initializeDataSource();
+        initializeReplica();
+    }
+
+    /**
+     * Pools built from the given db.* properties instead of application.properties
+     */
+    DatabaseConnection(Properties config) {
+        this.config = config;
+        initializeDataSource();
+        initializeReplica();
     }
 
 
     public static DatabaseConnection getInstance() {
         if (instance == null) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 if (instance == null) {
                     instance = new DatabaseConnection();
                     logger.info("DatabaseConnection singleton initialized");
                 }
+            } finally {
+                lock.unlock();
             }
         }
         return instance;
@@ -53,11 +76,22 @@ public class DatabaseConnection {
                 config.setProperty("db.driver", "com.mysql.cj.jdbc.Driver");
                 config.setProperty("db.pool.size.min", "5");
                 config.setProperty("db.pool.size.max", "20");
+                config.setProperty("db.datasource.cachePrepStmts", "true");
+                config.setProperty("db.datasource.useServerPrepStmts", "true");
+                config.setProperty("db.datasource.prepStmtCacheSize", "250");
+                config.setProperty("db.datasource.prepStmtCacheSqlLimit", "2048");
+                config.setProperty("db.datasource.rewriteBatchedStatements", "true");
             }
         } catch (IOException e) {
             logger.error("Failed to load configuration", e);
             throw new RuntimeException("Database configuration loading failed", e);
         }
+        // JVM system properties (-Ddb.url=...) override the file, as in AppConfig
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("db.")) {
+                config.setProperty(key, System.getProperty(key));
+            }
+        }
     }
 
     /**
@@ -65,21 +99,11 @@ public class DatabaseConnection {
      */
     private void initializeDataSource() {
         try {
-            HikariConfig hikariConfig = new HikariConfig();
-            hikariConfig.setDriverClassName(config.getProperty("db.driver", "com.mysql.cj.jdbc.Driver"));
-            hikariConfig.setJdbcUrl(config.getProperty("db.url"));
-            hikariConfig.setUsername(config.getProperty("db.username"));
-            hikariConfig.setPassword(config.getProperty("db.password"));
-            hikariConfig.setMinimumIdle(Integer.parseInt(config.getProperty("db.pool.size.min", "5")));
-            hikariConfig.setMaximumPoolSize(Integer.parseInt(config.getProperty("db.pool.size.max", "20")));
-            hikariConfig.setConnectionTimeout(30000);
-            hikariConfig.setIdleTimeout(600000);
-            hikariConfig.setMaxLifetime(1800000);
-            hikariConfig.setAutoCommit(true);
-            hikariConfig.setConnectionTestQuery("SELECT 1");
-
-            logger.info("Initializing HikariCP with URL: {}, user: {}",
-                    config.getProperty("db.url"), config.getProperty("db.username"));
+            HikariConfig hikariConfig = buildPoolConfig(config);
+
+            logger.info("Initializing HikariCP with URL: {}, user: {}, driver properties: {}",
+                    config.getProperty("db.url"), config.getProperty("db.username"),
+                    hikariConfig.getDataSourceProperties().stringPropertyNames());
 
             this.dataSource = new HikariDataSource(hikariConfig);
             logger.info("HikariCP connection pool initialized successfully");
@@ -89,29 +113,190 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Build the pool settings from the db.* properties.
+     * db.pool.* tune HikariCP. Every db.datasource.NAME is passed to the JDBC driver
+     * as NAME; for Connector/J these switch on prepared-statement caching, batch
+     * rewriting and session-state caching. When db.pool.test.query is blank, connections
+     * are validated with JDBC4 isValid(), which Connector/J answers with a protocol ping
+     * instead of a query round trip.
+     * @param config the loaded properties
+     * @return the pool configuration
+     */
+    static HikariConfig buildPoolConfig(Properties config) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDriverClassName(config.getProperty("db.driver", "com.mysql.cj.jdbc.Driver"));
+        hikariConfig.setJdbcUrl(config.getProperty("db.url"));
+        hikariConfig.setUsername(config.getProperty("db.username"));
+        hikariConfig.setPassword(config.getProperty("db.password"));
+        hikariConfig.setMinimumIdle(Integer.parseInt(config.getProperty("db.pool.size.min", "5").trim()));
+        hikariConfig.setMaximumPoolSize(Integer.parseInt(config.getProperty("db.pool.size.max", "20").trim()));
+        hikariConfig.setConnectionTimeout(Long.parseLong(config.getProperty("db.pool.timeout", "30000").trim()));
+        hikariConfig.setIdleTimeout(Long.parseLong(config.getProperty("db.pool.idle.timeout", "600000").trim()));
+        hikariConfig.setMaxLifetime(Long.parseLong(config.getProperty("db.pool.max.lifetime", "1800000").trim()));
+        hikariConfig.setAutoCommit(true);
+
+        String testQuery = config.getProperty("db.pool.test.query", "").trim();
+        if (!testQuery.isEmpty()) {
+            hikariConfig.setConnectionTestQuery(testQuery);
+        }
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith(DRIVER_PROPERTY_PREFIX)) {
+                hikariConfig.addDataSourceProperty(key.substring(DRIVER_PROPERTY_PREFIX.length()), config.getProperty(key).trim());
+            }
+        }
+        return hikariConfig;
+    }
+
+    /**
+     * Initialize the read-only replica pool when db.replica.url is set
+     * A replica that cannot be reached is logged and left out; reads then use the primary.
+     */
+    private void initializeReplica() {
+        if (config.getProperty(REPLICA_PREFIX + "url", "").trim().isEmpty()) {
+            logger.info("No read replica configured, reads use the primary pool");
+            return;
+        }
+        try {
+            HikariConfig hikariConfig = buildPoolConfig(replicaConfig(config));
+            hikariConfig.setReadOnly(true);
+            hikariConfig.setPoolName("replica");
+            this.replicaDataSource = new HikariDataSource(hikariConfig);
+            logger.info("Read replica pool initialized with URL: {}", hikariConfig.getJdbcUrl());
+        } catch (Exception e) {
+            logger.error("Failed to initialize read replica pool, reads use the primary: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Settings for the replica pool: the db.* settings with every db.replica.X
+     * overriding db.X (so only the URL, credentials and sizing need repeating)
+     */
+    static Properties replicaConfig(Properties config) {
+        Properties replica = new Properties();
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith("db.") && !key.startsWith(REPLICA_PREFIX)) {
+                replica.setProperty(key, config.getProperty(key));
+            }
+        }
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith(REPLICA_PREFIX)) {
+                replica.setProperty("db." + key.substring(REPLICA_PREFIX.length()), config.getProperty(key));
+            }
+        }
+        return replica;
+    }
+
     /**
      * Get a database connection from the pool
      * @return database connection
-     * @throws SQLException if connection cannot be obtained
+     * @throws SQLException if connection cannot be obtained, or the pool has been shut down
      */
     public Connection getConnection() throws SQLException {
-        if (dataSource == null || dataSource.isClosed()) {
-            synchronized (lock) {
-                if (dataSource == null || dataSource.isClosed()) {
-                    initializeDataSource();
+        if (closed) {
+            throw new SQLException("Database connection pool has been shut down");
+        }
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Get a connection for a read-only query that tolerates replication lag.
+     * Comes from the replica pool when one is configured, otherwise (or when the replica
+     * cannot hand out a connection) from the primary.
+     * @return database connection
+     * @throws SQLException if no connection can be obtained, or the pools have been shut down
+     */
+    public Connection getReadConnection() throws SQLException {
+        HikariDataSource replica = replicaDataSource;
+        if (replica != null && !closed && !replica.isClosed()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                logger.warn("Read replica unavailable, using primary: {}", e.getMessage());
+            }
+        }
+        return getConnection();
+    }
+
+    /**
+     * @return true if a read replica pool is configured and open
+     */
+    public boolean isReplicaActive() {
+        return replicaDataSource != null && !replicaDataSource.isClosed();
+    }
+
+    /**
+     * Open the pool's minimum idle connections now, so the first requests after startup
+     * do not pay for connection setup
+     * @return number of connections that could be opened
+     */
+    public int warmUp() {
+        int target = Integer.parseInt(config.getProperty("db.pool.size.min", "5").trim());
+        List<Connection> borrowed = new ArrayList<>(target);
+        try {
+            while (borrowed.size() < target) {
+                borrowed.add(getConnection());
+            }
+        } catch (SQLException e) {
+            logger.warn("Connection pool warm-up stopped after {} of {} connections: {}",
+                    borrowed.size(), target, e.getMessage());
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.debug("Failed to return warm-up connection", e);
                 }
             }
         }
-        return dataSource.getConnection();
+        logger.info("Connection pool warmed up with {} connections", borrowed.size());
+        return borrowed.size();
     }
 
     /**
-     * Close the connection pool and release resources
+     * Close the pools if the singleton was ever created (used on undeploy)
+     */
+    public static void shutdown() {
+        DatabaseConnection current = instance;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Replace a shut-down singleton with fresh pools, for tools that start and stop the
+     * webapp more than once in one JVM (the load test). Nothing else reopens a closed pool.
+     */
+    public static void reopen() {
+        lock.lock();
+        try {
+            if (instance != null && instance.closed) {
+                instance = null;
+                logger.info("Reopening the database connection pools");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close the connection pools and release resources. Closing is final: getConnection()
+     * and getReadConnection() throw afterwards instead of opening new pools.
      */
     public void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-            logger.info("Database connection pool closed");
+        lock.lock();
+        try {
+            closed = true;
+            if (dataSource != null && !dataSource.isClosed()) {
+                dataSource.close();
+                logger.info("Database connection pool closed");
+            }
+            if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+                replicaDataSource.close();
+                logger.info("Read replica pool closed");
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -120,7 +305,7 @@ public class DatabaseConnection {
      * @return true if pool is active, false otherwise
      */
     public boolean isActive() {
-        return dataSource != null && !dataSource.isClosed();
+        return !closed && dataSource != null && !dataSource.isClosed();
     }
 
     /**
@@ -129,12 +314,19 @@ public class DatabaseConnection {
      */
     public String getPoolStats() {
         if (dataSource != null) {
-            return String.format("Active: %d, Idle: %d, Total: %d",
-                    dataSource.getHikariPoolMXBean().getActiveConnections(),
-                    dataSource.getHikariPoolMXBean().getIdleConnections(),
-                    dataSource.getHikariPoolMXBean().getTotalConnections());
+            String stats = poolStats(dataSource);
+            if (replicaDataSource != null) {
+                stats += " | Replica " + poolStats(replicaDataSource);
+            }
+            return stats;
         }
         return "Connection pool not initialized";
     }
-}
 
+    private static String poolStats(HikariDataSource pool) {
+        return String.format("Active: %d, Idle: %d, Total: %d",
+                pool.getHikariPoolMXBean().getActiveConnections(),
+                pool.getHikariPoolMXBean().getIdleConnections(),
+                pool.getHikariPoolMXBean().getTotalConnections());
+    }
+}
@@ -0,0 +1,442 @@
+package com.hotelreservation.persistence;
+
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.metrics.QueryMetrics;
+import com.hotelreservation.util.AppConfig;
+import com.hotelreservation.util.QueryLogger;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * JdbcTemplate - shared JDBC execution core for the DAOs
+ *
+ * Each DAO holds one template named after itself. A call borrows a pooled connection,
+ * prepares the statement (query timeout from db.query.timeout.seconds; streamed queries
+ * are forward-only, see stream()), binds the parameters, hands each row to
+ * a RowMapper or RowHandler and closes everything again. Every statement is timed into
+ * QueryMetrics and logged to QueryLogger under the DAO's name; the parameter array is
+ * passed by reference, so it is only formatted when /debug/queries is viewed.
+ *
+ * batchUpdate()/batchInsert() send many parameter rows as JDBC batches of db.batch.size
+ * inside one transaction; with rewriteBatchedStatements on, Connector/J turns each batch
+ * into a multi-row statement, so a bulk write costs a few round trips instead of one per row.
+ *
+ * replica() gives a view of the same template whose statements run on
+ * DatabaseConnection.getReadConnection(), for reads that tolerate replication lag
+ * (searches, reports, full listings). Writes and reads that must see them stay on
+ * the primary.
+ *
+ * A SQLException is recorded and rethrown as an unchecked DataAccessException. DAOs
+ * catch it where they fall back to an empty result.
+ */
+public class JdbcTemplate {
+    private final String owner;
+    private final ConnectionProvider connections;
+    private final ConnectionProvider readConnections;
+    private final int queryTimeoutSeconds;
+    private final int streamFetchSize;
+    private final int batchSize;
+
+    /**
+     * @param owner DAO name the statements are recorded under
+     */
+    public JdbcTemplate(String owner) {
+        this(owner, () -> DatabaseConnection.getInstance().getConnection(),
+                () -> DatabaseConnection.getInstance().getReadConnection(),
+                AppConfig.getInstance().getInt("db.query.timeout.seconds", 30),
+                AppConfig.getInstance().getInt("db.stream.fetch.size", 1000),
+                AppConfig.getInstance().getInt("db.batch.size", 500));
+    }
+
+    JdbcTemplate(String owner, ConnectionProvider connections, ConnectionProvider readConnections,
+                 int queryTimeoutSeconds, int streamFetchSize, int batchSize) {
+        this.owner = owner;
+        this.connections = connections;
+        this.readConnections = readConnections;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+        this.streamFetchSize = streamFetchSize;
+        this.batchSize = batchSize;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return a template running every statement on the read pool (the replica when configured)
+     */
+    public JdbcTemplate replica() {
+        return new JdbcTemplate(owner, readConnections, readConnections, queryTimeoutSeconds, streamFetchSize, batchSize);
+    }
+
+    /**
+     * Wrap a parameter so it is bound as-is but shown as **** in the query log
+     */
+    public static Object secret(Object value) {
+        return new Secret(value);
+    }
+
+    // ===================== Queries =====================
+
+    /**
+     * Run a query and map every row
+     */
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) {
+        List<T> results = new ArrayList<>();
+        execute(sql, params, 0, false, rs -> results.add(mapper.mapRow(rs)));
+        return results;
+    }
+
+    /**
+     * Run a query and map the first row only (the driver is told to stop after one)
+     */
+    public <T> Optional<T> queryOne(String sql, RowMapper<T> mapper, Object... params) {
+        List<T> result = new ArrayList<>(1);
+        execute(sql, params, 1, false, rs -> result.add(mapper.mapRow(rs)));
+        return result.isEmpty() ? Optional.empty() : Optional.ofNullable(result.get(0));
+    }
+
+    /**
+     * Run a query and pass every row to the handler (for aggregates built in place)
+     * @return number of rows handled
+     */
+    public int queryRows(String sql, RowHandler handler, Object... params) {
+        return execute(sql, params, 0, false, handler);
+    }
+
+    /**
+     * Run a query whose rows are streamed from the server instead of buffered in the driver.
+     * On MySQL the fetch size is Integer.MIN_VALUE, which puts Connector/J into row-by-row
+     * streaming; other databases reject that hint and fetch db.stream.fetch.size rows per
+     * round trip instead. While the result set is open its connection cannot run other
+     * statements; the handler gets its own pooled connection if it needs one.
+     * @return number of rows handled
+     */
+    public int stream(String sql, RowHandler handler, Object... params) {
+        return execute(sql, params, 0, true, handler);
+    }
+
+    private int streamFetchSize(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        if (metaData != null && "MySQL".equalsIgnoreCase(metaData.getDatabaseProductName())) {
+            return Integer.MIN_VALUE;
+        }
+        return streamFetchSize;
+    }
+
+    private int execute(String sql, Object[] params, int maxRows, boolean streaming, RowHandler handler) {
+        int rows = 0;
+        long start = System.nanoTime();
+        try (Connection conn = connections.getConnection();
+             PreparedStatement stmt = streaming
+                     ? conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)
+                     : conn.prepareStatement(sql)) {
+            configure(stmt);
+            if (streaming) {
+                stmt.setFetchSize(streamFetchSize(conn));
+            }
+            if (maxRows > 0) {
+                stmt.setMaxRows(maxRows);
+            }
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.processRow(rs);
+                    rows++;
+                }
+            }
+        } catch (SQLException e) {
+            throw failed(sql, params, start, e);
+        }
+        succeeded(sql, params, rows, start);
+        return rows;
+    }
+
+    // ===================== Updates =====================
+
+    /**
+     * Run an INSERT/UPDATE/DELETE
+     * @return number of rows affected
+     */
+    public int update(String sql, Object... params) {
+        long start = System.nanoTime();
+        try (Connection conn = connections.getConnection()) {
+            int rows = executeUpdate(conn, sql, params);
+            succeeded(sql, params, rows, start);
+            return rows;
+        } catch (SQLException e) {
+            throw failed(sql, params, start, e);
+        }
+    }
+
+    /**
+     * Run an INSERT and read back the generated key
+     * @return the generated key, or empty if no row was inserted or no key was returned
+     */
+    public OptionalInt insert(String sql, Object... params) {
+        long start = System.nanoTime();
+        try (Connection conn = connections.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            configure(stmt);
+            bind(stmt, params);
+            int rows = stmt.executeUpdate();
+            OptionalInt key = OptionalInt.empty();
+            if (rows > 0) {
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        key = OptionalInt.of(keys.getInt(1));
+                    }
+                }
+            }
+            succeeded(sql, params, rows, start);
+            return key;
+        } catch (SQLException e) {
+            throw failed(sql, params, start, e);
+        }
+    }
+
+    /**
+     * Run one statement for every parameter row as JDBC batches in one transaction
+     * @return the per-row update counts
+     */
+    public int[] batchUpdate(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        try (Transaction tx = begin()) {
+            int[] counts = tx.batchUpdate(sql, rows);
+            tx.commit();
+            return counts;
+        }
+    }
+
+    /**
+     * Run an INSERT for every parameter row as JDBC batches in one transaction and read back the keys
+     * @return the generated keys, in row order
+     */
+    public int[] batchInsert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        try (Transaction tx = begin()) {
+            int[] keys = tx.batchInsert(sql, rows);
+            tx.commit();
+            return keys;
+        }
+    }
+
+    /**
+     * Start a transaction on a connection of its own; close() rolls back unless commit() was called
+     */
+    public Transaction begin() {
+        try {
+            return new Transaction(connections.getConnection());
+        } catch (SQLException e) {
+            throw new DataAccessException("Could not start transaction: " + e.getMessage(), e);
+        }
+    }
+
+    private int executeUpdate(Connection conn, String sql, Object[] params) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            configure(stmt);
+            bind(stmt, params);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Add the rows to the statement and execute every batchSize rows
+     * @param keys receives the generated keys when not null
+     * @return the per-row update counts
+     */
+    private int[] executeBatch(Connection conn, String sql, List<Object[]> rows, List<Integer> keys) throws SQLException {
+        int[] counts = new int[rows.size()];
+        try (PreparedStatement stmt = keys != null
+                ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : conn.prepareStatement(sql)) {
+            configure(stmt);
+            int done = 0;
+            while (done < rows.size()) {
+                int end = batchSize > 0 ? Math.min(done + batchSize, rows.size()) : rows.size();
+                for (Object[] row : rows.subList(done, end)) {
+                    bind(stmt, row);
+                    stmt.addBatch();
+                }
+                int[] chunk = stmt.executeBatch();
+                System.arraycopy(chunk, 0, counts, done, chunk.length);
+                if (keys != null) {
+                    try (ResultSet generated = stmt.getGeneratedKeys()) {
+                        while (generated.next()) {
+                            keys.add(generated.getInt(1));
+                        }
+                    }
+                }
+                done = end;
+            }
+        }
+        return counts;
+    }
+
+    // ===================== Helpers =====================
+
+    private void configure(PreparedStatement stmt) throws SQLException {
+        if (queryTimeoutSeconds > 0) {
+            stmt.setQueryTimeout(queryTimeoutSeconds);
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object value = params[i] instanceof Secret secret ? secret.value : params[i];
+            if (value == null) {
+                stmt.setNull(i + 1, Types.NULL);
+            } else if (value instanceof LocalDate date) {
+                stmt.setDate(i + 1, Date.valueOf(date));
+            } else if (value instanceof LocalDateTime dateTime) {
+                stmt.setTimestamp(i + 1, Timestamp.valueOf(dateTime));
+            } else {
+                stmt.setObject(i + 1, value);
+            }
+        }
+    }
+
+    private static int affected(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    private static Object logged(Object[] params) {
+        return params.length == 0 ? null : params;
+    }
+
+    private void succeeded(String sql, Object[] params, int rows, long start) {
+        QueryMetrics.getInstance().recordSuccess(owner, sql, rows, start);
+        QueryLogger.getInstance().logSuccess(sql, logged(params), rows, QueryMetrics.elapsedMillis(start), owner); // DEV ONLY
+    }
+
+    private DataAccessException failed(String sql, Object[] params, long start, SQLException e) {
+        QueryMetrics.getInstance().recordError(owner, sql, start);
+        QueryLogger.getInstance().logError(sql, logged(params), QueryMetrics.elapsedMillis(start), e.getMessage(), owner); // DEV ONLY
+        return new DataAccessException(e.getMessage(), sql, e);
+    }
+
+    /**
+     * Parameter bound as its value but logged masked
+     */
+    private static final class Secret {
+        private final Object value;
+
+        private Secret(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "****";
+        }
+    }
+
+    /**
+     * Statements sharing one connection with auto-commit off.
+     * Use in try-with-resources and call commit() as the last step.
+     */
+    public final class Transaction implements AutoCloseable {
+        private final Connection conn;
+        private final boolean autoCommit;
+        private final long start = System.nanoTime();
+        private boolean committed;
+
+        private Transaction(Connection conn) throws SQLException {
+            this.conn = conn;
+            try {
+                this.autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+
+        public int update(String sql, Object... params) {
+            long start = System.nanoTime();
+            try {
+                int rows = executeUpdate(conn, sql, params);
+                succeeded(sql, params, rows, start);
+                return rows;
+            } catch (SQLException e) {
+                throw failed(sql, params, start, e);
+            }
+        }
+
+        public int[] batchUpdate(String sql, List<Object[]> rows) {
+            return batch(sql, rows, null);
+        }
+
+        /**
+         * @return the generated keys, in row order
+         */
+        public int[] batchInsert(String sql, List<Object[]> rows) {
+            List<Integer> keys = new ArrayList<>(rows.size());
+            batch(sql, rows, keys);
+            return keys.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private int[] batch(String sql, List<Object[]> rows, List<Integer> keys) {
+            String params = "batch of " + rows.size(); // DEV ONLY
+            long start = System.nanoTime();
+            try {
+                int[] counts = executeBatch(conn, sql, rows, keys);
+                int affected = affected(counts);
+                QueryMetrics.getInstance().recordSuccess(owner, sql, affected, start);
+                QueryLogger.getInstance().logSuccess(sql, params, affected, QueryMetrics.elapsedMillis(start), owner); // DEV ONLY
+                return counts;
+            } catch (SQLException e) {
+                QueryMetrics.getInstance().recordError(owner, sql, start);
+                QueryLogger.getInstance().logError(sql, params, QueryMetrics.elapsedMillis(start), e.getMessage(), owner); // DEV ONLY
+                throw new DataAccessException(e.getMessage(), sql, e);
+            }
+        }
+
+        public void commit() {
+            try {
+                conn.commit();
+                committed = true;
+            } catch (SQLException e) {
+                throw new DataAccessException("Commit failed: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Roll back if not committed, restore auto-commit and return the connection
+         */
+        @Override
+        public void close() {
+            try (Connection c = conn) {
+                if (!committed) {
+                    c.rollback();
+                    QueryLogger.getInstance().logError("ROLLBACK", null, QueryMetrics.elapsedMillis(start), "transaction rolled back", owner); // DEV ONLY
+                }
+                c.setAutoCommit(autoCommit);
+            } catch (SQLException e) {
+                throw new DataAccessException("Could not end transaction: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.hotelreservation.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowHandler - consumes the current ResultSet row in place (aggregates, streaming)
+ */
+@FunctionalInterface
+public interface RowHandler {
+    void processRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,12 @@
+package com.hotelreservation.persistence;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper - turns the current ResultSet row into an object
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+}
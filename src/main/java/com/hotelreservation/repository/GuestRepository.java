@@ -2,7 +2,9 @@ package com.hotelreservation.repository;
 
 import com.hotelreservation.entity.Guest;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * GuestRepository - data access abstraction for Guest entity
@@ -30,6 +32,13 @@ public interface GuestRepository {
      */
     Optional<Guest> findByNic(String nic);
 
+    /**
+     * Stream every guest to the action without building a list
+     * @param action called once per guest
+     * @return number of guests visited
+     */
+    int forEach(Consumer<Guest> action);
+
     /**
      * Save a new guest record
      * @param guest the guest to save
@@ -37,6 +46,13 @@ public interface GuestRepository {
      */
     Guest save(Guest guest);
 
+    /**
+     * Save several new guest records in one batched transaction
+     * @param guests the guests to save
+     * @return the saved guests with generated IDs (empty if the batch failed and was rolled back)
+     */
+    List<Guest> saveAll(List<Guest> guests);
+
     /**
      * Update the user_id on an existing guest record (link guest to a user account)
      * @param guestId the guest ID
@@ -0,0 +1,41 @@
+package com.hotelreservation.repository;
+
+import com.hotelreservation.entity.OutboxMessage;
+import java.util.List;
+
+/**
+ * NotificationOutboxRepository - defines contract for the notification outbox
+ * Rows are added by ReservationRepository.saveBooking in the transaction that holds the
+ * booking and deleted if the hold is released; this side claims them in batches once the
+ * booking is confirmed and records the outcome in bulk.
+ */
+public interface NotificationOutboxRepository {
+
+    /**
+     * Lease up to limit due PENDING messages of confirmed (no longer PENDING) reservations
+     * to the caller, oldest first, and load the reservation, guest and room of each. Every
+     * claim counts as a delivery attempt; a message whose worker dies is claimable again
+     * once the lease runs out.
+     * @param limit maximum number of messages
+     * @param leaseMillis how long the messages stay invisible to other workers
+     * @return the claimed messages, empty if none are due or the claim failed
+     */
+    List<OutboxMessage> claimBatch(int limit, long leaseMillis);
+
+    /**
+     * Record the outcome of a dispatched batch in one transaction: each message's status,
+     * next attempt and last error, plus the email_sent / receipt_printed flag of every
+     * reservation whose notification was SENT. Messages whose lease was taken over by
+     * another worker are left alone.
+     * @param messages claimed messages marked sent, skipped or failed
+     * @return number of outbox rows updated, 0 if the update failed
+     */
+    int completeBatch(List<OutboxMessage> messages);
+
+    /**
+     * Count outbox messages with the given status
+     * @param status PENDING, SENT, SKIPPED or FAILED
+     * @return number of messages
+     */
+    int countByStatus(String status);
+}
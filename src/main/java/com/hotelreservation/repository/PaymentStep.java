@@ -0,0 +1,32 @@
+package com.hotelreservation.repository;
+
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.exception.PaymentException;
+
+/**
+ * PaymentStep - charge callback run by ReservationRepository.saveBooking
+ * It runs after the room and its nights are held and outside any transaction, so no row
+ * locks are held while the payment channel answers. Throwing releases the hold. If the
+ * booking cannot be recorded after a successful charge, saveBooking calls refund.
+ */
+@FunctionalInterface
+public interface PaymentStep {
+
+    /**
+     * Charge the guest for the reservation
+     * @param reservation the reservation being committed
+     * @return the payment channel's transaction ID (may be null)
+     * @throws PaymentException if the payment is declined
+     */
+    String charge(Reservation reservation) throws PaymentException;
+
+    /**
+     * Refund a charge whose booking could not be recorded
+     * @param reservation the reservation that was charged
+     * @param transactionId the ID charge returned (may be null)
+     * @return true if the payment channel refunded the charge
+     */
+    default boolean refund(Reservation reservation, String transactionId) {
+        return false;
+    }
+}
@@ -1,9 +1,16 @@
 package com.hotelreservation.repository;
 
+import com.hotelreservation.dto.PageCursor;
+import com.hotelreservation.dto.ReportSnapshot;
+import com.hotelreservation.dto.ReservationFilter;
 import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.exception.PaymentException;
+import com.hotelreservation.exception.RoomNotAvailableException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * ReservationRepository interface - defines contract for reservation data access
@@ -53,6 +60,39 @@ public interface ReservationRepository {
      */
     List<Reservation> findAll();
 
+    /**
+     * Stream every reservation to the action without building a list
+     * Rows come from a forward-only cursor; the action must not use this repository's connection.
+     * @param action called once per reservation
+     * @return number of reservations visited
+     */
+    int forEach(Consumer<Reservation> action);
+
+    /**
+     * Stream reservations with the given status to the action without building a list
+     * @param status the reservation status
+     * @param action called once per reservation
+     * @return number of reservations visited
+     */
+    int forEachByStatus(String status, Consumer<Reservation> action);
+
+    /**
+     * Find one page of reservations, newest first by (created_at, id)
+     * Uses keyset pagination: the page starts strictly after the cursor, so its cost
+     * does not depend on how deep into the history it is.
+     * @param filter optional guest, status and type criteria
+     * @param after key of the last row of the previous page, or null for the first page
+     * @param limit maximum number of rows
+     * @return the page rows, with createdAt filled in
+     */
+    List<Reservation> findPage(ReservationFilter filter, PageCursor after, int limit);
+
+    /**
+     * Find reservations that still hold their room (not CANCELLED or CHECKED_OUT)
+     * @return list of active reservations
+     */
+    List<Reservation> findActive();
+
     /**
      * Save a new reservation
      * @param reservation the reservation to save
@@ -60,6 +100,45 @@ public interface ReservationRepository {
      */
     Reservation save(Reservation reservation);
 
+    /**
+     * Save several new reservations in one batched transaction, keeping their creation time and
+     * claiming the nights of those that still hold their room (group bookings, bulk imports)
+     * @param reservations the reservations to save
+     * @return the saved reservations (empty if the batch failed and was rolled back)
+     */
+    List<Reservation> saveAll(List<Reservation> reservations);
+
+    /**
+     * Save a new reservation as a booking. One transaction holds the room: it moves the room
+     * from AVAILABLE to roomStatus, inserts the reservation as PENDING, claims each of its
+     * nights and queues the guest's confirmation email or receipt in the notification outbox.
+     * The payment is then charged outside any transaction. A second transaction gives the
+     * reservation its own status, which releases the notification, and records the payment.
+     * A declined payment releases the hold and drops the notification. If the booking cannot
+     * be confirmed after the charge, the payment is refunded and the hold released. A hold
+     * left behind by a process that died in between is freed by releaseExpiredHolds.
+     * @param reservation the confirmed reservation to save
+     * @param roomStatus status the room moves to (e.g. RESERVED)
+     * @param payment charge callback, run after the claims succeed
+     * @return the saved reservation, or null if it could not be recorded (any charge was refunded)
+     * @throws RoomNotAvailableException if the room is no longer available or any night is already claimed
+     * @throws PaymentException if the payment is declined
+     */
+    Reservation saveBooking(Reservation reservation, String roomStatus, PaymentStep payment)
+            throws RoomNotAvailableException, PaymentException;
+
+    /**
+     * Release the saveBooking holds that were never confirmed or released, because the
+     * process died or lost track of them between the hold and the confirmation. A hold is a
+     * PENDING reservation that still has its queued notification; each one created more
+     * than heldMillis ago (by the application clock) is deleted with its night claims and
+     * notification, and its room moves from roomStatus back to AVAILABLE.
+     * @param roomStatus status the holds moved their rooms to (e.g. RESERVED)
+     * @param heldMillis age after which a hold is considered abandoned
+     * @return number of holds released
+     */
+    int releaseExpiredHolds(String roomStatus, long heldMillis);
+
     /**
      * Update an existing reservation
      * @param reservation the reservation to update
@@ -99,5 +178,45 @@ public interface ReservationRepository {
      * @return count of reservations of given type
      */
     int countByType(String type);
-}
 
+    /**
+     * Read every reservation report counter in one grouped query
+     * (counts by status and type, revenue from CHECKED_OUT reservations)
+     * @return snapshot with the reservation counters filled in
+     */
+    ReportSnapshot getReportSnapshot();
+
+    /**
+     * Same as getReportSnapshot, but a failed query is thrown instead of read as no reservations
+     * @return snapshot with the reservation counters filled in
+     * @throws com.hotelreservation.exception.DataAccessException if the query fails
+     */
+    ReportSnapshot loadReportSnapshot();
+
+    /**
+     * Revenue of CHECKED_OUT reservations per check-out date, in one grouped query
+     * @param from first check-out date (inclusive)
+     * @param to last check-out date (inclusive)
+     * @return map of check-out date to revenue, in date order
+     */
+    Map<LocalDate, Double> getDailyRevenue(LocalDate from, LocalDate to);
+
+    /**
+     * Same as getDailyRevenue, but a failed query is thrown instead of read as no revenue
+     * @param from first check-out date (inclusive)
+     * @param to last check-out date (inclusive)
+     * @return map of check-out date to revenue, in date order
+     * @throws com.hotelreservation.exception.DataAccessException if the query fails
+     */
+    Map<LocalDate, Double> loadDailyRevenue(LocalDate from, LocalDate to);
+
+    /**
+     * Stream every non-cancelled stay with at least one night in [from, to]
+     * The rows are read through a forward-only cursor and handed to the visitor one at a time.
+     * @param from first night (inclusive)
+     * @param to last night (inclusive)
+     * @param visitor callback for each stay
+     * @return number of stays visited
+     */
+    int forEachStayInRange(LocalDate from, LocalDate to, StayVisitor visitor);
+}
@@ -2,8 +2,11 @@ package com.hotelreservation.repository;
 
 import com.hotelreservation.entity.Room;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * RoomRepository interface - defines contract for room data access
@@ -17,6 +20,13 @@ public interface RoomRepository {
      */
     Optional<Room> findById(int id);
 
+    /**
+     * Find the rooms with the given IDs, read from the primary database
+     * @param ids the room IDs (unknown IDs are skipped)
+     * @return the rooms found, in no particular order
+     */
+    List<Room> findByIds(Collection<Integer> ids);
+
     /**
      * Find all available rooms
      * @return list of available rooms
@@ -39,11 +49,25 @@ public interface RoomRepository {
     List<Room> findByStatus(String status);
 
     /**
-     * Get all rooms
+     * Get all rooms, possibly from a lagging read replica (reports and guest searches)
      * @return list of all rooms
      */
     List<Room> findAll();
 
+    /**
+     * Get all rooms from the primary database, for callers that must see every committed
+     * change (the availability index load)
+     * @return list of all rooms
+     */
+    List<Room> findAllFromPrimary();
+
+    /**
+     * Stream every room from the primary database to the action without building a list
+     * @param action called once per room
+     * @return number of rooms visited
+     */
+    int forEach(Consumer<Room> action);
+
     /**
      * Save a new room
      * @param room the room to save
@@ -57,6 +81,20 @@ public interface RoomRepository {
      */
     void update(Room room);
 
+    /**
+     * Save several new rooms in one batched transaction
+     * @param rooms the rooms to save
+     * @return the saved rooms with generated IDs (empty if the batch failed and was rolled back)
+     */
+    List<Room> saveAll(List<Room> rooms);
+
+    /**
+     * Update several existing rooms in one batched transaction
+     * @param rooms the rooms to update
+     * @return number of rooms updated (0 if the batch failed and was rolled back)
+     */
+    int updateAll(List<Room> rooms);
+
     /**
      * Delete a room by ID
      * @param id the room ID to delete
@@ -76,5 +114,18 @@ public interface RoomRepository {
      * @return count of rooms with given status
      */
     int countByStatus(String status);
+
+    /**
+     * Count rooms for every status in one grouped query
+     * @return map of status to room count (statuses with no rooms are absent)
+     */
+    Map<String, Integer> countAllByStatus();
+
+    /**
+     * Same as countAllByStatus, but a failed query is thrown instead of read as no rooms
+     * @return map of status to room count (statuses with no rooms are absent)
+     * @throws com.hotelreservation.exception.DataAccessException if the query fails
+     */
+    Map<String, Integer> loadCountsByStatus();
 }
 
@@ -29,6 +29,13 @@ public interface SeasonalPricingRepository {
      */
     List<SeasonalPricing> findActive();
 
+    /**
+     * Same as findActive, but a failed query is thrown instead of read as no seasons
+     * @return list of active entries
+     * @throws com.hotelreservation.exception.DataAccessException if the query fails
+     */
+    List<SeasonalPricing> loadActive();
+
     /**
      * Find the active season that applies to a given check-in date
      * @param checkInDate the check-in date to match
@@ -49,6 +56,13 @@ public interface SeasonalPricingRepository {
      */
     void update(SeasonalPricing pricing);
 
+    /**
+     * Update several seasonal pricing entries in one batched transaction
+     * @param pricings the entries to update
+     * @return number of entries updated (0 if the batch failed and was rolled back)
+     */
+    int updateAll(List<SeasonalPricing> pricings);
+
     /**
      * Delete a seasonal pricing entry by ID
      * @param id the entry ID to delete
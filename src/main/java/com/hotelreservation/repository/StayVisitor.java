@@ -0,0 +1,20 @@
+package com.hotelreservation.repository;
+
+import java.time.LocalDate;
+
+/**
+ * StayVisitor - row callback for ReservationRepository.forEachStayInRange
+ * Called once per reservation while the result set is streamed, so callers can
+ * aggregate without holding the reservations in memory.
+ */
+@FunctionalInterface
+public interface StayVisitor {
+
+    /**
+     * Visit one stay
+     * @param checkIn check-in date (first night)
+     * @param checkOut check-out date (the morning after the last night)
+     * @param totalAmount total charged for the stay
+     */
+    void visit(LocalDate checkIn, LocalDate checkOut, double totalAmount);
+}
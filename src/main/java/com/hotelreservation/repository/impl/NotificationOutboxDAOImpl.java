@@ -0,0 +1,181 @@
+package com.hotelreservation.repository.impl;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.OutboxMessage;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.persistence.JdbcTemplate;
+import com.hotelreservation.repository.NotificationOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * NotificationOutboxDAOImpl - Data Access Object implementation for the notification outbox
+ * Claims due messages of confirmed bookings with a single leasing UPDATE (a booking still
+ * waiting on its payment keeps its reservation PENDING), loads them with their reservation,
+ * guest and room in one join (a claimed message whose guest or room is gone is marked
+ * FAILED rather than claimed again on every poll), and writes a batch's outcome with batched statements in
+ * one transaction. Times are taken from the application clock, as they are when
+ * ReservationDAOImpl.saveBooking enqueues a message.
+ */
+public class NotificationOutboxDAOImpl implements NotificationOutboxRepository {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDAOImpl.class);
+    private static final String TABLE_NAME = "notification_outbox";
+    private static final String CLASS_NAME = "NotificationOutboxDAOImpl"; // statement owner in QueryMetrics and QueryLogger
+    private static final String CLAIM_SQL = "UPDATE " + TABLE_NAME +
+            " SET claimed_by = ?, attempts = attempts + 1, next_attempt_at = ?" +
+            " WHERE status = 'PENDING' AND next_attempt_at <= ?" +
+            " AND EXISTS (SELECT 1 FROM reservations r WHERE r.id = " + TABLE_NAME + ".reservation_id AND r.status <> 'PENDING')" +
+            " ORDER BY next_attempt_at, id LIMIT ?";
+    private static final String CLAIMED_SQL = "SELECT o.id AS outbox_id, o.kind, o.attempts," +
+            " r.id, r.guest_id, r.room_id, r.check_in_date, r.check_out_date, r.total_amount, r.status, r.reservation_type," +
+            " r.email_sent, r.receipt_printed, r.payment_method," +
+            " g.name, g.nic, g.phone, g.email, g.address," +
+            " rm.number, rm.type, rm.base_price, rm.status AS room_status, rm.is_clean" +
+            " FROM " + TABLE_NAME + " o" +
+            " JOIN reservations r ON r.id = o.reservation_id" +
+            " JOIN guests g ON g.id = r.guest_id" +
+            " JOIN rooms rm ON rm.id = r.room_id" +
+            " WHERE o.claimed_by = ? AND o.status = 'PENDING' ORDER BY o.id";
+    private static final String UNLOADABLE_SQL = "UPDATE " + TABLE_NAME +
+            " SET status = 'FAILED', last_error = 'Reservation, guest or room not found', claimed_by = NULL" +
+            " WHERE claimed_by = ? AND status = 'PENDING' AND NOT EXISTS (SELECT 1 FROM reservations r" +
+            " JOIN guests g ON g.id = r.guest_id JOIN rooms rm ON rm.id = r.room_id" +
+            " WHERE r.id = " + TABLE_NAME + ".reservation_id)";
+    private static final String COMPLETE_SQL = "UPDATE " + TABLE_NAME +
+            " SET status = ?, next_attempt_at = COALESCE(?, next_attempt_at), last_error = ?, sent_at = ?, claimed_by = NULL" +
+            " WHERE id = ? AND claimed_by = ?";
+    private static final String EMAIL_SENT_SQL = "UPDATE reservations SET email_sent = TRUE, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final String RECEIPT_PRINTED_SQL = "UPDATE reservations SET receipt_printed = TRUE, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(CLASS_NAME);
+
+    @Override
+    public List<OutboxMessage> claimBatch(int limit, long leaseMillis) {
+        String token = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        try {
+            int claimed = jdbc.update(CLAIM_SQL, token, new Timestamp(now + leaseMillis), new Timestamp(now), limit);
+            if (claimed == 0) {
+                return new ArrayList<>();
+            }
+            List<OutboxMessage> messages = jdbc.query(CLAIMED_SQL, this::mapRow, token);
+            if (messages.size() < claimed) {
+                int failed = jdbc.update(UNLOADABLE_SQL, token);
+                logger.warn("Marked {} notification outbox messages FAILED: reservation, guest or room not found", failed);
+            }
+            messages.forEach(message -> message.setClaimedBy(token));
+            return messages;
+        } catch (DataAccessException e) {
+            logger.error("Error claiming notification outbox batch", e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int completeBatch(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(messages.size());
+        List<Object[]> emailsSent = new ArrayList<>();
+        List<Object[]> receiptsPrinted = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            boolean sent = OutboxMessage.SENT.equals(message.getStatus());
+            Timestamp nextAttempt = message.getNextAttemptAt() > 0 ? new Timestamp(message.getNextAttemptAt()) : null;
+            rows.add(new Object[] {message.getStatus(), nextAttempt, truncate(message.getLastError()),
+                    sent ? now : null, message.getId(), message.getClaimedBy()});
+            if (sent) {
+                Object[] reservationId = {message.getReservation().getId()};
+                if (OutboxMessage.RESERVATION_RECEIPT.equals(message.getKind())) {
+                    receiptsPrinted.add(reservationId);
+                } else {
+                    emailsSent.add(reservationId);
+                }
+            }
+        }
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            int updated = affected(tx.batchUpdate(COMPLETE_SQL, rows));
+            if (!emailsSent.isEmpty()) {
+                tx.batchUpdate(EMAIL_SENT_SQL, emailsSent);
+            }
+            if (!receiptsPrinted.isEmpty()) {
+                tx.batchUpdate(RECEIPT_PRINTED_SQL, receiptsPrinted);
+            }
+            tx.commit();
+            logger.debug("Notification outbox batch completed: {} messages, {} emails, {} receipts",
+                    updated, emailsSent.size(), receiptsPrinted.size());
+            return updated;
+        } catch (DataAccessException e) {
+            logger.error("Error completing notification outbox batch of {} messages", messages.size(), e);
+        }
+        return 0;
+    }
+
+    @Override
+    public int countByStatus(String status) {
+        String sql = "SELECT COUNT(*) AS cnt FROM " + TABLE_NAME + " WHERE status = ?";
+        try {
+            return jdbc.queryOne(sql, rs -> rs.getInt("cnt"), status).orElse(0);
+        } catch (DataAccessException e) {
+            logger.error("Error counting notification outbox messages by status: {}", status, e);
+        }
+        return 0;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static int affected(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    /**
+     * Map a joined outbox/reservation/guest/room row to an OutboxMessage
+     */
+    private OutboxMessage mapRow(ResultSet rs) throws SQLException {
+        String id = rs.getString("id");
+        int guestId = rs.getInt("guest_id");
+        int roomId = rs.getInt("room_id");
+        double totalAmount = rs.getDouble("total_amount");
+
+        Reservation reservation;
+        if ("ONLINE".equals(rs.getString("reservation_type"))) {
+            OnlineReservation online = new OnlineReservation(id, guestId, roomId,
+                    rs.getDate("check_in_date").toLocalDate(), rs.getDate("check_out_date").toLocalDate(), totalAmount);
+            online.setEmailSent(rs.getBoolean("email_sent"));
+            reservation = online;
+        } else {
+            WalkInReservation walkIn = new WalkInReservation(id, guestId, roomId,
+                    rs.getDate("check_in_date").toLocalDate(), rs.getDate("check_out_date").toLocalDate(), totalAmount);
+            walkIn.setReceiptPrinted(rs.getBoolean("receipt_printed"));
+            reservation = walkIn;
+        }
+        reservation.setStatus(rs.getString("status"));
+        reservation.setPaymentMethod(rs.getString("payment_method"));
+
+        Guest guest = new Guest(guestId, rs.getString("name"), rs.getString("nic"), rs.getString("phone"),
+                rs.getString("email"), rs.getString("address"));
+        Room room = new Room(roomId, rs.getString("number"), rs.getString("type"), rs.getDouble("base_price"),
+                rs.getString("room_status"), rs.getBoolean("is_clean"));
+        return new OutboxMessage(rs.getLong("outbox_id"), rs.getString("kind"), rs.getInt("attempts"), reservation, guest, room);
+    }
+}
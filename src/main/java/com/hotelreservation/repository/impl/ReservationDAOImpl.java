@@ -1,20 +1,35 @@
 package com.hotelreservation.repository.impl;
 
+import com.hotelreservation.cache.RoomAvailabilityIndex;
+import com.hotelreservation.dto.PageCursor;
+import com.hotelreservation.dto.ReportSnapshot;
+import com.hotelreservation.dto.ReservationFilter;
 import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.OutboxMessage;
 import com.hotelreservation.entity.Reservation;
 import com.hotelreservation.entity.WalkInReservation;
 
-import com.hotelreservation.persistence.DatabaseConnection;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.exception.PaymentException;
+import com.hotelreservation.exception.RoomNotAvailableException;
+import com.hotelreservation.persistence.JdbcTemplate;
+import com.hotelreservation.repository.PaymentStep;
 import com.hotelreservation.repository.ReservationRepository;
-import com.hotelreservation.util.QueryLogger;
+import com.hotelreservation.repository.StayVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.*;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * ReservationDAOImpl - Data Access Object implementation for Reservation entity
@@ -23,24 +38,27 @@ import java.util.Optional;
 public class ReservationDAOImpl implements ReservationRepository {
     private static final Logger logger = LoggerFactory.getLogger(ReservationDAOImpl.class);
     private static final String TABLE_NAME = "reservations";
-    private static final String CLASS_NAME = "ReservationDAOImpl"; // DEV ONLY - for QueryLogger
+    private static final String CLAIMS_TABLE = "room_night_claims";
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE_NAME +
+            " (id, guest_id, room_id, check_in_date, check_out_date, total_amount, status, reservation_type, email_sent, receipt_printed, payment_method)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // saveAll keeps the reservation's own creation time (bulk imports of historical data)
+    private static final String INSERT_ALL_SQL = "INSERT INTO " + TABLE_NAME +
+            " (id, guest_id, room_id, check_in_date, check_out_date, total_amount, status, reservation_type, email_sent, receipt_printed, payment_method, created_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP))";
+    private static final String CLAIM_SQL = "INSERT INTO " + CLAIMS_TABLE + " (room_id, night, reservation_id) VALUES (?, ?, ?)";
+    // Sent after commit by NotificationOutboxWorker, so the booking does not wait on email or the printer
+    private static final String OUTBOX_SQL = "INSERT INTO notification_outbox (reservation_id, kind, next_attempt_at) VALUES (?, ?, ?)";
+    private static final String CLASS_NAME = "ReservationDAOImpl"; // statement owner in QueryMetrics and QueryLogger
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(CLASS_NAME);
+    private final JdbcTemplate replica = jdbc.replica(); // report aggregates and full listings; may lag the primary
 
     @Override
     public Optional<Reservation> findById(String id) {
-        String sql = "SELECT * FROM " + TABLE_NAME + " WHERE id = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    QueryLogger.getInstance().logSuccess(sql, "id=" + id, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return Optional.of(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "id=" + id, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "id=" + id, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.queryOne("SELECT * FROM " + TABLE_NAME + " WHERE id = ?", this::mapRow, id);
+        } catch (DataAccessException e) {
             logger.error("Error finding reservation by ID: {}", id, e);
         }
         return Optional.empty();
@@ -48,65 +66,32 @@ public class ReservationDAOImpl implements ReservationRepository {
 
     @Override
     public List<Reservation> findByGuest(int guestId) {
-        String sql = "SELECT * FROM " + TABLE_NAME + " WHERE guest_id = ?";
-        List<Reservation> reservations = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, guestId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reservations.add(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "guest_id=" + guestId, reservations.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "guest_id=" + guestId, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.query("SELECT * FROM " + TABLE_NAME + " WHERE guest_id = ?", this::mapRow, guestId);
+        } catch (DataAccessException e) {
             logger.error("Error finding reservations by guest: {}", guestId, e);
         }
-        return reservations;
+        return new ArrayList<>();
     }
 
     @Override
     public List<Reservation> findByStatus(String status) {
-        String sql = "SELECT * FROM " + TABLE_NAME + " WHERE status = ?";
-        List<Reservation> reservations = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, status);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reservations.add(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "status=" + status, reservations.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "status=" + status, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.query("SELECT * FROM " + TABLE_NAME + " WHERE status = ?", this::mapRow, status);
+        } catch (DataAccessException e) {
             logger.error("Error finding reservations by status: {}", status, e);
         }
-        return reservations;
+        return new ArrayList<>();
     }
 
     @Override
     public List<Reservation> findByRoom(int roomId) {
-        String sql = "SELECT * FROM " + TABLE_NAME + " WHERE room_id = ?";
-        List<Reservation> reservations = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, roomId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reservations.add(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "room_id=" + roomId, reservations.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "room_id=" + roomId, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.query("SELECT * FROM " + TABLE_NAME + " WHERE room_id = ?", this::mapRow, roomId);
+        } catch (DataAccessException e) {
             logger.error("Error finding reservations by room: {}", roomId, e);
         }
-        return reservations;
+        return new ArrayList<>();
     }
 
     @Override
@@ -114,133 +99,309 @@ public class ReservationDAOImpl implements ReservationRepository {
         String sql = "SELECT * FROM " + TABLE_NAME +
                 " WHERE room_id = ? AND status NOT IN ('CANCELLED','CHECKED_OUT')" +
                 " AND check_in_date < ? AND check_out_date > ?";
-        List<Reservation> reservations = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        String params = "room_id=" + roomId + ", checkOut=" + checkOut + ", checkIn=" + checkIn; // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, roomId);
-            stmt.setDate(2, Date.valueOf(checkOut));
-            stmt.setDate(3, Date.valueOf(checkIn));
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reservations.add(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, params, reservations.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.query(sql, this::mapRow, roomId, checkOut, checkIn);
+        } catch (DataAccessException e) {
             logger.error("Error finding reservations by room and date range", e);
         }
-        return reservations;
+        return new ArrayList<>();
     }
 
     @Override
     public List<Reservation> findAll() {
-        String sql = "SELECT * FROM " + TABLE_NAME;
-        List<Reservation> reservations = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                reservations.add(mapRow(rs));
-            }
-            QueryLogger.getInstance().logSuccess(sql, "(none)", reservations.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "(none)", System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.query("SELECT * FROM " + TABLE_NAME, this::mapRow);
+        } catch (DataAccessException e) {
             logger.error("Error finding all reservations", e);
         }
-        return reservations;
+        return new ArrayList<>();
     }
 
     @Override
-    public Reservation save(Reservation reservation) {
-        String sql = "INSERT INTO " + TABLE_NAME +
-                " (id, guest_id, room_id, check_in_date, check_out_date, total_amount, status, reservation_type, email_sent, receipt_printed, payment_method)" +
-                " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        String params = "id=" + reservation.getId() + ", guest_id=" + reservation.getGuestId() + ", room_id=" + reservation.getRoomId() // DEV ONLY
-                + ", checkIn=" + reservation.getCheckInDate() + ", checkOut=" + reservation.getCheckOutDate()
-                + ", amount=" + reservation.getTotalAmount() + ", status=" + reservation.getStatus() + ", type=" + reservation.getReservationType();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reservation.getId());
-            stmt.setInt(2, reservation.getGuestId());
-            stmt.setInt(3, reservation.getRoomId());
-            stmt.setDate(4, Date.valueOf(reservation.getCheckInDate()));
-            stmt.setDate(5, Date.valueOf(reservation.getCheckOutDate()));
-            stmt.setDouble(6, reservation.getTotalAmount());
-            stmt.setString(7, reservation.getStatus());
-            stmt.setString(8, reservation.getReservationType());
-
-            boolean emailSent = false;
-            boolean receiptPrinted = false;
-            if (reservation instanceof OnlineReservation) {
-                emailSent = ((OnlineReservation) reservation).isEmailSent();
-            } else if (reservation instanceof WalkInReservation) {
-                receiptPrinted = ((WalkInReservation) reservation).isReceiptPrinted();
-            }
-            stmt.setBoolean(9, emailSent);
-            stmt.setBoolean(10, receiptPrinted);
-            stmt.setString(11, reservation.getPaymentMethod());
+    public int forEach(Consumer<Reservation> action) {
+        try {
+            return jdbc.stream("SELECT * FROM " + TABLE_NAME, rs -> action.accept(mapRow(rs)));
+        } catch (DataAccessException e) {
+            logger.error("Error streaming all reservations", e);
+        }
+        return 0;
+    }
+
+    @Override
+    public int forEachByStatus(String status, Consumer<Reservation> action) {
+        try {
+            return jdbc.stream("SELECT * FROM " + TABLE_NAME + " WHERE status = ?", rs -> action.accept(mapRow(rs)), status);
+        } catch (DataAccessException e) {
+            logger.error("Error streaming reservations by status: {}", status, e);
+        }
+        return 0;
+    }
+
+    @Override
+    public List<Reservation> findPage(ReservationFilter filter, PageCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM " + TABLE_NAME + " WHERE 1 = 1");
+        List<Object> values = new ArrayList<>();
+        if (filter.getGuestId() != null) {
+            sql.append(" AND guest_id = ?");
+            values.add(filter.getGuestId());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            values.add(filter.getStatus());
+        }
+        if (filter.getReservationType() != null) {
+            sql.append(" AND reservation_type = ?");
+            values.add(filter.getReservationType());
+        }
+        if (after != null) {
+            // Expanded form of (created_at, id) < (?, ?) so MySQL can range-scan the index
+            Timestamp createdAt = new Timestamp(after.getCreatedAt());
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+            values.add(createdAt);
+            values.add(createdAt);
+            values.add(after.getId());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        values.add(limit);
+
+        try {
+            return jdbc.query(sql.toString(), this::mapRow, values.toArray());
+        } catch (DataAccessException e) {
+            logger.error("Error finding reservation page", e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Reservation> findActive() {
+        try {
+            return jdbc.query("SELECT * FROM " + TABLE_NAME + " WHERE status NOT IN ('CANCELLED','CHECKED_OUT')", this::mapRow);
+        } catch (DataAccessException e) {
+            logger.error("Error finding active reservations", e);
+        }
+        return new ArrayList<>();
+    }
 
-            int rows = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, params, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
+    @Override
+    public Reservation save(Reservation reservation) {
+        try {
+            jdbc.update(INSERT_SQL, insertParams(reservation));
             logger.info("Reservation saved: {}", reservation.getId());
+            RoomAvailabilityIndex.getInstance().onReservationSaved(reservation);
             return reservation;
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        } catch (DataAccessException e) {
             logger.error("Error saving reservation: {}", reservation.getId(), e);
         }
         return null;
     }
 
+    @Override
+    public List<Reservation> saveAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return reservations;
+        }
+        List<Object[]> rows = new ArrayList<>(reservations.size());
+        List<Object[]> nights = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            Object[] params = Arrays.copyOf(insertParams(reservation), 12);
+            params[11] = reservation.getCreatedAt() > 0 ? new Timestamp(reservation.getCreatedAt()) : null;
+            rows.add(params);
+            if (holdsRoom(reservation.getStatus())) {
+                nights.addAll(claims(reservation));
+            }
+        }
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            tx.batchUpdate(INSERT_ALL_SQL, rows);
+            if (!nights.isEmpty()) {
+                tx.batchUpdate(CLAIM_SQL, nights);
+            }
+            tx.commit();
+            logger.info("Reservations saved: {}", reservations.size());
+            reservations.forEach(RoomAvailabilityIndex.getInstance()::onReservationSaved);
+            return reservations;
+        } catch (DataAccessException e) {
+            logger.error("Error saving {} reservations", reservations.size(), e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Reservation saveBooking(Reservation reservation, String roomStatus, PaymentStep payment)
+            throws RoomNotAvailableException, PaymentException {
+        // 1. Hold the room and its nights with a PENDING reservation
+        if (!holdBooking(reservation, roomStatus)) {
+            return null;
+        }
+        RoomAvailabilityIndex.getInstance().onReservationSaved(reservation);
+        RoomAvailabilityIndex.getInstance().onRoomStatusChanged(reservation.getRoomId(), roomStatus);
+
+        // 2. Charge outside any transaction, so no row lock is held while the payment channel answers
+        String transactionId;
+        try {
+            transactionId = payment.charge(reservation);
+        } catch (PaymentException | RuntimeException e) {
+            releaseHold(reservation, roomStatus);
+            throw e;
+        }
+
+        // 3. Confirm the reservation and record the payment; undo the charge if that fails
+        if (!confirmBooking(reservation, transactionId)) {
+            if (payment.refund(reservation, transactionId)) {
+                logger.warn("Booking {} could not be confirmed; payment {} refunded", reservation.getId(), transactionId);
+            } else {
+                logger.error("Booking {} could not be confirmed and payment {} of {} was NOT refunded; refund it manually",
+                        reservation.getId(), transactionId, reservation.getTotalAmount());
+            }
+            releaseHold(reservation, roomStatus);
+            return null;
+        }
+        logger.info("Booking committed: {} (room {} -> {})", reservation.getId(), reservation.getRoomId(), roomStatus);
+        return reservation;
+    }
+
+    /**
+     * Take the room, insert the reservation as PENDING, claim its nights and queue its
+     * notification in one transaction. The outbox worker leaves the message alone until the
+     * reservation is confirmed.
+     * @return false if the transaction failed
+     */
+    private boolean holdBooking(Reservation reservation, String roomStatus) throws RoomNotAvailableException {
+        String roomSql = "UPDATE rooms SET status = ?, updated_at = CURRENT_TIMESTAMP" +
+                " WHERE id = ? AND status = 'AVAILABLE' AND is_clean = TRUE";
+        Object[] params = insertParams(reservation);
+        params[6] = "PENDING";
+        // Any exception leaves the transaction uncommitted, and closing it rolls back
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            // Take the room: only one booking can move it away from AVAILABLE
+            if (tx.update(roomSql, roomStatus, reservation.getRoomId()) == 0) {
+                throw new RoomNotAvailableException("Room " + reservation.getRoomId() + " was booked by another request");
+            }
+
+            tx.update(INSERT_SQL, params);
+
+            // Claim each night; the (room_id, night) primary key rejects overlaps
+            try {
+                tx.batchUpdate(CLAIM_SQL, claims(reservation));
+            } catch (DataAccessException e) {
+                if (e.isDuplicateKey()) {
+                    throw new RoomNotAvailableException("Room " + reservation.getRoomId() + " is already booked between "
+                            + reservation.getCheckInDate() + " and " + reservation.getCheckOutDate());
+                }
+                throw e;
+            }
+
+            // Queue the confirmation email or receipt; it is sent once the booking is confirmed
+            tx.update(OUTBOX_SQL, reservation.getId(), OutboxMessage.kindFor(reservation), new Timestamp(System.currentTimeMillis()));
+            tx.commit();
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("Error holding booking: {}", reservation.getId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Move a held reservation to its own status and record its payment in one transaction
+     * @return false if the transaction failed or the hold was gone
+     */
+    private boolean confirmBooking(Reservation reservation, String transactionId) {
+        String confirmSql = "UPDATE " + TABLE_NAME + " SET status = ?, updated_at = CURRENT_TIMESTAMP" +
+                " WHERE id = ? AND status = 'PENDING'";
+        String paymentSql = "INSERT INTO payment_transactions (reservation_id, amount, payment_method, transaction_id, status)" +
+                " VALUES (?, ?, ?, ?, 'SUCCESS')";
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            if (tx.update(confirmSql, reservation.getStatus(), reservation.getId()) == 0) {
+                logger.error("Booking hold {} disappeared before it was confirmed", reservation.getId());
+                return false;
+            }
+            tx.update(paymentSql, reservation.getId(), reservation.getTotalAmount(), reservation.getPaymentMethod(), transactionId);
+            tx.commit();
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("Error confirming booking: {}", reservation.getId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Delete a held reservation with its night claims and queued notification, and give the room back
+     * @return false if the hold was already gone (confirmed or released elsewhere) or the transaction failed
+     */
+    private boolean releaseHold(Reservation reservation, String roomStatus) {
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            tx.update("DELETE FROM notification_outbox WHERE reservation_id = ?", reservation.getId());
+            tx.update("DELETE FROM " + CLAIMS_TABLE + " WHERE reservation_id = ?", reservation.getId());
+            if (tx.update("DELETE FROM " + TABLE_NAME + " WHERE id = ? AND status = 'PENDING'", reservation.getId()) == 0) {
+                // Confirmed or released in the meantime: roll back, the room is no longer this hold's to give back
+                return false;
+            }
+            tx.update("UPDATE rooms SET status = 'AVAILABLE', updated_at = CURRENT_TIMESTAMP WHERE id = ? AND status = ?",
+                    reservation.getRoomId(), roomStatus);
+            tx.commit();
+        } catch (DataAccessException e) {
+            logger.error("Error releasing booking hold {}; room {} stays {} until the hold sweeper releases it",
+                    reservation.getId(), reservation.getRoomId(), roomStatus, e);
+            return false;
+        }
+        logger.info("Booking hold released: {} (room {} -> AVAILABLE)", reservation.getId(), reservation.getRoomId());
+        RoomAvailabilityIndex.getInstance().onReservationDeleted(reservation.getId());
+        RoomAvailabilityIndex.getInstance().onRoomStatusChanged(reservation.getRoomId(), "AVAILABLE");
+        return true;
+    }
+
+    @Override
+    public int releaseExpiredHolds(String roomStatus, long heldMillis) {
+        // Only a saveBooking hold has a queued notification while its reservation is PENDING
+        String sql = "SELECT r.* FROM " + TABLE_NAME + " r WHERE r.status = 'PENDING' AND r.created_at < ?" +
+                " AND EXISTS (SELECT 1 FROM notification_outbox o WHERE o.reservation_id = r.id)";
+        List<Reservation> expired;
+        try {
+            expired = jdbc.query(sql, this::mapRow, new Timestamp(System.currentTimeMillis() - heldMillis));
+        } catch (DataAccessException e) {
+            logger.error("Error finding expired booking holds", e);
+            return 0;
+        }
+        int released = 0;
+        for (Reservation reservation : expired) {
+            logger.warn("Booking hold {} was not confirmed within {} ms, releasing room {}",
+                    reservation.getId(), heldMillis, reservation.getRoomId());
+            if (releaseHold(reservation, roomStatus)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
     @Override
     public void update(Reservation reservation) {
         String sql = "UPDATE " + TABLE_NAME +
                 " SET status = ?, total_amount = ?, email_sent = ?, receipt_printed = ?, payment_method = ?, updated_at = CURRENT_TIMESTAMP" +
                 " WHERE id = ?";
-        String params = "status=" + reservation.getStatus() + ", amount=" + reservation.getTotalAmount() + ", id=" + reservation.getId(); // DEV ONLY
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, reservation.getStatus());
-            stmt.setDouble(2, reservation.getTotalAmount());
-
-            boolean emailSent = false;
-            boolean receiptPrinted = false;
-            if (reservation instanceof OnlineReservation) {
-                emailSent = ((OnlineReservation) reservation).isEmailSent();
-            } else if (reservation instanceof WalkInReservation) {
-                receiptPrinted = ((WalkInReservation) reservation).isReceiptPrinted();
+        // The status change and the release of its night claims commit together
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            int rows = tx.update(sql, reservation.getStatus(), reservation.getTotalAmount(), isEmailSent(reservation),
+                    isReceiptPrinted(reservation), reservation.getPaymentMethod(), reservation.getId());
+            if (rows > 0 && !holdsRoom(reservation.getStatus())) {
+                // Delete the night claims of a reservation that no longer holds its room
+                tx.update("DELETE FROM " + CLAIMS_TABLE + " WHERE reservation_id = ?", reservation.getId());
             }
-            stmt.setBoolean(3, emailSent);
-            stmt.setBoolean(4, receiptPrinted);
-            stmt.setString(5, reservation.getPaymentMethod());
-            stmt.setString(6, reservation.getId());
-
-            int rows = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, params, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
+            tx.commit();
             logger.info("Reservation updated: {}", reservation.getId());
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+            if (rows > 0) {
+                RoomAvailabilityIndex.getInstance().onReservationSaved(reservation);
+            }
+        } catch (DataAccessException e) {
             logger.error("Error updating reservation: {}", reservation.getId(), e);
         }
     }
 
     @Override
     public void delete(String id) {
-        String sql = "DELETE FROM " + TABLE_NAME + " WHERE id = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            int rows = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, "id=" + id, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
+        try {
+            jdbc.update("DELETE FROM " + TABLE_NAME + " WHERE id = ?", id);
             logger.info("Reservation deleted: {}", id);
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "id=" + id, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+            RoomAvailabilityIndex.getInstance().onReservationDeleted(id);
+        } catch (DataAccessException e) {
             logger.error("Error deleting reservation: {}", id, e);
         }
     }
@@ -248,20 +409,9 @@ public class ReservationDAOImpl implements ReservationRepository {
     @Override
     public int countByStatus(String status) {
         String sql = "SELECT COUNT(*) AS cnt FROM " + TABLE_NAME + " WHERE status = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, status);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt("cnt");
-                    QueryLogger.getInstance().logSuccess(sql, "status=" + status, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return count;
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "status=" + status, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "status=" + status, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.queryOne(sql, rs -> rs.getInt("cnt"), status).orElse(0);
+        } catch (DataAccessException e) {
             logger.error("Error counting reservations by status: {}", status, e);
         }
         return 0;
@@ -270,18 +420,9 @@ public class ReservationDAOImpl implements ReservationRepository {
     @Override
     public double getTotalRevenue() {
         String sql = "SELECT COALESCE(SUM(total_amount), 0) AS revenue FROM " + TABLE_NAME + " WHERE status = 'CHECKED_OUT'";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            if (rs.next()) {
-                double revenue = rs.getDouble("revenue");
-                QueryLogger.getInstance().logSuccess(sql, "(none)", 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                return revenue;
-            }
-            QueryLogger.getInstance().logSuccess(sql, "(none)", 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "(none)", System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.queryOne(sql, rs -> rs.getDouble("revenue")).orElse(0.0);
+        } catch (DataAccessException e) {
             logger.error("Error getting total revenue", e);
         }
         return 0;
@@ -291,22 +432,9 @@ public class ReservationDAOImpl implements ReservationRepository {
     public double getRevenueByDateRange(LocalDate startDate, LocalDate endDate) {
         String sql = "SELECT COALESCE(SUM(total_amount), 0) AS revenue FROM " + TABLE_NAME +
                 " WHERE status = 'CHECKED_OUT' AND check_in_date >= ? AND check_out_date <= ?";
-        String params = "startDate=" + startDate + ", endDate=" + endDate; // DEV ONLY
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setDate(1, Date.valueOf(startDate));
-            stmt.setDate(2, Date.valueOf(endDate));
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    double revenue = rs.getDouble("revenue");
-                    QueryLogger.getInstance().logSuccess(sql, params, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return revenue;
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, params, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.queryOne(sql, rs -> rs.getDouble("revenue"), startDate, endDate).orElse(0.0);
+        } catch (DataAccessException e) {
             logger.error("Error getting revenue by date range", e);
         }
         return 0;
@@ -315,25 +443,108 @@ public class ReservationDAOImpl implements ReservationRepository {
     @Override
     public int countByType(String type) {
         String sql = "SELECT COUNT(*) AS cnt FROM " + TABLE_NAME + " WHERE reservation_type = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, type);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt("cnt");
-                    QueryLogger.getInstance().logSuccess(sql, "type=" + type, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return count;
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "type=" + type, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "type=" + type, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.queryOne(sql, rs -> rs.getInt("cnt"), type).orElse(0);
+        } catch (DataAccessException e) {
             logger.error("Error counting reservations by type: {}", type, e);
         }
         return 0;
     }
 
+    @Override
+    public ReportSnapshot getReportSnapshot() {
+        try {
+            return loadReportSnapshot();
+        } catch (DataAccessException e) {
+            logger.error("Error reading reservation report counters", e);
+        }
+        return new ReportSnapshot();
+    }
+
+    @Override
+    public ReportSnapshot loadReportSnapshot() {
+        String sql = "SELECT status, reservation_type, COUNT(*) AS cnt, COALESCE(SUM(total_amount), 0) AS amount" +
+                " FROM " + TABLE_NAME + " GROUP BY status, reservation_type";
+        ReportSnapshot snapshot = new ReportSnapshot();
+        replica.queryRows(sql, rs -> snapshot.addReservations(rs.getString("status"), rs.getString("reservation_type"),
+                rs.getInt("cnt"), rs.getDouble("amount")));
+        return snapshot;
+    }
+
+    @Override
+    public Map<LocalDate, Double> getDailyRevenue(LocalDate from, LocalDate to) {
+        try {
+            return loadDailyRevenue(from, to);
+        } catch (DataAccessException e) {
+            logger.error("Error getting daily revenue", e);
+        }
+        return new TreeMap<>();
+    }
+
+    @Override
+    public Map<LocalDate, Double> loadDailyRevenue(LocalDate from, LocalDate to) {
+        String sql = "SELECT check_out_date, SUM(total_amount) AS revenue FROM " + TABLE_NAME +
+                " WHERE status = 'CHECKED_OUT' AND check_out_date BETWEEN ? AND ? GROUP BY check_out_date";
+        Map<LocalDate, Double> revenue = new TreeMap<>();
+        replica.queryRows(sql, rs -> revenue.put(rs.getDate("check_out_date").toLocalDate(), rs.getDouble("revenue")), from, to);
+        return revenue;
+    }
+
+    @Override
+    public int forEachStayInRange(LocalDate from, LocalDate to, StayVisitor visitor) {
+        String sql = "SELECT check_in_date, check_out_date, total_amount FROM " + TABLE_NAME +
+                " WHERE status <> 'CANCELLED' AND check_in_date <= ? AND check_out_date > ?";
+        try {
+            return replica.stream(sql, rs -> visitor.visit(rs.getDate("check_in_date").toLocalDate(),
+                    rs.getDate("check_out_date").toLocalDate(), rs.getDouble("total_amount")), to, from);
+        } catch (DataAccessException e) {
+            logger.error("Error streaming stays in date range", e);
+        }
+        return 0;
+    }
+
+    /**
+     * Parameters for CLAIM_SQL, one row per night of the stay
+     */
+    private static List<Object[]> claims(Reservation reservation) {
+        List<Object[]> nights = new ArrayList<>();
+        for (LocalDate night = reservation.getCheckInDate(); night.isBefore(reservation.getCheckOutDate()); night = night.plusDays(1)) {
+            nights.add(new Object[] {reservation.getRoomId(), night, reservation.getId()});
+        }
+        return nights;
+    }
+
+    private static boolean holdsRoom(String status) {
+        return !"CANCELLED".equals(status) && !"CHECKED_OUT".equals(status);
+    }
+
+    private static boolean isEmailSent(Reservation reservation) {
+        return reservation instanceof OnlineReservation && ((OnlineReservation) reservation).isEmailSent();
+    }
+
+    private static boolean isReceiptPrinted(Reservation reservation) {
+        return reservation instanceof WalkInReservation && ((WalkInReservation) reservation).isReceiptPrinted();
+    }
+
+    /**
+     * Parameters for INSERT_SQL, in column order
+     */
+    private static Object[] insertParams(Reservation reservation) {
+        return new Object[] {
+            reservation.getId(),
+            reservation.getGuestId(),
+            reservation.getRoomId(),
+            reservation.getCheckInDate(),
+            reservation.getCheckOutDate(),
+            reservation.getTotalAmount(),
+            reservation.getStatus(),
+            reservation.getReservationType(),
+            isEmailSent(reservation),
+            isReceiptPrinted(reservation),
+            reservation.getPaymentMethod()
+        };
+    }
+
     /**
      * Map a ResultSet row to the appropriate Reservation subclass
      */
@@ -360,6 +571,10 @@ public class ReservationDAOImpl implements ReservationRepository {
         }
         reservation.setStatus(status);
         reservation.setPaymentMethod(paymentMethod);
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            reservation.setCreatedAt(createdAt.getTime());
+        }
         return reservation;
     }
 }
@@ -1,18 +1,27 @@
 package com.hotelreservation.repository.impl;
 
+import com.hotelreservation.cache.RoomAvailabilityIndex;
 import com.hotelreservation.entity.Room;
-import com.hotelreservation.persistence.DatabaseConnection;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.persistence.JdbcTemplate;
 import com.hotelreservation.repository.RoomRepository;
-import com.hotelreservation.util.QueryLogger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.*;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 /**
  * RoomDAOImpl - Data Access Object implementation for Room entity
@@ -21,29 +30,59 @@ import java.util.Optional;
 public class RoomDAOImpl implements RoomRepository {
     private static final Logger logger = LoggerFactory.getLogger(RoomDAOImpl.class);
     private static final String TABLE_NAME = "rooms";
-    private static final String CLASS_NAME = "RoomDAOImpl"; // DEV ONLY - for QueryLogger
+    private static final String CLASS_NAME = "RoomDAOImpl"; // statement owner in QueryMetrics and QueryLogger
+    private static final String SELECT_COLUMNS = "SELECT id, number, type, base_price, status, is_clean FROM " + TABLE_NAME;
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE_NAME + " (number, type, base_price, status, is_clean) VALUES (?, ?, ?, ?, ?)";
+    // findByIds pads each IN list to one of these lengths so QueryMetrics sees a handful of statements
+    private static final int[] IN_LIST_SIZES = {1, 10, 50, 100, 500};
+    private static final String[] FIND_BY_IDS_SQL = new String[IN_LIST_SIZES.length];
+    private static final String UPDATE_SQL = "UPDATE " + TABLE_NAME + " SET number = ?, type = ?, base_price = ?, status = ?, is_clean = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    static {
+        for (int i = 0; i < IN_LIST_SIZES.length; i++) {
+            FIND_BY_IDS_SQL[i] = SELECT_COLUMNS + " WHERE id IN (" + String.join(", ", Collections.nCopies(IN_LIST_SIZES[i], "?")) + ")";
+        }
+    }
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(CLASS_NAME);
+    private final JdbcTemplate replica = jdbc.replica(); // searches and report counts; may lag the primary
 
     @Override
     public Optional<Room> findById(int id) {
-        String sql = "SELECT id, number, type, base_price, status, is_clean FROM " + TABLE_NAME + " WHERE id = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    QueryLogger.getInstance().logSuccess(sql, "id=" + id, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return Optional.of(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "id=" + id, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "id=" + id, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.queryOne(SELECT_COLUMNS + " WHERE id = ?", this::mapRow, id);
+        } catch (DataAccessException e) {
             logger.error("Error finding room by ID: {}", id, e);
         }
         return Optional.empty();
     }
 
+    @Override
+    public List<Room> findByIds(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Room> rooms = new ArrayList<>(distinct.size());
+        try {
+            int maxIds = IN_LIST_SIZES[IN_LIST_SIZES.length - 1];
+            for (int from = 0; from < distinct.size(); from += maxIds) {
+                List<Integer> chunk = distinct.subList(from, Math.min(from + maxIds, distinct.size()));
+                int size = 0;
+                while (IN_LIST_SIZES[size] < chunk.size()) {
+                    size++;
+                }
+                // Repeating the last ID fills the list without matching any other row
+                Object[] params = new Object[IN_LIST_SIZES[size]];
+                for (int i = 0; i < params.length; i++) {
+                    params[i] = chunk.get(Math.min(i, chunk.size() - 1));
+                }
+                rooms.addAll(jdbc.query(FIND_BY_IDS_SQL[size], this::mapRow, params));
+            }
+            return rooms;
+        } catch (DataAccessException e) {
+            logger.error("Error finding rooms by IDs: {}", ids, e);
+        }
+        return new ArrayList<>();
+    }
+
     @Override
     public List<Room> findAvailable() {
         return findByStatus("AVAILABLE");
@@ -57,24 +96,12 @@ public class RoomDAOImpl implements RoomRepository {
                 "  WHERE res.status NOT IN ('CANCELLED','CHECKED_OUT') " +
                 "  AND res.check_in_date < ? AND res.check_out_date > ?" +
                 ")";
-        List<Room> rooms = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        String params = "checkOut=" + checkOut + ", checkIn=" + checkIn; // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setDate(1, Date.valueOf(checkOut));
-            stmt.setDate(2, Date.valueOf(checkIn));
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    rooms.add(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, params, rooms.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.query(sql, this::mapRow, checkOut, checkIn);
+        } catch (DataAccessException e) {
             logger.error("Error finding available rooms for date range {} to {}", checkIn, checkOut, e);
         }
-        return rooms;
+        return new ArrayList<>();
     }
 
     @Override
@@ -82,73 +109,59 @@ public class RoomDAOImpl implements RoomRepository {
         // For AVAILABLE status, also require the room to be clean (maintained)
         String sql;
         if ("AVAILABLE".equals(status)) {
-            sql = "SELECT id, number, type, base_price, status, is_clean FROM " + TABLE_NAME + " WHERE status = ? AND is_clean = TRUE";
+            sql = SELECT_COLUMNS + " WHERE status = ? AND is_clean = TRUE";
         } else {
-            sql = "SELECT id, number, type, base_price, status, is_clean FROM " + TABLE_NAME + " WHERE status = ?";
-        }
-        List<Room> rooms = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, status);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    rooms.add(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "status=" + status, rooms.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "status=" + status, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+            sql = SELECT_COLUMNS + " WHERE status = ?";
+        }
+        try {
+            return jdbc.query(sql, this::mapRow, status);
+        } catch (DataAccessException e) {
             logger.error("Error finding rooms by status: {}", status, e);
         }
-        return rooms;
+        return new ArrayList<>();
     }
 
     @Override
     public List<Room> findAll() {
-        String sql = "SELECT id, number, type, base_price, status, is_clean FROM " + TABLE_NAME;
-        List<Room> rooms = new ArrayList<>();
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                rooms.add(mapRow(rs));
-            }
-            QueryLogger.getInstance().logSuccess(sql, "(none)", rooms.size(), System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "(none)", System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.query(SELECT_COLUMNS, this::mapRow);
+        } catch (DataAccessException e) {
             logger.error("Error finding all rooms", e);
         }
-        return rooms;
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Room> findAllFromPrimary() {
+        try {
+            return jdbc.query(SELECT_COLUMNS, this::mapRow);
+        } catch (DataAccessException e) {
+            logger.error("Error finding all rooms on the primary", e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int forEach(Consumer<Room> action) {
+        try {
+            return jdbc.stream(SELECT_COLUMNS, rs -> action.accept(mapRow(rs)));
+        } catch (DataAccessException e) {
+            logger.error("Error streaming all rooms", e);
+        }
+        return 0;
     }
 
     @Override
     public Room save(Room room) {
-        String sql = "INSERT INTO " + TABLE_NAME + " (number, type, base_price, status, is_clean) VALUES (?, ?, ?, ?, ?)";
-        String params = "number=" + room.getNumber() + ", type=" + room.getType() + ", price=" + room.getBasePrice(); // DEV ONLY
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, room.getNumber());
-            stmt.setString(2, room.getType());
-            stmt.setDouble(3, room.getBasePrice());
-            stmt.setString(4, room.getStatus());
-            stmt.setBoolean(5, room.isClean());
-            int rows = stmt.executeUpdate();
-            if (rows > 0) {
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        room.setId(keys.getInt(1));
-                        logger.info("Room saved: {}", room.getNumber());
-                        QueryLogger.getInstance().logSuccess(sql, params, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                        return room;
-                    }
-                }
+        try {
+            OptionalInt id = jdbc.insert(INSERT_SQL, insertParams(room));
+            if (id.isPresent()) {
+                room.setId(id.getAsInt());
+                logger.info("Room saved: {}", room.getNumber());
+                RoomAvailabilityIndex.getInstance().onRoomSaved(room);
+                return room;
             }
-            QueryLogger.getInstance().logSuccess(sql, params, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        } catch (DataAccessException e) {
             logger.error("Error saving room: {}", room.getNumber(), e);
         }
         return null;
@@ -156,58 +169,69 @@ public class RoomDAOImpl implements RoomRepository {
 
     @Override
     public void update(Room room) {
-        String sql = "UPDATE " + TABLE_NAME + " SET number = ?, type = ?, base_price = ?, status = ?, is_clean = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
-        String params = "number=" + room.getNumber() + ", status=" + room.getStatus() + ", id=" + room.getId(); // DEV ONLY
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, room.getNumber());
-            stmt.setString(2, room.getType());
-            stmt.setDouble(3, room.getBasePrice());
-            stmt.setString(4, room.getStatus());
-            stmt.setBoolean(5, room.isClean());
-            stmt.setInt(6, room.getId());
-            int rows = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, params, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
+        try {
+            int rows = jdbc.update(UPDATE_SQL, updateParams(room));
             logger.info("Room updated: {}", room.getNumber());
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+            if (rows > 0) {
+                RoomAvailabilityIndex.getInstance().onRoomSaved(room);
+            }
+        } catch (DataAccessException e) {
             logger.error("Error updating room: {}", room.getNumber(), e);
         }
     }
 
+    @Override
+    public List<Room> saveAll(List<Room> rooms) {
+        try {
+            int[] ids = jdbc.batchInsert(INSERT_SQL, rooms.stream().map(RoomDAOImpl::insertParams).toList());
+            for (int i = 0; i < ids.length && i < rooms.size(); i++) {
+                rooms.get(i).setId(ids[i]);
+                RoomAvailabilityIndex.getInstance().onRoomSaved(rooms.get(i));
+            }
+            logger.info("Rooms saved: {}", rooms.size());
+            return rooms;
+        } catch (DataAccessException e) {
+            logger.error("Error saving {} rooms", rooms.size(), e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int updateAll(List<Room> rooms) {
+        try {
+            int[] counts = jdbc.batchUpdate(UPDATE_SQL, rooms.stream().map(RoomDAOImpl::updateParams).toList());
+            int updated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    RoomAvailabilityIndex.getInstance().onRoomSaved(rooms.get(i));
+                    updated++;
+                }
+            }
+            logger.info("Rooms updated: {}", updated);
+            return updated;
+        } catch (DataAccessException e) {
+            logger.error("Error updating {} rooms", rooms.size(), e);
+        }
+        return 0;
+    }
+
     @Override
     public void delete(int id) {
         String sql = "DELETE FROM " + TABLE_NAME + " WHERE id = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            int rows = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, "id=" + id, rows, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
+        try {
+            jdbc.update(sql, id);
             logger.info("Room deleted: {}", id);
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "id=" + id, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+            RoomAvailabilityIndex.getInstance().onRoomDeleted(id);
+        } catch (DataAccessException e) {
             logger.error("Error deleting room: {}", id, e);
         }
     }
 
     @Override
     public Optional<Room> findByNumber(String number) {
-        String sql = "SELECT id, number, type, base_price, status, is_clean FROM " + TABLE_NAME + " WHERE number = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, number);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    QueryLogger.getInstance().logSuccess(sql, "number=" + number, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return Optional.of(mapRow(rs));
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "number=" + number, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "number=" + number, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.queryOne(SELECT_COLUMNS + " WHERE number = ?", this::mapRow, number);
+        } catch (DataAccessException e) {
             logger.error("Error finding room by number: {}", number, e);
         }
         return Optional.empty();
@@ -216,25 +240,46 @@ public class RoomDAOImpl implements RoomRepository {
     @Override
     public int countByStatus(String status) {
         String sql = "SELECT COUNT(*) AS cnt FROM " + TABLE_NAME + " WHERE status = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, status);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt("cnt");
-                    QueryLogger.getInstance().logSuccess(sql, "status=" + status, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return count;
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "status=" + status, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "status=" + status, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return replica.queryOne(sql, rs -> rs.getInt("cnt"), status).orElse(0);
+        } catch (DataAccessException e) {
             logger.error("Error counting rooms by status: {}", status, e);
         }
         return 0;
     }
 
+    @Override
+    public Map<String, Integer> countAllByStatus() {
+        try {
+            return loadCountsByStatus();
+        } catch (DataAccessException e) {
+            logger.error("Error counting rooms by status", e);
+        }
+        return new HashMap<>();
+    }
+
+    @Override
+    public Map<String, Integer> loadCountsByStatus() {
+        String sql = "SELECT status, COUNT(*) AS cnt FROM " + TABLE_NAME + " GROUP BY status";
+        Map<String, Integer> counts = new HashMap<>();
+        replica.queryRows(sql, rs -> counts.put(rs.getString("status"), rs.getInt("cnt")));
+        return counts;
+    }
+
+    /**
+     * Parameters for INSERT_SQL, in column order
+     */
+    private static Object[] insertParams(Room room) {
+        return new Object[] {room.getNumber(), room.getType(), room.getBasePrice(), room.getStatus(), room.isClean()};
+    }
+
+    /**
+     * Parameters for UPDATE_SQL, in column order
+     */
+    private static Object[] updateParams(Room room) {
+        return new Object[] {room.getNumber(), room.getType(), room.getBasePrice(), room.getStatus(), room.isClean(), room.getId()};
+    }
+
     private Room mapRow(ResultSet rs) throws SQLException {
         return new Room(
             rs.getInt("id"),
@@ -1,14 +1,16 @@
 package com.hotelreservation.repository.impl;
 
 import com.hotelreservation.entity.User;
-import com.hotelreservation.persistence.DatabaseConnection;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.persistence.JdbcTemplate;
 import com.hotelreservation.repository.UserRepository;
-import com.hotelreservation.util.QueryLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.*;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 /**
  * UserDAOImpl - Data Access Object implementation for User entity
@@ -17,7 +19,9 @@ import java.util.Optional;
 public class UserDAOImpl implements UserRepository {
     private static final Logger logger = LoggerFactory.getLogger(UserDAOImpl.class);
     private static final String TABLE_NAME = "users";
-    private static final String CLASS_NAME = "UserDAOImpl"; // DEV ONLY - for QueryLogger
+    private static final String CLASS_NAME = "UserDAOImpl"; // statement owner in QueryMetrics and QueryLogger
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(CLASS_NAME);
 
     /**
      * Find a user by username
@@ -27,28 +31,11 @@ public class UserDAOImpl implements UserRepository {
     @Override
     public Optional<User> findByUsername(String username) {
         String sql = "SELECT id, username, password_hash, role FROM " + TABLE_NAME + " WHERE username = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, username);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = new User(
-                        rs.getInt("id"),
-                        rs.getString("username"),
-                        rs.getString("password_hash"),
-                        rs.getString("role")
-                    );
-                    logger.debug("Found user: {}", username);
-                    QueryLogger.getInstance().logSuccess(sql, "username=" + username, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return Optional.of(user);
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "username=" + username, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "username=" + username, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            Optional<User> user = jdbc.queryOne(sql, this::mapRow, username);
+            user.ifPresent(found -> logger.debug("Found user: {}", username));
+            return user;
+        } catch (DataAccessException e) {
             logger.error("Error finding user by username: {}", username, e);
         }
         return Optional.empty();
@@ -62,28 +49,11 @@ public class UserDAOImpl implements UserRepository {
     @Override
     public Optional<User> findById(int id) {
         String sql = "SELECT id, username, password_hash, role FROM " + TABLE_NAME + " WHERE id = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = new User(
-                        rs.getInt("id"),
-                        rs.getString("username"),
-                        rs.getString("password_hash"),
-                        rs.getString("role")
-                    );
-                    logger.debug("Found user by ID: {}", id);
-                    QueryLogger.getInstance().logSuccess(sql, "id=" + id, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return Optional.of(user);
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "id=" + id, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "id=" + id, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            Optional<User> user = jdbc.queryOne(sql, this::mapRow, id);
+            user.ifPresent(found -> logger.debug("Found user by ID: {}", id));
+            return user;
+        } catch (DataAccessException e) {
             logger.error("Error finding user by ID: {}", id, e);
         }
         return Optional.empty();
@@ -97,30 +67,14 @@ public class UserDAOImpl implements UserRepository {
     @Override
     public User save(User user) {
         String sql = "INSERT INTO " + TABLE_NAME + " (username, password_hash, role) VALUES (?, ?, ?)";
-        String params = "username=" + user.getUsername() + ", role=" + user.getRole(); // DEV ONLY
-        long start = System.currentTimeMillis(); // DEV ONLY
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPasswordHash());
-            stmt.setString(3, user.getRole());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    if (keys.next()) {
-                        user.setId(keys.getInt(1));
-                        logger.info("User created successfully: {}", user.getUsername());
-                        QueryLogger.getInstance().logSuccess(sql, params, rowsAffected, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                        return user;
-                    }
-                }
+        try {
+            OptionalInt id = jdbc.insert(sql, user.getUsername(), JdbcTemplate.secret(user.getPasswordHash()), user.getRole());
+            if (id.isPresent()) {
+                user.setId(id.getAsInt());
+                logger.info("User created successfully: {}", user.getUsername());
+                return user;
             }
-            QueryLogger.getInstance().logSuccess(sql, params, rowsAffected, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        } catch (DataAccessException e) {
             logger.error("Error saving user: {}", user.getUsername(), e);
         }
         return null;
@@ -133,24 +87,13 @@ public class UserDAOImpl implements UserRepository {
     @Override
     public void update(User user) {
         String sql = "UPDATE " + TABLE_NAME + " SET username = ?, password_hash = ?, role = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
-        String params = "username=" + user.getUsername() + ", id=" + user.getId(); // DEV ONLY
-        long start = System.currentTimeMillis(); // DEV ONLY
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, user.getUsername());
-            stmt.setString(2, user.getPasswordHash());
-            stmt.setString(3, user.getRole());
-            stmt.setInt(4, user.getId());
-
-            int rowsAffected = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, params, rowsAffected, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
+        try {
+            int rowsAffected = jdbc.update(sql, user.getUsername(), JdbcTemplate.secret(user.getPasswordHash()),
+                    user.getRole(), user.getId());
             if (rowsAffected > 0) {
                 logger.info("User updated successfully: {}", user.getUsername());
             }
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, params, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        } catch (DataAccessException e) {
             logger.error("Error updating user: {}", user.getUsername(), e);
         }
     }
@@ -162,19 +105,11 @@ public class UserDAOImpl implements UserRepository {
     @Override
     public void delete(int id) {
         String sql = "DELETE FROM " + TABLE_NAME + " WHERE id = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            int rowsAffected = stmt.executeUpdate();
-            QueryLogger.getInstance().logSuccess(sql, "id=" + id, rowsAffected, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-            if (rowsAffected > 0) {
+        try {
+            if (jdbc.update(sql, id) > 0) {
                 logger.info("User deleted successfully with ID: {}", id);
             }
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "id=" + id, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        } catch (DataAccessException e) {
             logger.error("Error deleting user with ID: {}", id, e);
         }
     }
@@ -187,25 +122,20 @@ public class UserDAOImpl implements UserRepository {
     @Override
     public boolean existsByUsername(String username) {
         String sql = "SELECT COUNT(*) as count FROM " + TABLE_NAME + " WHERE username = ?";
-        long start = System.currentTimeMillis(); // DEV ONLY
-
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, username);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    boolean exists = rs.getInt("count") > 0;
-                    QueryLogger.getInstance().logSuccess(sql, "username=" + username, 1, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-                    return exists;
-                }
-            }
-            QueryLogger.getInstance().logSuccess(sql, "username=" + username, 0, System.currentTimeMillis() - start, CLASS_NAME); // DEV ONLY
-        } catch (SQLException e) {
-            QueryLogger.getInstance().logError(sql, "username=" + username, System.currentTimeMillis() - start, e.getMessage(), CLASS_NAME); // DEV ONLY
+        try {
+            return jdbc.queryOne(sql, rs -> rs.getInt("count") > 0, username).orElse(false);
+        } catch (DataAccessException e) {
             logger.error("Error checking if username exists: {}", username, e);
         }
         return false;
     }
-}
 
+    private User mapRow(ResultSet rs) throws SQLException {
+        return new User(
+            rs.getInt("id"),
+            rs.getString("username"),
+            rs.getString("password_hash"),
+            rs.getString("role")
+        );
+    }
+}
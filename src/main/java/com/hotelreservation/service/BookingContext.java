@@ -0,0 +1,85 @@
+package com.hotelreservation.service;
+
+import com.hotelreservation.strategy.IPricingStrategy;
+import com.hotelreservation.strategy.NightlyRateEngine;
+import com.hotelreservation.strategy.StandardRateStrategy;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * BookingContext - immutable, per-request booking parameters
+ * Carries the stay dates and their pricing through ReservationService.processBooking so
+ * the shared service instances hold no request state. Bookings carry a NightlyRateEngine,
+ * which prices each night separately; a context built with a pricing strategy instead
+ * charges every night at that strategy's rate.
+ */
+public final class BookingContext {
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+    private final IPricingStrategy pricingStrategy;
+    private final NightlyRateEngine rateEngine;
+
+    public BookingContext(LocalDate checkInDate, LocalDate checkOutDate, IPricingStrategy pricingStrategy) {
+        this(checkInDate, checkOutDate, pricingStrategy, null);
+    }
+
+    public BookingContext(LocalDate checkInDate, LocalDate checkOutDate, NightlyRateEngine rateEngine) {
+        this(checkInDate, checkOutDate, null, rateEngine);
+    }
+
+    private BookingContext(LocalDate checkInDate, LocalDate checkOutDate, IPricingStrategy pricingStrategy,
+                           NightlyRateEngine rateEngine) {
+        if (checkInDate == null || checkOutDate == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates required");
+        }
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.pricingStrategy = pricingStrategy != null ? pricingStrategy : new StandardRateStrategy();
+        this.rateEngine = rateEngine;
+    }
+
+    public BookingContext(LocalDate checkInDate, LocalDate checkOutDate) {
+        this(checkInDate, checkOutDate, null, null);
+    }
+
+    /**
+     * Number of nights between check-in and check-out
+     * @return nights (at least 1)
+     */
+    public int getNights() {
+        int nights = (int) ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+        return nights > 0 ? nights : 1;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    /**
+     * @return the strategy pricing every night when no rate engine is set (standard rate by default)
+     */
+    public IPricingStrategy getPricingStrategy() {
+        return pricingStrategy;
+    }
+
+    /**
+     * @return the per-night rate engine, or null to price with the strategy alone
+     */
+    public NightlyRateEngine getRateEngine() {
+        return rateEngine;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingContext{" +
+                "checkIn=" + checkInDate +
+                ", checkOut=" + checkOutDate +
+                ", pricing=" + (rateEngine != null ? "NIGHTLY" : pricingStrategy.getStrategyName()) +
+                '}';
+    }
+}
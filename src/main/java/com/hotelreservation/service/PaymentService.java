@@ -18,7 +18,17 @@ public interface PaymentService {
     boolean processPayment(double amount) throws PaymentException;
 
     /**
-     * Set the payment adapter (allows runtime switching between POS and Online Gateway)
+     * Process a payment through the given adapter without touching the configured adapter.
+     * Used by the booking flow so concurrent requests never share an adapter instance.
+     * @param amount the amount to process
+     * @param adapter the adapter for this payment only
+     * @return true if payment successful, false otherwise
+     * @throws PaymentException if payment processing fails
+     */
+    boolean processPayment(double amount, IPaymentAdapter adapter) throws PaymentException;
+
+    /**
+     * Set the default payment adapter (admin configuration, used by processPayment(amount))
      * @param adapter the payment adapter to use
      */
     void setPaymentAdapter(IPaymentAdapter adapter);
@@ -5,20 +5,19 @@ import com.hotelreservation.entity.Guest;
 import com.hotelreservation.entity.Reservation;
 import com.hotelreservation.entity.Room;
 import com.hotelreservation.repository.ReservationRepository;
-import com.hotelreservation.strategy.IPricingStrategy;
 
 /**
  * ReservationService abstract class - implements Factory Method pattern
  * Defines common reservation processing logic while allowing subclasses
  * to create different reservation types (Online, WalkIn)
+ * Instances are shared between request threads, so all per-booking state
+ * (dates, pricing strategy) travels in an immutable BookingContext.
  */
 public abstract class ReservationService {
-    protected ReservationRepository reservationRepository;
-    protected IPricingStrategy pricingStrategy;
+    protected final ReservationRepository reservationRepository;
 
     public ReservationService(ReservationRepository reservationRepository) {
         this.reservationRepository = reservationRepository;
-        this.pricingStrategy = null;
     }
 
     /**
@@ -26,28 +25,22 @@ public abstract class ReservationService {
      * Creates the appropriate type of reservation (OnlineReservation or WalkInReservation)
      * @param guest the guest making the reservation
      * @param room the room being reserved
+     * @param context the booking dates and pricing for this request
      * @param totalAmount the total reservation amount
      * @return the created reservation
      */
-    protected abstract Reservation createReservation(Guest guest, Room room, double totalAmount);
+    protected abstract Reservation createReservation(Guest guest, Room room, BookingContext context, double totalAmount);
 
     /**
      * Template Method - orchestrates the reservation process
      * Calls the factory method to create appropriate reservation type
      * @param guest the guest
      * @param room the room
+     * @param context the booking dates and pricing for this request
      * @return the processed and saved reservation
      */
-    public Reservation processBooking(Guest guest, Room room) throws Exception {
-        // Calculate total using pricing strategy
-        int nights = calculateNights(guest);
-        double totalAmount = calculateTotal(nights, room.getBasePrice());
-
-        // Create appropriate reservation type via factory method
-        Reservation reservation = createReservation(guest, room, totalAmount);
-
-        // Confirm the reservation
-        reservation.confirm();
+    public Reservation processBooking(Guest guest, Room room, BookingContext context) throws Exception {
+        Reservation reservation = prepareBooking(guest, room, context);
 
         // Save to repository and verify it succeeded
         Reservation saved = reservationRepository.save(reservation);
@@ -59,43 +52,39 @@ public abstract class ReservationService {
     }
 
     /**
-     * Calculate number of nights (to be implemented by subclasses if needed)
+     * Price, create and confirm a reservation without saving it
+     * Used by BookingService to commit the booking through ReservationRepository.saveBooking
      * @param guest the guest
-     * @return number of nights
+     * @param room the room
+     * @param context the booking dates and pricing for this request
+     * @return the confirmed, unsaved reservation
      */
-    protected int calculateNights(Guest guest) {
-        // Default implementation - override in subclasses if needed
-        return 1;
+    public Reservation prepareBooking(Guest guest, Room room, BookingContext context) {
+        // Calculate total using the request's pricing strategy
+        double totalAmount = calculateTotal(context, room.getBasePrice());
+
+        // Create appropriate reservation type via factory method
+        Reservation reservation = createReservation(guest, room, context, totalAmount);
+
+        // Confirm the reservation
+        reservation.confirm();
+        return reservation;
     }
 
     /**
-     * Calculate total price using the pricing strategy
-     * @param nights number of nights
+     * Calculate total price night by night with the context's rate engine,
+     * or with its pricing strategy when no engine is set
+     * @param context the booking context
      * @param baseRate base rate per night
      * @return total price
      */
-    protected double calculateTotal(int nights, double baseRate) {
-        if (pricingStrategy != null) {
-            return pricingStrategy.calculateTotal(nights, baseRate);
+    protected double calculateTotal(BookingContext context, double baseRate) {
+        if (context.getRateEngine() != null) {
+            return context.getRateEngine()
+                    .price(baseRate, context.getCheckInDate(), context.getCheckOutDate())
+                    .getTotal();
         }
-        // Default: standard rate if no strategy set
-        return nights * baseRate;
-    }
-
-    /**
-     * Set the pricing strategy at runtime
-     * @param strategy the pricing strategy to use
-     */
-    public void setPricingStrategy(IPricingStrategy strategy) {
-        this.pricingStrategy = strategy;
-    }
-
-    /**
-     * Get the current pricing strategy
-     * @return the pricing strategy
-     */
-    public IPricingStrategy getPricingStrategy() {
-        return pricingStrategy;
+        return context.getPricingStrategy().calculateTotal(context.getNights(), baseRate);
     }
 
     /**
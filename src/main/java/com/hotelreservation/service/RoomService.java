@@ -32,7 +32,8 @@ public interface RoomService {
     RoomDTO getRoomById(int roomId);
 
     /**
-     * Get all rooms
+     * Get all rooms, read from the primary database so the admin and maintenance pages
+     * show every committed change
      * @return list of all rooms
      */
     List<RoomDTO> getAllRooms();
@@ -44,6 +45,15 @@ public interface RoomService {
      */
     void updateRoomStatus(int roomId, String status);
 
+    /**
+     * Update the status of several rooms in one batched write
+     * @param roomIds the room IDs (unknown IDs are skipped)
+     * @param status the new status for every room
+     * @param markClean true to also mark the rooms clean
+     * @return number of rooms updated
+     */
+    int updateRoomStatuses(List<Integer> roomIds, String status, boolean markClean);
+
     /**
      * Mark a room as clean
      * @param roomId the room ID
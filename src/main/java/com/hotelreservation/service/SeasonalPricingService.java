@@ -2,6 +2,7 @@ package com.hotelreservation.service;
 
 import com.hotelreservation.entity.SeasonalPricing;
 import com.hotelreservation.strategy.IPricingStrategy;
+import com.hotelreservation.strategy.NightlyRateEngine;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -44,6 +45,13 @@ public interface SeasonalPricingService {
      */
     void updateSeason(SeasonalPricing pricing);
 
+    /**
+     * Update several seasonal pricing entries in one batched write
+     * @param pricings the entries to update
+     * @return number of entries updated
+     */
+    int updateSeasons(List<SeasonalPricing> pricings);
+
     /**
      * Delete a seasonal pricing entry
      * @param id the entry ID to delete
@@ -59,5 +67,14 @@ public interface SeasonalPricingService {
      * @return the appropriate IPricingStrategy
      */
     IPricingStrategy resolveStrategy(LocalDate checkInDate);
+
+    /**
+     * Get the per-night rate engine for the current active seasons.
+     * Prices every night of a stay with the season that covers it, so stays crossing
+     * a season boundary are charged correctly. Booking, payment page and bill all use it.
+     *
+     * @return the current NightlyRateEngine (never null)
+     */
+    NightlyRateEngine getRateEngine();
 }
 
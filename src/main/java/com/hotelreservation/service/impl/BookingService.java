@@ -1,9 +1,14 @@
 package com.hotelreservation.service.impl;
 
+import com.hotelreservation.adapter.IPaymentAdapter;
 import com.hotelreservation.adapter.OnlineGatewayAdapter;
 import com.hotelreservation.adapter.POSAdapter;
+import com.hotelreservation.cache.ReportingCounters;
 import com.hotelreservation.dto.GuestDTO;
+import com.hotelreservation.dto.PageCursor;
 import com.hotelreservation.dto.ReservationDTO;
+import com.hotelreservation.dto.ReservationFilter;
+import com.hotelreservation.dto.ReservationPage;
 import com.hotelreservation.dto.RoomDTO;
 import com.hotelreservation.entity.Guest;
 import com.hotelreservation.entity.Reservation;
@@ -13,13 +18,14 @@ import com.hotelreservation.exception.RoomNotAvailableException;
 import com.hotelreservation.mapper.GuestMapper;
 import com.hotelreservation.mapper.RoomMapper;
 import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.PaymentStep;
 import com.hotelreservation.repository.ReservationRepository;
 import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.service.BookingContext;
 import com.hotelreservation.service.PaymentService;
 import com.hotelreservation.service.RoomService;
 import com.hotelreservation.service.SeasonalPricingService;
-import com.hotelreservation.strategy.IPricingStrategy;
-import com.hotelreservation.strategy.StandardRateStrategy;
+import com.hotelreservation.strategy.NightlyRateEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +39,8 @@ import java.util.List;
  */
 public class BookingService {
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
 
     private OnlineResService onlineResService;
     private WalkInResService walkInResService;
@@ -71,7 +79,7 @@ public class BookingService {
 
     /**
      * Make an online reservation for a guest
-     * Workflow: Validate → Map DTOs → Create Reservation → Process Payment → Send Email
+     * Workflow: Validate → Map DTOs → Create Reservation → Process Payment → Queue Email
      * @param guestDTO guest details
      * @param roomId room ID
      * @param checkIn check-in date
@@ -92,34 +100,15 @@ public class BookingService {
             // Resolve guest from DB by NIC, or create a new guest record
             Guest guest = resolveOrCreateGuest(guestDTO);
 
-            // Set dates for reservation service
-            onlineResService.setReservationDates(checkIn, checkOut);
-            onlineResService.setPricingStrategy(resolveStrategyForDate(checkIn));
+            // Per-request booking parameters — the shared service holds no request state
+            BookingContext context = new BookingContext(checkIn, checkOut, resolveRateEngine());
 
-            // Process booking (creates and saves reservation)
-            Reservation reservation = onlineResService.processBooking(guest, room);
-
-            if (reservation == null) {
-                throw new Exception("Failed to create reservation");
-            }
-
-            // Process payment via Online Gateway (card payment)
-            paymentService.setPaymentAdapter(new OnlineGatewayAdapter());
-            double totalAmount = reservation.getTotalAmount();
-            boolean paymentSuccess = paymentService.processPayment(totalAmount);
-            if (!paymentSuccess) {
-                // Rollback reservation on payment failure
-                reservation.cancel();
-                reservationRepository.update(reservation);
-                throw new PaymentException("Payment declined");
-            }
-
-            // Update room status to RESERVED
+            // Create the reservation, then commit it atomically with its room-night claims,
+            // the Online Gateway (card) payment record and the RESERVED room status
+            Reservation reservation = onlineResService.prepareBooking(guest, room, context);
+            commitBooking(reservation, new OnlineGatewayAdapter(), "Payment declined");
             room.updateStatus("RESERVED");
-            roomService.updateRoomStatus(roomId, "RESERVED");
-
-            // Send confirmation email
-            onlineResService.sendConfirmationEmail(guest, reservation);
+            // The confirmation email was queued in the same transaction; NotificationOutboxWorker sends it
 
             logger.info("Online reservation completed successfully: {}", reservation.getId());
             return mapToDTO(reservation, guest, room);
@@ -131,7 +120,7 @@ public class BookingService {
 
     /**
      * Make a walk-in reservation for a guest
-     * Workflow: Validate → Map DTOs → Create Reservation → Process Payment (POS) → Print Receipt
+     * Workflow: Validate → Map DTOs → Create Reservation → Process Payment (POS) → Queue Receipt
      * @param guestDTO guest details
      * @param roomId room ID
      * @param checkIn check-in date
@@ -152,30 +141,15 @@ public class BookingService {
             // Resolve guest from DB by NIC, or create a new guest record
             Guest guest = resolveOrCreateGuest(guestDTO);
 
-            // Set dates for reservation service
-            walkInResService.setReservationDates(checkIn, checkOut);
-            walkInResService.setPricingStrategy(resolveStrategyForDate(checkIn));
-
-            // Process booking (creates and saves reservation)
-            Reservation reservation = walkInResService.processBooking(guest, room);
-
-            // Process payment via POS terminal
-            paymentService.setPaymentAdapter(new POSAdapter());
-            double totalAmount = reservation.getTotalAmount();
-            boolean paymentSuccess = paymentService.processPayment(totalAmount);
-            if (!paymentSuccess) {
-                // Rollback reservation on payment failure
-                reservation.cancel();
-                reservationRepository.update(reservation);
-                throw new PaymentException("Payment declined at POS terminal");
-            }
+            // Per-request booking parameters — the shared service holds no request state
+            BookingContext context = new BookingContext(checkIn, checkOut, resolveRateEngine());
 
-            // Update room status to RESERVED
+            // Create the reservation, then commit it atomically with its room-night claims,
+            // the POS payment record and the RESERVED room status
+            Reservation reservation = walkInResService.prepareBooking(guest, room, context);
+            commitBooking(reservation, new POSAdapter(), "Payment declined at POS terminal");
             room.updateStatus("RESERVED");
-            roomService.updateRoomStatus(roomId, "RESERVED");
-
-            // Print receipt at POS terminal
-            walkInResService.printReservationReceipt(guest, reservation, room);
+            // The POS receipt was queued in the same transaction; NotificationOutboxWorker prints it
 
             logger.info("Walk-in reservation completed successfully: {}", reservation.getId());
             return mapToDTO(reservation, guest, room);
@@ -225,8 +199,10 @@ public class BookingService {
                     .orElseThrow(() -> new Exception("Reservation not found: " + reservationId));
 
             // Confirm and check in
+            String oldStatus = reservation.getStatus();
             reservation.checkIn();
             reservationRepository.update(reservation);
+            ReportingCounters.getInstance().onReservationStatusChanged(reservation, oldStatus);
 
             // Update room status
             roomService.updateRoomStatus(reservation.getRoomId(), "OCCUPIED");
@@ -253,8 +229,10 @@ public class BookingService {
                     .orElseThrow(() -> new Exception("Reservation not found: " + reservationId));
 
             // Check out and finalize
+            String oldStatus = reservation.getStatus();
             reservation.checkOut();
             reservationRepository.update(reservation);
+            ReportingCounters.getInstance().onReservationStatusChanged(reservation, oldStatus);
 
             // Update room: set AVAILABLE but mark as DIRTY — needs cleaning by maintenance before re-booking
             roomService.updateRoomStatus(reservation.getRoomId(), "AVAILABLE");
@@ -303,8 +281,10 @@ public class BookingService {
             }
 
             // Update reservation status
+            String oldStatus = reservation.getStatus();
             reservation.cancel();
             reservationRepository.update(reservation);
+            ReportingCounters.getInstance().onReservationStatusChanged(reservation, oldStatus);
 
             // Update room status back to AVAILABLE if it wasn't occupied
             if (!"CHECKED_OUT".equals(reservation.getStatus())) {
@@ -342,11 +322,8 @@ public class BookingService {
      */
     public List<ReservationDTO> getAllReservations() {
         try {
-            List<Reservation> reservations = reservationRepository.findAll();
             List<ReservationDTO> dtos = new java.util.ArrayList<>();
-            for (Reservation reservation : reservations) {
-                dtos.add(mapToDTO(reservation));
-            }
+            forEachReservation(dtos::add);
             logger.info("Retrieved {} reservations", dtos.size());
             return dtos;
         } catch (Exception e) {
@@ -355,6 +332,15 @@ public class BookingService {
         }
     }
 
+    /**
+     * Stream every reservation as a DTO, one row at a time, without building a list
+     * @param action called once per reservation
+     * @return number of reservations visited
+     */
+    public int forEachReservation(java.util.function.Consumer<ReservationDTO> action) {
+        return reservationRepository.forEach(reservation -> action.accept(mapToDTO(reservation)));
+    }
+
     /**
      * Get all reservations for a specific guest
      * @param guestId the guest ID
@@ -375,25 +361,83 @@ public class BookingService {
         }
     }
 
+    /**
+     * Get one page of reservations, newest first
+     * @param filter optional guest, status and type criteria
+     * @param cursor nextCursor of the previous page, or null/blank for the first page
+     * @param pageSize rows per page (clamped to 1..MAX_PAGE_SIZE)
+     * @return the page and the cursor of the next one
+     */
+    public ReservationPage getReservationPage(ReservationFilter filter, String cursor, int pageSize) {
+        int size = Math.max(1, Math.min(MAX_PAGE_SIZE, pageSize));
+        try {
+            // Fetch one extra row to learn whether another page follows
+            List<Reservation> rows = reservationRepository.findPage(filter, PageCursor.decode(cursor), size + 1);
+            boolean hasNext = rows.size() > size;
+            List<ReservationDTO> dtos = new java.util.ArrayList<>(Math.min(rows.size(), size));
+            for (int i = 0; i < rows.size() && i < size; i++) {
+                dtos.add(mapToDTO(rows.get(i)));
+            }
+            String nextCursor = null;
+            if (hasNext) {
+                Reservation last = rows.get(size - 1);
+                nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            logger.debug("Retrieved reservation page of {} (more: {})", dtos.size(), hasNext);
+            return new ReservationPage(dtos, nextCursor);
+        } catch (Exception e) {
+            logger.error("Error retrieving reservation page", e);
+            return new ReservationPage(new java.util.ArrayList<>(), null);
+        }
+    }
+
     // ===================== Helper Methods =====================
 
     /**
-     * Resolve the correct pricing strategy for the given check-in date.
-     * Delegates to SeasonalPricingService if available; falls back to StandardRateStrategy.
-     * This is where the Strategy pattern comes alive — the strategy is chosen at runtime
-     * based on admin-configured seasons stored in the database.
-     *
-     * @param checkInDate the reservation check-in date
-     * @return the appropriate IPricingStrategy
+     * Save a prepared reservation with its room-night claims, payment record, RESERVED room
+     * status and outbox notification. The room and its nights are held before the payment is
+     * charged, so a conflicting booking is never charged and a declined payment leaves
+     * nothing behind; a charge whose booking cannot be recorded is refunded through the adapter.
+     * @param reservation the confirmed, unsaved reservation
+     * @param adapter payment adapter owned by this request
+     * @param declineMessage message for the PaymentException when the charge is declined
      */
-    private IPricingStrategy resolveStrategyForDate(LocalDate checkInDate) {
-        if (seasonalPricingService != null) {
-            IPricingStrategy strategy = seasonalPricingService.resolveStrategy(checkInDate);
-            logger.info("Resolved pricing strategy for {}: {}", checkInDate, strategy.getStrategyName());
-            return strategy;
+    private void commitBooking(Reservation reservation, IPaymentAdapter adapter, String declineMessage) throws Exception {
+        Reservation saved = reservationRepository.saveBooking(reservation, "RESERVED", paymentStep(adapter, declineMessage));
+        if (saved == null) {
+            throw new Exception("Failed to save reservation to database. Guest ID: " + reservation.getGuestId()
+                    + ", Room ID: " + reservation.getRoomId());
         }
-        logger.debug("No SeasonalPricingService configured — using StandardRateStrategy");
-        return new StandardRateStrategy();
+        ReportingCounters.getInstance().onReservationCreated(saved);
+        ReportingCounters.getInstance().onRoomStatusChanged("AVAILABLE", "RESERVED");
+    }
+
+    /**
+     * Charge and refund a booking through the request's own payment adapter
+     */
+    private PaymentStep paymentStep(IPaymentAdapter adapter, String declineMessage) {
+        return new PaymentStep() {
+            @Override
+            public String charge(Reservation booked) throws PaymentException {
+                if (!paymentService.processPayment(booked.getTotalAmount(), adapter)) {
+                    throw new PaymentException(declineMessage);
+                }
+                return adapter.getLastTransactionId();
+            }
+
+            @Override
+            public boolean refund(Reservation booked, String transactionId) {
+                return adapter.refund(transactionId, booked.getTotalAmount());
+            }
+        };
+    }
+
+    /**
+     * Resolve the per-night rate engine so stays crossing a season boundary are priced per night.
+     * Without a SeasonalPricingService every night is charged at the standard rate.
+     */
+    private NightlyRateEngine resolveRateEngine() {
+        return seasonalPricingService != null ? seasonalPricingService.getRateEngine() : NightlyRateEngine.STANDARD;
     }
 
     /**
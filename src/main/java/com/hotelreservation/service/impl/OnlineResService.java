@@ -2,10 +2,10 @@ package com.hotelreservation.service.impl;
 
 import com.hotelreservation.entity.*;
 import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.service.BookingContext;
 import com.hotelreservation.service.ReservationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -15,8 +15,6 @@ import java.util.UUID;
  */
 public class OnlineResService extends ReservationService {
     private static final Logger logger = LoggerFactory.getLogger(OnlineResService.class);
-    private LocalDate checkInDate;
-    private LocalDate checkOutDate;
 
     public OnlineResService(ReservationRepository reservationRepository) {
         super(reservationRepository);
@@ -26,19 +24,20 @@ public class OnlineResService extends ReservationService {
      * Factory Method implementation - creates OnlineReservation
      * @param guest the guest making the reservation
      * @param room the room being reserved
+     * @param context the booking dates for this request
      * @param totalAmount the total reservation amount
      * @return OnlineReservation instance
      */
     @Override
-    protected Reservation createReservation(Guest guest, Room room, double totalAmount) {
+    protected Reservation createReservation(Guest guest, Room room, BookingContext context, double totalAmount) {
         String reservationId = "ONL_" + UUID.randomUUID().toString().substring(0, 8);
 
         OnlineReservation reservation = new OnlineReservation(
             reservationId,
             guest.getId(),
             room.getId(),
-            checkInDate,
-            checkOutDate,
+            context.getCheckInDate(),
+            context.getCheckOutDate(),
             totalAmount
         );
 
@@ -46,18 +45,9 @@ public class OnlineResService extends ReservationService {
         return reservation;
     }
 
-    /**
-     * Set check-in and check-out dates for the reservation
-     * @param checkIn check-in date
-     * @param checkOut check-out date
-     */
-    public void setReservationDates(LocalDate checkIn, LocalDate checkOut) {
-        this.checkInDate = checkIn;
-        this.checkOutDate = checkOut;
-    }
-
     /**
      * Send confirmation email to guest
+     * Called by NotificationOutboxWorker, which records email_sent for the whole batch
      * @param guest the guest to send email to
      * @return true if email sent successfully
      */
@@ -75,7 +65,6 @@ public class OnlineResService extends ReservationService {
             // Mark email as sent in reservation if it's an OnlineReservation
             if (reservation instanceof OnlineReservation) {
                 ((OnlineReservation) reservation).markEmailSent();
-                reservationRepository.update(reservation);
             }
 
             return true;
@@ -132,14 +121,6 @@ public class OnlineResService extends ReservationService {
         }
     }
 
-    @Override
-    protected int calculateNights(Guest guest) {
-        if (checkInDate != null && checkOutDate != null) {
-            return (int) java.time.temporal.ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        }
-        return 1;
-    }
-
     @Override
     public String getReservationType() {
         return "ONLINE";
@@ -149,7 +130,6 @@ public class OnlineResService extends ReservationService {
     public String toString() {
         return "OnlineResService{" +
                 "type=ONLINE" +
-                ", pricingStrategy=" + (pricingStrategy != null ? pricingStrategy.getStrategyName() : "NONE") +
                 '}';
     }
 }
@@ -11,10 +11,12 @@ import org.slf4j.LoggerFactory;
  * PaymentServiceImpl - Implementation of PaymentService
  * Uses Adapter pattern to support multiple payment channels
  * Allows runtime switching between POS and Online Gateway
+ * The configured adapter is only a default; booking requests pass their own adapter
+ * to processPayment(amount, adapter) so no per-request state is shared.
  */
 public class PaymentServiceImpl implements PaymentService {
     private static final Logger logger = LoggerFactory.getLogger(PaymentServiceImpl.class);
-    private IPaymentAdapter currentAdapter;
+    private volatile IPaymentAdapter currentAdapter;
 
     public PaymentServiceImpl() {
         // Default to POS adapter
@@ -29,7 +31,12 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public boolean processPayment(double amount) throws PaymentException {
-        if (currentAdapter == null) {
+        return processPayment(amount, currentAdapter);
+    }
+
+    @Override
+    public boolean processPayment(double amount, IPaymentAdapter adapter) throws PaymentException {
+        if (adapter == null) {
             throw new PaymentException("No payment adapter configured");
         }
 
@@ -38,11 +45,11 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         try {
-            logger.info("Processing payment of {} using {}", amount, currentAdapter.getAdapterName());
-            boolean success = currentAdapter.pay(amount);
+            logger.info("Processing payment of {} using {}", amount, adapter.getAdapterName());
+            boolean success = adapter.pay(amount);
 
             if (success) {
-                logger.info("Payment successful: {}", currentAdapter.getPaymentDetails());
+                logger.info("Payment successful: {}", adapter.getPaymentDetails());
                 return true;
             } else {
                 throw new PaymentException("Payment declined by adapter");
@@ -72,7 +79,8 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public boolean processRefund(double amount, String reason) throws PaymentException {
-        if (currentAdapter == null) {
+        IPaymentAdapter adapter = currentAdapter;
+        if (adapter == null) {
             throw new PaymentException("No payment adapter configured for refund");
         }
 
@@ -81,7 +89,7 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         try {
-            logger.info("Processing refund of {} using {}. Reason: {}", amount, currentAdapter.getAdapterName(), reason);
+            logger.info("Processing refund of {} using {}. Reason: {}", amount, adapter.getAdapterName(), reason);
 
             // In production, this would call refund-specific method on adapter
             // For now, we'll log it as a special case
@@ -95,10 +103,11 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public String getLastTransactionDetails() {
-        if (currentAdapter == null) {
+        IPaymentAdapter adapter = currentAdapter;
+        if (adapter == null) {
             return "No adapter configured";
         }
-        return currentAdapter.getPaymentDetails();
+        return adapter.getPaymentDetails();
     }
 
     /**
@@ -106,10 +115,11 @@ public class PaymentServiceImpl implements PaymentService {
      * @return status string
      */
     public String getAdapterStatus() {
-        if (currentAdapter == null) {
+        IPaymentAdapter adapter = currentAdapter;
+        if (adapter == null) {
             return "Payment adapter: NONE";
         }
-        return "Payment adapter: " + currentAdapter.getAdapterName();
+        return "Payment adapter: " + adapter.getAdapterName();
     }
 }
 
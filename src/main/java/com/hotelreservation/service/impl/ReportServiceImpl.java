@@ -1,5 +1,8 @@
 package com.hotelreservation.service.impl;
 
+import com.hotelreservation.cache.ReportingCounters;
+import com.hotelreservation.dto.OccupancyHistogram;
+import com.hotelreservation.dto.ReportSnapshot;
 import com.hotelreservation.repository.ReservationRepository;
 import com.hotelreservation.repository.RoomRepository;
 import com.hotelreservation.service.ReportService;
@@ -9,35 +12,46 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Map;
 
 /**
  * ReportServiceImpl - Implementation of ReportService
  * Generates analytics and reporting data from reservation and room data
+ * Counter-based reports are built from a ReportSnapshot. It comes from the in-memory
+ * ReportingCounters once they are started, otherwise from one grouped query on
+ * reservations and one on rooms.
  */
 public class ReportServiceImpl implements ReportService {
     private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
     private ReservationRepository reservationRepository;
     private RoomRepository roomRepository;
+    private final ReportingCounters reportingCounters;
     private DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public ReportServiceImpl(ReservationRepository reservationRepository, RoomRepository roomRepository) {
+        this(reservationRepository, roomRepository, ReportingCounters.getInstance());
+    }
+
+    public ReportServiceImpl(ReservationRepository reservationRepository, RoomRepository roomRepository,
+                             ReportingCounters reportingCounters) {
         this.reservationRepository = reservationRepository;
         this.roomRepository = roomRepository;
+        this.reportingCounters = reportingCounters;
+    }
+
+    /**
+     * Load the in-memory reporting counters and start their periodic reconciliation
+     * (called at servlet startup)
+     * @return true if reports will be served from the counters
+     */
+    public boolean startReportingCounters() {
+        return reportingCounters.start(reservationRepository, roomRepository);
     }
 
     @Override
     public String getRevenueStats() {
         try {
-            double totalRevenue = reservationRepository.getTotalRevenue();
-            int completedReservations = reservationRepository.countByStatus("CHECKED_OUT");
-            int cancelledReservations = reservationRepository.countByStatus("CANCELLED");
-
-            return formatRevenueReport(
-                    "All Time Revenue Report",
-                    totalRevenue,
-                    completedReservations,
-                    cancelledReservations
-            );
+            return buildRevenueStats(loadSnapshot());
         } catch (Exception e) {
             logger.error("Error generating revenue stats", e);
             return "Error generating revenue report";
@@ -50,10 +64,24 @@ public class ReportServiceImpl implements ReportService {
             LocalDate start = LocalDate.parse(startDate, dateFormatter);
             LocalDate end = LocalDate.parse(endDate, dateFormatter);
 
-            double rangeRevenue = reservationRepository.getRevenueByDateRange(start, end);
+            // Check-out revenue per day, from the counters when they are running; the total is
+            // their sum so the two always agree
+            Map<LocalDate, Double> daily = reportingCounters.getDailyRevenue(start, end);
+            if (daily == null) {
+                daily = reservationRepository.getDailyRevenue(start, end);
+            }
+            double rangeRevenue = daily.values().stream().mapToDouble(Double::doubleValue).sum();
 
-            return "Revenue Report: " + startDate + " to " + endDate + "\n" +
-                    "Total Revenue: $" + String.format("%.2f", rangeRevenue);
+            StringBuilder report = new StringBuilder();
+            report.append("Revenue Report: ").append(startDate).append(" to ").append(endDate).append("\n");
+            report.append("Total Revenue: $").append(String.format("%.2f", rangeRevenue)).append("\n");
+            if (!daily.isEmpty()) {
+                report.append("--------------------------------\n");
+                report.append("Revenue by Check-out Date:\n");
+                daily.forEach((day, amount) ->
+                        report.append("  ").append(day).append(": $").append(String.format("%.2f", amount)).append("\n"));
+            }
+            return report.toString();
         } catch (DateTimeParseException e) {
             logger.error("Invalid date format", e);
             return "Error: Invalid date format. Use yyyy-MM-dd";
@@ -66,28 +94,7 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public String getOccupancyStats() {
         try {
-            int totalRooms = roomRepository.findAll().size();
-            int occupiedRooms = roomRepository.countByStatus("OCCUPIED");
-            int reservedRooms = roomRepository.countByStatus("RESERVED");
-            int maintenanceRooms = roomRepository.countByStatus("UNDER_MAINTENANCE");
-            int availableRooms = roomRepository.countByStatus("AVAILABLE");
-
-            double occupancyRate = totalRooms > 0 ? (occupiedRooms * 100.0) / totalRooms : 0;
-
-            StringBuilder report = new StringBuilder();
-            report.append("================================\n");
-            report.append("   OCCUPANCY STATISTICS\n");
-            report.append("================================\n");
-            report.append("Total Rooms: ").append(totalRooms).append("\n");
-            report.append("Occupied: ").append(occupiedRooms).append("\n");
-            report.append("Reserved: ").append(reservedRooms).append("\n");
-            report.append("Available: ").append(availableRooms).append("\n");
-            report.append("Under Maintenance: ").append(maintenanceRooms).append("\n");
-            report.append("--------------------------------\n");
-            report.append("Occupancy Rate: ").append(String.format("%.2f%%", occupancyRate)).append("\n");
-            report.append("================================\n");
-
-            return report.toString();
+            return buildOccupancyStats(loadSnapshot());
         } catch (Exception e) {
             logger.error("Error generating occupancy stats", e);
             return "Error generating occupancy report";
@@ -100,18 +107,38 @@ public class ReportServiceImpl implements ReportService {
             LocalDate start = LocalDate.parse(startDate, dateFormatter);
             LocalDate end = LocalDate.parse(endDate, dateFormatter);
 
-            int totalRooms = roomRepository.findAll().size();
-            int reservedCount = 0;
+            int totalRooms = roomRepository.countAllByStatus().values().stream().mapToInt(Integer::intValue).sum();
+            OccupancyHistogram histogram = new OccupancyHistogram(start, end, totalRooms);
+            reservationRepository.forEachStayInRange(start, end, histogram::addStay);
 
-            // For more accurate calculation, would need reservation data for date range
             StringBuilder report = new StringBuilder();
             report.append("Occupancy Report: ").append(startDate).append(" to ").append(endDate).append("\n");
+            report.append("--------------------------------\n");
             report.append("Total Rooms: ").append(totalRooms).append("\n");
+            report.append("Nights: ").append(histogram.getNights()).append("\n");
+            report.append("Stays: ").append(histogram.getStays()).append("\n");
+            int peak = histogram.getPeakNight();
+            report.append("Peak Occupancy: ").append(histogram.getOccupied(peak)).append(" rooms (")
+                    .append(String.format("%.2f", histogram.getOccupancyRate(peak))).append("%) on ")
+                    .append(histogram.getNight(peak)).append("\n");
+            report.append("Average Occupancy Rate: ").append(String.format("%.2f", histogram.getAverageOccupancyRate())).append("%\n");
+            report.append("Room Revenue: $").append(String.format("%.2f", histogram.getRevenue())).append("\n");
+            report.append("RevPAR: $").append(String.format("%.2f", histogram.getRevPar())).append("\n");
+            report.append("--------------------------------\n");
+            report.append("Daily Occupancy:\n");
+            for (int i = 0; i < histogram.getNights(); i++) {
+                report.append("  ").append(histogram.getNight(i)).append(": ")
+                        .append(histogram.getOccupied(i)).append("/").append(totalRooms).append(" (")
+                        .append(String.format("%.2f", histogram.getOccupancyRate(i))).append("%)\n");
+            }
 
             return report.toString();
         } catch (DateTimeParseException e) {
             logger.error("Invalid date format", e);
             return "Error: Invalid date format. Use yyyy-MM-dd";
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid occupancy report range: {}", e.getMessage());
+            return "Error: " + e.getMessage();
         } catch (Exception e) {
             logger.error("Error generating occupancy stats by date range", e);
             return "Error generating occupancy report";
@@ -121,22 +148,7 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public String getCancellationStats() {
         try {
-            int totalReservations = reservationRepository.findAll().size();
-            int cancelledReservations = reservationRepository.countByStatus("CANCELLED");
-            double cancellationRate = totalReservations > 0 ? (cancelledReservations * 100.0) / totalReservations : 0;
-
-            StringBuilder report = new StringBuilder();
-            report.append("================================\n");
-            report.append("   CANCELLATION STATISTICS\n");
-            report.append("================================\n");
-            report.append("Total Reservations: ").append(totalReservations).append("\n");
-            report.append("Cancelled: ").append(cancelledReservations).append("\n");
-            report.append("Active: ").append(totalReservations - cancelledReservations).append("\n");
-            report.append("--------------------------------\n");
-            report.append("Cancellation Rate: ").append(String.format("%.2f%%", cancellationRate)).append("\n");
-            report.append("================================\n");
-
-            return report.toString();
+            return buildCancellationStats(loadSnapshot());
         } catch (Exception e) {
             logger.error("Error generating cancellation stats", e);
             return "Error generating cancellation report";
@@ -146,25 +158,7 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public String getReservationTypeBreakdown() {
         try {
-            int onlineReservations = reservationRepository.countByType("ONLINE");
-            int walkInReservations = reservationRepository.countByType("WALK_IN");
-            int total = onlineReservations + walkInReservations;
-
-            double onlinePercentage = total > 0 ? (onlineReservations * 100.0) / total : 0;
-            double walkInPercentage = total > 0 ? (walkInReservations * 100.0) / total : 0;
-
-            StringBuilder report = new StringBuilder();
-            report.append("================================\n");
-            report.append("   RESERVATION TYPE BREAKDOWN\n");
-            report.append("================================\n");
-            report.append("Total Reservations: ").append(total).append("\n");
-            report.append("Online: ").append(onlineReservations)
-                    .append(" (").append(String.format("%.2f%%", onlinePercentage)).append(")\n");
-            report.append("Walk-In: ").append(walkInReservations)
-                    .append(" (").append(String.format("%.2f%%", walkInPercentage)).append(")\n");
-            report.append("================================\n");
-
-            return report.toString();
+            return buildReservationTypeBreakdown(loadSnapshot());
         } catch (Exception e) {
             logger.error("Error generating reservation type breakdown", e);
             return "Error generating reservation breakdown";
@@ -174,15 +168,18 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public String getComprehensiveReport() {
         try {
+            // One snapshot (two grouped queries) feeds every section
+            ReportSnapshot snapshot = loadSnapshot();
+
             StringBuilder report = new StringBuilder();
             report.append("\n");
             report.append("████████████████████████████████████\n");
             report.append("  OCEAN VIEW RESORT - COMPREHENSIVE REPORT\n");
             report.append("████████████████████████████████████\n\n");
-            report.append(getRevenueStats()).append("\n");
-            report.append(getOccupancyStats()).append("\n");
-            report.append(getCancellationStats()).append("\n");
-            report.append(getReservationTypeBreakdown()).append("\n");
+            report.append(buildRevenueStats(snapshot)).append("\n");
+            report.append(buildOccupancyStats(snapshot)).append("\n");
+            report.append(buildCancellationStats(snapshot)).append("\n");
+            report.append(buildReservationTypeBreakdown(snapshot)).append("\n");
             report.append("████████████████████████████████████\n");
             report.append("Generated: ").append(LocalDate.now()).append("\n");
             report.append("████████████████████████████████████\n");
@@ -196,6 +193,95 @@ public class ReportServiceImpl implements ReportService {
 
     // ===================== Helper Methods =====================
 
+    /**
+     * Read all report counters: from ReportingCounters when running,
+     * otherwise one grouped query on reservations and one on rooms
+     */
+    private ReportSnapshot loadSnapshot() {
+        ReportSnapshot counters = reportingCounters.snapshot();
+        if (counters != null) {
+            return counters;
+        }
+        ReportSnapshot snapshot = reservationRepository.getReportSnapshot();
+        roomRepository.countAllByStatus().forEach(snapshot::addRooms);
+        return snapshot;
+    }
+
+    private String buildRevenueStats(ReportSnapshot snapshot) {
+        return formatRevenueReport(
+                "All Time Revenue Report",
+                snapshot.getCheckedOutRevenue(),
+                snapshot.getReservationCount("CHECKED_OUT"),
+                snapshot.getReservationCount("CANCELLED")
+        );
+    }
+
+    private String buildOccupancyStats(ReportSnapshot snapshot) {
+        int totalRooms = snapshot.getTotalRooms();
+        int occupiedRooms = snapshot.getRoomCount("OCCUPIED");
+        int reservedRooms = snapshot.getRoomCount("RESERVED");
+        int maintenanceRooms = snapshot.getRoomCount("UNDER_MAINTENANCE");
+        int availableRooms = snapshot.getRoomCount("AVAILABLE");
+
+        double occupancyRate = totalRooms > 0 ? (occupiedRooms * 100.0) / totalRooms : 0;
+
+        StringBuilder report = new StringBuilder();
+        report.append("================================\n");
+        report.append("   OCCUPANCY STATISTICS\n");
+        report.append("================================\n");
+        report.append("Total Rooms: ").append(totalRooms).append("\n");
+        report.append("Occupied: ").append(occupiedRooms).append("\n");
+        report.append("Reserved: ").append(reservedRooms).append("\n");
+        report.append("Available: ").append(availableRooms).append("\n");
+        report.append("Under Maintenance: ").append(maintenanceRooms).append("\n");
+        report.append("--------------------------------\n");
+        report.append("Occupancy Rate: ").append(String.format("%.2f%%", occupancyRate)).append("\n");
+        report.append("================================\n");
+
+        return report.toString();
+    }
+
+    private String buildCancellationStats(ReportSnapshot snapshot) {
+        int totalReservations = snapshot.getTotalReservations();
+        int cancelledReservations = snapshot.getReservationCount("CANCELLED");
+        double cancellationRate = totalReservations > 0 ? (cancelledReservations * 100.0) / totalReservations : 0;
+
+        StringBuilder report = new StringBuilder();
+        report.append("================================\n");
+        report.append("   CANCELLATION STATISTICS\n");
+        report.append("================================\n");
+        report.append("Total Reservations: ").append(totalReservations).append("\n");
+        report.append("Cancelled: ").append(cancelledReservations).append("\n");
+        report.append("Active: ").append(totalReservations - cancelledReservations).append("\n");
+        report.append("--------------------------------\n");
+        report.append("Cancellation Rate: ").append(String.format("%.2f%%", cancellationRate)).append("\n");
+        report.append("================================\n");
+
+        return report.toString();
+    }
+
+    private String buildReservationTypeBreakdown(ReportSnapshot snapshot) {
+        int onlineReservations = snapshot.getReservationTypeCount("ONLINE");
+        int walkInReservations = snapshot.getReservationTypeCount("WALK_IN");
+        int total = onlineReservations + walkInReservations;
+
+        double onlinePercentage = total > 0 ? (onlineReservations * 100.0) / total : 0;
+        double walkInPercentage = total > 0 ? (walkInReservations * 100.0) / total : 0;
+
+        StringBuilder report = new StringBuilder();
+        report.append("================================\n");
+        report.append("   RESERVATION TYPE BREAKDOWN\n");
+        report.append("================================\n");
+        report.append("Total Reservations: ").append(total).append("\n");
+        report.append("Online: ").append(onlineReservations)
+                .append(" (").append(String.format("%.2f%%", onlinePercentage)).append(")\n");
+        report.append("Walk-In: ").append(walkInReservations)
+                .append(" (").append(String.format("%.2f%%", walkInPercentage)).append(")\n");
+        report.append("================================\n");
+
+        return report.toString();
+    }
+
     private String formatRevenueReport(String title, double totalRevenue, int completedRes, int cancelledRes) {
         StringBuilder report = new StringBuilder();
         report.append("================================\n");
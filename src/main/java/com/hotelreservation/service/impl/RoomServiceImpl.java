@@ -1,27 +1,61 @@
 package com.hotelreservation.service.impl;
 
+import com.hotelreservation.cache.ReportingCounters;
+import com.hotelreservation.cache.RoomAvailabilityIndex;
 import com.hotelreservation.dto.RoomDTO;
 import com.hotelreservation.entity.Room;
 import com.hotelreservation.mapper.RoomMapper;
+import com.hotelreservation.repository.ReservationRepository;
 import com.hotelreservation.repository.RoomRepository;
 import com.hotelreservation.service.RoomService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * RoomServiceImpl - Implementation of RoomService
  * Manages room availability and status lifecycle
+ * Date-range availability is answered from RoomAvailabilityIndex when a
+ * ReservationRepository is supplied and the index is enabled; otherwise SQL is used.
  */
 public class RoomServiceImpl implements RoomService {
     private static final Logger logger = LoggerFactory.getLogger(RoomServiceImpl.class);
     private RoomRepository roomRepository;
+    private ReservationRepository reservationRepository;
+    private RoomAvailabilityIndex availabilityIndex;
 
     public RoomServiceImpl(RoomRepository roomRepository) {
+        this(roomRepository, null, RoomAvailabilityIndex.getInstance());
+    }
+
+    public RoomServiceImpl(RoomRepository roomRepository, ReservationRepository reservationRepository) {
+        this(roomRepository, reservationRepository, RoomAvailabilityIndex.getInstance());
+    }
+
+    public RoomServiceImpl(RoomRepository roomRepository, ReservationRepository reservationRepository,
+                           RoomAvailabilityIndex availabilityIndex) {
         this.roomRepository = roomRepository;
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    /**
+     * Load the availability index up front so the first search does not pay for it
+     * @return true if the index is enabled and loaded
+     */
+    public boolean loadAvailabilityIndex() {
+        try {
+            return useAvailabilityIndex();
+        } catch (Exception e) {
+            logger.error("Error loading room availability index", e);
+            return false;
+        }
     }
 
     @Override
@@ -41,7 +75,9 @@ public class RoomServiceImpl implements RoomService {
     @Override
     public List<RoomDTO> getAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
         try {
-            List<Room> rooms = roomRepository.findAvailableByDateRange(checkIn, checkOut);
+            List<Room> rooms = useAvailabilityIndex(checkIn, checkOut)
+                    ? availabilityIndex.findAvailable(checkIn, checkOut)
+                    : roomRepository.findAvailableByDateRange(checkIn, checkOut);
             logger.debug("Retrieved {} available rooms for dates: {} to {}",
                     rooms.size(), checkIn, checkOut);
             return rooms.stream()
@@ -72,11 +108,10 @@ public class RoomServiceImpl implements RoomService {
     @Override
     public List<RoomDTO> getAllRooms() {
         try {
-            List<Room> rooms = roomRepository.findAll();
+            List<RoomDTO> rooms = new ArrayList<>();
+            roomRepository.forEach(room -> rooms.add(RoomMapper.toDTO(room)));
             logger.debug("Retrieved all {} rooms", rooms.size());
-            return rooms.stream()
-                    .map(RoomMapper::toDTO)
-                    .collect(Collectors.toList());
+            return rooms;
         } catch (Exception e) {
             logger.error("Error retrieving all rooms", e);
             return List.of();
@@ -92,14 +127,46 @@ public class RoomServiceImpl implements RoomService {
                 return;
             }
 
+            String oldStatus = room.getStatus();
             room.updateStatus(status);
             roomRepository.update(room);
+            ReportingCounters.getInstance().onRoomStatusChanged(oldStatus, status);
             logger.info("Room {} status updated to: {}", roomId, status);
         } catch (Exception e) {
             logger.error("Error updating room status", e);
         }
     }
 
+    @Override
+    public int updateRoomStatuses(List<Integer> roomIds, String status, boolean markClean) {
+        try {
+            // One keyed read of the selected rooms instead of a findById per room
+            List<Room> rooms = roomRepository.findByIds(roomIds);
+            if (rooms.isEmpty()) {
+                logger.warn("No rooms found for status update: {}", roomIds);
+                return 0;
+            }
+
+            Map<Integer, String> oldStatuses = new HashMap<>();
+            for (Room room : rooms) {
+                oldStatuses.put(room.getId(), room.getStatus());
+                room.updateStatus(status);
+                if (markClean) {
+                    room.markClean();
+                }
+            }
+            int updated = roomRepository.updateAll(rooms);
+            if (updated > 0) {
+                rooms.forEach(room -> ReportingCounters.getInstance().onRoomStatusChanged(oldStatuses.get(room.getId()), status));
+            }
+            logger.info("{} rooms updated to: {}{}", updated, status, markClean ? " (clean)" : "");
+            return updated;
+        } catch (Exception e) {
+            logger.error("Error updating room statuses", e);
+            return 0;
+        }
+    }
+
     @Override
     public void markRoomClean(int roomId) {
         try {
@@ -165,15 +232,22 @@ public class RoomServiceImpl implements RoomService {
     @Override
     public double getOccupancyRate(LocalDate checkIn, LocalDate checkOut) {
         try {
-            List<Room> totalRooms = roomRepository.findAll();
-            List<Room> availableRooms = roomRepository.findAvailableByDateRange(checkIn, checkOut);
+            int totalRooms;
+            int availableRooms;
+            if (useAvailabilityIndex(checkIn, checkOut)) {
+                totalRooms = availabilityIndex.getRoomCount();
+                availableRooms = availabilityIndex.countAvailable(checkIn, checkOut);
+            } else {
+                totalRooms = roomRepository.countAllByStatus().values().stream().mapToInt(Integer::intValue).sum();
+                availableRooms = roomRepository.findAvailableByDateRange(checkIn, checkOut).size();
+            }
 
-            if (totalRooms.isEmpty()) {
+            if (totalRooms == 0) {
                 return 0;
             }
 
-            int occupiedCount = totalRooms.size() - availableRooms.size();
-            double occupancyRate = (occupiedCount * 100.0) / totalRooms.size();
+            int occupiedCount = totalRooms - availableRooms;
+            double occupancyRate = (occupiedCount * 100.0) / totalRooms;
 
             logger.debug("Occupancy rate for {} to {}: {}%", checkIn, checkOut, occupancyRate);
             return occupancyRate;
@@ -182,5 +256,19 @@ public class RoomServiceImpl implements RoomService {
             return 0;
         }
     }
+
+    // ===================== Helper Methods =====================
+
+    private boolean useAvailabilityIndex() {
+        return reservationRepository != null && availabilityIndex != null
+                && availabilityIndex.ensureLoaded(roomRepository, reservationRepository);
+    }
+
+    /**
+     * The index only covers proper stays; empty or inverted ranges go to SQL
+     */
+    private boolean useAvailabilityIndex(LocalDate checkIn, LocalDate checkOut) {
+        return checkIn != null && checkOut != null && checkOut.isAfter(checkIn) && useAvailabilityIndex();
+    }
 }
 
@@ -1,30 +1,47 @@
 package com.hotelreservation.service.impl;
 
+import com.hotelreservation.cache.SeasonalPricingCache;
 import com.hotelreservation.entity.SeasonalPricing;
 import com.hotelreservation.repository.SeasonalPricingRepository;
 import com.hotelreservation.service.SeasonalPricingService;
 import com.hotelreservation.strategy.IPricingStrategy;
-import com.hotelreservation.strategy.SeasonalRateStrategy;
-import com.hotelreservation.strategy.StandardRateStrategy;
+import com.hotelreservation.strategy.NightlyRateEngine;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * SeasonalPricingServiceImpl - concrete implementation of SeasonalPricingService
  * Manages seasonal pricing CRUD and resolves the correct IPricingStrategy at runtime
+ * Strategy resolution is served from the shared SeasonalPricingCache, which is
+ * rebuilt after every create/update/delete. While the cache cannot be loaded, lookups
+ * get the standard rate and retry the load at most every pricing.cache.retry.interval.ms.
  */
 public class SeasonalPricingServiceImpl implements SeasonalPricingService {
     private static final Logger logger = LoggerFactory.getLogger(SeasonalPricingServiceImpl.class);
 
     private final SeasonalPricingRepository repository;
+    private final SeasonalPricingCache cache;
 
     public SeasonalPricingServiceImpl(SeasonalPricingRepository repository) {
+        this(repository, SeasonalPricingCache.getInstance());
+    }
+
+    public SeasonalPricingServiceImpl(SeasonalPricingRepository repository, SeasonalPricingCache cache) {
         this.repository = repository;
+        this.cache = cache;
+    }
+
+    /**
+     * Load the seasonal pricing cache if no other service instance has yet (called at startup
+     * and by its retries, which do not wait out the lookups' back-off after a failed load)
+     * @return true if the cache is loaded
+     */
+    public boolean loadCache() {
+        return cache.isLoaded() || cache.reload(repository);
     }
 
     @Override
@@ -46,40 +63,50 @@ public class SeasonalPricingServiceImpl implements SeasonalPricingService {
     public SeasonalPricing createSeason(SeasonalPricing pricing) {
         logger.info("Creating seasonal pricing: {} ({}x) from {} to {}",
                 pricing.getSeasonName(), pricing.getMultiplier(), pricing.getStartDate(), pricing.getEndDate());
-        return repository.save(pricing);
+        SeasonalPricing saved = repository.save(pricing);
+        cache.reload(repository);
+        return saved;
     }
 
     @Override
     public void updateSeason(SeasonalPricing pricing) {
         logger.info("Updating seasonal pricing id={}: {} ({}x)", pricing.getId(), pricing.getSeasonName(), pricing.getMultiplier());
         repository.update(pricing);
+        cache.reload(repository);
+    }
+
+    @Override
+    public int updateSeasons(List<SeasonalPricing> pricings) {
+        logger.info("Updating {} seasonal pricing entries", pricings.size());
+        int updated = repository.updateAll(pricings);
+        cache.reload(repository);
+        return updated;
     }
 
     @Override
     public void deleteSeason(int id) {
         logger.info("Deleting seasonal pricing id={}", id);
         repository.delete(id);
+        cache.reload(repository);
     }
 
     /**
      * Resolves the correct pricing strategy for a given check-in date.
-     * Queries the DB for an active season matching the date:
-     *   - If found → SeasonalRateStrategy with the season's multiplier
-     *   - If not found → StandardRateStrategy (1x base rate)
+     * Looks the date up in the in-memory season table (no DB query):
+     *   - If an active season covers it → that season's shared SeasonalRateStrategy
+     *   - Otherwise → the shared StandardRateStrategy (1x base rate)
      */
     @Override
     public IPricingStrategy resolveStrategy(LocalDate checkInDate) {
-        Optional<SeasonalPricing> season = repository.findByDate(checkInDate);
-
-        if (season.isPresent()) {
-            SeasonalPricing sp = season.get();
-            logger.info("Seasonal pricing active for {}: '{}' with multiplier {}x",
-                    checkInDate, sp.getSeasonName(), sp.getMultiplier());
-            return new SeasonalRateStrategy(sp.getMultiplier());
-        }
+        cache.ensureLoaded(repository);
+        IPricingStrategy strategy = cache.resolve(checkInDate);
+        logger.debug("Pricing strategy for {}: {}", checkInDate, strategy);
+        return strategy;
+    }
 
-        logger.debug("No seasonal pricing for {} — using standard rate", checkInDate);
-        return new StandardRateStrategy();
+    @Override
+    public NightlyRateEngine getRateEngine() {
+        cache.ensureLoaded(repository);
+        return cache.getRateEngine();
     }
 }
-
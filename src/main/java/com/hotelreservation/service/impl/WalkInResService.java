@@ -2,10 +2,10 @@ package com.hotelreservation.service.impl;
 
 import com.hotelreservation.entity.*;
 import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.service.BookingContext;
 import com.hotelreservation.service.ReservationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -15,8 +15,6 @@ import java.util.UUID;
  */
 public class WalkInResService extends ReservationService {
     private static final Logger logger = LoggerFactory.getLogger(WalkInResService.class);
-    private LocalDate checkInDate;
-    private LocalDate checkOutDate;
 
     public WalkInResService(ReservationRepository reservationRepository) {
         super(reservationRepository);
@@ -26,19 +24,20 @@ public class WalkInResService extends ReservationService {
      * Factory Method implementation - creates WalkInReservation
      * @param guest the guest making the reservation
      * @param room the room being reserved
+     * @param context the booking dates for this request
      * @param totalAmount the total reservation amount
      * @return WalkInReservation instance
      */
     @Override
-    protected Reservation createReservation(Guest guest, Room room, double totalAmount) {
+    protected Reservation createReservation(Guest guest, Room room, BookingContext context, double totalAmount) {
         String reservationId = "WLK_" + UUID.randomUUID().toString().substring(0, 8);
 
         WalkInReservation reservation = new WalkInReservation(
             reservationId,
             guest.getId(),
             room.getId(),
-            checkInDate,
-            checkOutDate,
+            context.getCheckInDate(),
+            context.getCheckOutDate(),
             totalAmount
         );
 
@@ -46,18 +45,9 @@ public class WalkInResService extends ReservationService {
         return reservation;
     }
 
-    /**
-     * Set check-in and check-out dates for the reservation
-     * @param checkIn check-in date
-     * @param checkOut check-out date
-     */
-    public void setReservationDates(LocalDate checkIn, LocalDate checkOut) {
-        this.checkInDate = checkIn;
-        this.checkOutDate = checkOut;
-    }
-
     /**
      * Print reservation receipt at POS terminal
+     * Called by NotificationOutboxWorker, which records receipt_printed for the whole batch
      * @param guest the guest
      * @param reservation the reservation
      * @param room the room
@@ -78,7 +68,6 @@ public class WalkInResService extends ReservationService {
 
             // Mark receipt as printed
             walkinRes.markReceiptPrinted();
-            reservationRepository.update(reservation);
 
             return true;
         } catch (Exception e) {
@@ -187,14 +176,6 @@ public class WalkInResService extends ReservationService {
         logger.debug("Bill:\n{}", bill.toString());
     }
 
-    @Override
-    protected int calculateNights(Guest guest) {
-        if (checkInDate != null && checkOutDate != null) {
-            return (int) java.time.temporal.ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        }
-        return 1;
-    }
-
     @Override
     public String getReservationType() {
         return "WALK_IN";
@@ -204,7 +185,6 @@ public class WalkInResService extends ReservationService {
     public String toString() {
         return "WalkInResService{" +
                 "type=WALK_IN" +
-                ", pricingStrategy=" + (pricingStrategy != null ? pricingStrategy.getStrategyName() : "NONE") +
                 '}';
     }
 }
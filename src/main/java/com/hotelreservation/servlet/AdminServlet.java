@@ -1,25 +1,22 @@
 package com.hotelreservation.servlet;
 
+import com.hotelreservation.cache.ReportingCounters;
 import com.hotelreservation.controller.AdminController;
 import com.hotelreservation.controller.AdminController.ControllerResult;
+import com.hotelreservation.dto.ReservationFilter;
+import com.hotelreservation.dto.ReservationPage;
 import com.hotelreservation.dto.UserDTO;
 import com.hotelreservation.exception.HotelSystemException;
+import com.hotelreservation.metrics.QueryMetrics;
 import com.hotelreservation.service.UserService;
 import com.hotelreservation.service.PaymentService;
 import com.hotelreservation.service.ReportService;
-import com.hotelreservation.service.impl.UserServiceImpl;
-import com.hotelreservation.service.impl.PaymentServiceImpl;
-import com.hotelreservation.service.impl.ReportServiceImpl;
-import com.hotelreservation.service.impl.RoomServiceImpl;
-import com.hotelreservation.service.impl.SeasonalPricingServiceImpl;
+import com.hotelreservation.service.impl.BookingService;
 import com.hotelreservation.service.SeasonalPricingService;
 import com.hotelreservation.service.RoomService;
 import com.hotelreservation.entity.SeasonalPricing;
 import com.hotelreservation.dto.RoomDTO;
-import com.hotelreservation.repository.impl.UserDAOImpl;
-import com.hotelreservation.repository.impl.ReservationDAOImpl;
-import com.hotelreservation.repository.impl.RoomDAOImpl;
-import com.hotelreservation.repository.impl.SeasonalPricingDAOImpl;
+import com.hotelreservation.context.ApplicationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +26,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -38,11 +37,15 @@ import java.util.List;
  * - /admin/dashboard (GET) - Admin dashboard
  * - /admin/staff/create (POST) - Create staff account
  * - /admin/reports/* (GET/POST) - Generate reports
+ * - /admin/reservations (GET) - Paginated reservation list
+ * - /admin/metrics (GET) - Per-statement DAO latency metrics
+ * - /admin/metrics/prometheus (GET) - The same metrics in Prometheus text format
+ * - /admin/metrics/reset (POST) - Zero the metrics
  * - /admin/payment-config (POST) - Configure payment adapter
- * - /admin/maintenance (POST) - Manage maintenance
+ * - /admin/maintenance (POST) - Mark one or more rooms clean or under maintenance
  * - /admin/seasonal-pricing (GET) - View seasonal pricing config
  * - /admin/seasonal-pricing/create (POST) - Add a new season
- * - /admin/seasonal-pricing/toggle (POST) - Activate/deactivate a season
+ * - /admin/seasonal-pricing/toggle (POST) - Activate/deactivate one or more seasons
  * - /admin/seasonal-pricing/delete (POST) - Remove a season
  */
 public class AdminServlet extends HttpServlet {
@@ -55,22 +58,30 @@ public class AdminServlet extends HttpServlet {
     private ReportService reportService;
     private RoomService roomService;
     private SeasonalPricingService seasonalPricingService;
+    private BookingService bookingService;
 
     @Override
     public void init() throws ServletException {
         super.init();
-        // Initialize services
-        RoomDAOImpl roomDAO = new RoomDAOImpl();
-        userService = new UserServiceImpl(new UserDAOImpl());
-        paymentService = new PaymentServiceImpl();
-        reportService = new ReportServiceImpl(new ReservationDAOImpl(), roomDAO);
-        roomService = new RoomServiceImpl(roomDAO);
-        seasonalPricingService = new SeasonalPricingServiceImpl(new SeasonalPricingDAOImpl());
+        // Services are shared through the application context (see ApplicationContextListener)
+        ApplicationContext context = ApplicationContext.get(getServletContext());
+        userService = context.getUserService();
+        paymentService = context.getPaymentService();
+        reportService = context.getReportService();
+        roomService = context.getRoomService();
+        seasonalPricingService = context.getSeasonalPricingService();
+        bookingService = context.getBookingService();
 
         controller = new AdminController(userService, reportService, paymentService, seasonalPricingService);
         logger.info("AdminServlet initialized");
     }
 
+    @Override
+    public void destroy() {
+        ReportingCounters.getInstance().stop();
+        super.destroy();
+    }
+
     /**
      * GET: Display forms and dashboards
      */
@@ -88,6 +99,15 @@ public class AdminServlet extends HttpServlet {
                 handleStaffForm(request, response);
             } else if (pathInfo.equals("/reports")) {
                 handleReportsPage(request, response);
+            } else if (pathInfo.equals("/reservations")) {
+                handleReservationList(request, response);
+            } else if (pathInfo.equals("/metrics")) {
+                handleQueryMetrics(request, response);
+            } else if (pathInfo.equals("/metrics/prometheus")) {
+                response.setContentType(MetricsServlet.CONTENT_TYPE);
+                response.getWriter().write(QueryMetrics.getInstance().toPrometheusText());
+                response.getWriter().write(ApplicationContext.get(getServletContext()).getBookingExecutor().toPrometheusText());
+                response.getWriter().write(ApplicationContext.get(getServletContext()).getOutboxWorker().toPrometheusText());
             } else if (pathInfo.equals("/payment-config")) {
                 handlePaymentConfigForm(request, response);
             } else if (pathInfo.equals("/maintenance")) {
@@ -135,6 +155,10 @@ public class AdminServlet extends HttpServlet {
                 handleSeasonToggle(request, response);
             } else if (pathInfo.equals("/seasonal-pricing/delete")) {
                 handleSeasonDelete(request, response);
+            } else if (pathInfo.equals("/metrics/reset")) {
+                QueryMetrics.getInstance().reset();
+                logger.info("Query metrics reset by admin");
+                response.sendRedirect(request.getContextPath() + "/admin/metrics");
             } else {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
             }
@@ -160,6 +184,34 @@ public class AdminServlet extends HttpServlet {
         request.getRequestDispatcher("/jsp/admin/dashboard.jsp").forward(request, response);
     }
 
+    /**
+     * Display one page of reservations, with optional status and type filters
+     */
+    private void handleReservationList(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        String status = request.getParameter("status");
+        String type = request.getParameter("type");
+        ReservationPage page = bookingService.getReservationPage(new ReservationFilter(null, status, type),
+                request.getParameter("cursor"), BookingService.DEFAULT_PAGE_SIZE);
+
+        request.setAttribute("reservations", page.getReservations());
+        request.setAttribute("nextCursor", page.getNextCursor());
+        request.setAttribute("statusFilter", status);
+        request.setAttribute("typeFilter", type);
+        request.setAttribute("listPath", "/admin/reservations");
+        request.setAttribute("backPath", "/admin/dashboard");
+        request.getRequestDispatcher("/jsp/reservations.jsp").forward(request, response);
+    }
+
+    /**
+     * Display per-statement DAO latency metrics
+     */
+    private void handleQueryMetrics(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        request.setAttribute("statements", QueryMetrics.getInstance().getStatements());
+        request.getRequestDispatcher("/jsp/admin/queryMetrics.jsp").forward(request, response);
+    }
+
     /**
      * Display staff creation form
      */
@@ -311,28 +363,47 @@ public class AdminServlet extends HttpServlet {
     }
 
     /**
-     * Update maintenance status — mark room as clean or under maintenance
+     * Update maintenance status — mark rooms as clean or under maintenance.
+     * Accepts one roomId (row buttons) or several (bulk form); either way the rooms
+     * are written in one batched update.
      */
     private void handleMaintenanceUpdate(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
-        String roomIdStr = request.getParameter("roomId");
+        String[] roomIdStrs = request.getParameterValues("roomId");
         String action = request.getParameter("action");
 
-        logger.info("Maintenance update: room={}, action={}", roomIdStr, action);
+        logger.info("Maintenance update: rooms={}, action={}", Arrays.toString(roomIdStrs), action);
+
+        if (roomIdStrs == null || roomIdStrs.length == 0) {
+            request.setAttribute("error", "Select at least one room");
+            handleMaintenanceForm(request, response);
+            return;
+        }
 
         try {
-            int roomId = Integer.parseInt(roomIdStr);
+            List<Integer> roomIds = new ArrayList<>();
+            for (String roomIdStr : roomIdStrs) {
+                roomIds.add(Integer.parseInt(roomIdStr));
+            }
+            String rooms = roomIds.size() == 1 ? "Room " + roomIds.get(0) : roomIds.size() + " rooms";
 
             if ("markClean".equals(action)) {
                 // Maintenance marks room as clean — room becomes bookable again
-                roomService.markRoomClean(roomId);
-                roomService.updateRoomStatus(roomId, "AVAILABLE");
-                request.setAttribute("message", "Room " + roomId + " marked as clean and available for booking.");
+                int updated = roomService.updateRoomStatuses(roomIds, "AVAILABLE", true);
+                if (updated > 0) {
+                    request.setAttribute("message", rooms + " marked as clean and available for booking.");
+                } else {
+                    request.setAttribute("error", "No rooms were updated");
+                }
             } else if ("markMaintenance".equals(action)) {
                 // Put room under maintenance
-                roomService.updateRoomStatus(roomId, "UNDER_MAINTENANCE");
-                request.setAttribute("message", "Room " + roomId + " placed under maintenance.");
+                int updated = roomService.updateRoomStatuses(roomIds, "UNDER_MAINTENANCE", false);
+                if (updated > 0) {
+                    request.setAttribute("message", rooms + " placed under maintenance.");
+                } else {
+                    request.setAttribute("error", "No rooms were updated");
+                }
             } else {
                 request.setAttribute("error", "Unknown action: " + action);
             }
@@ -401,21 +472,30 @@ public class AdminServlet extends HttpServlet {
     }
 
     /**
-     * Toggle a season's active/inactive status
+     * Toggle the active/inactive status of one season, or of every selected season in one batch
      */
     private void handleSeasonToggle(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
-        String seasonIdStr = request.getParameter("seasonId");
+        String[] seasonIdStrs = request.getParameterValues("seasonId");
         String activeStr = request.getParameter("active");
 
-        logger.info("Toggling season: id={}, active={}", seasonIdStr, activeStr);
+        logger.info("Toggling seasons: ids={}, active={}", Arrays.toString(seasonIdStrs), activeStr);
 
         try {
-            int seasonId = Integer.parseInt(seasonIdStr);
             boolean active = "true".equalsIgnoreCase(activeStr);
-
-            ControllerResult<Boolean> result = controller.toggleSeason(seasonId, active);
+            ControllerResult<?> result;
+            if (seasonIdStrs != null && seasonIdStrs.length > 1) {
+                List<Integer> seasonIds = new ArrayList<>();
+                for (String seasonIdStr : seasonIdStrs) {
+                    seasonIds.add(Integer.parseInt(seasonIdStr));
+                }
+                result = controller.toggleSeasons(seasonIds, active);
+            } else if (seasonIdStrs != null) {
+                result = controller.toggleSeason(Integer.parseInt(seasonIdStrs[0]), active);
+            } else {
+                result = controller.toggleSeasons(List.of(), active);
+            }
 
             if (result.isSuccess()) {
                 request.setAttribute("message", result.getMessage());
@@ -4,17 +4,14 @@ import com.hotelreservation.controller.FrontDeskController;
 import com.hotelreservation.controller.FrontDeskController.ControllerResult;
 import com.hotelreservation.dto.GuestDTO;
 import com.hotelreservation.dto.ReservationDTO;
+import com.hotelreservation.dto.ReservationPage;
 import com.hotelreservation.exception.HotelSystemException;
-import com.hotelreservation.service.impl.BookingService;
-import com.hotelreservation.service.impl.RoomServiceImpl;
-import com.hotelreservation.service.impl.OnlineResService;
-import com.hotelreservation.service.impl.WalkInResService;
-import com.hotelreservation.repository.impl.RoomDAOImpl;
-import com.hotelreservation.repository.impl.ReservationDAOImpl;
-import com.hotelreservation.repository.impl.GuestRepositoryImpl;
-import com.hotelreservation.service.impl.PaymentServiceImpl;
-import com.hotelreservation.service.impl.SeasonalPricingServiceImpl;
-import com.hotelreservation.repository.impl.SeasonalPricingDAOImpl;
+import com.hotelreservation.strategy.NightlyRateBreakdown;
+import com.hotelreservation.context.ApplicationContext;
+import com.hotelreservation.context.BookingExecutor;
+import com.hotelreservation.context.BookingExecutor.View;
+import com.hotelreservation.service.RoomService;
+import com.hotelreservation.service.SeasonalPricingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +26,8 @@ import java.io.IOException;
  *
  * URL Pattern: /frontdesk/*
  * - /frontdesk/dashboard (GET) - Receptionist dashboard
- * - /frontdesk/walkin (POST) - Create walk-in reservation
+ * - /frontdesk/reservations (GET) - Paginated reservation list
+ * - /frontdesk/walkin (POST) - Create walk-in reservation (async, on the BookingExecutor)
  * - /frontdesk/checkin (POST) - Check-in guest
  * - /frontdesk/checkout (POST) - Check-out guest
  */
@@ -38,26 +36,19 @@ public class FrontDeskServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
 
     private FrontDeskController controller;
-    private RoomServiceImpl roomService;
+    private RoomService roomService;
+    private SeasonalPricingService seasonalPricingService;
+    private BookingExecutor bookingExecutor;
 
     @Override
     public void init() throws ServletException {
         super.init();
-        // Initialize services
-        roomService = new RoomServiceImpl(new RoomDAOImpl());
-        ReservationDAOImpl reservationDAO = new ReservationDAOImpl();
-
-        BookingService bookingService = new BookingService(
-            new OnlineResService(reservationDAO),
-            new WalkInResService(reservationDAO),
-            roomService,
-            new PaymentServiceImpl(),
-            reservationDAO,
-            new GuestRepositoryImpl(),
-            new SeasonalPricingServiceImpl(new SeasonalPricingDAOImpl())
-        );
-
-        controller = new FrontDeskController(bookingService);
+        // Services are shared through the application context (see ApplicationContextListener)
+        ApplicationContext context = ApplicationContext.get(getServletContext());
+        roomService = context.getRoomService();
+        seasonalPricingService = context.getSeasonalPricingService();
+        bookingExecutor = context.getBookingExecutor();
+        controller = new FrontDeskController(context.getBookingService());
         logger.info("FrontDeskServlet initialized");
     }
 
@@ -74,6 +65,8 @@ public class FrontDeskServlet extends HttpServlet {
         try {
             if (pathInfo == null || pathInfo.equals("/dashboard")) {
                 handleDashboard(request, response);
+            } else if (pathInfo.equals("/reservations")) {
+                handleReservationList(request, response);
             } else if (pathInfo.equals("/walkin")) {
                 handleWalkInForm(request, response);
             } else if (pathInfo.equals("/checkin")) {
@@ -147,6 +140,29 @@ public class FrontDeskServlet extends HttpServlet {
         request.getRequestDispatcher("/jsp/receptionist/dashboard.jsp").forward(request, response);
     }
 
+    /**
+     * Display one page of reservations, with optional status and type filters
+     */
+    private void handleReservationList(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        String status = request.getParameter("status");
+        String type = request.getParameter("type");
+        ControllerResult<ReservationPage> result =
+                controller.listReservations(status, type, request.getParameter("cursor"));
+
+        if (result.isSuccess()) {
+            request.setAttribute("reservations", result.getData().getReservations());
+            request.setAttribute("nextCursor", result.getData().getNextCursor());
+        } else {
+            request.setAttribute("error", result.getMessage());
+        }
+        request.setAttribute("statusFilter", status);
+        request.setAttribute("typeFilter", type);
+        request.setAttribute("listPath", "/frontdesk/reservations");
+        request.setAttribute("backPath", "/frontdesk/dashboard");
+        request.getRequestDispatcher("/jsp/reservations.jsp").forward(request, response);
+    }
+
     /**
      * Display walk-in reservation form
      */
@@ -182,16 +198,16 @@ public class FrontDeskServlet extends HttpServlet {
 
             logger.info("Creating walk-in reservation for guest: {}, room: {}", guestDTO.getName(), roomId);
 
-            ControllerResult<ReservationDTO> result = controller.makeWalkInReservation(guestDTO, roomId, checkIn, checkOut);
-
-            if (result.isSuccess()) {
-                request.setAttribute("reservation", result.getData());
-                request.getRequestDispatcher("/jsp/receptionist/walkInConfirmation.jsp").forward(request, response);
-            } else {
-                request.setAttribute("error", result.getMessage());
-                try { request.setAttribute("availableRooms", roomService.getAvailableRooms()); } catch (Exception ignored) {}
-                request.getRequestDispatcher("/jsp/receptionist/walkInForm.jsp").forward(request, response);
-            }
+            // The booking and payment run on a booking thread, not this one
+            bookingExecutor.submit(request, response, () -> {
+                ControllerResult<ReservationDTO> result = controller.makeWalkInReservation(guestDTO, roomId, checkIn, checkOut);
+                if (result.isSuccess()) {
+                    return View.of("/jsp/receptionist/walkInConfirmation.jsp").with("reservation", result.getData());
+                }
+                View form = View.of("/jsp/receptionist/walkInForm.jsp").with("error", result.getMessage());
+                try { form.with("availableRooms", roomService.getAvailableRooms()); } catch (Exception ignored) {}
+                return form;
+            });
         } catch (NumberFormatException e) {
             logger.error("Invalid input data", e);
             request.setAttribute("error", "Invalid input data");
@@ -280,7 +296,19 @@ public class FrontDeskServlet extends HttpServlet {
         );
 
         bill.setNights(nights);
-        bill.setRatePerNight(reservation.getRoom().getBasePrice());
+
+        // Re-price the stay night by night; the breakdown is only shown if it still
+        // matches what was charged (seasons may have been edited since booking)
+        NightlyRateBreakdown breakdown = seasonalPricingService.getRateEngine().price(
+            reservation.getRoom().getBasePrice(), reservation.getCheckInDate(), reservation.getCheckOutDate());
+        if (Math.abs(breakdown.getTotal() - reservation.getTotalAmount()) < 0.005) {
+            bill.setRateBreakdown(breakdown);
+            bill.setRatePerNight(breakdown.getAverageRate());
+        } else {
+            logger.warn("Charged amount {} for {} differs from current nightly rates {}",
+                reservation.getTotalAmount(), reservation.getId(), breakdown.getTotal());
+            bill.setRatePerNight(nights > 0 ? reservation.getTotalAmount() / nights : reservation.getTotalAmount());
+        }
         bill.setRoomCharges(reservation.getTotalAmount());
         bill.setAdditionalCharges(0);
         bill.setTotal(reservation.getTotalAmount());
@@ -301,6 +329,7 @@ public class FrontDeskServlet extends HttpServlet {
         private double roomCharges;
         private double additionalCharges;
         private double total;
+        private NightlyRateBreakdown rateBreakdown;
 
         // Getters and Setters
         public String getReservationId() { return reservationId; }
@@ -329,6 +358,9 @@ public class FrontDeskServlet extends HttpServlet {
 
         public double getTotal() { return total; }
         public void setTotal(double t) { this.total = t; }
+
+        public NightlyRateBreakdown getRateBreakdown() { return rateBreakdown; }
+        public void setRateBreakdown(NightlyRateBreakdown breakdown) { this.rateBreakdown = breakdown; }
     }
 }
 
@@ -5,10 +5,8 @@ import com.hotelreservation.controller.SystemController.AuthResult;
 import com.hotelreservation.dto.UserDTO;
 import com.hotelreservation.entity.Guest;
 import com.hotelreservation.service.UserService;
-import com.hotelreservation.service.impl.UserServiceImpl;
 import com.hotelreservation.repository.GuestRepository;
-import com.hotelreservation.repository.impl.GuestRepositoryImpl;
-import com.hotelreservation.repository.impl.UserDAOImpl;
+import com.hotelreservation.context.ApplicationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,10 +34,10 @@ public class LoginServlet extends HttpServlet {
     @Override
     public void init() throws ServletException {
         super.init();
-        // Initialize services
-        userService = new UserServiceImpl(new UserDAOImpl());
+        ApplicationContext context = ApplicationContext.get(getServletContext());
+        userService = context.getUserService();
         systemController = new SystemController(userService);
-        guestRepository = new GuestRepositoryImpl();
+        guestRepository = context.getGuestRepository();
         logger.info("LoginServlet initialized");
     }
 
@@ -0,0 +1,69 @@
+package com.hotelreservation.servlet;
+
+import com.hotelreservation.context.ApplicationContext;
+import com.hotelreservation.metrics.QueryMetrics;
+import com.hotelreservation.util.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * MetricsServlet - Prometheus scrape endpoint for DAO query, booking executor and outbox metrics
+ *
+ * URL Pattern: /metrics
+ * - /metrics (GET) - QueryMetrics, the BookingExecutor gauges and the notification outbox
+ *   backlog and delivery counters in Prometheus text format
+ *
+ * Scrapers cannot log in, so the path is public in AuthFilter and each scrape must send
+ * "Authorization: Bearer <metrics.scrape.token>" instead. Without a configured token the
+ * endpoint answers 404; logged-in admins can read the same data at /admin/metrics/prometheus.
+ */
+public class MetricsServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServlet.class);
+    private static final long serialVersionUID = 1L;
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private byte[] expectedAuthorization;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        String token = AppConfig.getInstance().get("metrics.scrape.token", "");
+        if (token.isEmpty()) {
+            logger.info("MetricsServlet initialized without metrics.scrape.token, /metrics is disabled");
+        } else {
+            expectedAuthorization = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+            logger.info("MetricsServlet initialized, scrapes need the bearer token");
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (expectedAuthorization == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String authorization = request.getHeader("Authorization");
+        // MessageDigest.isEqual takes the same time wherever the first difference is
+        if (authorization == null
+                || !MessageDigest.isEqual(expectedAuthorization, authorization.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("Metrics scrape without a valid bearer token from {}", request.getRemoteAddr());
+            response.setHeader("WWW-Authenticate", "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        response.setContentType(CONTENT_TYPE);
+        response.getWriter().write(QueryMetrics.getInstance().toPrometheusText());
+        ApplicationContext context = ApplicationContext.get(getServletContext());
+        response.getWriter().write(context.getBookingExecutor().toPrometheusText());
+        response.getWriter().write(context.getOutboxWorker().toPrometheusText());
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotelreservation.servlet;
+
+import com.hotelreservation.context.ApplicationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * ReadinessServlet - readiness probe for load balancers and orchestrators
+ *
+ * URL Pattern: /ready
+ * - /ready (GET) - 200 "READY" once the application context has loaded its caches and
+ *   warmed up, 503 "STARTING" before that and while the webapp shuts down
+ *
+ * Probes cannot log in, so the path is public in AuthFilter; the response carries no data.
+ */
+public class ReadinessServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(ReadinessServlet.class);
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        boolean ready = isReady();
+        response.setStatus(ready ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType("text/plain; charset=utf-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(ready ? "READY" : "STARTING");
+    }
+
+    private boolean isReady() {
+        try {
+            return ApplicationContext.get(getServletContext()).isReady();
+        } catch (IllegalStateException e) {
+            logger.debug("Readiness probe before the application context was registered");
+            return false;
+        }
+    }
+}
@@ -4,23 +4,17 @@ import com.hotelreservation.controller.ReservationController;
 import com.hotelreservation.controller.ReservationController.ControllerResult;
 import com.hotelreservation.dto.GuestDTO;
 import com.hotelreservation.dto.ReservationDTO;
+import com.hotelreservation.dto.ReservationPage;
 import com.hotelreservation.dto.RoomDTO;
-import com.hotelreservation.service.impl.BookingService;
-import com.hotelreservation.service.impl.RoomServiceImpl;
-import com.hotelreservation.service.impl.OnlineResService;
-import com.hotelreservation.service.impl.WalkInResService;
-import com.hotelreservation.repository.impl.UserDAOImpl;
-import com.hotelreservation.repository.impl.RoomDAOImpl;
-import com.hotelreservation.repository.impl.ReservationDAOImpl;
-import com.hotelreservation.service.impl.UserServiceImpl;
-import com.hotelreservation.service.impl.PaymentServiceImpl;
-import com.hotelreservation.service.impl.ReportServiceImpl;
-import com.hotelreservation.service.impl.SeasonalPricingServiceImpl;
-import com.hotelreservation.repository.impl.SeasonalPricingDAOImpl;
+import com.hotelreservation.strategy.NightlyRateBreakdown;
 import com.hotelreservation.entity.Guest;
 import com.hotelreservation.exception.HotelSystemException;
 import com.hotelreservation.repository.GuestRepository;
-import com.hotelreservation.repository.impl.GuestRepositoryImpl;
+import com.hotelreservation.context.ApplicationContext;
+import com.hotelreservation.context.BookingExecutor;
+import com.hotelreservation.context.BookingExecutor.View;
+import com.hotelreservation.service.RoomService;
+import com.hotelreservation.service.SeasonalPricingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,7 +32,7 @@ import java.util.List;
  *
  * URL Pattern: /reservation/*
  * - /reservation/search (GET/POST) - Search for available rooms
- * - /reservation/create (POST) - Create new reservation
+ * - /reservation/create (POST) - Create new reservation (async, on the BookingExecutor)
  * - /reservation/list (GET) - View my reservations
  * - /reservation/cancel (POST) - Cancel reservation
  */
@@ -47,30 +41,21 @@ public class ReservationServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
 
     private ReservationController controller;
-    private RoomServiceImpl roomService;
+    private RoomService roomService;
+    private SeasonalPricingService seasonalPricingService;
     private GuestRepository guestRepository;
+    private BookingExecutor bookingExecutor;
 
     @Override
     public void init() throws ServletException {
         super.init();
-        // Initialize services
-        roomService = new RoomServiceImpl(new RoomDAOImpl());
-        ReservationDAOImpl reservationDAO = new ReservationDAOImpl();
-
-        // Initialize guest repository for mapping userId -> guestId
-        guestRepository = new GuestRepositoryImpl();
-
-        BookingService bookingService = new BookingService(
-            new OnlineResService(reservationDAO),
-            new WalkInResService(reservationDAO),
-            roomService,
-            new PaymentServiceImpl(),
-            reservationDAO,
-            guestRepository,
-            new SeasonalPricingServiceImpl(new SeasonalPricingDAOImpl())
-        );
-
-        controller = new ReservationController(bookingService, roomService);
+        // Services are shared through the application context (see ApplicationContextListener)
+        ApplicationContext context = ApplicationContext.get(getServletContext());
+        roomService = context.getRoomService();
+        guestRepository = context.getGuestRepository();
+        seasonalPricingService = context.getSeasonalPricingService();
+        bookingExecutor = context.getBookingExecutor();
+        controller = new ReservationController(context.getBookingService(), roomService);
         logger.info("ReservationServlet initialized");
     }
 
@@ -189,12 +174,11 @@ public class ReservationServlet extends HttpServlet {
             RoomDTO room = roomService.getRoomById(roomId);
             if (room != null) {
                 request.setAttribute("room", room);
-                // Calculate total amount
-                long nights = java.time.temporal.ChronoUnit.DAYS.between(
-                    java.time.LocalDate.parse(checkIn), java.time.LocalDate.parse(checkOut));
-                if (nights <= 0) nights = 1;
-                double totalAmount = nights * room.getBasePrice();
-                request.setAttribute("totalAmount", totalAmount);
+                // Price each night exactly as the booking will charge it
+                NightlyRateBreakdown quote = seasonalPricingService.getRateEngine()
+                        .price(room.getBasePrice(), LocalDate.parse(checkIn), LocalDate.parse(checkOut));
+                request.setAttribute("rateBreakdown", quote);
+                request.setAttribute("totalAmount", quote.getTotal());
             }
 
             // Pass through all form data
@@ -249,15 +233,14 @@ public class ReservationServlet extends HttpServlet {
             logger.info("Creating reservation for guest: {}, room: {}, dates: {} to {}",
                        guestDTO.getName(), roomId, checkIn, checkOut);
 
-            ControllerResult<ReservationDTO> result = controller.makeReservation(guestDTO, roomId, checkIn, checkOut);
-
-            if (result.isSuccess()) {
-                request.setAttribute("reservation", result.getData());
-                request.getRequestDispatcher("/jsp/guest/reservationConfirmation.jsp").forward(request, response);
-            } else {
-                request.setAttribute("error", result.getMessage());
-                request.getRequestDispatcher("/jsp/guest/reservation.jsp").forward(request, response);
-            }
+            // Guest lookup, insert, payment and email run on a booking thread, not this one
+            bookingExecutor.submit(request, response, () -> {
+                ControllerResult<ReservationDTO> result = controller.makeReservation(guestDTO, roomId, checkIn, checkOut);
+                if (result.isSuccess()) {
+                    return View.of("/jsp/guest/reservationConfirmation.jsp").with("reservation", result.getData());
+                }
+                return View.of("/jsp/guest/reservation.jsp").with("error", result.getMessage());
+            });
         } catch (NumberFormatException e) {
             logger.error("Invalid room ID format", e);
             request.setAttribute("error", "Invalid input data");
@@ -283,10 +266,14 @@ public class ReservationServlet extends HttpServlet {
 
         int guestId = (Integer) session.getAttribute("guestId");
 
-        ControllerResult<List<ReservationDTO>> result = controller.listReservationsForGuest(guestId);
+        String status = request.getParameter("status");
+        ControllerResult<ReservationPage> result =
+                controller.listReservationPageForGuest(guestId, status, request.getParameter("cursor"));
 
         if (result.isSuccess()) {
-            request.setAttribute("reservations", result.getData());
+            request.setAttribute("reservations", result.getData().getReservations());
+            request.setAttribute("nextCursor", result.getData().getNextCursor());
+            request.setAttribute("statusFilter", status);
         } else {
             request.setAttribute("error", result.getMessage());
         }
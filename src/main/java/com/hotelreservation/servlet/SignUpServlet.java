@@ -2,10 +2,9 @@ package com.hotelreservation.servlet;
 
 import com.hotelreservation.dto.UserDTO;
 import com.hotelreservation.entity.Guest;
-import com.hotelreservation.repository.impl.GuestRepositoryImpl;
-import com.hotelreservation.repository.impl.UserDAOImpl;
 import com.hotelreservation.service.UserService;
-import com.hotelreservation.service.impl.UserServiceImpl;
+import com.hotelreservation.context.ApplicationContext;
+import com.hotelreservation.repository.GuestRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,13 +30,14 @@ public class SignUpServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
 
     private UserService userService;
-    private GuestRepositoryImpl guestRepository;
+    private GuestRepository guestRepository;
 
     @Override
     public void init() throws ServletException {
         super.init();
-        userService = new UserServiceImpl(new UserDAOImpl());
-        guestRepository = new GuestRepositoryImpl();
+        ApplicationContext context = ApplicationContext.get(getServletContext());
+        userService = context.getUserService();
+        guestRepository = context.getGuestRepository();
         logger.info("SignUpServlet initialized");
     }
 
@@ -0,0 +1,97 @@
+package com.hotelreservation.strategy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NightlyRateBreakdown - result of NightlyRateEngine.price
+ * Rate charged for each night of a stay plus the total the booking charges.
+ */
+public final class NightlyRateBreakdown {
+    private final LocalDate checkIn;
+    private final double[] rates;
+    private final double total;
+
+    NightlyRateBreakdown(LocalDate checkIn, double[] rates, double total) {
+        this.checkIn = checkIn;
+        this.rates = rates;
+        this.total = total;
+    }
+
+    public int getNights() {
+        return rates.length;
+    }
+
+    /**
+     * @param night zero-based night index
+     * @return rate charged for that night
+     */
+    public double getRate(int night) {
+        return rates[night];
+    }
+
+    public LocalDate getDate(int night) {
+        return checkIn.plusDays(night);
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public double getAverageRate() {
+        return rates.length > 0 ? total / rates.length : 0;
+    }
+
+    /**
+     * Consecutive nights at the same rate, for display on the payment page and bill
+     * @return runs in date order
+     */
+    public List<RateRun> getRateRuns() {
+        List<RateRun> runs = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rates.length; i++) {
+            if (i == rates.length || rates[i] != rates[start]) {
+                runs.add(new RateRun(getDate(start), i - start, rates[start]));
+                start = i;
+            }
+        }
+        return Collections.unmodifiableList(runs);
+    }
+
+    /**
+     * A run of consecutive nights charged the same rate
+     */
+    public static final class RateRun {
+        private final LocalDate firstNight;
+        private final int nights;
+        private final double rate;
+
+        RateRun(LocalDate firstNight, int nights, double rate) {
+            this.firstNight = firstNight;
+            this.nights = nights;
+            this.rate = rate;
+        }
+
+        public LocalDate getFirstNight() {
+            return firstNight;
+        }
+
+        public LocalDate getLastNight() {
+            return firstNight.plusDays(nights - 1L);
+        }
+
+        public int getNights() {
+            return nights;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public double getSubtotal() {
+            return Math.round(rate * nights * 100.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotelreservation.strategy;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * NightlyRateEngine - prices a stay night by night over a precomputed daily multiplier calendar
+ *
+ * Where an IPricingStrategy applies one multiplier chosen by the check-in date, the engine
+ * looks up every night separately, so a stay crossing into (or out of) a season is charged
+ * the right rate for each night. The calendar is a dense double[] of multipliers, one per
+ * day from origin; days outside it are charged the base rate. Pricing a stay is a single
+ * pass over a slice of that array.
+ *
+ * Instances are immutable and shared; SeasonalPricingCache builds a new one on every reload.
+ */
+public final class NightlyRateEngine {
+    /** Engine with no seasons: every night at the base rate */
+    public static final NightlyRateEngine STANDARD = new NightlyRateEngine(LocalDate.of(2000, 1, 1), new double[0]);
+
+    private final long originDay;
+    private final double[] multipliers;
+
+    /**
+     * @param origin date of multipliers[0]
+     * @param multipliers daily multiplier for origin + i days (the array is not copied)
+     */
+    public NightlyRateEngine(LocalDate origin, double[] multipliers) {
+        this.originDay = origin.toEpochDay();
+        this.multipliers = multipliers;
+    }
+
+    /**
+     * Price every night of a stay
+     * Same-day stays are charged as one night, matching BookingContext.getNights().
+     * @param baseRate room base price per night
+     * @param checkIn check-in date (first night)
+     * @param checkOut check-out date (not charged)
+     * @return per-night rates, each rounded to cents, and their total
+     */
+    public NightlyRateBreakdown price(double baseRate, LocalDate checkIn, LocalDate checkOut) {
+        int nights = (int) Math.max(1, ChronoUnit.DAYS.between(checkIn, checkOut));
+        double[] rates = new double[nights];
+        long offset = checkIn.toEpochDay() - originDay;
+
+        // Nights before/after the calendar pay the base rate; the overlap is one slice of the array
+        int from = (int) Math.min(nights, Math.max(0, -offset));
+        int to = (int) Math.max(from, Math.min(nights, multipliers.length - offset));
+        double roundedBase = roundToCents(baseRate);
+        double total = 0;
+        for (int i = 0; i < nights; i++) {
+            rates[i] = i >= from && i < to
+                    ? roundToCents(baseRate * multipliers[(int) (offset + i)])
+                    : roundedBase;
+            total += rates[i];
+        }
+        return new NightlyRateBreakdown(checkIn, rates, roundToCents(total));
+    }
+
+    /**
+     * Multiplier applied to the night starting on the given date
+     */
+    public double getMultiplier(LocalDate night) {
+        long i = night.toEpochDay() - originDay;
+        return i >= 0 && i < multipliers.length ? multipliers[(int) i] : 1.0;
+    }
+
+    private static double roundToCents(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,162 @@
+package com.hotelreservation.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvFormat - RFC 4180 CSV with a header line
+ * Fields holding a comma, quote or line break are quoted with quotes doubled. An empty
+ * unquoted field is read as null and a quoted empty field ("") as an empty string.
+ * Columns are matched by header name, so files may reorder or omit columns.
+ */
+public class CsvFormat implements RecordFormat {
+
+    @Override
+    public String extension() {
+        return "csv";
+    }
+
+    @Override
+    public void writeHeader(Writer out, String[] columns) throws IOException {
+        out.write(String.join(",", columns));
+        out.write('\n');
+    }
+
+    @Override
+    public void writeRecord(Writer out, String[] columns, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeField(out, RecordFormat.text(values[i]));
+            }
+        }
+        out.write('\n');
+    }
+
+    private static void writeField(Writer out, String field) throws IOException {
+        boolean quote = field.isEmpty();
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    @Override
+    public RecordParser readHeader(BufferedReader in, String[] columns) throws IOException {
+        String header = in.readLine();
+        if (header == null) {
+            throw new IOException("Missing CSV header line");
+        }
+        if (header.startsWith("\uFEFF")) { // byte order mark from spreadsheet exports
+            header = header.substring(1);
+        }
+        List<String> names = split(header);
+        int[] positions = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            positions[i] = indexOf(names, columns[i]);
+        }
+        return record -> {
+            List<String> fields = split(record);
+            String[] values = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                if (positions[i] >= 0 && positions[i] < fields.size()) {
+                    values[i] = fields.get(positions[i]);
+                }
+            }
+            return values;
+        };
+    }
+
+    @Override
+    public String readRecord(BufferedReader in) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+        } while (line != null && line.isEmpty());
+        if (line == null) {
+            return null;
+        }
+        // A quoted field may span lines: keep reading while a quote is still open
+        StringBuilder record = null;
+        while (quotes(line) % 2 != 0) {
+            String next = in.readLine();
+            if (next == null) {
+                throw new IOException("Unterminated quoted field at end of input");
+            }
+            if (record == null) {
+                record = new StringBuilder(line);
+            }
+            record.append('\n').append(next);
+            line = record.toString();
+        }
+        return line;
+    }
+
+    private static int quotes(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int indexOf(List<String> names, String column) {
+        for (int i = 0; i < names.size(); i++) {
+            if (column.equalsIgnoreCase(names.get(i) == null ? "" : names.get(i).trim())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Split one record into its fields
+     */
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,317 @@
+package com.hotelreservation.transfer;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.persistence.DatabaseConnection;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.impl.GuestRepositoryImpl;
+import com.hotelreservation.repository.impl.ReservationDAOImpl;
+import com.hotelreservation.repository.impl.RoomDAOImpl;
+import com.hotelreservation.transfer.RecordFormat.RecordParser;
+import com.hotelreservation.util.AppConfig;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * DataTransfer - streaming bulk import/export of rooms, guests and reservations
+ *
+ * Export streams each table through the repository forEach methods straight into a
+ * buffered file channel, so memory use does not grow with the table.
+ *
+ * Import reads the file on the calling thread, cuts it into batches of
+ * transfer.batch.size records and parses the batches on transfer.parse.workers threads.
+ * The calling thread saves the parsed batches in file order, one repository saveAll
+ * (one transaction) per batch. At most two batches per worker are in flight, so a file
+ * of millions of reservations is never held in memory. A record that does not parse is
+ * skipped and reported; a batch the database refuses is rolled back, reported, and the
+ * import carries on.
+ *
+ * Rooms and guests get new IDs on import; the old-to-new IDs are kept in memory while
+ * the reservations that refer to them are imported. A reservation whose room or guest is
+ * in the files but was not imported is rejected.
+ *
+ * Usage (files are rooms.csv, guests.csv and reservations.csv, or .jsonl for json):
+ *   java -cp ... com.hotelreservation.transfer.DataTransfer export|import DIR [csv|json]
+ */
+public class DataTransfer {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final RoomRepository roomRepository;
+    private final GuestRepository guestRepository;
+    private final ReservationRepository reservationRepository;
+    private final RecordFormat format;
+    private final int batchSize;
+    private final int workers;
+    private final PrintStream out;
+
+    public DataTransfer(RoomRepository roomRepository, GuestRepository guestRepository,
+                        ReservationRepository reservationRepository, RecordFormat format,
+                        int batchSize, int workers, PrintStream out) {
+        this.roomRepository = roomRepository;
+        this.guestRepository = guestRepository;
+        this.reservationRepository = reservationRepository;
+        this.format = format;
+        this.batchSize = Math.max(1, batchSize);
+        this.workers = Math.max(1, workers);
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !("export".equals(args[0]) || "import".equals(args[0]))) {
+            System.err.println("Usage: DataTransfer export|import <dir> [csv|json]");
+            System.exit(2);
+        }
+        AppConfig config = AppConfig.getInstance();
+        int workers = config.getInt("transfer.parse.workers", 0);
+        DataTransfer transfer = new DataTransfer(new RoomDAOImpl(), new GuestRepositoryImpl(), new ReservationDAOImpl(),
+                RecordFormat.forName(args.length > 2 ? args[2] : "csv"), config.getInt("transfer.batch.size", 1000),
+                workers > 0 ? workers : Runtime.getRuntime().availableProcessors(), System.out);
+        try {
+            if ("export".equals(args[0])) {
+                transfer.exportAll(Paths.get(args[1]));
+            } else {
+                transfer.importAll(Paths.get(args[1]));
+            }
+        } finally {
+            DatabaseConnection.getInstance().close();
+        }
+    }
+
+    // ===================== Export =====================
+
+    /**
+     * Write rooms, guests and reservations into the directory
+     */
+    public void exportAll(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        export(EntityRecords.rooms(), file(dir, "rooms"), roomRepository::forEach);
+        export(EntityRecords.guests(), file(dir, "guests"), guestRepository::forEach);
+        export(EntityRecords.reservations(id -> id, id -> id), file(dir, "reservations"), reservationRepository::forEach);
+    }
+
+    /**
+     * Stream every entity the source visits into the file
+     * @param source a repository forEach: visits each entity and returns how many it visited
+     */
+    public <T> TransferProgress export(RecordMapping<T> mapping, Path file, ToIntFunction<Consumer<T>> source) throws IOException {
+        TransferProgress progress = new TransferProgress(mapping.name(), out);
+        String[] columns = mapping.columns();
+        try (Writer writer = writer(file)) {
+            format.writeHeader(writer, columns);
+            int visited = source.applyAsInt(entity -> {
+                try {
+                    format.writeRecord(writer, columns, mapping.toValues(entity));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                progress.add(1);
+            });
+            if (visited != progress.getRecords()) {
+                // forEach logs and returns 0 when the query fails part way
+                throw new IOException("Export of " + mapping.name() + " stopped after " + progress.getRecords() + " records; see the log");
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        progress.finish();
+        return progress;
+    }
+
+    // ===================== Import =====================
+
+    /**
+     * Read rooms, guests and reservations from the directory (missing files are skipped)
+     */
+    public void importAll(Path dir) throws IOException {
+        Map<Integer, Integer> roomIds = new HashMap<>();
+        Map<Integer, Integer> guestIds = new HashMap<>();
+
+        // Without a rooms or guests file the reservations refer to rows already in the database
+        IntUnaryOperator roomId = IntUnaryOperator.identity();
+        IntUnaryOperator guestId = IntUnaryOperator.identity();
+
+        Path rooms = file(dir, "rooms");
+        if (Files.exists(rooms)) {
+            importRecords(EntityRecords.rooms(), rooms, batch -> saveWithNewIds(batch, Room::getId, roomRepository::saveAll, roomIds));
+            roomId = importedId(roomIds, "room_id");
+        }
+        Path guests = file(dir, "guests");
+        if (Files.exists(guests)) {
+            importRecords(EntityRecords.guests(), guests, batch -> saveWithNewIds(batch, Guest::getId, guestRepository::saveAll, guestIds));
+            guestId = importedId(guestIds, "guest_id");
+        }
+        Path reservations = file(dir, "reservations");
+        if (Files.exists(reservations)) {
+            importRecords(EntityRecords.reservations(guestId, roomId), reservations,
+                    batch -> reservationRepository.saveAll(batch).size());
+        }
+    }
+
+    /**
+     * Map an exported ID to the ID its entity was imported with. A record that refers to an
+     * entity which was not imported (rejected, or in a batch that was rolled back) is
+     * rejected, rather than attached to whatever row has the old ID in this database.
+     */
+    private static IntUnaryOperator importedId(Map<Integer, Integer> newIds, String column) {
+        return id -> {
+            Integer newId = newIds.get(id);
+            if (newId == null) {
+                throw new IllegalArgumentException(column + " " + id + " was not imported");
+            }
+            return newId;
+        };
+    }
+
+    /**
+     * Parse the file on the worker threads and hand the batches to the writer in file order
+     * @param writer saves one batch and returns how many records were saved (0 if it was rolled back)
+     */
+    public <T> TransferProgress importRecords(RecordMapping<T> mapping, Path file, ToIntFunction<List<T>> writer) throws IOException {
+        TransferProgress progress = new TransferProgress(mapping.name(), out);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService parsers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "transfer-parse-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<ParsedBatch<T>>> inFlight = new ArrayDeque<>();
+        try (BufferedReader reader = reader(file)) {
+            RecordParser parser = format.readHeader(reader, mapping.columns());
+            long firstRecord = 1;
+            List<String> batch = new ArrayList<>(batchSize);
+            String record;
+            while ((record = format.readRecord(reader)) != null) {
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    inFlight.add(parsers.submit(parse(mapping, parser, batch, firstRecord)));
+                    firstRecord += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= workers * 2) {
+                        write(inFlight.poll(), writer, progress);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                inFlight.add(parsers.submit(parse(mapping, parser, batch, firstRecord)));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll(), writer, progress);
+            }
+        } finally {
+            parsers.shutdownNow();
+        }
+        progress.finish();
+        return progress;
+    }
+
+    private static <T> Callable<ParsedBatch<T>> parse(RecordMapping<T> mapping, RecordParser parser,
+                                                      List<String> records, long firstRecord) {
+        return () -> {
+            ParsedBatch<T> parsed = new ParsedBatch<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    parsed.entities.add(mapping.fromValues(parser.parse(records.get(i))));
+                } catch (RuntimeException e) {
+                    parsed.rejects.add("record " + (firstRecord + i) + ": " + e.getMessage());
+                }
+            }
+            return parsed;
+        };
+    }
+
+    private static <T> void write(Future<ParsedBatch<T>> pending, ToIntFunction<List<T>> writer,
+                                  TransferProgress progress) throws IOException {
+        ParsedBatch<T> parsed;
+        try {
+            parsed = pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Parse worker failed", e.getCause());
+        }
+        parsed.rejects.forEach(progress::reject);
+        if (parsed.entities.isEmpty()) {
+            return;
+        }
+        int saved = writer.applyAsInt(parsed.entities);
+        if (saved < parsed.entities.size()) {
+            progress.fail(parsed.entities.size() - saved);
+        }
+        progress.add(saved);
+    }
+
+    /**
+     * Save a batch and remember which ID each exported entity was given
+     */
+    private static <T> int saveWithNewIds(List<T> batch, ToIntFunction<T> id, Function<List<T>, List<T>> saveAll,
+                                          Map<Integer, Integer> newIds) {
+        int[] oldIds = batch.stream().mapToInt(id).toArray();
+        List<T> saved = saveAll.apply(batch);
+        for (int i = 0; i < saved.size(); i++) {
+            if (oldIds[i] > 0) {
+                newIds.put(oldIds[i], id.applyAsInt(saved.get(i)));
+            }
+        }
+        return saved.size();
+    }
+
+    // ===================== Files =====================
+
+    private Path file(Path dir, String name) {
+        return dir.resolve(name + "." + format.extension());
+    }
+
+    private static BufferedReader reader(Path file) throws IOException {
+        return new BufferedReader(Channels.newReader(FileChannel.open(file, StandardOpenOption.READ), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static Writer writer(Path file) throws IOException {
+        return new BufferedWriter(Channels.newWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Entities parsed from one batch of records, plus the records that were rejected
+     */
+    private static final class ParsedBatch<T> {
+        private final List<T> entities;
+        private final List<String> rejects = new ArrayList<>();
+
+        private ParsedBatch(int size) {
+            this.entities = new ArrayList<>(size);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hotelreservation.transfer;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * EntityRecords - record layouts of the rooms, guests and reservations files
+ *
+ * Rooms and guests get new IDs when imported, so the reservations mapping takes the
+ * old-to-new ID lookups to re-point guest_id and room_id. Guest user accounts are not
+ * part of the export; imported guests are not linked to a user.
+ */
+public final class EntityRecords {
+
+    private EntityRecords() {
+    }
+
+    public static RecordMapping<Room> rooms() {
+        return new RecordMapping<>() {
+            private final String[] columns = {"id", "number", "type", "base_price", "status", "is_clean"};
+
+            @Override
+            public String name() {
+                return "rooms";
+            }
+
+            @Override
+            public String[] columns() {
+                return columns;
+            }
+
+            @Override
+            public Object[] toValues(Room room) {
+                return new Object[] {room.getId(), room.getNumber(), room.getType(), room.getBasePrice(),
+                        room.getStatus(), room.isClean()};
+            }
+
+            @Override
+            public Room fromValues(String[] values) {
+                return new Room(optionalInt(values[0]), required(values[1], "number"), required(values[2], "type"),
+                        Double.parseDouble(required(values[3], "base_price")),
+                        values[4] != null ? values[4] : "AVAILABLE", values[5] == null || Boolean.parseBoolean(values[5]));
+            }
+        };
+    }
+
+    public static RecordMapping<Guest> guests() {
+        return new RecordMapping<>() {
+            private final String[] columns = {"id", "name", "nic", "phone", "email", "address"};
+
+            @Override
+            public String name() {
+                return "guests";
+            }
+
+            @Override
+            public String[] columns() {
+                return columns;
+            }
+
+            @Override
+            public Object[] toValues(Guest guest) {
+                return new Object[] {guest.getId(), guest.getName(), guest.getNic(), guest.getPhone(),
+                        guest.getEmail(), guest.getAddress()};
+            }
+
+            @Override
+            public Guest fromValues(String[] values) {
+                return new Guest(optionalInt(values[0]), required(values[1], "name"), required(values[2], "nic"),
+                        required(values[3], "phone"), values[4], values[5]);
+            }
+        };
+    }
+
+    /**
+     * @param guestIds maps an exported guest ID to the ID it was imported under
+     * @param roomIds maps an exported room ID to the ID it was imported under
+     */
+    public static RecordMapping<Reservation> reservations(IntUnaryOperator guestIds, IntUnaryOperator roomIds) {
+        return new RecordMapping<>() {
+            private final String[] columns = {"id", "reservation_type", "guest_id", "room_id", "check_in_date",
+                    "check_out_date", "total_amount", "status", "payment_method", "email_sent", "receipt_printed", "created_at"};
+
+            @Override
+            public String name() {
+                return "reservations";
+            }
+
+            @Override
+            public String[] columns() {
+                return columns;
+            }
+
+            @Override
+            public Object[] toValues(Reservation reservation) {
+                boolean emailSent = reservation instanceof OnlineReservation online && online.isEmailSent();
+                boolean receiptPrinted = reservation instanceof WalkInReservation walkIn && walkIn.isReceiptPrinted();
+                return new Object[] {reservation.getId(), reservation.getReservationType(), reservation.getGuestId(),
+                        reservation.getRoomId(), reservation.getCheckInDate().toString(), reservation.getCheckOutDate().toString(),
+                        reservation.getTotalAmount(), reservation.getStatus(), reservation.getPaymentMethod(), emailSent,
+                        receiptPrinted, reservation.getCreatedAt() > 0 ? Instant.ofEpochMilli(reservation.getCreatedAt()).toString() : null};
+            }
+
+            @Override
+            public Reservation fromValues(String[] values) {
+                String id = required(values[0], "id");
+                int guestId = guestIds.applyAsInt(Integer.parseInt(required(values[2], "guest_id")));
+                int roomId = roomIds.applyAsInt(Integer.parseInt(required(values[3], "room_id")));
+                LocalDate checkIn = LocalDate.parse(required(values[4], "check_in_date"));
+                LocalDate checkOut = LocalDate.parse(required(values[5], "check_out_date"));
+                double totalAmount = Double.parseDouble(required(values[6], "total_amount"));
+
+                Reservation reservation;
+                String type = required(values[1], "reservation_type");
+                if ("ONLINE".equals(type)) {
+                    OnlineReservation online = new OnlineReservation(id, guestId, roomId, checkIn, checkOut, totalAmount);
+                    online.setEmailSent(Boolean.parseBoolean(values[9]));
+                    reservation = online;
+                } else if ("WALK_IN".equals(type)) {
+                    WalkInReservation walkIn = new WalkInReservation(id, guestId, roomId, checkIn, checkOut, totalAmount);
+                    walkIn.setReceiptPrinted(Boolean.parseBoolean(values[10]));
+                    reservation = walkIn;
+                } else {
+                    throw new IllegalArgumentException("Unknown reservation_type: " + type);
+                }
+                reservation.setStatus(required(values[7], "status"));
+                if (values[8] != null) {
+                    reservation.setPaymentMethod(values[8]);
+                }
+                if (values[11] != null) {
+                    reservation.setCreatedAt(Instant.parse(values[11]).toEpochMilli());
+                }
+                return reservation;
+            }
+        };
+    }
+
+    private static String required(String value, String column) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    private static int optionalInt(String value) {
+        return value == null || value.isBlank() ? 0 : Integer.parseInt(value.trim());
+    }
+}
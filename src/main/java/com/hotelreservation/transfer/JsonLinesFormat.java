@@ -0,0 +1,187 @@
+package com.hotelreservation.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JsonLinesFormat - JSON Lines: one flat JSON object per line, no header
+ * Numbers and booleans are written bare, everything else as a string. The reader
+ * accepts any flat object (keys in any order, unknown keys ignored); nested objects
+ * and arrays are rejected since no entity column needs them.
+ */
+public class JsonLinesFormat implements RecordFormat {
+
+    @Override
+    public String extension() {
+        return "jsonl";
+    }
+
+    @Override
+    public void writeHeader(Writer out, String[] columns) {
+        // no header
+    }
+
+    @Override
+    public void writeRecord(Writer out, String[] columns, Object[] values) throws IOException {
+        StringBuilder line = new StringBuilder(128).append('{');
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendString(line, columns[i]);
+            line.append(':');
+            Object value = values[i];
+            if (value == null) {
+                line.append("null");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                line.append(RecordFormat.text(value));
+            } else {
+                appendString(line, value.toString());
+            }
+        }
+        out.append(line.append("}\n"));
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    @Override
+    public RecordParser readHeader(BufferedReader in, String[] columns) {
+        return record -> {
+            Map<String, String> object = parseObject(record);
+            String[] values = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = object.get(columns[i]);
+            }
+            return values;
+        };
+    }
+
+    @Override
+    public String readRecord(BufferedReader in) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    /**
+     * Parse one flat object; values are the string contents or the bare literal text (null for null)
+     */
+    static Map<String, String> parseObject(String text) {
+        Map<String, String> object = new HashMap<>();
+        int[] pos = {skipSpace(text, 0)};
+        expect(text, pos, '{');
+        if (peek(text, pos) == '}') {
+            return object;
+        }
+        while (true) {
+            String key = readString(text, pos);
+            expect(text, pos, ':');
+            char c = peek(text, pos);
+            if (c == '"') {
+                object.put(key, readString(text, pos));
+            } else if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested value for '" + key + "' is not supported");
+            } else {
+                int start = pos[0];
+                while (pos[0] < text.length() && ",} \t".indexOf(text.charAt(pos[0])) < 0) {
+                    pos[0]++;
+                }
+                String literal = text.substring(start, pos[0]);
+                if (literal.isEmpty()) {
+                    throw new IllegalArgumentException("Missing value for '" + key + "'");
+                }
+                object.put(key, "null".equals(literal) ? null : literal);
+            }
+            if (peek(text, pos) == ',') {
+                pos[0]++;
+                continue;
+            }
+            expect(text, pos, '}');
+            return object;
+        }
+    }
+
+    private static String readString(String text, int[] pos) {
+        expect(text, pos, '"');
+        StringBuilder value = new StringBuilder();
+        int i = pos[0];
+        while (i < text.length()) {
+            char c = text.charAt(i++);
+            if (c == '"') {
+                pos[0] = i;
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (i >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(i++);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (i + 4 > text.length()) {
+                        throw new IllegalArgumentException("Truncated \\u escape");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+                    i += 4;
+                }
+                default -> value.append(escaped); // \" \\ \/
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string");
+    }
+
+    private static void expect(String text, int[] pos, char expected) {
+        if (peek(text, pos) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at position " + pos[0]);
+        }
+        pos[0]++;
+    }
+
+    /**
+     * Skip whitespace and return the next character (0 at end of text)
+     */
+    private static char peek(String text, int[] pos) {
+        pos[0] = skipSpace(text, pos[0]);
+        return pos[0] < text.length() ? text.charAt(pos[0]) : 0;
+    }
+
+    private static int skipSpace(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
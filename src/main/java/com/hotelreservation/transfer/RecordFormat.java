@@ -0,0 +1,76 @@
+package com.hotelreservation.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * RecordFormat - text encoding of flat records for bulk import/export (CSV or JSON Lines)
+ *
+ * Reading is split in two so it can be parallelised: readRecord() only finds where one
+ * record ends (cheap, done by the reading thread), and the RecordParser turns that text
+ * into column values on a worker thread.
+ */
+public interface RecordFormat {
+
+    /**
+     * @return file extension without the dot
+     */
+    String extension();
+
+    /**
+     * Write whatever precedes the first record (the CSV header line)
+     */
+    void writeHeader(Writer out, String[] columns) throws IOException;
+
+    /**
+     * Write one record
+     * @param values column values as String, Number, Boolean or null, in column order
+     */
+    void writeRecord(Writer out, String[] columns, Object[] values) throws IOException;
+
+    /**
+     * Read whatever precedes the first record and return the parser for the records that follow
+     * @param columns the columns the caller wants, in the order parse() should return them
+     */
+    RecordParser readHeader(BufferedReader in, String[] columns) throws IOException;
+
+    /**
+     * Read the text of the next record
+     * @return the record, or null at end of input
+     */
+    String readRecord(BufferedReader in) throws IOException;
+
+    /**
+     * @param name "csv" or "json" (JSON Lines: one object per line)
+     */
+    static RecordFormat forName(String name) {
+        if ("csv".equalsIgnoreCase(name)) {
+            return new CsvFormat();
+        }
+        if ("json".equalsIgnoreCase(name) || "jsonl".equalsIgnoreCase(name)) {
+            return new JsonLinesFormat();
+        }
+        throw new IllegalArgumentException("Unknown format: " + name + " (expected csv or json)");
+    }
+
+    /**
+     * Text of a value; decimals are written plain (no exponent)
+     */
+    static String text(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue()).toPlainString();
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Turns the text of one record into values in the requested column order (null when absent).
+     * Called from several worker threads at once, so implementations must not keep state.
+     */
+    @FunctionalInterface
+    interface RecordParser {
+        String[] parse(String record);
+    }
+}
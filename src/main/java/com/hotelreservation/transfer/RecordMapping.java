@@ -0,0 +1,29 @@
+package com.hotelreservation.transfer;
+
+/**
+ * RecordMapping - how one entity type is laid out as a flat import/export record
+ * @param <T> the entity type
+ */
+public interface RecordMapping<T> {
+
+    /**
+     * @return entity name, also the base name of its file (e.g. "reservations")
+     */
+    String name();
+
+    /**
+     * @return column names in record order
+     */
+    String[] columns();
+
+    /**
+     * @return the entity's values in column order (String, Number, Boolean or null)
+     */
+    Object[] toValues(T entity);
+
+    /**
+     * Build an entity from column values (null where a column is empty or absent)
+     * @throws IllegalArgumentException if a required value is missing or malformed
+     */
+    T fromValues(String[] values);
+}
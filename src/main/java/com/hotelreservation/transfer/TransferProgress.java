@@ -0,0 +1,83 @@
+package com.hotelreservation.transfer;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransferProgress - record counts and throughput of one import or export
+ * Prints a progress line at most every couple of seconds and a summary at the end.
+ * Only the thread driving the transfer updates it.
+ */
+public class TransferProgress {
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final int MAX_REJECTS_SHOWN = 10;
+
+    private final String name;
+    private final PrintStream out;
+    private final long start = System.nanoTime();
+    private long lastReport = start;
+    private long records;
+    private long rejected;
+    private long failed;
+
+    public TransferProgress(String name, PrintStream out) {
+        this.name = name;
+        this.out = out;
+    }
+
+    /**
+     * Count records written
+     */
+    public void add(int count) {
+        records += count;
+        long now = System.nanoTime();
+        if (now - lastReport >= REPORT_INTERVAL_NANOS) {
+            lastReport = now;
+            out.printf("%s: %,d records (%,.0f/s)%n", name, records, rate(now));
+        }
+    }
+
+    /**
+     * Count a record that could not be parsed; the first few are printed
+     */
+    public void reject(String reason) {
+        rejected++;
+        if (rejected <= MAX_REJECTS_SHOWN) {
+            out.printf("%s: rejected %s%n", name, reason);
+        }
+    }
+
+    /**
+     * Count records of a batch the database refused (the batch was rolled back)
+     */
+    public void fail(int count) {
+        failed += count;
+        out.printf("%s: batch of %,d records failed and was rolled back (see log)%n", name, count);
+    }
+
+    /**
+     * Print the summary line
+     */
+    public void finish() {
+        long now = System.nanoTime();
+        out.printf("%s: %,d records in %.1f s (%,.0f/s), %,d rejected, %,d failed%n", name, records,
+                (now - start) / 1e9, rate(now), rejected, failed);
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    private double rate(long now) {
+        double seconds = (now - start) / 1e9;
+        return seconds > 0 ? records / seconds : 0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hotelreservation.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * AppConfig - read-only view of application.properties for feature switches and tuning values.
+ * JVM system properties (-Dkey=value) override values from the file.
+ */
+public class AppConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
+    private static final AppConfig INSTANCE = new AppConfig();
+
+    private final Properties properties = new Properties();
+
+    private AppConfig() {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("application.properties")) {
+            if (input != null) {
+                properties.load(input);
+            } else {
+                logger.warn("application.properties not found, using defaults");
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load application.properties, using defaults", e);
+        }
+    }
+
+    public static AppConfig getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a string property
+     * @param key the property key
+     * @param defaultValue value returned when the key is not set
+     * @return the configured value or the default
+     */
+    public String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Get a boolean property ("true"/"false")
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    /**
+     * Get an integer property; malformed values fall back to the default
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer for {}: '{}', using {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -1,13 +1,74 @@
 package com.hotelreservation.util;
 
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+import com.hotelreservation.persistence.DatabaseConnection;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.impl.GuestRepositoryImpl;
+import com.hotelreservation.repository.impl.ReservationDAOImpl;
+import com.hotelreservation.repository.impl.RoomDAOImpl;
+import com.hotelreservation.transfer.DataTransfer;
+import com.hotelreservation.transfer.EntityRecords;
+import com.hotelreservation.transfer.RecordFormat;
+import com.hotelreservation.transfer.TransferProgress;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
 /**
  * Utility to generate BCrypt password hashes for seed data.
  * Run this once to get the SQL INSERT statements.
+ *
+ * With options it builds a load-test dataset instead (see SeedDataGenerator):
+ *   --rooms N --guests M --years K   size of the dataset (200, 20000, 3)
+ *   --seed S                          random seed; the same options give the same data (42)
+ *   --start YYYY-MM-DD                first night of the reservations (2024-01-01)
+ *   --as-of YYYY-MM-DD                "today" for reservation statuses (6 months before the end)
+ *   --cancel-rate R                   share of past stays that were cancelled (0.12)
+ *   --out db|sql|csv|json             where to write it (sql)
+ *   --dir DIR                         output directory for sql, csv and json (seed-data)
+ *   --threads T --batch B             insert threads and batch size for db
+ *
+ * db inserts through the repositories' batched saveAll on T threads; sql writes
+ * seed-data.sql (multi-row INSERTs, IDs offset past the rows already in the tables);
+ * csv and json write files that DataTransfer import loads. Load the dataset after
+ * schema.sql and seed.sql, into tables that do not hold an earlier generated dataset.
  */
 public class GenerateSeedData {
-    public static void main(String[] args) {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            generateDataset(args);
+            return;
+        }
         String[][] users = {
             {"admin", "admin123", "ADMIN"},
             {"receptionist", "recep123", "RECEPTIONIST"},
@@ -30,5 +91,307 @@ public class GenerateSeedData {
         System.out.println("INSERT INTO rooms (number, type, base_price, status, is_clean) VALUES ('202', 'DOUBLE', 175.00, 'AVAILABLE', TRUE);");
         System.out.println("INSERT INTO rooms (number, type, base_price, status, is_clean) VALUES ('301', 'SUITE', 300.00, 'AVAILABLE', TRUE);");
     }
-}
 
+    // ===================== Load-test dataset =====================
+
+    private static void generateDataset(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println("Usage: GenerateSeedData [--rooms N] [--guests M] [--years K] [--seed S] [--start DATE]"
+                        + " [--as-of DATE] [--cancel-rate R] [--out db|sql|csv|json] [--dir DIR] [--threads T] [--batch B]");
+                System.exit(2);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        AppConfig config = AppConfig.getInstance();
+        LocalDate start = LocalDate.parse(options.getOrDefault("start", "2024-01-01"));
+        LocalDate end = start.plusYears(Integer.parseInt(options.getOrDefault("years", "3")));
+        LocalDate asOf = options.containsKey("as-of") ? LocalDate.parse(options.get("as-of")) : end.minusMonths(6);
+        SeedDataGenerator generator = new SeedDataGenerator(Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("rooms", "200")), Integer.parseInt(options.getOrDefault("guests", "20000")),
+                start, end, asOf, Double.parseDouble(options.getOrDefault("cancel-rate", "0.12")));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch", String.valueOf(config.getInt("transfer.batch.size", 1000))));
+        String out = options.getOrDefault("out", "sql");
+        Path dir = Paths.get(options.getOrDefault("dir", "seed-data"));
+
+        System.out.printf("Generating %,d rooms, %,d guests and reservations from %s to %s (as of %s)%n",
+                generator.getRoomCount(), generator.getGuestCount(), start, end, asOf);
+        switch (out) {
+            case "db" -> {
+                int threads = Integer.parseInt(options.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors())));
+                try {
+                    writeDatabase(generator, new RoomDAOImpl(), new GuestRepositoryImpl(), new ReservationDAOImpl(),
+                            batchSize, threads, System.out);
+                } finally {
+                    DatabaseConnection.getInstance().close();
+                }
+            }
+            case "sql" -> writeSql(generator, dir, batchSize, System.out);
+            case "csv", "json" -> writeFiles(generator, dir, RecordFormat.forName(out), System.out);
+            default -> {
+                System.err.println("Unknown --out " + out + " (expected db, sql, csv or json)");
+                System.exit(2);
+            }
+        }
+    }
+
+    /**
+     * Insert the dataset through the repositories: rooms first, then guests and
+     * reservations in batches of batchSize, spread over the given number of threads
+     * (also used by the load-test harness to seed its embedded database)
+     */
+    public static void writeDatabase(SeedDataGenerator generator, RoomRepository roomRepository, GuestRepository guestRepository,
+                              ReservationRepository reservationRepository, int batchSize, int threads, PrintStream out) {
+        int batch = Math.max(1, batchSize);
+        int roomCount = generator.getRoomCount();
+        int guestCount = generator.getGuestCount();
+        int[] roomIds = new int[roomCount];
+        int[] guestIds = new int[guestCount];
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            TransferProgress rooms = new TransferProgress("rooms", out);
+            inParallel(pool, roomCount, batch, (from, to) -> {
+                List<Room> chunk = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    chunk.add(generator.room(i));
+                }
+                List<Room> saved = roomRepository.saveAll(chunk);
+                for (int i = 0; i < saved.size(); i++) {
+                    roomIds[from + i] = saved.get(i).getId();
+                }
+                count(rooms, chunk.size(), saved.size());
+            });
+            rooms.finish();
+
+            TransferProgress guests = new TransferProgress("guests", out);
+            inParallel(pool, guestCount, batch, (from, to) -> {
+                List<Guest> chunk = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    chunk.add(generator.guest(i));
+                }
+                List<Guest> saved = guestRepository.saveAll(chunk);
+                for (int i = 0; i < saved.size(); i++) {
+                    guestIds[from + i] = saved.get(i).getId();
+                }
+                count(guests, chunk.size(), saved.size());
+            });
+            guests.finish();
+
+            // Each thread takes a run of rooms, so no two batches claim nights of the same room
+            TransferProgress reservations = new TransferProgress("reservations", out);
+            IntUnaryOperator guestId = index -> guestIds[index];
+            int roomsPerTask = Math.max(1, (roomCount + threads * 4 - 1) / (threads * 4));
+            inParallel(pool, roomCount, roomsPerTask, (from, to) -> {
+                List<Reservation> chunk = new ArrayList<>(batch);
+                for (int i = from; i < to; i++) {
+                    if (roomIds[i] == 0) {
+                        continue; // the room's batch failed
+                    }
+                    generator.reservations(i, roomIds[i], guestId, reservation -> {
+                        chunk.add(reservation);
+                        if (chunk.size() == batch) {
+                            count(reservations, batch, reservationRepository.saveAll(chunk).size());
+                            chunk.clear();
+                        }
+                    });
+                }
+                if (!chunk.isEmpty()) {
+                    count(reservations, chunk.size(), reservationRepository.saveAll(chunk).size());
+                }
+            });
+            reservations.finish();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Write seed-data.sql: multi-row INSERTs of rooms, guests, reservations and their night claims
+     */
+    static void writeSql(SeedDataGenerator generator, Path dir, int batchSize, PrintStream out) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("seed-data.sql");
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 20)) {
+            writer.write("-- Load-test dataset for hotel_reservation, generated by GenerateSeedData\n");
+            writer.write("-- Run this after schema.sql and seed.sql; created_at values are UTC\n\n");
+            writer.write("SET @room_base = (SELECT COALESCE(MAX(id), 0) FROM rooms);\n");
+            writer.write("SET @guest_base = (SELECT COALESCE(MAX(id), 0) FROM guests);\n\n");
+
+            TransferProgress progress = new TransferProgress("sql", out);
+            try (InsertStatement rooms = new InsertStatement(writer,
+                    "INSERT INTO rooms (id, number, type, base_price, status, is_clean) VALUES", batchSize, null)) {
+                for (int i = 0; i < generator.getRoomCount(); i++) {
+                    Room room = generator.room(i);
+                    rooms.add("(@room_base + " + room.getId() + ", " + quote(room.getNumber()) + ", " + quote(room.getType())
+                            + ", " + decimal(room.getBasePrice()) + ", " + quote(room.getStatus()) + ", "
+                            + (room.isClean() ? "TRUE" : "FALSE") + ")");
+                }
+                progress.add(generator.getRoomCount());
+            }
+            try (InsertStatement guests = new InsertStatement(writer,
+                    "INSERT INTO guests (id, name, nic, phone, email, address) VALUES", batchSize, null)) {
+                for (int i = 0; i < generator.getGuestCount(); i++) {
+                    Guest guest = generator.guest(i);
+                    guests.add("(@guest_base + " + guest.getId() + ", " + quote(guest.getName()) + ", " + quote(guest.getNic())
+                            + ", " + quote(guest.getPhone()) + ", " + quote(guest.getEmail()) + ", " + quote(guest.getAddress()) + ")");
+                    progress.add(1);
+                }
+            }
+            try (InsertStatement reservations = new InsertStatement(writer, "INSERT INTO reservations (id, guest_id, room_id,"
+                    + " check_in_date, check_out_date, total_amount, status, reservation_type, email_sent, receipt_printed,"
+                    + " payment_method, created_at) VALUES", batchSize, null);
+                 InsertStatement claims = new InsertStatement(writer,
+                    "INSERT INTO room_night_claims (room_id, night, reservation_id) VALUES", batchSize, reservations)) {
+                for (int i = 0; i < generator.getRoomCount(); i++) {
+                    int roomId = i + 1;
+                    generator.reservations(i, roomId, index -> index + 1, reservation -> {
+                        reservations.add(values(reservation));
+                        if (!"CANCELLED".equals(reservation.getStatus()) && !"CHECKED_OUT".equals(reservation.getStatus())) {
+                            for (LocalDate night = reservation.getCheckInDate(); night.isBefore(reservation.getCheckOutDate());
+                                 night = night.plusDays(1)) {
+                                claims.add("(@room_base + " + roomId + ", '" + night + "', " + quote(reservation.getId()) + ")");
+                            }
+                        }
+                        progress.add(1);
+                    });
+                }
+            }
+            progress.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.println("Wrote " + file);
+    }
+
+    /**
+     * Write rooms, guests and reservations files that DataTransfer import loads
+     */
+    static void writeFiles(SeedDataGenerator generator, Path dir, RecordFormat format, PrintStream out) throws IOException {
+        Files.createDirectories(dir);
+        // Only export() is used, which needs no repositories
+        DataTransfer transfer = new DataTransfer(null, null, null, format, 1, 1, out);
+        transfer.export(EntityRecords.rooms(), dir.resolve("rooms." + format.extension()), action -> {
+            for (int i = 0; i < generator.getRoomCount(); i++) {
+                action.accept(generator.room(i));
+            }
+            return generator.getRoomCount();
+        });
+        transfer.export(EntityRecords.guests(), dir.resolve("guests." + format.extension()), action -> {
+            for (int i = 0; i < generator.getGuestCount(); i++) {
+                action.accept(generator.guest(i));
+            }
+            return generator.getGuestCount();
+        });
+        transfer.export(EntityRecords.reservations(id -> id, id -> id), dir.resolve("reservations." + format.extension()), action -> {
+            int count = 0;
+            for (int i = 0; i < generator.getRoomCount(); i++) {
+                count += generator.reservations(i, i + 1, index -> index + 1, action);
+            }
+            return count;
+        });
+    }
+
+    private static String values(Reservation reservation) {
+        boolean emailSent = reservation instanceof OnlineReservation online && online.isEmailSent();
+        boolean receiptPrinted = reservation instanceof WalkInReservation walkIn && walkIn.isReceiptPrinted();
+        String createdAt = TIMESTAMP.format(Instant.ofEpochMilli(reservation.getCreatedAt()).atOffset(ZoneOffset.UTC));
+        return "(" + quote(reservation.getId()) + ", @guest_base + " + reservation.getGuestId() + ", @room_base + "
+                + reservation.getRoomId() + ", '" + reservation.getCheckInDate() + "', '" + reservation.getCheckOutDate() + "', "
+                + decimal(reservation.getTotalAmount()) + ", " + quote(reservation.getStatus()) + ", "
+                + quote(reservation.getReservationType()) + ", " + emailSent + ", " + receiptPrinted + ", "
+                + quote(reservation.getPaymentMethod()) + ", '" + createdAt + "')";
+    }
+
+    private static String quote(String value) {
+        return value == null ? "NULL" : "'" + value.replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+
+    private static String decimal(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static synchronized void count(TransferProgress progress, int attempted, int saved) {
+        if (saved < attempted) {
+            progress.fail(attempted - saved);
+        }
+        progress.add(saved);
+    }
+
+    /**
+     * Run task over [0, total) in ranges of rangeSize on the pool and wait for all of them
+     */
+    private static void inParallel(ExecutorService pool, int total, int rangeSize, RangeTask task) {
+        List<Future<?>> pending = new ArrayList<>();
+        for (int from = 0; from < total; from += rangeSize) {
+            int start = from;
+            int end = Math.min(total, from + rangeSize);
+            pending.add(pool.submit(() -> task.run(start, end)));
+        }
+        try {
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dataset generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dataset generation failed", e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /**
+     * One multi-row INSERT, written out every batchSize rows
+     * Rows of the statement it depends on (if any) are written first, so foreign keys resolve.
+     */
+    private static final class InsertStatement implements AutoCloseable {
+        private final Writer writer;
+        private final String prefix;
+        private final int batchSize;
+        private final InsertStatement dependsOn;
+        private final List<String> rows = new ArrayList<>();
+
+        private InsertStatement(Writer writer, String prefix, int batchSize, InsertStatement dependsOn) {
+            this.writer = writer;
+            this.prefix = prefix;
+            this.batchSize = Math.max(1, batchSize);
+            this.dependsOn = dependsOn;
+        }
+
+        void add(String row) {
+            rows.add(row);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            if (dependsOn != null) {
+                dependsOn.flush();
+            }
+            try {
+                writer.write(prefix);
+                writer.write('\n');
+                writer.write(String.join(",\n", rows));
+                writer.write(";\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
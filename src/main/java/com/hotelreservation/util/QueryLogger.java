@@ -1,21 +1,57 @@
 package com.hotelreservation.util;
 
-import java.time.LocalDateTime;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
-
-
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * QueryLogger - DEV ONLY capture of recent DAO queries for /debug/queries
+ *
+ * Entries live in a fixed ring of preallocated slots. A writer claims a ticket with one
+ * atomic increment and fills the slot the ticket maps to, storing only raw values: the
+ * timestamp as epoch nanos and the params object by reference. Nothing is formatted
+ * until getEntries() is called, and logging does not allocate. When disabled, log()
+ * returns after one volatile read.
+ *
+ * Each slot is guarded by a sequence number (set to -1 and fenced before the fields are
+ * written, set to the ticket last; read before and after by readers), so a reader skips a
+ * slot that is being overwritten instead of returning a torn entry. Writers racing for the same slot after a full wrap-around
+ * (more than CAPACITY concurrent writes) can still mix fields; that is accepted for a
+ * debug log.
+ */
 public class QueryLogger {
-    private static final QueryLogger INSTANCE = new QueryLogger();
-    private static final int MAX_ENTRIES = 500;
-    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
-
-    private final ConcurrentLinkedDeque<QueryEntry> entries = new ConcurrentLinkedDeque<>();
-    private volatile boolean enabled = true;
-
-    private QueryLogger() {}
+    private static final int CAPACITY = 512; // power of two
+    private static final DateTimeFormatter FMT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    // Wall clock anchored once; per-entry time is derived from nanoTime without allocating
+    private static final long BASE_EPOCH_NANOS = System.currentTimeMillis() * 1_000_000L;
+    private static final long BASE_NANO_TIME = System.nanoTime();
+    private static final QueryLogger INSTANCE =
+            new QueryLogger(CAPACITY, AppConfig.getInstance().getBoolean("querylog.enabled", true));
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong nextTicket = new AtomicLong();
+    private volatile long clearedBefore;
+    private volatile boolean enabled;
+
+    QueryLogger(int capacity, boolean enabled) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.enabled = enabled;
+    }
 
     public static QueryLogger getInstance() {
         return INSTANCE;
@@ -33,63 +69,138 @@ public class QueryLogger {
      * Log a query execution.
      *
      * @param sql          the SQL string
-     * @param params       the bound parameter values (human-readable)
+     * @param params       the bound parameter values, kept by reference and rendered with
+     *                     String.valueOf (Object[] with Arrays.toString) only when read
      * @param resultCount  number of rows returned (or affected)
      * @param durationMs   execution time in milliseconds
      * @param error        error message (null if success)
      * @param callerClass  short name of the DAO class that executed this
      */
-    public void log(String sql, String params, int resultCount, long durationMs, String error, String callerClass) {
+    public void log(String sql, Object params, int resultCount, long durationMs, String error, String callerClass) {
         if (!enabled) return;
 
-        QueryEntry entry = new QueryEntry();
-        entry.timestamp = LocalDateTime.now().format(FMT);
-        entry.sql = sql;
-        entry.params = params;
-        entry.resultCount = resultCount;
-        entry.durationMs = durationMs;
-        entry.error = error;
-        entry.callerClass = callerClass;
-        entry.threadName = Thread.currentThread().getName();
-
-        entries.addFirst(entry);
-
-        // Trim old entries
-        while (entries.size() > MAX_ENTRIES) {
-            entries.removeLast();
-        }
+        long ticket = nextTicket.getAndIncrement();
+        Slot slot = slots[(int) ticket & mask];
+        slot.sequence = -1; // being written
+        VarHandle.storeStoreFence(); // field writes stay after the -1 a reader re-checks
+        slot.epochNanos = BASE_EPOCH_NANOS + (System.nanoTime() - BASE_NANO_TIME);
+        slot.sql = sql;
+        slot.params = params;
+        slot.resultCount = resultCount;
+        slot.durationMs = durationMs;
+        slot.error = error;
+        slot.callerClass = callerClass;
+        slot.threadName = Thread.currentThread().getName();
+        slot.sequence = ticket; // publish
     }
 
     /**
      * Convenience: log a successful query.
      */
-    public void logSuccess(String sql, String params, int resultCount, long durationMs, String callerClass) {
+    public void logSuccess(String sql, Object params, int resultCount, long durationMs, String callerClass) {
         log(sql, params, resultCount, durationMs, null, callerClass);
     }
 
     /**
      * Convenience: log a failed query.
      */
-    public void logError(String sql, String params, long durationMs, String error, String callerClass) {
+    public void logError(String sql, Object params, long durationMs, String error, String callerClass) {
         log(sql, params, 0, durationMs, error, callerClass);
     }
 
+    /**
+     * Snapshot the buffer, newest first, formatting each entry
+     */
     public List<QueryEntry> getEntries() {
-        return new ArrayList<>(entries);
+        long end = nextTicket.get();
+        long start = Math.max(clearedBefore, end - slots.length);
+        List<QueryEntry> result = new ArrayList<>((int) (end - start));
+        for (long ticket = end - 1; ticket >= start; ticket--) {
+            QueryEntry entry = read(ticket);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
     }
 
+    /**
+     * Copy one slot if it still holds the given ticket
+     * @return the formatted entry, or null if the slot is being (or was) overwritten
+     */
+    private QueryEntry read(long ticket) {
+        Slot slot = slots[(int) ticket & mask];
+        if (slot.sequence != ticket) {
+            return null;
+        }
+        long epochNanos = slot.epochNanos;
+        String sql = slot.sql;
+        Object params = slot.params;
+        int resultCount = slot.resultCount;
+        long durationMs = slot.durationMs;
+        String error = slot.error;
+        String callerClass = slot.callerClass;
+        String threadName = slot.threadName;
+        VarHandle.acquireFence(); // keep the field reads before the re-check
+        if (slot.sequence != ticket) {
+            return null;
+        }
+
+        QueryEntry entry = new QueryEntry();
+        entry.epochNanos = epochNanos;
+        entry.timestamp = FMT.format(Instant.ofEpochSecond(0, epochNanos));
+        entry.sql = sql;
+        entry.params = formatParams(params);
+        entry.resultCount = resultCount;
+        entry.durationMs = durationMs;
+        entry.error = error;
+        entry.callerClass = callerClass;
+        entry.threadName = threadName;
+        return entry;
+    }
+
+    private static String formatParams(Object params) {
+        if (params == null) {
+            return null;
+        }
+        return params instanceof Object[] array ? Arrays.toString(array) : String.valueOf(params);
+    }
+
+    /**
+     * Hide everything logged so far
+     */
     public void clear() {
-        entries.clear();
+        clearedBefore = nextTicket.get();
     }
 
+    /**
+     * @return number of entries currently held (at most the ring capacity)
+     */
     public int size() {
-        return entries.size();
+        long end = nextTicket.get();
+        return (int) (end - Math.max(clearedBefore, end - slots.length));
+    }
+
+    /**
+     * Preallocated ring slot; fields are published by the volatile sequence write
+     */
+    private static final class Slot {
+        private volatile long sequence = -1;
+        private long epochNanos;
+        private String sql;
+        private Object params;
+        private int resultCount;
+        private long durationMs;
+        private String error;
+        private String callerClass;
+        private String threadName;
     }
 
     /**
      * Represents a single captured query execution.
      */
     public static class QueryEntry {
+        public long epochNanos;
         public String timestamp;
         public String sql;
         public String params;
@@ -104,4 +215,3 @@ public class QueryLogger {
         }
     }
 }
-
@@ -0,0 +1,254 @@
+package com.hotelreservation.util;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * SeedDataGenerator - deterministic synthetic rooms, guests and reservations for load tests
+ *
+ * Everything is derived from the seed. Each room and guest has its own random stream
+ * (the seed mixed with its index), so the same options always produce the same data,
+ * however many threads generate it and in whatever order.
+ *
+ * Reservations are laid out room by room over [start, end). On each free day a room takes
+ * a new stay with a probability chosen so that occupancy follows demand. Demand is highest
+ * over Christmas/New Year, high in July-August, low in February-March (the seasons in
+ * seed.sql) and a little higher on Friday and Saturday nights. Stays last 1-14 nights;
+ * suites are booked longer. A cancelled stay frees its nights again.
+ *
+ * Status depends on where the stay falls relative to asOf:
+ * - past stays are CHECKED_OUT, or CANCELLED at cancelRate;
+ * - stays in progress are CHECKED_IN;
+ * - future stays are CONFIRMED or PENDING, or CANCELLED at half the cancelRate.
+ *
+ * Room numbers start at 1001 and NICs at 300000000V, so generated rows do not collide
+ * with the sample rooms and guest from seed.sql.
+ */
+public class SeedDataGenerator {
+    private static final String[] FIRST_NAMES = {"Nimal", "Kamala", "Sunil", "Anura", "Dilani", "Ruwan", "Ishara",
+            "Tharindu", "Sanduni", "Kasun", "Amaya", "Chamara", "Emma", "Liam", "Olivia", "Noah", "Ava", "Lucas",
+            "Mia", "Arjun", "Priya", "Hiroshi", "Yuki", "Hans", "Greta", "Pierre", "Chloe", "Omar", "Leila", "Sofia"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe",
+            "Dissanayake", "Gunawardena", "Smith", "Johnson", "Brown", "Taylor", "Müller", "Schmidt", "Dubois",
+            "Martin", "Rossi", "Tanaka", "Sato", "Khan", "Patel", "Sharma", "O'Brien", "García", "Nguyen"};
+    private static final String[] STREETS = {"Galle Road", "Marine Drive", "Temple Road", "Lake Road", "Hill Street",
+            "Station Road", "Main Street", "Park Avenue", "Church Lane", "Beach Road"};
+    private static final String[] CITIES = {"Colombo", "Kandy", "Galle", "Negombo", "Matara", "Jaffna", "London",
+            "Berlin", "Paris", "Tokyo", "Mumbai", "Sydney"};
+
+    private static final int ROOMS_PER_FLOOR = 50;
+    private static final int MAX_NIGHTS = 14;
+    private static final long ROOM_STREAM = 1;
+    private static final long GUEST_STREAM = 2;
+    private static final long STAY_STREAM = 3;
+
+    private final long seed;
+    private final int roomCount;
+    private final int guestCount;
+    private final LocalDate start;
+    private final LocalDate end;
+    private final LocalDate asOf;
+    private final double cancelRate;
+
+    /**
+     * @param seed random seed; the same seed and options give the same data
+     * @param roomCount number of rooms
+     * @param guestCount number of guests
+     * @param start first night reservations may cover
+     * @param end first night after the generated period
+     * @param asOf the "current" date that decides past, in-progress and future stays
+     * @param cancelRate share of past stays that were cancelled (0-1)
+     */
+    public SeedDataGenerator(long seed, int roomCount, int guestCount, LocalDate start, LocalDate end,
+                             LocalDate asOf, double cancelRate) {
+        this.seed = seed;
+        this.roomCount = roomCount;
+        this.guestCount = guestCount;
+        this.start = start;
+        this.end = end;
+        this.asOf = asOf;
+        this.cancelRate = cancelRate;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public int getGuestCount() {
+        return guestCount;
+    }
+
+    /**
+     * @param index room index, 0 to roomCount - 1; the room's ID is index + 1
+     */
+    public Room room(int index) {
+        SplittableRandom random = random(ROOM_STREAM, index);
+        double roll = random.nextDouble();
+        String type = roll < 0.5 ? "SINGLE" : roll < 0.85 ? "DOUBLE" : "SUITE";
+        double basePrice = switch (type) {
+            case "SINGLE" -> 100.00;
+            case "DOUBLE" -> 175.00;
+            default -> 300.00;
+        };
+        int floor = 10 + index / ROOMS_PER_FLOOR;
+        basePrice += 5.0 * (floor - 10); // higher floors have the better view
+        double state = random.nextDouble();
+        String status = state < 0.02 ? "UNDER_MAINTENANCE" : "AVAILABLE";
+        boolean clean = state < 0.02 || state >= 0.07;
+        return new Room(index + 1, String.valueOf(floor * 100 + index % ROOMS_PER_FLOOR + 1), type, basePrice, status, clean);
+    }
+
+    /**
+     * @param index guest index, 0 to guestCount - 1; the guest's ID is index + 1
+     */
+    public Guest guest(int index) {
+        SplittableRandom random = random(GUEST_STREAM, index);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = random.nextDouble() < 0.85
+                ? (first + "." + last).toLowerCase().replaceAll("[^a-z.]", "") + index + "@example.com"
+                : null;
+        String address = (1 + random.nextInt(400)) + " " + STREETS[random.nextInt(STREETS.length)] + ", "
+                + CITIES[random.nextInt(CITIES.length)];
+        return new Guest(index + 1, first + " " + last, String.format("%09dV", 300_000_000 + index),
+                String.format("+9477%07d", random.nextInt(10_000_000)), email, address);
+    }
+
+    /**
+     * Generate every stay of one room, in date order
+     * @param roomIndex room index, as for room()
+     * @param roomId the ID the room is stored under
+     * @param guestIds maps a guest index to the ID the guest is stored under
+     * @param action called once per reservation
+     * @return number of reservations generated
+     */
+    public int reservations(int roomIndex, int roomId, IntUnaryOperator guestIds, Consumer<Reservation> action) {
+        Room room = room(roomIndex);
+        SplittableRandom random = random(STAY_STREAM, roomIndex);
+        double meanNights = switch (room.getType()) {
+            case "SINGLE" -> 2.2;
+            case "DOUBLE" -> 3.0;
+            default -> 4.0;
+        };
+        int count = 0;
+        LocalDate day = start;
+        while (day.isBefore(end)) {
+            // A free day starts a stay with probability q; occupancy then settles at
+            // L / (L + (1 - q) / q), which equals demand d for q = d / (d + L (1 - d))
+            double demand = demand(day);
+            double q = demand / (demand + meanNights * (1 - demand));
+            if (random.nextDouble() >= q) {
+                day = day.plusDays(1);
+                continue;
+            }
+            int nights = Math.min(MAX_NIGHTS, 1 + (int) (-Math.log(1 - random.nextDouble()) * (meanNights - 1)));
+            LocalDate checkOut = day.plusDays(nights);
+            Reservation reservation = stay(random, room, roomIndex, roomId, ++count, day, checkOut, guestIds);
+            action.accept(reservation);
+            // A cancelled stay leaves its nights free for the next booking
+            day = "CANCELLED".equals(reservation.getStatus()) ? day.plusDays(1) : checkOut;
+        }
+        return count;
+    }
+
+    private Reservation stay(SplittableRandom random, Room room, int roomIndex, int roomId, int sequence,
+                             LocalDate checkIn, LocalDate checkOut, IntUnaryOperator guestIds) {
+        boolean future = checkIn.isAfter(asOf);
+        boolean online = future || random.nextDouble() < 0.7; // nobody walks in ahead of time
+        String status;
+        if (!checkOut.isAfter(asOf)) {
+            status = random.nextDouble() < cancelRate ? "CANCELLED" : "CHECKED_OUT";
+        } else if (!future) {
+            status = "CHECKED_IN";
+        } else {
+            double roll = random.nextDouble();
+            status = roll < cancelRate / 2 ? "CANCELLED" : roll < 0.8 ? "CONFIRMED" : "PENDING";
+        }
+
+        // Returning guests: low guest indexes book far more often than high ones
+        double u = random.nextDouble();
+        int guestId = guestIds.applyAsInt((int) (guestCount * u * u));
+
+        double amount = 0;
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            amount += room.getBasePrice() * multiplier(night);
+        }
+        amount = Math.round(amount * 100) / 100.0;
+
+        int leadDays = online ? Math.min(365, (int) (-Math.log(1 - random.nextDouble()) * 30)) : 0;
+        LocalDate booked = checkIn.minusDays(leadDays);
+        if (booked.isAfter(asOf)) {
+            booked = asOf;
+        }
+        long createdAt = booked.atTime(8, 0).plusMinutes(random.nextInt(12 * 60)).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        String id = String.format("%s_G%05d_%06d", online ? "ONL" : "WLK", roomIndex, sequence);
+        Reservation reservation;
+        if (online) {
+            OnlineReservation onlineReservation = new OnlineReservation(id, guestId, roomId, checkIn, checkOut, amount);
+            onlineReservation.setEmailSent(!"PENDING".equals(status));
+            reservation = onlineReservation;
+        } else {
+            WalkInReservation walkIn = new WalkInReservation(id, guestId, roomId, checkIn, checkOut, amount);
+            walkIn.setReceiptPrinted("CHECKED_OUT".equals(status));
+            reservation = walkIn;
+        }
+        reservation.setStatus(status);
+        reservation.setCreatedAt(createdAt);
+        reservation.setUpdatedAt(createdAt);
+        return reservation;
+    }
+
+    /**
+     * Expected share of rooms occupied on a night
+     */
+    static double demand(LocalDate night) {
+        double demand = switch (night.getMonth()) {
+            case JULY, AUGUST -> 0.85;
+            case FEBRUARY, MARCH -> 0.45;
+            default -> 0.65;
+        };
+        if (isFestive(night)) {
+            demand = 0.92;
+        }
+        DayOfWeek day = night.getDayOfWeek();
+        if (day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY) {
+            demand += 0.05;
+        }
+        return Math.min(demand, 0.97);
+    }
+
+    /**
+     * Price multiplier on a night, matching the seasons in seed.sql
+     */
+    static double multiplier(LocalDate night) {
+        if (isFestive(night)) {
+            return 1.50;
+        }
+        return switch (night.getMonth()) {
+            case JULY, AUGUST -> 1.30;
+            case FEBRUARY, MARCH -> 0.85;
+            default -> 1.00;
+        };
+    }
+
+    private static boolean isFestive(LocalDate night) {
+        return (night.getMonth() == Month.DECEMBER && night.getDayOfMonth() >= 15)
+                || (night.getMonth() == Month.JANUARY && night.getDayOfMonth() <= 5);
+    }
+
+    private SplittableRandom random(long stream, int index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + (stream << 40) + index);
+    }
+}
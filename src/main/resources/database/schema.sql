@@ -59,6 +59,19 @@ CREATE TABLE IF NOT EXISTS reservations (
     INDEX idx_check_in (check_in_date)
 );
 
+-- Room Night Claims Table (one row per booked night; the primary key rejects double bookings)
+-- Rows are written in the same transaction as the reservation and removed when it is
+-- cancelled or checked out, so concurrent bookings only contend on the same room.
+CREATE TABLE IF NOT EXISTS room_night_claims (
+    room_id INT NOT NULL,
+    night DATE NOT NULL,
+    reservation_id VARCHAR(50) NOT NULL,
+    PRIMARY KEY (room_id, night),
+    FOREIGN KEY (room_id) REFERENCES rooms(id),
+    FOREIGN KEY (reservation_id) REFERENCES reservations(id) ON DELETE CASCADE,
+    INDEX idx_claim_reservation (reservation_id)
+);
+
 -- Maintenance Tasks Table (for tracking room maintenance)
 CREATE TABLE IF NOT EXISTS maintenance_tasks (
     id INT PRIMARY KEY AUTO_INCREMENT,
@@ -84,6 +97,26 @@ CREATE TABLE IF NOT EXISTS payment_transactions (
     FOREIGN KEY (reservation_id) REFERENCES reservations(id)
 );
 
+-- Notification Outbox Table (confirmation emails and POS receipts still to be sent)
+-- A row is written in the booking transaction and dispatched later by NotificationOutboxWorker,
+-- so a booking never waits on the mail server or the printer. claimed_by/next_attempt_at
+-- lease a row to one worker; a failed send is retried at next_attempt_at with backoff.
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    reservation_id VARCHAR(50) NOT NULL,
+    kind VARCHAR(30) NOT NULL CHECK (kind IN ('CONFIRMATION_EMAIL', 'RESERVATION_RECEIPT')),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENT', 'SKIPPED', 'FAILED')),
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_by VARCHAR(64),
+    last_error VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP NULL,
+    FOREIGN KEY (reservation_id) REFERENCES reservations(id),
+    INDEX idx_outbox_due (status, next_attempt_at),
+    INDEX idx_outbox_claim (claimed_by)
+);
+
 -- Seasonal Pricing Table (for Strategy pattern - SeasonalRateStrategy)
 CREATE TABLE IF NOT EXISTS seasonal_pricing (
     id INT PRIMARY KEY AUTO_INCREMENT,
@@ -104,4 +137,19 @@ CREATE INDEX idx_rooms_status ON rooms(status);
 CREATE INDEX idx_reservations_guest ON reservations(guest_id);
 CREATE INDEX idx_reservations_room ON reservations(room_id);
 CREATE INDEX idx_reservations_status ON reservations(status);
+-- Keyset pagination: newest-first listings seek on (created_at, id), optionally per guest or status
+CREATE INDEX idx_reservations_created ON reservations(created_at, id);
+CREATE INDEX idx_reservations_guest_created ON reservations(guest_id, created_at, id);
+CREATE INDEX idx_reservations_status_created ON reservations(status, created_at, id);
 
+-- Backfill night claims for reservations created before room_night_claims existed
+-- (INSERT IGNORE keeps the first claim if legacy rows already overlap)
+INSERT IGNORE INTO room_night_claims (room_id, night, reservation_id)
+WITH RECURSIVE nights (reservation_id, room_id, night, check_out_date) AS (
+    SELECT id, room_id, check_in_date, check_out_date FROM reservations
+    WHERE status NOT IN ('CANCELLED', 'CHECKED_OUT') AND check_out_date > check_in_date
+    UNION ALL
+    SELECT reservation_id, room_id, DATE_ADD(night, INTERVAL 1 DAY), check_out_date FROM nights
+    WHERE DATE_ADD(night, INTERVAL 1 DAY) < check_out_date
+)
+SELECT room_id, night, reservation_id FROM nights ORDER BY room_id, night;
@@ -35,6 +35,16 @@
                 <p>Generate revenue, occupancy and other reports.</p>
                 <a class="btn" href="${pageContext.request.contextPath}/admin/reports">View Reports</a>
             </div>
+            <div class="card">
+                <h3>Reservations</h3>
+                <p>Browse all reservations by status and type.</p>
+                <a class="btn" href="${pageContext.request.contextPath}/admin/reservations">View Reservations</a>
+            </div>
+            <div class="card">
+                <h3>Query Metrics</h3>
+                <p>Database statement latency percentiles, errors and row counts.</p>
+                <a class="btn" href="${pageContext.request.contextPath}/admin/metrics">View Metrics</a>
+            </div>
             <div class="card">
                 <h3>Payment Info</h3>
                 <p>Payment adapters are auto-selected:<br>
@@ -34,6 +34,7 @@
         .btn-clean:hover { background: #219a52; }
         .btn-maint { background: #f39c12; }
         .btn-maint:hover { background: #e67e22; }
+        .bulk-actions { margin-top: 12px; }
 
         .alert-box { padding: 15px; border-radius: 8px; margin-bottom: 15px; }
         .alert-warning { background: #fff3cd; color: #856404; border: 1px solid #ffc107; }
@@ -94,8 +95,11 @@
         <div class="card">
             <h3>🔴 Rooms Needing Cleaning / Under Maintenance</h3>
             <% if (dirtyRooms != null && !dirtyRooms.isEmpty()) { %>
+            <%-- Checkboxes belong to this form through their form attribute; the row buttons keep their own forms --%>
+            <form id="bulkMaintenance" method="post" action="${pageContext.request.contextPath}/admin/maintenance"></form>
             <table>
                 <tr>
+                    <th></th>
                     <th>Room ID</th>
                     <th>Room No.</th>
                     <th>Type</th>
@@ -105,6 +109,7 @@
                 </tr>
                 <% for (RoomDTO room : dirtyRooms) { %>
                 <tr>
+                    <td><input type="checkbox" name="roomId" value="<%= room.getId() %>" form="bulkMaintenance"></td>
                     <td><%= room.getId() %></td>
                     <td><strong><%= room.getNumber() %></strong></td>
                     <td><%= room.getType() %></td>
@@ -146,6 +151,10 @@
                 </tr>
                 <% } %>
             </table>
+            <div class="bulk-actions">
+                <button type="submit" name="action" value="markClean" form="bulkMaintenance" class="action-btn btn-clean">✅ Mark Selected Clean</button>
+                <button type="submit" name="action" value="markMaintenance" form="bulkMaintenance" class="action-btn btn-maint">🔧 Selected Under Maintenance</button>
+            </div>
             <% } else { %>
             <p style="color: #27ae60; text-align: center; padding: 20px;">🎉 All rooms are clean! Nothing needs attention.</p>
             <% } %>
@@ -0,0 +1,76 @@
+<%@ page contentType="text/html;charset=UTF-8" %>
+<%@ page import="java.util.List" %>
+<%@ page import="com.hotelreservation.metrics.StatementStats" %>
+<%@ page import="com.hotelreservation.metrics.LatencyHistogram" %>
+<html>
+<head>
+    <title>Query Metrics</title>
+    <style>
+        body { font-family: Arial, sans-serif; margin: 0; padding: 0; background: #f0f4f8; }
+        .header { background: #2c3e50; color: white; padding: 15px 20px; }
+        .container { max-width: 1200px; margin: 30px auto; padding: 20px; }
+        .card { background: white; border-radius: 8px; padding: 20px; margin-bottom: 16px; box-shadow: 0 2px 6px rgba(0,0,0,0.1); }
+        .info { color: #7f8c8d; }
+        table { width: 100%; border-collapse: collapse; font-size: 0.9em; }
+        th, td { padding: 8px 10px; text-align: right; border-bottom: 1px solid #ecf0f1; }
+        th { background: #2c3e50; color: white; }
+        td.sql, th.sql, td.dao, th.dao { text-align: left; }
+        td.sql { font-family: monospace; font-size: 0.85em; word-break: break-all; max-width: 420px; }
+        td.errors { color: #e74c3c; }
+        form { display: inline; }
+        button { padding: 8px 16px; color: white; background: #e74c3c; border: none; border-radius: 4px; cursor: pointer; }
+        a.btn { display: inline-block; padding: 8px 16px; background: #3498db; color: white; text-decoration: none; border-radius: 4px; margin-right: 8px; }
+    </style>
+</head>
+<body>
+    <div class="header"><h2>DAO Query Metrics</h2></div>
+    <div class="container">
+        <%
+            List<StatementStats> statements = (List<StatementStats>) request.getAttribute("statements");
+        %>
+        <div class="card">
+            <p class="info">Latency per DAO statement since startup or the last reset, slowest p99 first (times in ms).</p>
+            <% if (statements == null || statements.isEmpty()) { %>
+                <p class="info">No queries recorded yet.</p>
+            <% } else { %>
+            <table>
+                <tr>
+                    <th class="dao">DAO</th>
+                    <th class="sql">Statement</th>
+                    <th>Calls</th>
+                    <th>Errors</th>
+                    <th>Rows</th>
+                    <th>Mean</th>
+                    <th>p50</th>
+                    <th>p95</th>
+                    <th>p99</th>
+                    <th>Max</th>
+                </tr>
+                <% for (StatementStats s : statements) {
+                    LatencyHistogram h = s.getLatency();
+                %>
+                <tr>
+                    <td class="dao"><%= s.getDao() %></td>
+                    <td class="sql"><%= s.getSql().replace("<", "&lt;") %></td>
+                    <td><%= s.getCalls() %></td>
+                    <td class="errors"><%= s.getErrors() %></td>
+                    <td><%= s.getRows() %></td>
+                    <td><%= String.format("%.3f", h.getMeanNanos() / 1e6) %></td>
+                    <td><%= String.format("%.3f", h.getPercentileNanos(50) / 1e6) %></td>
+                    <td><%= String.format("%.3f", h.getPercentileNanos(95) / 1e6) %></td>
+                    <td><%= String.format("%.3f", h.getPercentileNanos(99) / 1e6) %></td>
+                    <td><%= String.format("%.3f", h.getMaxNanos() / 1e6) %></td>
+                </tr>
+                <% } %>
+            </table>
+            <% } %>
+        </div>
+        <a class="btn" href="${pageContext.request.contextPath}/admin/metrics/prometheus">Prometheus Format</a>
+        <form method="post" action="${pageContext.request.contextPath}/admin/metrics/reset">
+            <button type="submit">Reset</button>
+        </form>
+        <br>
+        <a class="btn" style="margin-top: 16px;" href="${pageContext.request.contextPath}/admin/dashboard">Back to Dashboard</a>
+    </div>
+</body>
+</html>
@@ -83,9 +83,12 @@
                     <p>Add a season below to activate seasonal pricing.</p>
                 </div>
             <% } else { %>
+                <%-- Checkboxes belong to this form through their form attribute; the row buttons keep their own forms --%>
+                <form id="bulkSeasons" method="post" action="${pageContext.request.contextPath}/admin/seasonal-pricing/toggle"></form>
                 <table>
                     <thead>
                         <tr>
+                            <th></th>
                             <th>Season Name</th>
                             <th>Start Date</th>
                             <th>End Date</th>
@@ -97,6 +100,7 @@
                     <tbody>
                     <% for (SeasonalPricing season : seasons) { %>
                         <tr>
+                            <td><input type="checkbox" name="seasonId" value="<%= season.getId() %>" form="bulkSeasons"></td>
                             <td><%= season.getSeasonName() %></td>
                             <td><%= season.getStartDate() %></td>
                             <td><%= season.getEndDate() %></td>
@@ -131,6 +135,10 @@
                     <% } %>
                     </tbody>
                 </table>
+                <div class="action-form">
+                    <button type="submit" name="active" value="true" form="bulkSeasons" class="btn-toggle" style="background:#27ae60;">Activate Selected</button>
+                    <button type="submit" name="active" value="false" form="bulkSeasons" class="btn-toggle">Deactivate Selected</button>
+                </div>
             <% } %>
         </div>
 
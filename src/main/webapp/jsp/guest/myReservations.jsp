@@ -1,6 +1,8 @@
 <%@ page contentType="text/html;charset=UTF-8" %>
 <%@ page import="java.util.List" %>
 <%@ page import="com.hotelreservation.dto.ReservationDTO" %>
+<%@ page import="java.net.URLEncoder" %>
+<%@ page import="java.nio.charset.StandardCharsets" %>
 <html>
 <head>
     <title>My Reservations</title>
@@ -26,6 +28,9 @@
         .status-checked_out { color: #7f8c8d; font-weight: bold; }
         .status-cancelled { color: #e74c3c; font-weight: bold; }
         .actions a { margin-right: 5px; font-size: 0.9em; }
+        .filters { display: flex; gap: 10px; align-items: center; }
+        .filters select { padding: 6px; border: 1px solid #ccc; border-radius: 4px; }
+        .pager { margin-top: 12px; display: flex; justify-content: space-between; }
     </style>
 </head>
 <body>
@@ -47,11 +52,29 @@
 
         <%
             List<ReservationDTO> reservations = (List<ReservationDTO>) request.getAttribute("reservations");
+            String nextCursor = (String) request.getAttribute("nextCursor");
+            String statusFilter = (String) request.getAttribute("statusFilter");
+            if (statusFilter == null) statusFilter = "";
+            String[] statuses = {"PENDING", "CONFIRMED", "CHECKED_IN", "CHECKED_OUT", "CANCELLED"};
         %>
 
+        <div class="card">
+            <form method="get" action="${pageContext.request.contextPath}/reservation/list" class="filters">
+                <label>Status:
+                    <select name="status">
+                        <option value="">All</option>
+                        <% for (String s : statuses) { %>
+                            <option value="<%= s %>" <%= s.equals(statusFilter) ? "selected" : "" %>><%= s %></option>
+                        <% } %>
+                    </select>
+                </label>
+                <button type="submit" style="padding: 6px 14px; background: #3498db; color: white; border: none; border-radius: 4px; cursor: pointer;">Filter</button>
+            </form>
+        </div>
+
         <% if (reservations != null && !reservations.isEmpty()) { %>
         <div class="card">
-            <h3>All Reservations</h3>
+            <h3>Reservations (newest first)</h3>
             <table>
                 <thead>
                     <tr>
@@ -86,6 +109,12 @@
                 <% } %>
                 </tbody>
             </table>
+            <div class="pager">
+                <a href="${pageContext.request.contextPath}/reservation/list?status=<%= URLEncoder.encode(statusFilter, StandardCharsets.UTF_8) %>">&laquo; Newest</a>
+                <% if (nextCursor != null) { %>
+                    <a href="${pageContext.request.contextPath}/reservation/list?status=<%= URLEncoder.encode(statusFilter, StandardCharsets.UTF_8) %>&cursor=<%= URLEncoder.encode(nextCursor, StandardCharsets.UTF_8) %>">Older &raquo;</a>
+                <% } %>
+            </div>
         </div>
         <% } else { %>
         <div class="card">
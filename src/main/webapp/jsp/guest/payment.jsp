@@ -1,5 +1,6 @@
 <%@ page contentType="text/html;charset=UTF-8" %>
 <%@ page import="com.hotelreservation.dto.RoomDTO" %>
+<%@ page import="com.hotelreservation.strategy.NightlyRateBreakdown" %>
 <%
     String roomId = request.getParameter("roomId") != null ? request.getParameter("roomId") : (String) request.getAttribute("roomId");
     String checkIn = request.getParameter("checkIn") != null ? request.getParameter("checkIn") : (String) request.getAttribute("checkIn");
@@ -14,6 +15,7 @@
     String roomType = room != null ? room.getType() : "";
     double basePrice = room != null ? room.getBasePrice() : 0;
     double totalAmount = request.getAttribute("totalAmount") != null ? (Double) request.getAttribute("totalAmount") : 0;
+    NightlyRateBreakdown rateBreakdown = (NightlyRateBreakdown) request.getAttribute("rateBreakdown");
 
     String error = (String) request.getAttribute("error");
 %>
@@ -100,7 +102,15 @@
                 <span class="label">Check-out</span>
                 <span class="value"><%= checkOut %></span>
             </div>
-            <% if (basePrice > 0) { %>
+            <% if (rateBreakdown != null) {
+                   for (NightlyRateBreakdown.RateRun run : rateBreakdown.getRateRuns()) { %>
+            <div class="summary-row">
+                <span class="label"><%= run.getFirstNight() %><% if (run.getNights() > 1) { %> to <%= run.getLastNight() %><% } %>
+                    (<%= run.getNights() %> night<%= run.getNights() > 1 ? "s" : "" %> &times; $<%= String.format("%.2f", run.getRate()) %>)</span>
+                <span class="value">$<%= String.format("%.2f", run.getSubtotal()) %></span>
+            </div>
+            <%     }
+               } else if (basePrice > 0) { %>
             <div class="summary-row">
                 <span class="label">Rate per Night</span>
                 <span class="value">$<%= String.format("%.2f", basePrice) %></span>
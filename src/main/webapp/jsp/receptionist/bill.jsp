@@ -1,6 +1,7 @@
 <%@ page contentType="text/html;charset=UTF-8" %>
 <%@ page import="com.hotelreservation.dto.ReservationDTO" %>
 <%@ page import="com.hotelreservation.servlet.FrontDeskServlet" %>
+<%@ page import="com.hotelreservation.strategy.NightlyRateBreakdown" %>
 <html>
 <head>
     <title>Bill / Invoice</title>
@@ -35,7 +36,15 @@
                 <tr><td>Check-in</td><td><%= bill.getCheckInDate() %></td></tr>
                 <tr><td>Check-out</td><td><%= bill.getCheckOutDate() %></td></tr>
                 <tr><td>Nights</td><td><%= bill.getNights() %></td></tr>
+                <% if (bill.getRateBreakdown() != null && bill.getRateBreakdown().getRateRuns().size() > 1) {
+                       for (NightlyRateBreakdown.RateRun run : bill.getRateBreakdown().getRateRuns()) { %>
+                <tr><td><%= run.getFirstNight() %><% if (run.getNights() > 1) { %> to <%= run.getLastNight() %><% } %>
+                    (<%= run.getNights() %> &times; $<%= String.format("%.2f", run.getRate()) %>)</td>
+                    <td>$<%= String.format("%.2f", run.getSubtotal()) %></td></tr>
+                <%     }
+                   } else { %>
                 <tr><td>Rate per Night</td><td>$<%= String.format("%.2f", bill.getRatePerNight()) %></td></tr>
+                <% } %>
                 <tr><td>Room Charges</td><td>$<%= String.format("%.2f", bill.getRoomCharges()) %></td></tr>
                 <tr><td>Additional Charges</td><td>$<%= String.format("%.2f", bill.getAdditionalCharges()) %></td></tr>
                 <tr class="total-row"><td>Total</td><td>$<%= String.format("%.2f", bill.getTotal()) %></td></tr>
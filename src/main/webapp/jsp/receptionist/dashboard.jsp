@@ -37,6 +37,7 @@
             <a class="btn green" href="${pageContext.request.contextPath}/frontdesk/walkin">Walk-In Reservation</a>
             <a class="btn" href="${pageContext.request.contextPath}/frontdesk/checkin">Check-In Guest</a>
             <a class="btn orange" href="${pageContext.request.contextPath}/frontdesk/checkout">Check-Out Guest</a>
+            <a class="btn" href="${pageContext.request.contextPath}/frontdesk/reservations">Reservations</a>
         </div>
 
         <a class="btn red" href="${pageContext.request.contextPath}/logout">Logout</a>
@@ -0,0 +1,126 @@
+<%@ page contentType="text/html;charset=UTF-8" %>
+<%@ page import="java.util.List" %>
+<%@ page import="com.hotelreservation.dto.ReservationDTO" %>
+<%@ page import="java.net.URLEncoder" %>
+<%@ page import="java.nio.charset.StandardCharsets" %>
+<%--
+    Staff reservation list (front desk and admin), keyset-paginated newest first.
+    Attributes: reservations, nextCursor, statusFilter, typeFilter,
+    listPath (servlet path of this list), backPath (dashboard path).
+--%>
+<html>
+<head>
+    <title>Reservations</title>
+    <style>
+        body { font-family: Arial, sans-serif; margin: 0; padding: 0; background: #f0f4f8; }
+        .header { background: #2c3e50; color: white; padding: 15px 20px; display: flex; justify-content: space-between; align-items: center; }
+        .header h2 { margin: 0; }
+        .header-links a { color: white; text-decoration: none; margin-left: 15px; }
+        .container { max-width: 1000px; margin: 30px auto; padding: 20px; }
+        .card { background: white; border-radius: 8px; padding: 20px; margin-bottom: 16px; box-shadow: 0 2px 6px rgba(0,0,0,0.1); }
+        .info { color: #7f8c8d; }
+        .error { color: #e74c3c; font-weight: bold; }
+        .filters { display: flex; gap: 10px; align-items: center; }
+        .filters select { padding: 6px; border: 1px solid #ccc; border-radius: 4px; }
+        table { width: 100%; border-collapse: collapse; margin-top: 10px; }
+        th, td { padding: 10px 12px; text-align: left; border-bottom: 1px solid #ecf0f1; }
+        th { background: #2c3e50; color: white; }
+        tr:hover { background: #f5f6fa; }
+        .pager { margin-top: 12px; display: flex; justify-content: space-between; }
+    </style>
+</head>
+<body>
+    <%
+        String contextPath = request.getContextPath();
+        String listPath = contextPath + request.getAttribute("listPath");
+        String backPath = contextPath + request.getAttribute("backPath");
+        List<ReservationDTO> reservations = (List<ReservationDTO>) request.getAttribute("reservations");
+        String nextCursor = (String) request.getAttribute("nextCursor");
+        String statusFilter = request.getAttribute("statusFilter") != null ? (String) request.getAttribute("statusFilter") : "";
+        String typeFilter = request.getAttribute("typeFilter") != null ? (String) request.getAttribute("typeFilter") : "";
+        String[] statuses = {"PENDING", "CONFIRMED", "CHECKED_IN", "CHECKED_OUT", "CANCELLED"};
+        String[] types = {"ONLINE", "WALK_IN"};
+        String filterQuery = "status=" + URLEncoder.encode(statusFilter, StandardCharsets.UTF_8)
+                + "&type=" + URLEncoder.encode(typeFilter, StandardCharsets.UTF_8);
+    %>
+    <div class="header">
+        <h2>Reservations</h2>
+        <div class="header-links">
+            <a href="<%= backPath %>">Dashboard</a>
+            <a href="${pageContext.request.contextPath}/logout">Logout</a>
+        </div>
+    </div>
+    <div class="container">
+        <%
+            String error = (String) request.getAttribute("error");
+            if (error != null && !error.trim().isEmpty()) {
+        %>
+            <div class="card"><p class="error"><%= error %></p></div>
+        <% } %>
+
+        <div class="card">
+            <form method="get" action="<%= listPath %>" class="filters">
+                <label>Status:
+                    <select name="status">
+                        <option value="">All</option>
+                        <% for (String s : statuses) { %>
+                            <option value="<%= s %>" <%= s.equals(statusFilter) ? "selected" : "" %>><%= s %></option>
+                        <% } %>
+                    </select>
+                </label>
+                <label>Type:
+                    <select name="type">
+                        <option value="">All</option>
+                        <% for (String t : types) { %>
+                            <option value="<%= t %>" <%= t.equals(typeFilter) ? "selected" : "" %>><%= t %></option>
+                        <% } %>
+                    </select>
+                </label>
+                <button type="submit" style="padding: 6px 14px; background: #3498db; color: white; border: none; border-radius: 4px; cursor: pointer;">Filter</button>
+            </form>
+        </div>
+
+        <div class="card">
+            <h3>Reservations (newest first)</h3>
+            <% if (reservations != null && !reservations.isEmpty()) { %>
+            <table>
+                <thead>
+                    <tr>
+                        <th>Reservation ID</th>
+                        <th>Guest ID</th>
+                        <th>Room ID</th>
+                        <th>Type</th>
+                        <th>Check-in</th>
+                        <th>Check-out</th>
+                        <th>Amount</th>
+                        <th>Status</th>
+                    </tr>
+                </thead>
+                <tbody>
+                <% for (ReservationDTO res : reservations) { %>
+                    <tr>
+                        <td><%= res.getId() %></td>
+                        <td><%= res.getGuestId() %></td>
+                        <td><%= res.getRoomId() %></td>
+                        <td><%= res.getReservationType() != null ? res.getReservationType() : "N/A" %></td>
+                        <td><%= res.getCheckInDate() %></td>
+                        <td><%= res.getCheckOutDate() %></td>
+                        <td>$<%= String.format("%.2f", res.getTotalAmount()) %></td>
+                        <td><%= res.getStatus() %></td>
+                    </tr>
+                <% } %>
+                </tbody>
+            </table>
+            <% } else { %>
+            <p class="info">No reservations found.</p>
+            <% } %>
+            <div class="pager">
+                <a href="<%= listPath %>?<%= filterQuery %>">&laquo; Newest</a>
+                <% if (nextCursor != null) { %>
+                    <a href="<%= listPath %>?<%= filterQuery %>&cursor=<%= URLEncoder.encode(nextCursor, StandardCharsets.UTF_8) %>">Older &raquo;</a>
+                <% } %>
+            </div>
+        </div>
+    </div>
+</body>
+</html>
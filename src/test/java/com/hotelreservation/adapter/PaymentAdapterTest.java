@@ -199,6 +199,26 @@ public class PaymentAdapterTest {
         assertTrue(link.contains("250.0"));
     }
 
+    @Test
+    public void testAdaptersRefundThroughTheirChannel() {
+        POSAdapter pos = new POSAdapter(new SuccessPOS());
+        pos.pay(100.00);
+        assertTrue(pos.refund(pos.getLastTransactionId(), 100.00));
+
+        OnlineGatewayAdapter gateway = new OnlineGatewayAdapter(new SuccessPortal());
+        gateway.pay(100.00);
+        assertTrue(gateway.refund(gateway.getLastTransactionId(), 100.00));
+    }
+
+    @Test
+    public void testPOSAdapterRefundException() {
+        POSAdapter adapter = new POSAdapter(new POSAdapter.ExternalPOSSystem() {
+            @Override
+            public boolean reverse(String transactionId) { throw new RuntimeException("POS offline"); }
+        });
+        assertFalse(adapter.refund("POS_1", 100.00));
+    }
+
     @Test
     public void testSecureBankPortalRefund() {
         OnlineGatewayAdapter.SecureBankPortal portal = new OnlineGatewayAdapter.SecureBankPortal();
@@ -0,0 +1,145 @@
+package com.hotelreservation.cache;
+
+import com.hotelreservation.dto.ReportSnapshot;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportingCounters
+ * Tests loading, incremental updates from booking events, daily revenue buckets and
+ * reconciliations that fail.
+ */
+public class ReportingCountersTest {
+
+    private ReportingCounters counters;
+
+    @Before
+    public void setUp() {
+        ReportSnapshot snapshot = new ReportSnapshot();
+        snapshot.addReservations("CONFIRMED", "ONLINE", 2, 400.00);
+        snapshot.addReservations("CHECKED_OUT", "WALK_IN", 1, 150.00);
+        snapshot.addRooms("AVAILABLE", 4);
+        snapshot.addRooms("OCCUPIED", 1);
+        Map<LocalDate, Double> daily = new TreeMap<>();
+        daily.put(LocalDate.of(2026, 3, 2), 150.00);
+
+        counters = new ReportingCounters();
+        counters.load(snapshot, daily);
+    }
+
+    private Reservation reservation(String status, double amount) {
+        Reservation reservation = new OnlineReservation("RES-1", 1, 1,
+                LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 12), amount);
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    @Test
+    public void testEventsIgnoredUntilLoaded() {
+        ReportingCounters fresh = new ReportingCounters();
+        fresh.onReservationCreated(reservation("CONFIRMED", 100.00));
+        assertFalse(fresh.isLoaded());
+        assertNull(fresh.snapshot());
+        assertNull(fresh.getDailyRevenue(LocalDate.MIN, LocalDate.MAX));
+
+        fresh.load(new ReportSnapshot(), Collections.emptyMap());
+        assertEquals(0, fresh.snapshot().getTotalReservations());
+    }
+
+    @Test
+    public void testSnapshotMatchesLoadedTotals() {
+        ReportSnapshot snapshot = counters.snapshot();
+        assertEquals(3, snapshot.getTotalReservations());
+        assertEquals(2, snapshot.getReservationTypeCount("ONLINE"));
+        assertEquals(150.00, snapshot.getCheckedOutRevenue(), 0.001);
+        assertEquals(5, snapshot.getTotalRooms());
+    }
+
+    @Test
+    public void testBookingLifecycleUpdatesCounters() {
+        Reservation reservation = reservation("CONFIRMED", 300.00);
+        counters.onReservationCreated(reservation);
+        counters.onRoomStatusChanged("AVAILABLE", "RESERVED");
+
+        reservation.setStatus("CHECKED_IN");
+        counters.onReservationStatusChanged(reservation, "CONFIRMED");
+        reservation.setStatus("CHECKED_OUT");
+        counters.onReservationStatusChanged(reservation, "CHECKED_IN");
+
+        ReportSnapshot snapshot = counters.snapshot();
+        assertEquals(4, snapshot.getTotalReservations());
+        assertEquals(2, snapshot.getReservationCount("CONFIRMED"));
+        assertEquals(0, snapshot.getReservationCount("CHECKED_IN"));
+        assertEquals(2, snapshot.getReservationCount("CHECKED_OUT"));
+        assertEquals(450.00, snapshot.getCheckedOutRevenue(), 0.001);
+        assertEquals(3, snapshot.getRoomCount("AVAILABLE"));
+        assertEquals(1, snapshot.getRoomCount("RESERVED"));
+
+        Map<LocalDate, Double> daily = counters.getDailyRevenue(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+        assertEquals(2, daily.size());
+        assertEquals(300.00, daily.get(LocalDate.of(2026, 3, 12)), 0.001);
+    }
+
+    @Test
+    public void testCancellationMovesCountOnly() {
+        Reservation reservation = reservation("CANCELLED", 200.00);
+        counters.onReservationStatusChanged(reservation, "CONFIRMED");
+
+        ReportSnapshot snapshot = counters.snapshot();
+        assertEquals(3, snapshot.getTotalReservations());
+        assertEquals(1, snapshot.getReservationCount("CANCELLED"));
+        assertEquals(150.00, snapshot.getCheckedOutRevenue(), 0.001);
+        assertEquals(1, counters.getDailyRevenue(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)).size());
+    }
+
+    @Test
+    public void testFailedReconcileKeepsPreviousCounters() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        when(reservationRepository.loadReportSnapshot())
+                .thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")));
+
+        try {
+            counters.reconcile(reservationRepository, roomRepository);
+            fail("Expected DataAccessException");
+        } catch (DataAccessException expected) {
+            // the failure reaches the caller
+        }
+
+        assertEquals(3, counters.snapshot().getTotalReservations());
+        assertEquals(5, counters.snapshot().getTotalRooms());
+        assertEquals(150.00, counters.getDailyRevenue(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31))
+                .get(LocalDate.of(2026, 3, 2)), 0.001);
+    }
+
+    @Test
+    public void testStartLeavesCountersUnloadedWhenTheLoadFails() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        when(reservationRepository.loadReportSnapshot()).thenReturn(new ReportSnapshot());
+        when(roomRepository.loadCountsByStatus())
+                .thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")));
+        ReportingCounters fresh = new ReportingCounters();
+
+        try {
+            assertFalse(fresh.start(reservationRepository, roomRepository));
+            assertFalse(fresh.isLoaded());
+        } finally {
+            fresh.stop();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.hotelreservation.cache;
+
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoomAvailabilityIndex
+ * Tests overlap rules, status filtering and the DAO write-through hooks.
+ */
+public class RoomAvailabilityIndexTest {
+
+    private RoomAvailabilityIndex index;
+
+    @Before
+    public void setUp() {
+        index = new RoomAvailabilityIndex();
+        index.setEnabled(true);
+        List<Room> rooms = Arrays.asList(
+                new Room(1, "101", "SINGLE", 100.00, "AVAILABLE", true),
+                new Room(2, "102", "SINGLE", 100.00, "AVAILABLE", true),
+                new Room(3, "201", "DOUBLE", 175.00, "AVAILABLE", false),
+                new Room(4, "301", "SUITE", 300.00, "UNDER_MAINTENANCE", true)
+        );
+        index.load(rooms, Collections.singletonList(
+                confirmed("ONL_1", 1, LocalDate.of(2026, 5, 10), LocalDate.of(2026, 5, 13))));
+    }
+
+    // --- Overlap Tests ---
+
+    @Test
+    public void testOverlappingStayHidesRoom() {
+        List<Room> rooms = index.findAvailable(LocalDate.of(2026, 5, 12), LocalDate.of(2026, 5, 14));
+        assertEquals(1, rooms.size());
+        assertEquals(2, rooms.get(0).getId());
+    }
+
+    @Test
+    public void testCheckOutDayIsFreeForNextGuest() {
+        assertTrue(index.isRoomFree(1, LocalDate.of(2026, 5, 13), LocalDate.of(2026, 5, 15)));
+    }
+
+    @Test
+    public void testStayEndingOnCheckInDayDoesNotBlock() {
+        assertTrue(index.isRoomFree(1, LocalDate.of(2026, 5, 8), LocalDate.of(2026, 5, 10)));
+    }
+
+    @Test
+    public void testDirtyAndMaintenanceRoomsExcluded() {
+        List<Room> rooms = index.findAvailable(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2));
+        assertEquals(2, rooms.size());
+        assertEquals(4, index.getRoomCount());
+        assertEquals(2, index.countAvailable(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2)));
+    }
+
+    // --- Write-Through Hook Tests ---
+
+    @Test
+    public void testSavedReservationBlocksRoom() {
+        index.onReservationSaved(confirmed("WLK_1", 2, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 20)));
+        assertFalse(index.isRoomFree(2, LocalDate.of(2026, 5, 5), LocalDate.of(2026, 5, 6)));
+    }
+
+    @Test
+    public void testCancelledReservationReleasesRoom() {
+        Reservation cancelled = confirmed("ONL_1", 1, LocalDate.of(2026, 5, 10), LocalDate.of(2026, 5, 13));
+        cancelled.cancel();
+        index.onReservationSaved(cancelled);
+        assertTrue(index.isRoomFree(1, LocalDate.of(2026, 5, 10), LocalDate.of(2026, 5, 13)));
+    }
+
+    @Test
+    public void testDeletedReservationKeepsOverlappingStay() {
+        index.onReservationSaved(confirmed("ONL_2", 1, LocalDate.of(2026, 5, 12), LocalDate.of(2026, 5, 16)));
+        index.onReservationDeleted("ONL_1");
+        assertTrue(index.isRoomFree(1, LocalDate.of(2026, 5, 10), LocalDate.of(2026, 5, 12)));
+        assertFalse(index.isRoomFree(1, LocalDate.of(2026, 5, 14), LocalDate.of(2026, 5, 15)));
+    }
+
+    @Test
+    public void testRoomUpdateChangesAvailability() {
+        index.onRoomSaved(new Room(3, "201", "DOUBLE", 175.00, "AVAILABLE", true));
+        assertEquals(3, index.countAvailable(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2)));
+    }
+
+    @Test
+    public void testReturnedRoomsAreCopies() {
+        Room room = index.findAvailable(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2)).get(0);
+        room.updateStatus("OCCUPIED");
+        assertEquals(2, index.countAvailable(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2)));
+    }
+
+    // --- Loading / Switch Tests ---
+
+    @Test
+    public void testHooksIgnoredUntilLoaded() {
+        RoomAvailabilityIndex fresh = new RoomAvailabilityIndex();
+        fresh.setEnabled(true);
+        fresh.onReservationSaved(confirmed("ONL_9", 1, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 2)));
+        assertFalse(fresh.isLoaded());
+        assertEquals(0, fresh.getRoomCount());
+    }
+
+    @Test
+    public void testEnsureLoadedReadsRepositoriesOnce() {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(roomRepository.findAllFromPrimary()).thenReturn(Collections.singletonList(
+                new Room(1, "101", "SINGLE", 100.00, "AVAILABLE", true)));
+        when(reservationRepository.findActive()).thenReturn(Collections.emptyList());
+
+        RoomAvailabilityIndex fresh = new RoomAvailabilityIndex();
+        fresh.setEnabled(true);
+        assertTrue(fresh.ensureLoaded(roomRepository, reservationRepository));
+        assertTrue(fresh.ensureLoaded(roomRepository, reservationRepository));
+
+        verify(roomRepository, times(1)).findAllFromPrimary();
+        verify(reservationRepository, times(1)).findActive();
+    }
+
+    @Test
+    public void testChangeCommittedDuringLoadIsReplayed() {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        RoomAvailabilityIndex fresh = new RoomAvailabilityIndex();
+        fresh.setEnabled(true);
+        // A booking commits after findActive has read the reservations table
+        when(roomRepository.findAllFromPrimary()).thenReturn(Collections.singletonList(
+                new Room(1, "101", "SINGLE", 100.00, "AVAILABLE", true)));
+        when(reservationRepository.findActive()).thenAnswer(invocation -> {
+            fresh.onReservationSaved(confirmed("ONL_7", 1, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 4)));
+            fresh.onRoomStatusChanged(1, "RESERVED");
+            return Collections.emptyList();
+        });
+
+        assertTrue(fresh.ensureLoaded(roomRepository, reservationRepository));
+
+        assertFalse(fresh.isRoomFree(1, LocalDate.of(2026, 5, 2), LocalDate.of(2026, 5, 3)));
+        assertEquals(0, fresh.countAvailable(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2)));
+    }
+
+    @Test
+    public void testEnsureLoadedSkipsEmptyRoomList() {
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(roomRepository.findAllFromPrimary()).thenReturn(Collections.emptyList());
+
+        RoomAvailabilityIndex fresh = new RoomAvailabilityIndex();
+        fresh.setEnabled(true);
+        assertFalse(fresh.ensureLoaded(roomRepository, reservationRepository));
+        assertFalse(fresh.isLoaded());
+    }
+
+    @Test
+    public void testDisableClearsIndex() {
+        index.setEnabled(false);
+        assertFalse(index.isLoaded());
+        assertFalse(index.ensureLoaded(mock(RoomRepository.class), mock(ReservationRepository.class)));
+    }
+
+    private static Reservation confirmed(String id, int roomId, LocalDate checkIn, LocalDate checkOut) {
+        Reservation reservation = id.startsWith("ONL")
+                ? new OnlineReservation(id, 1, roomId, checkIn, checkOut, 100.00)
+                : new WalkInReservation(id, 1, roomId, checkIn, checkOut, 100.00);
+        reservation.confirm();
+        return reservation;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hotelreservation.cache;
+
+import com.hotelreservation.entity.SeasonalPricing;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.repository.SeasonalPricingRepository;
+import com.hotelreservation.service.impl.SeasonalPricingServiceImpl;
+import com.hotelreservation.strategy.IPricingStrategy;
+import com.hotelreservation.strategy.NightlyRateEngine;
+import com.hotelreservation.strategy.SeasonalRateStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeasonalPricingCache
+ * Tests interval lookup, overlap resolution, strategy reuse, copy-on-write reloads,
+ * reloads that fail and the back-off after a failed first load.
+ */
+public class SeasonalPricingCacheTest {
+
+    private SeasonalPricingCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new SeasonalPricingCache();
+        cache.load(Arrays.asList(
+                new SeasonalPricing(1, "Summer", LocalDate.of(2026, 6, 1), LocalDate.of(2026, 8, 31), 1.5, true),
+                new SeasonalPricing(2, "Festival", LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 20), 2.0, true),
+                new SeasonalPricing(3, "Retired", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), 3.0, false)
+        ));
+    }
+
+    // --- Lookup Tests ---
+
+    @Test
+    public void testDateOutsideSeasonsUsesStandardRate() {
+        assertEquals("STANDARD_RATE", cache.resolve(LocalDate.of(2026, 5, 31)).getStrategyName());
+        assertEquals("STANDARD_RATE", cache.resolve(LocalDate.of(2026, 9, 1)).getStrategyName());
+    }
+
+    @Test
+    public void testSeasonBoundariesAreInclusive() {
+        assertEquals(1, cache.findSeason(LocalDate.of(2026, 6, 1)).get().getId());
+        assertEquals(1, cache.findSeason(LocalDate.of(2026, 8, 31)).get().getId());
+    }
+
+    @Test
+    public void testHighestMultiplierWinsOnOverlap() {
+        assertEquals(2, cache.findSeason(LocalDate.of(2026, 7, 10)).get().getId());
+        assertEquals(2, cache.findSeason(LocalDate.of(2026, 7, 20)).get().getId());
+        assertEquals(1, cache.findSeason(LocalDate.of(2026, 7, 21)).get().getId());
+        assertEquals(3, cache.getSegmentCount());
+    }
+
+    @Test
+    public void testInactiveSeasonIgnored() {
+        assertFalse(cache.findSeason(LocalDate.of(2026, 3, 1)).isPresent());
+    }
+
+    // --- Reuse / Reload Tests ---
+
+    @Test
+    public void testStrategyInstanceReusedWithinSeason() {
+        IPricingStrategy first = cache.resolve(LocalDate.of(2026, 6, 2));
+        assertSame(first, cache.resolve(LocalDate.of(2026, 8, 30)));
+        assertEquals(1.5, ((SeasonalRateStrategy) first).getSeasonMultiplier(), 0.001);
+        assertSame(cache.resolve(LocalDate.of(2025, 1, 1)), cache.resolve(LocalDate.of(2027, 1, 1)));
+    }
+
+    @Test
+    public void testServiceWritesRebuildCache() {
+        SeasonalPricingRepository repository = mock(SeasonalPricingRepository.class);
+        List<SeasonalPricing> stored = new ArrayList<>();
+        when(repository.loadActive()).thenAnswer(inv -> new ArrayList<>(stored));
+        SeasonalPricing winter = new SeasonalPricing(7, "Winter", LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 31), 1.25, true);
+        when(repository.save(winter)).thenAnswer(inv -> {
+            stored.add(winter);
+            return winter;
+        });
+
+        SeasonalPricingServiceImpl service = new SeasonalPricingServiceImpl(repository, new SeasonalPricingCache());
+        assertEquals("STANDARD_RATE", service.resolveStrategy(LocalDate.of(2026, 12, 24)).getStrategyName());
+
+        service.createSeason(winter);
+        assertEquals("SEASONAL_RATE", service.resolveStrategy(LocalDate.of(2026, 12, 24)).getStrategyName());
+
+        stored.clear();
+        service.deleteSeason(7);
+        assertEquals("STANDARD_RATE", service.resolveStrategy(LocalDate.of(2026, 12, 24)).getStrategyName());
+
+        // One initial load plus one reload per write; lookups never hit the repository
+        verify(repository, times(3)).loadActive();
+        verify(repository, never()).findByDate(any());
+    }
+
+    @Test
+    public void testFailedReloadKeepsThePreviousTable() {
+        SeasonalPricingRepository repository = mock(SeasonalPricingRepository.class);
+        when(repository.loadActive()).thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")));
+
+        assertFalse(cache.reload(repository));
+
+        assertEquals(2, cache.findSeason(LocalDate.of(2026, 7, 15)).get().getId());
+        assertEquals(3, cache.getSegmentCount());
+    }
+
+    @Test
+    public void testFailedFirstLoadIsRetriedAfterTheInterval() throws InterruptedException {
+        SeasonalPricingRepository repository = mock(SeasonalPricingRepository.class);
+        SeasonalPricing summer = new SeasonalPricing(1, "Summer", LocalDate.of(2026, 6, 1), LocalDate.of(2026, 8, 31), 1.5, true);
+        when(repository.loadActive())
+                .thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")))
+                .thenReturn(List.of(summer));
+        SeasonalPricingCache fresh = new SeasonalPricingCache(200);
+
+        assertFalse(fresh.ensureLoaded(repository));
+        assertFalse(fresh.isLoaded());
+
+        // Lookups until the retry get the standard rate without touching the database
+        assertFalse(fresh.ensureLoaded(repository));
+        assertEquals("STANDARD_RATE", fresh.resolve(LocalDate.of(2026, 7, 1)).getStrategyName());
+        verify(repository, times(1)).loadActive();
+
+        Thread.sleep(250);
+        assertTrue(fresh.ensureLoaded(repository));
+        assertEquals(1, fresh.findSeason(LocalDate.of(2026, 7, 1)).get().getId());
+        verify(repository, times(2)).loadActive();
+    }
+
+    @Test
+    public void testServiceServesStandardRatesWhileTheLoadBacksOff() {
+        SeasonalPricingRepository repository = mock(SeasonalPricingRepository.class);
+        when(repository.loadActive()).thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")));
+        SeasonalPricingServiceImpl service = new SeasonalPricingServiceImpl(repository, new SeasonalPricingCache(60000));
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("STANDARD_RATE", service.resolveStrategy(LocalDate.of(2026, 7, 1)).getStrategyName());
+            assertEquals(100.00, service.getRateEngine().price(100.00, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 2)).getTotal(), 0.001);
+        }
+
+        verify(repository, times(1)).loadActive();
+    }
+
+    @Test
+    public void testRateEngineFollowsOverlappingSeasons() {
+        NightlyRateEngine engine = cache.getRateEngine();
+        assertEquals(1.0, engine.getMultiplier(LocalDate.of(2026, 5, 31)), 0.001);
+        assertEquals(1.5, engine.getMultiplier(LocalDate.of(2026, 7, 9)), 0.001);
+        assertEquals(2.0, engine.getMultiplier(LocalDate.of(2026, 7, 10)), 0.001);
+        assertEquals(1.5, engine.getMultiplier(LocalDate.of(2026, 7, 21)), 0.001);
+
+        // Two nights before the festival, one inside it
+        assertEquals(150.00 + 150.00 + 200.00,
+                engine.price(100.00, LocalDate.of(2026, 7, 8), LocalDate.of(2026, 7, 11)).getTotal(), 0.001);
+    }
+
+    @Test
+    public void testEmptyTableIsLoaded() {
+        SeasonalPricingCache fresh = new SeasonalPricingCache();
+        assertFalse(fresh.isLoaded());
+        fresh.load(Collections.emptyList());
+        assertTrue(fresh.isLoaded());
+        assertEquals(0, fresh.getSegmentCount());
+    }
+}
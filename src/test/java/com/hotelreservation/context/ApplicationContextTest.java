@@ -0,0 +1,171 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.cache.ReportingCounters;
+import com.hotelreservation.cache.RoomAvailabilityIndex;
+import com.hotelreservation.cache.SeasonalPricingCache;
+import com.hotelreservation.dto.ReportSnapshot;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.SeasonalPricing;
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.NotificationOutboxRepository;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.SeasonalPricingRepository;
+import com.hotelreservation.repository.UserRepository;
+import jakarta.servlet.ServletContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ApplicationContext
+ * Tests that the servlets share one service graph, that start/close load and drop the caches
+ * and that the context reports ready only once every startup step has succeeded, retrying
+ * the failed ones.
+ */
+public class ApplicationContextTest {
+
+    private RoomRepository roomRepository;
+    private ReservationRepository reservationRepository;
+    private SeasonalPricingRepository seasonalPricingRepository;
+    private ApplicationContext context;
+
+    @Before
+    public void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        reservationRepository = mock(ReservationRepository.class);
+        seasonalPricingRepository = mock(SeasonalPricingRepository.class);
+        when(roomRepository.findAllFromPrimary()).thenReturn(List.of(new Room(1, "101", "SINGLE", 100.0, "AVAILABLE", true)));
+        when(roomRepository.loadCountsByStatus()).thenReturn(Collections.singletonMap("AVAILABLE", 1));
+        when(reservationRepository.findActive()).thenReturn(Collections.emptyList());
+        when(reservationRepository.loadReportSnapshot()).thenReturn(new ReportSnapshot());
+        when(reservationRepository.loadDailyRevenue(any(), any())).thenReturn(Collections.emptyMap());
+        when(seasonalPricingRepository.loadActive()).thenReturn(List.of(
+                new SeasonalPricing(1, "Summer", LocalDate.of(2026, 6, 1), LocalDate.of(2026, 8, 31), 1.5, true)));
+        context = new ApplicationContext(roomRepository, reservationRepository, mock(GuestRepository.class),
+                mock(UserRepository.class), seasonalPricingRepository, mock(NotificationOutboxRepository.class));
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void testStartLoadsCachesAndCloseDropsThem() {
+        context.start();
+
+        assertTrue(RoomAvailabilityIndex.getInstance().isLoaded());
+        assertTrue(SeasonalPricingCache.getInstance().isLoaded());
+        assertEquals(ReportingCounters.getInstance().isEnabled(), ReportingCounters.getInstance().isLoaded());
+        verify(roomRepository).findAllFromPrimary();
+        verify(seasonalPricingRepository).loadActive();
+
+        context.close();
+
+        assertFalse(RoomAvailabilityIndex.getInstance().isLoaded());
+        assertFalse(SeasonalPricingCache.getInstance().isLoaded());
+        assertFalse(ReportingCounters.getInstance().isLoaded());
+    }
+
+    @Test
+    public void testStartSurvivesRepositoryFailure() {
+        when(seasonalPricingRepository.loadActive()).thenThrow(new IllegalStateException("database down"));
+
+        assertFalse(context.start());
+
+        assertTrue(RoomAvailabilityIndex.getInstance().isLoaded());
+        assertFalse(SeasonalPricingCache.getInstance().isLoaded());
+        assertFalse(context.isReady());
+    }
+
+    @Test
+    public void testFailedStepIsRetriedUntilReady() {
+        SeasonalPricing summer = new SeasonalPricing(1, "Summer", LocalDate.of(2026, 6, 1), LocalDate.of(2026, 8, 31), 1.5, true);
+        when(seasonalPricingRepository.loadActive())
+                .thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")))
+                .thenReturn(List.of(summer));
+
+        assertFalse(context.start());
+        assertFalse(context.isReady());
+
+        assertTrue(context.start());
+        assertTrue(context.isReady());
+        verify(seasonalPricingRepository, times(2)).loadActive();
+        verify(roomRepository, times(1)).findAllFromPrimary();
+    }
+
+    @Test
+    public void testBackgroundStartRetriesUntilReady() throws Exception {
+        when(seasonalPricingRepository.loadActive())
+                .thenThrow(new DataAccessException("Query failed", new SQLException("connection reset")))
+                .thenReturn(List.of());
+
+        context.startInBackground(20);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!context.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(context.isReady());
+        verify(seasonalPricingRepository, times(2)).loadActive();
+    }
+
+    @Test
+    public void testReadyOnlyBetweenStartAndClose() {
+        assertFalse(context.isReady());
+
+        context.start();
+        assertTrue(context.isReady());
+
+        context.close();
+        assertFalse(context.isReady());
+    }
+
+    @Test
+    public void testWarmUpSearchesIndexAndQuotesEachRoom() {
+        context.start();
+        reset(roomRepository);
+
+        assertEquals(5, context.warmUpHotPaths(5));
+        verifyNoInteractions(roomRepository);
+    }
+
+    @Test
+    public void testWarmUpWithoutIndexQuotesAllRoomsOnce() {
+        doAnswer(invocation -> {
+            Consumer<Room> action = invocation.getArgument(0);
+            action.accept(new Room(1, "101", "SINGLE", 100.0, "AVAILABLE", true));
+            return 1;
+        }).when(roomRepository).forEach(any());
+
+        assertEquals(3, context.warmUpHotPaths(3));
+        verify(roomRepository).forEach(any());
+    }
+
+    @Test
+    public void testGetReturnsRegisteredContext() {
+        ServletContext servletContext = mock(ServletContext.class);
+        when(servletContext.getAttribute(ApplicationContext.ATTRIBUTE)).thenReturn(context);
+
+        assertSame(context, ApplicationContext.get(servletContext));
+        assertSame(context.getRoomService(), ApplicationContext.get(servletContext).getRoomService());
+        assertNotNull(context.getBookingService());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetWithoutListenerFails() {
+        ApplicationContext.get(mock(ServletContext.class));
+    }
+}
@@ -0,0 +1,176 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.context.BookingExecutor.View;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingExecutor
+ * Tests async dispatch of finished bookings, back-pressure when the queue is full,
+ * timeouts that overtake a slow booking and queued bookings that are never started.
+ */
+public class BookingExecutorTest {
+
+    private BookingExecutor executor;
+
+    @After
+    public void tearDown() {
+        executor.shutdown(1000);
+    }
+
+    private static AsyncContext asyncRequest(HttpServletRequest request, HttpServletResponse response) {
+        AsyncContext async = mock(AsyncContext.class);
+        when(request.startAsync(request, response)).thenReturn(async);
+        when(async.getRequest()).thenReturn(request);
+        when(async.getResponse()).thenReturn(response);
+        return async;
+    }
+
+    @Test
+    public void testDispatchesToThePageTheBookingReturns() {
+        executor = new BookingExecutor(2, 10, 30000);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext async = asyncRequest(request, response);
+
+        executor.submit(request, response, () -> View.of("/jsp/guest/reservationConfirmation.jsp").with("reservation", "ONL_1"));
+
+        verify(async, timeout(2000)).dispatch("/jsp/guest/reservationConfirmation.jsp");
+        verify(request).setAttribute("reservation", "ONL_1");
+        verify(async).setTimeout(30000);
+        assertEquals(1, executor.getCompleted());
+    }
+
+    @Test
+    public void testFailedBookingDispatchesToErrorPage() {
+        executor = new BookingExecutor(2, 10, 30000);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext async = asyncRequest(request, response);
+
+        executor.submit(request, response, () -> {
+            throw new IllegalStateException("payment adapter down");
+        });
+
+        verify(async, timeout(2000)).dispatch(BookingExecutor.ERROR_PAGE);
+        verify(request).setAttribute("error", "payment adapter down");
+        assertEquals(1, executor.getFailed());
+        assertEquals(0, executor.getCompleted());
+    }
+
+    @Test
+    public void testFullQueueRejectsWithServiceUnavailable() throws Exception {
+        executor = new BookingExecutor(1, 1, 30000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        BookingExecutor.BookingTask slow = () -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return View.of("/jsp/guest/reservationConfirmation.jsp");
+        };
+        for (int i = 0; i < 2; i++) {
+            HttpServletRequest request = mock(HttpServletRequest.class);
+            HttpServletResponse response = mock(HttpServletResponse.class);
+            asyncRequest(request, response);
+            executor.submit(request, response, slow);
+            assertTrue(running.await(2, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executor.getQueueDepth());
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext async = asyncRequest(request, response);
+        executor.submit(request, response, slow);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response).setHeader("Retry-After", "5");
+        verify(request).setAttribute("error", BookingExecutor.BUSY_MESSAGE);
+        verify(async).dispatch(BookingExecutor.ERROR_PAGE);
+        assertEquals(1, executor.getRejected());
+        assertTrue(executor.toPrometheusText().contains("hotel_booking_queue_depth 1\n"));
+        assertTrue(executor.toPrometheusText().contains("hotel_booking_rejected_total 1\n"));
+        release.countDown();
+    }
+
+    @Test
+    public void testTimeoutAnswersAndDropsTheLateResult() throws Exception {
+        executor = new BookingExecutor(1, 10, 50);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext async = asyncRequest(request, response);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        executor.submit(request, response, () -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return View.of("/jsp/guest/reservationConfirmation.jsp").with("reservation", "ONL_1");
+        });
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).addListener(listener.capture());
+        listener.getValue().onTimeout(null);
+        release.countDown();
+
+        verify(async).dispatch(BookingExecutor.ERROR_PAGE);
+        verify(request).setAttribute("error", BookingExecutor.TIMEOUT_MESSAGE);
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        executor.shutdown(2000);
+        assertEquals(1, executor.getCompleted());
+        verify(async, never()).dispatch("/jsp/guest/reservationConfirmation.jsp");
+        verify(request, never()).setAttribute("reservation", "ONL_1");
+        assertEquals(1, executor.getTimedOut());
+    }
+
+    @Test
+    public void testBookingQueuedPastTheTimeoutIsNeverStarted() throws Exception {
+        executor = new BookingExecutor(1, 10, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        HttpServletRequest first = mock(HttpServletRequest.class);
+        HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+        asyncRequest(first, firstResponse);
+        executor.submit(first, firstResponse, () -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return View.of("/jsp/guest/reservationConfirmation.jsp");
+        });
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext async = asyncRequest(request, response);
+        AtomicInteger started = new AtomicInteger();
+        executor.submit(request, response, () -> {
+            started.incrementAndGet();
+            return View.of("/jsp/guest/reservationConfirmation.jsp");
+        });
+        assertEquals(1, executor.getQueueDepth());
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).addListener(listener.capture());
+        listener.getValue().onTimeout(null);
+        release.countDown();
+
+        verify(async).dispatch(BookingExecutor.ERROR_PAGE);
+        verify(request).setAttribute("error", BookingExecutor.NOT_STARTED_MESSAGE);
+        verify(request, never()).setAttribute("error", BookingExecutor.TIMEOUT_MESSAGE);
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        executor.shutdown(2000);
+        assertEquals(0, started.get());
+        assertEquals(1, executor.getCompleted());
+        assertEquals(1, executor.getTimedOut());
+        verify(async, never()).dispatch("/jsp/guest/reservationConfirmation.jsp");
+    }
+}
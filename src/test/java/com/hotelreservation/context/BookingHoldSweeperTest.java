@@ -0,0 +1,69 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.repository.ReservationRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingHoldSweeper
+ * Tests that a sweep releases the holds older than the lease, that a failed sweep does not
+ * stop the schedule, and that a zero interval disables the sweeper.
+ */
+public class BookingHoldSweeperTest {
+
+    private ReservationRepository reservationRepository;
+
+    @Before
+    public void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+    }
+
+    @Test
+    public void testSweepReleasesHoldsOlderThanTheLease() {
+        when(reservationRepository.releaseExpiredHolds("RESERVED", 900000)).thenReturn(2, 0);
+        BookingHoldSweeper sweeper = new BookingHoldSweeper(reservationRepository, "RESERVED", 60000, 900000);
+
+        assertEquals(2, sweeper.sweep());
+        assertEquals(0, sweeper.sweep());
+        assertEquals(2, sweeper.getReleased());
+    }
+
+    @Test
+    public void testFailedSweepIsSwallowed() {
+        when(reservationRepository.releaseExpiredHolds(anyString(), anyLong())).thenThrow(new IllegalStateException("pool closed"));
+        BookingHoldSweeper sweeper = new BookingHoldSweeper(reservationRepository, "RESERVED", 60000, 900000);
+
+        assertEquals(0, sweeper.sweep());
+        assertEquals(0, sweeper.getReleased());
+    }
+
+    @Test
+    public void testScheduledSweepRunsUntilStopped() throws InterruptedException {
+        BookingHoldSweeper sweeper = new BookingHoldSweeper(reservationRepository, "RESERVED", 20, 900000);
+
+        sweeper.start();
+        try {
+            verify(reservationRepository, timeout(2000).atLeast(2)).releaseExpiredHolds("RESERVED", 900000);
+        } finally {
+            sweeper.stop();
+        }
+        Thread.sleep(100);
+        clearInvocations(reservationRepository);
+        Thread.sleep(100);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    public void testZeroIntervalDisablesTheSweeper() throws InterruptedException {
+        BookingHoldSweeper sweeper = new BookingHoldSweeper(reservationRepository, "RESERVED", 0, 900000);
+
+        sweeper.start();
+        Thread.sleep(100);
+        sweeper.stop();
+
+        verifyNoInteractions(reservationRepository);
+    }
+}
@@ -0,0 +1,141 @@
+package com.hotelreservation.context;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.OutboxMessage;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+import com.hotelreservation.repository.NotificationOutboxRepository;
+import com.hotelreservation.service.impl.OnlineResService;
+import com.hotelreservation.service.impl.WalkInResService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationOutboxWorker
+ * Tests that a claimed batch is sent and completed in one call, that guests without an
+ * email address are skipped, that failed sends back off and finally give up, and that a
+ * poll drains the outbox batch by batch.
+ */
+public class NotificationOutboxWorkerTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 1);
+
+    private NotificationOutboxRepository outboxRepository;
+    private OnlineResService onlineResService;
+    private WalkInResService walkInResService;
+    private NotificationOutboxWorker worker;
+
+    @Before
+    public void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        onlineResService = mock(OnlineResService.class);
+        walkInResService = mock(WalkInResService.class);
+        worker = new NotificationOutboxWorker(outboxRepository, onlineResService, walkInResService,
+                1, 2, 500, 60000, 3, 1000, 3000);
+    }
+
+    private static OutboxMessage email(long id, String address, int attempts) {
+        Guest guest = new Guest(1, "Guest " + id, "NIC" + id, "0700000000", address, null);
+        OnlineReservation reservation = new OnlineReservation("ONL_" + id, 1, 1, CHECK_IN, CHECK_IN.plusDays(2), 200.0);
+        return new OutboxMessage(id, OutboxMessage.CONFIRMATION_EMAIL, attempts, reservation, guest,
+                new Room(1, "101", "SINGLE", 100.0, "RESERVED", true));
+    }
+
+    private static OutboxMessage receipt(long id) {
+        Guest guest = new Guest(2, "Walk-in " + id, "NIC" + id, "0700000000", null, null);
+        WalkInReservation reservation = new WalkInReservation("WLK_" + id, 2, 2, CHECK_IN, CHECK_IN.plusDays(1), 150.0);
+        return new OutboxMessage(id, OutboxMessage.RESERVATION_RECEIPT, 1, reservation, guest,
+                new Room(2, "102", "DOUBLE", 150.0, "RESERVED", true));
+    }
+
+    @Test
+    public void testBatchIsSentAndCompletedInOneCall() {
+        when(onlineResService.sendConfirmationEmail(any(), any())).thenReturn(true);
+        when(walkInResService.printReservationReceipt(any(), any(), any())).thenReturn(true);
+        List<OutboxMessage> batch = List.of(email(1, "guest@example.com", 1), receipt(2));
+
+        worker.dispatch(batch);
+
+        verify(onlineResService).sendConfirmationEmail(batch.get(0).getGuest(), batch.get(0).getReservation());
+        verify(walkInResService).printReservationReceipt(batch.get(1).getGuest(), batch.get(1).getReservation(), batch.get(1).getRoom());
+        verify(outboxRepository).completeBatch(batch);
+        assertEquals(OutboxMessage.SENT, batch.get(0).getStatus());
+        assertEquals(OutboxMessage.SENT, batch.get(1).getStatus());
+        assertEquals(2, worker.getSent());
+        assertEquals(1, worker.getBatches());
+    }
+
+    @Test
+    public void testGuestWithoutEmailIsSkipped() {
+        OutboxMessage message = email(1, "", 1);
+
+        worker.dispatch(List.of(message));
+
+        verifyNoInteractions(onlineResService);
+        assertEquals(OutboxMessage.SKIPPED, message.getStatus());
+        assertEquals(NotificationOutboxWorker.NO_EMAIL, message.getLastError());
+        assertEquals(1, worker.getSkipped());
+    }
+
+    @Test
+    public void testFailedSendBacksOffThenGivesUp() {
+        when(onlineResService.sendConfirmationEmail(any(), any())).thenReturn(false);
+        OutboxMessage first = email(1, "guest@example.com", 1);
+        OutboxMessage last = email(2, "guest@example.com", 3);
+        long before = System.currentTimeMillis();
+
+        worker.dispatch(List.of(first, last));
+
+        assertEquals(OutboxMessage.PENDING, first.getStatus());
+        assertEquals(NotificationOutboxWorker.NOT_DELIVERED, first.getLastError());
+        assertTrue(first.getNextAttemptAt() >= before + 1000);
+        assertTrue(first.getNextAttemptAt() <= System.currentTimeMillis() + 1000);
+        assertEquals(OutboxMessage.FAILED, last.getStatus());
+        assertEquals(0, last.getNextAttemptAt());
+        assertEquals(1, worker.getRetried());
+        assertEquals(1, worker.getFailed());
+        assertEquals(0, worker.getSent());
+    }
+
+    @Test
+    public void testBackoffDoublesUpToTheMaximum() {
+        assertEquals(1000, worker.backoff(1));
+        assertEquals(2000, worker.backoff(2));
+        assertEquals(3000, worker.backoff(3));
+        assertEquals(3000, worker.backoff(60));
+    }
+
+    @Test
+    public void testExceptionDuringSendIsRetried() {
+        when(walkInResService.printReservationReceipt(any(), any(), any())).thenThrow(new IllegalStateException("printer offline"));
+        OutboxMessage message = receipt(1);
+
+        worker.dispatch(List.of(message));
+
+        assertEquals(OutboxMessage.PENDING, message.getStatus());
+        assertEquals("printer offline", message.getLastError());
+        verify(outboxRepository).completeBatch(List.of(message));
+    }
+
+    @Test
+    public void testDrainClaimsUntilTheOutboxIsEmpty() {
+        when(onlineResService.sendConfirmationEmail(any(), any())).thenReturn(true);
+        when(outboxRepository.claimBatch(2, 60000)).thenReturn(
+                new ArrayList<>(List.of(email(1, "a@example.com", 1), email(2, "b@example.com", 1))),
+                new ArrayList<>(List.of(email(3, "c@example.com", 1))));
+
+        assertEquals(3, worker.drain());
+        verify(outboxRepository, times(2)).claimBatch(2, 60000);
+        verify(outboxRepository, times(2)).completeBatch(any());
+        assertTrue(worker.toPrometheusText().contains("hotel_outbox_sent_total 3\n"));
+    }
+}
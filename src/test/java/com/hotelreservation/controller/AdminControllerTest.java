@@ -1,12 +1,17 @@
 package com.hotelreservation.controller;
 
 import com.hotelreservation.dto.UserDTO;
+import com.hotelreservation.entity.SeasonalPricing;
 import com.hotelreservation.service.PaymentService;
 import com.hotelreservation.service.ReportService;
+import com.hotelreservation.service.SeasonalPricingService;
 import com.hotelreservation.service.UserService;
 import org.junit.Test;
 import org.junit.Before;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -189,5 +194,43 @@ public class AdminControllerTest {
 
         assertFalse(result.isSuccess());
     }
-}
 
+    // =============================================
+    //  Seasonal Pricing Bulk Toggle Tests
+    // =============================================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testToggleSeasonsUpdatesSelectedInOneBatch() {
+        SeasonalPricingService seasonService = mock(SeasonalPricingService.class);
+        AdminController seasonController = new AdminController(mockUserService, mockReportService, mockPaymentService, seasonService);
+        LocalDate start = LocalDate.of(2026, 12, 1);
+        List<SeasonalPricing> seasons = List.of(
+                new SeasonalPricing(1, "Winter", start, start.plusDays(30), 1.5, false),
+                new SeasonalPricing(2, "Spring", start.plusDays(90), start.plusDays(120), 1.2, false),
+                new SeasonalPricing(3, "Summer", start.plusDays(180), start.plusDays(240), 1.8, false));
+        when(seasonService.getAllSeasons()).thenReturn(seasons);
+        when(seasonService.updateSeasons(anyList())).thenReturn(2);
+
+        var result = seasonController.toggleSeasons(List.of(1, 3), true);
+
+        assertTrue(result.isSuccess());
+        assertEquals(Integer.valueOf(2), result.getData());
+        assertTrue(seasons.get(0).isActive());
+        assertFalse(seasons.get(1).isActive());
+        assertTrue(seasons.get(2).isActive());
+        verify(seasonService).updateSeasons(argThat(list -> list.size() == 2));
+        verify(seasonService, never()).updateSeason(any());
+    }
+
+    @Test
+    public void testToggleSeasonsNoneSelected() {
+        SeasonalPricingService seasonService = mock(SeasonalPricingService.class);
+        AdminController seasonController = new AdminController(mockUserService, mockReportService, mockPaymentService, seasonService);
+
+        var result = seasonController.toggleSeasons(List.of(), false);
+
+        assertFalse(result.isSuccess());
+        verify(seasonService, never()).updateSeasons(anyList());
+    }
+}
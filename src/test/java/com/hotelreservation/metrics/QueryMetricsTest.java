@@ -0,0 +1,82 @@
+package com.hotelreservation.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LatencyHistogram and QueryMetrics
+ * Tests bucket precision, percentiles, per-statement counters and Prometheus output.
+ */
+public class QueryMetricsTest {
+
+    private QueryMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new QueryMetrics(true);
+    }
+
+    @Test
+    public void testBucketsCoverValuesWithinThreePercent() {
+        for (long value : new long[]{0, 1, 31, 32, 33, 1_000, 123_456, 9_876_543_210L}) {
+            long upper = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assertTrue(value + " above bucket", upper >= value);
+            assertTrue(value + " bucket too wide", upper - value <= Math.max(1, value / 32));
+        }
+    }
+
+    @Test
+    public void testPercentilesAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.0, histogram.getPercentileNanos(50) / 1e6, 50 * 0.04);
+        assertEquals(99.0, histogram.getPercentileNanos(99) / 1e6, 99 * 0.04);
+        assertEquals(100_000_000L, histogram.getMaxNanos());
+        assertEquals(histogram.getMaxNanos(), histogram.getPercentileNanos(100));
+        assertEquals(50.5, histogram.getMeanNanos() / 1e6, 0.001);
+    }
+
+    @Test
+    public void testStatementsKeyedByDaoAndSql() {
+        long start = System.nanoTime();
+        metrics.recordSuccess("RoomDAOImpl", "SELECT * FROM rooms", 12, start);
+        metrics.recordSuccess("RoomDAOImpl", "SELECT * FROM rooms", 3, start);
+        metrics.recordError("RoomDAOImpl", "SELECT * FROM rooms", start);
+        metrics.recordSuccess("UserDAOImpl", "SELECT * FROM rooms", 1, start);
+
+        List<StatementStats> statements = metrics.getStatements();
+        assertEquals(2, statements.size());
+        StatementStats rooms = statements.stream().filter(s -> s.getDao().equals("RoomDAOImpl")).findFirst().get();
+        assertEquals(3, rooms.getCalls());
+        assertEquals(1, rooms.getErrors());
+        assertEquals(15, rooms.getRows());
+
+        metrics.reset();
+        assertEquals(0, rooms.getCalls());
+    }
+
+    @Test
+    public void testPrometheusText() {
+        metrics.recordSuccess("GuestRepositoryImpl", "SELECT \"x\" FROM guests WHERE nic = ?", 1, System.nanoTime());
+        String text = metrics.toPrometheusText();
+        assertTrue(text.contains("# TYPE hotel_db_query_duration_seconds summary"));
+        assertTrue(text.contains("hotel_db_query_duration_seconds_count{dao=\"GuestRepositoryImpl\","
+                + "statement=\"SELECT \\\"x\\\" FROM guests WHERE nic = ?\"} 1"));
+        assertTrue(text.contains(",quantile=\"0.99\"} "));
+        assertTrue(text.contains("hotel_db_query_rows_total{dao=\"GuestRepositoryImpl\""));
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        metrics.setEnabled(false);
+        metrics.recordSuccess("RoomDAOImpl", "SELECT 1", 1, System.nanoTime());
+        assertTrue(metrics.getStatements().isEmpty());
+    }
+}
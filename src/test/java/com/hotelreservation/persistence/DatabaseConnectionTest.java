@@ -0,0 +1,103 @@
+package com.hotelreservation.persistence;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DatabaseConnection
+ * Tests that the pool and driver profile is read from properties (no database needed) and
+ * that a closed pool stays closed (in-memory H2).
+ */
+public class DatabaseConnectionTest {
+
+    @Test
+    public void testDriverPropertiesPassedThrough() {
+        Properties config = new Properties();
+        config.setProperty("db.url", "jdbc:mysql://localhost:3306/test");
+        config.setProperty("db.pool.size.max", "8");
+        config.setProperty("db.pool.timeout", "5000");
+        config.setProperty("db.pool.test.query", "");
+        config.setProperty("db.datasource.cachePrepStmts", "true");
+        config.setProperty("db.datasource.prepStmtCacheSize", " 250 ");
+
+        HikariConfig pool = DatabaseConnection.buildPoolConfig(config);
+
+        assertEquals(8, pool.getMaximumPoolSize());
+        assertEquals(5000, pool.getConnectionTimeout());
+        assertNull(pool.getConnectionTestQuery());
+        assertEquals("true", pool.getDataSourceProperties().getProperty("cachePrepStmts"));
+        assertEquals("250", pool.getDataSourceProperties().getProperty("prepStmtCacheSize"));
+        assertEquals(2, pool.getDataSourceProperties().size());
+    }
+
+    @Test
+    public void testTestQueryWhenConfigured() {
+        Properties config = new Properties();
+        config.setProperty("db.url", "jdbc:mysql://localhost:3306/test");
+        config.setProperty("db.pool.test.query", "SELECT 1");
+
+        HikariConfig pool = DatabaseConnection.buildPoolConfig(config);
+
+        assertEquals("SELECT 1", pool.getConnectionTestQuery());
+        assertTrue(pool.getDataSourceProperties().isEmpty());
+    }
+
+    @Test
+    public void testReplicaConfigOverridesPrimarySettings() {
+        Properties config = new Properties();
+        config.setProperty("db.url", "jdbc:mysql://primary:3306/hotel");
+        config.setProperty("db.username", "app");
+        config.setProperty("db.pool.size.max", "20");
+        config.setProperty("db.datasource.cachePrepStmts", "true");
+        config.setProperty("db.replica.url", "jdbc:mysql://replica:3306/hotel");
+        config.setProperty("db.replica.pool.size.max", "6");
+        config.setProperty("metrics.enabled", "true");
+
+        Properties replica = DatabaseConnection.replicaConfig(config);
+
+        assertEquals("jdbc:mysql://replica:3306/hotel", replica.getProperty("db.url"));
+        assertEquals("app", replica.getProperty("db.username"));
+        assertEquals("6", replica.getProperty("db.pool.size.max"));
+        assertEquals("true", replica.getProperty("db.datasource.cachePrepStmts"));
+        assertNull(replica.getProperty("db.replica.url"));
+        assertNull(replica.getProperty("metrics.enabled"));
+    }
+
+    @Test
+    public void testClosedPoolIsNotReopened() throws SQLException {
+        Properties config = new Properties();
+        config.setProperty("db.url", "jdbc:h2:mem:closed_pool;DB_CLOSE_DELAY=-1");
+        config.setProperty("db.driver", "org.h2.Driver");
+        config.setProperty("db.username", "sa");
+        config.setProperty("db.password", "");
+        config.setProperty("db.pool.size.min", "1");
+        config.setProperty("db.pool.size.max", "2");
+        DatabaseConnection database = new DatabaseConnection(config);
+        try (Connection connection = database.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        database.close();
+
+        assertFalse(database.isActive());
+        try {
+            database.getConnection();
+            fail("Expected SQLException after close");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage().contains("shut down"));
+        }
+        try {
+            database.getReadConnection();
+            fail("Expected SQLException after close");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage().contains("shut down"));
+        }
+        assertFalse(database.isActive());
+    }
+}
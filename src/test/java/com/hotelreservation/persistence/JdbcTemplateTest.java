@@ -0,0 +1,166 @@
+package com.hotelreservation.persistence;
+
+import com.hotelreservation.exception.DataAccessException;
+import com.hotelreservation.util.QueryLogger;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JdbcTemplate
+ * Tests binding, row mapping, streaming setup, error translation and transaction cleanup
+ * against mocked JDBC objects.
+ */
+public class JdbcTemplateTest {
+
+    private Connection conn;
+    private PreparedStatement stmt;
+    private ResultSet rs;
+    private JdbcTemplate jdbc;
+
+    @Before
+    public void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        stmt = mock(PreparedStatement.class);
+        rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(stmt);
+        when(conn.getAutoCommit()).thenReturn(true);
+        when(stmt.executeQuery()).thenReturn(rs);
+        jdbc = new JdbcTemplate("TestDAO", () -> conn, () -> conn, 5, 100, 2);
+    }
+
+    @Test
+    public void testQueryBindsParamsAndMapsRows() throws SQLException {
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getString("name")).thenReturn("a", "b");
+
+        List<String> names = jdbc.query("SELECT name FROM t WHERE d = ? AND x = ? AND n = ?",
+                row -> row.getString("name"), LocalDate.of(2026, 3, 1), null, 7);
+
+        assertEquals(List.of("a", "b"), names);
+        verify(stmt).setDate(1, Date.valueOf(LocalDate.of(2026, 3, 1)));
+        verify(stmt).setNull(2, Types.NULL);
+        verify(stmt).setObject(3, 7);
+        verify(stmt).setQueryTimeout(5);
+        verify(conn).close();
+    }
+
+    @Test
+    public void testQueryOneLimitsRowsAndStreamSetsFetchSize() throws SQLException {
+        when(rs.next()).thenReturn(false);
+        assertEquals(Optional.empty(), jdbc.queryOne("SELECT 1", row -> 1));
+        verify(stmt).setMaxRows(1);
+
+        jdbc.stream("SELECT * FROM t", row -> { });
+        verify(conn).prepareStatement("SELECT * FROM t", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(stmt).setFetchSize(100);
+    }
+
+    @Test
+    public void testStreamUsesRowByRowFetchOnMySql() throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+        when(conn.getMetaData()).thenReturn(metaData);
+        when(rs.next()).thenReturn(false);
+
+        jdbc.stream("SELECT * FROM t", row -> { });
+        verify(stmt).setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void testSqlExceptionTranslated() throws SQLException {
+        when(stmt.executeUpdate()).thenThrow(new SQLException("Duplicate entry", "23000"));
+
+        try {
+            jdbc.update("INSERT INTO t (id) VALUES (?)", 1);
+            fail("Expected DataAccessException");
+        } catch (DataAccessException e) {
+            assertTrue(e.isDuplicateKey());
+            assertEquals("INSERT INTO t (id) VALUES (?)", e.getSql());
+        }
+        verify(conn).close();
+    }
+
+    @Test
+    public void testTransactionRollsBackUnlessCommitted() throws SQLException {
+        try (JdbcTemplate.Transaction tx = jdbc.begin()) {
+            tx.update("UPDATE t SET x = ?", 1);
+        }
+        verify(conn).setAutoCommit(false);
+        verify(conn).rollback();
+        verify(conn, never()).commit();
+        verify(conn).setAutoCommit(true);
+        verify(conn).close();
+    }
+
+    @Test
+    public void testSecretBoundButMaskedInLog() throws SQLException {
+        QueryLogger.getInstance().setEnabled(true);
+        jdbc.update("UPDATE users SET password_hash = ?", JdbcTemplate.secret("hash"));
+
+        verify(stmt).setObject(1, "hash");
+        QueryLogger.QueryEntry entry = QueryLogger.getInstance().getEntries().get(0);
+        assertEquals("[****]", entry.params);
+    }
+
+    @Test
+    public void testReplicaReadsFromReadPool() throws SQLException {
+        // Two in-memory H2 databases stand in for the primary and a replica that has not caught up
+        String primaryUrl = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+        String replicaUrl = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+        JdbcTemplate h2 = new JdbcTemplate("TestDAO", () -> DriverManager.getConnection(primaryUrl),
+                () -> DriverManager.getConnection(replicaUrl), 5, 100, 2);
+        h2.update("CREATE TABLE rooms (id INT PRIMARY KEY)");
+        h2.replica().update("CREATE TABLE rooms (id INT PRIMARY KEY)");
+
+        h2.update("INSERT INTO rooms (id) VALUES (?)", 101);
+
+        assertEquals(List.of(101), h2.query("SELECT id FROM rooms", row -> row.getInt("id")));
+        assertEquals(List.of(), h2.replica().query("SELECT id FROM rooms", row -> row.getInt("id")));
+    }
+
+    @Test
+    public void testBatchInsertAndUpdateAcrossChunks() throws SQLException {
+        // Batch size 2: five rows go out as three executeBatch calls in one transaction
+        String url = "jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1";
+        JdbcTemplate h2 = new JdbcTemplate("TestDAO", () -> DriverManager.getConnection(url),
+                () -> DriverManager.getConnection(url), 5, 100, 2);
+        h2.update("CREATE TABLE rooms (id INT AUTO_INCREMENT PRIMARY KEY, number VARCHAR(10) UNIQUE, status VARCHAR(20))");
+
+        List<Object[]> rows = List.of(new Object[] {"101", "AVAILABLE"}, new Object[] {"102", "AVAILABLE"},
+                new Object[] {"103", "AVAILABLE"}, new Object[] {"104", "AVAILABLE"}, new Object[] {"105", "AVAILABLE"});
+        int[] keys = h2.batchInsert("INSERT INTO rooms (number, status) VALUES (?, ?)", rows);
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, keys);
+
+        int[] counts = h2.batchUpdate("UPDATE rooms SET status = ? WHERE id = ?",
+                List.of(new Object[] {"UNDER_MAINTENANCE", 2}, new Object[] {"UNDER_MAINTENANCE", 4}, new Object[] {"UNDER_MAINTENANCE", 9}));
+        assertArrayEquals(new int[] {1, 1, 0}, counts);
+        assertEquals(List.of(2, 4), h2.query("SELECT id FROM rooms WHERE status = ? ORDER BY id",
+                row -> row.getInt("id"), "UNDER_MAINTENANCE"));
+
+        // A failing row in the last chunk rolls back the chunks already sent
+        try {
+            h2.batchInsert("INSERT INTO rooms (number, status) VALUES (?, ?)",
+                    List.of(new Object[] {"201", "AVAILABLE"}, new Object[] {"202", "AVAILABLE"}, new Object[] {"101", "AVAILABLE"}));
+            fail("Expected DataAccessException");
+        } catch (DataAccessException e) {
+            assertTrue(e.isDuplicateKey());
+        }
+        assertEquals(Optional.of(5), h2.queryOne("SELECT COUNT(*) AS cnt FROM rooms", row -> row.getInt("cnt")));
+    }
+}
@@ -0,0 +1,101 @@
+package com.hotelreservation.persistence;
+
+import com.hotelreservation.metrics.LatencyHistogram;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * PoolProfileBenchmark - per-query latency with and without the pool/driver profile
+ *
+ * Needs the MySQL database from application.properties with schema.sql and seed data
+ * loaded. Opens two pools from the same settings: "baseline" drops every db.datasource.*
+ * property and validates with SELECT 1 (the configuration before the profile existed),
+ * "tuned" uses application.properties as is. Each pool runs the RoomDAOImpl.findById and
+ * findAvailableByDateRange statements through JdbcTemplate, borrowing a connection per
+ * call like the DAOs do, and prints p50 / p99 / mean per path.
+ *
+ * Not a unit test (needs a live database). Run after mvn test-compile:
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.hotelreservation.persistence.PoolProfileBenchmark [iterations]
+ */
+public class PoolProfileBenchmark {
+    // Same statements as RoomDAOImpl
+    private static final String FIND_BY_ID_SQL =
+            "SELECT id, number, type, base_price, status, is_clean FROM rooms WHERE id = ?";
+    private static final String AVAILABILITY_SQL =
+            "SELECT r.id, r.number, r.type, r.base_price, r.status, r.is_clean FROM rooms r " +
+            "WHERE r.status = 'AVAILABLE' AND r.is_clean = TRUE AND r.id NOT IN (" +
+            "  SELECT res.room_id FROM reservations res " +
+            "  WHERE res.status NOT IN ('CANCELLED','CHECKED_OUT') " +
+            "  AND res.check_in_date < ? AND res.check_out_date > ?" +
+            ")";
+
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        Properties tuned = new Properties();
+        try (InputStream input = PoolProfileBenchmark.class.getClassLoader().getResourceAsStream("application.properties")) {
+            tuned.load(input);
+        }
+        Properties baseline = new Properties();
+        for (String key : tuned.stringPropertyNames()) {
+            if (!key.startsWith("db.datasource.")) {
+                baseline.setProperty(key, tuned.getProperty(key));
+            }
+        }
+        baseline.setProperty("db.pool.test.query", "SELECT 1");
+
+        System.out.printf("%d iterations per path%n%n", iterations);
+        System.out.printf("%-9s %-13s %10s %10s %10s%n", "profile", "path", "p50 (us)", "p99 (us)", "mean (us)");
+        Map<String, Double> before = run("baseline", baseline, iterations);
+        Map<String, Double> after = run("tuned", tuned, iterations);
+
+        System.out.println();
+        for (String path : before.keySet()) {
+            System.out.printf("%-13s mean %.1f us -> %.1f us (%.1f%% lower)%n", path, before.get(path), after.get(path),
+                    100.0 * (before.get(path) - after.get(path)) / before.get(path));
+        }
+    }
+
+    /**
+     * Time both paths on a fresh pool
+     * @return mean microseconds per path
+     */
+    private static Map<String, Double> run(String profile, Properties config, int iterations) {
+        Map<String, Double> means = new LinkedHashMap<>();
+        try (HikariDataSource dataSource = new HikariDataSource(DatabaseConnection.buildPoolConfig(config))) {
+            JdbcTemplate jdbc = new JdbcTemplate("PoolProfileBenchmark", dataSource::getConnection, dataSource::getConnection, 0, Integer.MIN_VALUE, 500);
+            int roomId = jdbc.queryOne("SELECT MIN(id) AS id FROM rooms", rs -> rs.getInt("id")).orElse(1);
+            LocalDate checkIn = LocalDate.now().plusDays(30);
+            LocalDate checkOut = checkIn.plusDays(3);
+
+            Runnable findById = () -> jdbc.queryOne(FIND_BY_ID_SQL, rs -> rs.getInt("id"), roomId);
+            Runnable availability = () -> jdbc.query(AVAILABILITY_SQL, rs -> rs.getInt("id"), checkOut, checkIn);
+            means.put("findById", measure(profile, "findById", findById, iterations));
+            means.put("availability", measure(profile, "availability", availability, iterations));
+        }
+        return means;
+    }
+
+    private static double measure(String profile, String path, Runnable query, int iterations) {
+        for (int i = 0; i < iterations / 5; i++) {
+            query.run(); // warm-up: JIT, pool fill, statement caches
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.run();
+            histogram.record(System.nanoTime() - start);
+        }
+        double mean = histogram.getMeanNanos() / 1000.0;
+        System.out.printf("%-9s %-13s %10.1f %10.1f %10.1f%n", profile, path,
+                histogram.getPercentileNanos(50) / 1000.0, histogram.getPercentileNanos(99) / 1000.0, mean);
+        return mean;
+    }
+}
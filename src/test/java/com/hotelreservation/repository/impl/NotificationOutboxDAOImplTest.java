@@ -0,0 +1,91 @@
+package com.hotelreservation.repository.impl;
+
+import com.hotelreservation.entity.OutboxMessage;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.hotelreservation.repository.impl.H2TestDatabase.*;
+import static org.junit.Assert.*;
+
+/**
+ * Integration tests for NotificationOutboxDAOImpl.claimBatch
+ * Runs against schema.sql in an in-memory H2 database in MySQL mode and tests that only
+ * messages of confirmed bookings are claimed and loaded, and that a claimed message whose
+ * guest is gone is marked FAILED instead of being claimed again on the next poll.
+ */
+public class NotificationOutboxDAOImplTest {
+
+    private NotificationOutboxDAOImpl outboxDAO;
+
+    @BeforeClass
+    public static void createDatabase() throws IOException, SQLException {
+        H2TestDatabase.create("notification_outbox_dao");
+    }
+
+    @AfterClass
+    public static void dropDatabase() {
+        H2TestDatabase.drop();
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        execute("DELETE FROM notification_outbox");
+        execute("DELETE FROM reservations");
+        execute("DELETE FROM rooms");
+        execute("DELETE FROM guests");
+        execute("INSERT INTO guests (id, name, nic, phone, email) VALUES (1, 'Jane Doe', 'NIC1', '0771234567', 'jane@example.com')");
+        execute("INSERT INTO rooms (id, number, type, base_price, status, is_clean) VALUES (7, '107', 'SINGLE', 100.00, 'RESERVED', TRUE)");
+        outboxDAO = new NotificationOutboxDAOImpl();
+    }
+
+    private static void insertBooking(String id, int guestId, String status) throws SQLException {
+        execute("INSERT INTO reservations (id, guest_id, room_id, check_in_date, check_out_date, total_amount, status,"
+                + " reservation_type, payment_method) VALUES ('" + id + "', " + guestId + ", 7, DATE '2026-07-01',"
+                + " DATE '2026-07-04', 300.00, '" + status + "', 'ONLINE', 'ONLINE_GATEWAY')");
+        execute("INSERT INTO notification_outbox (reservation_id, kind, next_attempt_at)"
+                + " VALUES ('" + id + "', 'CONFIRMATION_EMAIL', TIMESTAMP '2020-01-01 00:00:00')");
+    }
+
+    @Test
+    public void testClaimBatchLoadsConfirmedBookingsOnly() throws SQLException {
+        insertBooking("ONL_1", 1, "CONFIRMED");
+        insertBooking("ONL_2", 1, "PENDING");
+
+        List<OutboxMessage> messages = outboxDAO.claimBatch(10, 60000);
+
+        assertEquals(1, messages.size());
+        assertEquals("ONL_1", messages.get(0).getReservation().getId());
+        assertEquals("Jane Doe", messages.get(0).getGuest().getName());
+        assertEquals("107", messages.get(0).getRoom().getNumber());
+        assertNotNull(messages.get(0).getClaimedBy());
+        assertNull(queryString("SELECT claimed_by FROM notification_outbox WHERE reservation_id = 'ONL_2'"));
+    }
+
+    @Test
+    public void testClaimedMessageWithoutGuestIsMarkedFailed() throws SQLException {
+        insertBooking("ONL_1", 1, "CONFIRMED");
+        // A database created before the foreign keys can hold a booking whose guest was deleted
+        execute("SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            insertBooking("ONL_ORPHAN", 99, "CONFIRMED");
+        } finally {
+            execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+
+        List<OutboxMessage> messages = outboxDAO.claimBatch(10, 0);
+
+        assertEquals(1, messages.size());
+        assertEquals("ONL_1", messages.get(0).getReservation().getId());
+        assertEquals("FAILED", queryString("SELECT status FROM notification_outbox WHERE reservation_id = 'ONL_ORPHAN'"));
+        assertNull(queryString("SELECT claimed_by FROM notification_outbox WHERE reservation_id = 'ONL_ORPHAN'"));
+
+        outboxDAO.claimBatch(10, 0);
+        assertEquals(1, count("SELECT attempts FROM notification_outbox WHERE reservation_id = 'ONL_ORPHAN'"));
+    }
+}
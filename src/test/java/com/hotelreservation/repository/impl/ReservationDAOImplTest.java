@@ -0,0 +1,236 @@
+package com.hotelreservation.repository.impl;
+
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.WalkInReservation;
+import com.hotelreservation.exception.PaymentException;
+import com.hotelreservation.exception.RoomNotAvailableException;
+import com.hotelreservation.repository.PaymentStep;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hotelreservation.repository.impl.H2TestDatabase.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the ReservationDAOImpl booking path
+ * Runs against schema.sql in an in-memory H2 database in MySQL mode and tests that the
+ * room guard and the room_night_claims primary key let only one of two overlapping
+ * bookings through, that a declined payment leaves no reservation, claim or outbox row,
+ * that cancelling a reservation releases its nights, and that only holds older than the
+ * lease are released by releaseExpiredHolds.
+ */
+public class ReservationDAOImplTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 7, 4);
+
+    private ReservationDAOImpl reservationDAO;
+
+    @BeforeClass
+    public static void createDatabase() throws IOException, SQLException {
+        H2TestDatabase.create("reservation_dao");
+    }
+
+    @AfterClass
+    public static void dropDatabase() {
+        H2TestDatabase.drop();
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        execute("DELETE FROM payment_transactions");
+        execute("DELETE FROM notification_outbox");
+        execute("DELETE FROM room_night_claims");
+        execute("DELETE FROM reservations");
+        execute("DELETE FROM rooms");
+        execute("DELETE FROM guests");
+        execute("INSERT INTO guests (id, name, nic, phone, email) VALUES (1, 'Jane Doe', 'NIC1', '0771234567', 'jane@example.com')");
+        execute("INSERT INTO rooms (id, number, type, base_price, status, is_clean) VALUES (7, '107', 'SINGLE', 100.00, 'AVAILABLE', TRUE)");
+        reservationDAO = new ReservationDAOImpl();
+    }
+
+    private static Reservation booking(String id, LocalDate checkIn, LocalDate checkOut) {
+        OnlineReservation reservation = new OnlineReservation(id, 1, 7, checkIn, checkOut, 300.00);
+        reservation.setPaymentMethod("ONLINE_GATEWAY");
+        reservation.confirm();
+        return reservation;
+    }
+
+    private static PaymentStep approved(String transactionId) throws PaymentException {
+        PaymentStep payment = mock(PaymentStep.class);
+        when(payment.charge(any())).thenReturn(transactionId);
+        return payment;
+    }
+
+    @Test
+    public void testBookingHoldsRoomNightsAndNotification() throws Exception {
+        Reservation saved = reservationDAO.saveBooking(booking("ONL_1", CHECK_IN, CHECK_OUT), "RESERVED", approved("TXN-1"));
+
+        assertNotNull(saved);
+        assertEquals("CONFIRMED", queryString("SELECT status FROM reservations WHERE id = 'ONL_1'"));
+        assertEquals("RESERVED", roomStatus());
+        assertEquals(3, count("SELECT COUNT(*) FROM room_night_claims WHERE reservation_id = 'ONL_1'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM notification_outbox WHERE reservation_id = 'ONL_1'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM payment_transactions WHERE transaction_id = 'TXN-1'"));
+    }
+
+    @Test
+    public void testOverlappingBookingsLetExactlyOneThrough() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<Reservation>> results = new ArrayList<>();
+            // 1-4 July and 2-5 July share two nights
+            for (Reservation reservation : List.of(booking("ONL_A", CHECK_IN, CHECK_OUT),
+                    booking("ONL_B", CHECK_IN.plusDays(1), CHECK_OUT.plusDays(1)))) {
+                PaymentStep payment = approved("TXN-" + reservation.getId());
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return reservationDAO.saveBooking(reservation, "RESERVED", payment);
+                }));
+            }
+            go.countDown();
+
+            int booked = 0;
+            int rejected = 0;
+            for (Future<Reservation> result : results) {
+                try {
+                    assertNotNull(result.get(30, TimeUnit.SECONDS));
+                    booked++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof RoomNotAvailableException);
+                    rejected++;
+                }
+            }
+            assertEquals(1, booked);
+            assertEquals(1, rejected);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM reservations"));
+        assertEquals(1, count("SELECT COUNT(*) FROM notification_outbox"));
+        assertEquals(1, count("SELECT COUNT(DISTINCT reservation_id) FROM room_night_claims"));
+    }
+
+    @Test
+    public void testClaimedNightIsRejectedAndRolledBack() throws Exception {
+        // An earlier stay still claims 2-3 July while the room itself is AVAILABLE
+        WalkInReservation earlier = new WalkInReservation("WLK_1", 1, 7, CHECK_IN.plusDays(1), CHECK_OUT.minusDays(1), 100.00);
+        earlier.setPaymentMethod("POS");
+        earlier.confirm();
+        assertEquals(1, reservationDAO.saveAll(new ArrayList<>(List.of(earlier))).size());
+        PaymentStep payment = approved("TXN-2");
+
+        try {
+            reservationDAO.saveBooking(booking("ONL_2", CHECK_IN, CHECK_OUT), "RESERVED", payment);
+            fail("Expected RoomNotAvailableException");
+        } catch (RoomNotAvailableException e) {
+            assertTrue(e.getMessage().contains("already booked"));
+        }
+
+        verify(payment, never()).charge(any());
+        assertEquals(0, count("SELECT COUNT(*) FROM reservations WHERE id = 'ONL_2'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM notification_outbox"));
+        assertEquals(1, count("SELECT COUNT(*) FROM room_night_claims"));
+        assertEquals("AVAILABLE", roomStatus());
+    }
+
+    @Test
+    public void testDeclinedPaymentLeavesNothingBehind() throws Exception {
+        PaymentStep payment = mock(PaymentStep.class);
+        when(payment.charge(any())).thenThrow(new PaymentException("Payment declined"));
+
+        try {
+            reservationDAO.saveBooking(booking("ONL_3", CHECK_IN, CHECK_OUT), "RESERVED", payment);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals("Payment declined", e.getMessage());
+        }
+
+        assertEquals(0, count("SELECT COUNT(*) FROM reservations"));
+        assertEquals(0, count("SELECT COUNT(*) FROM room_night_claims"));
+        assertEquals(0, count("SELECT COUNT(*) FROM notification_outbox"));
+        assertEquals(0, count("SELECT COUNT(*) FROM payment_transactions"));
+        assertEquals("AVAILABLE", roomStatus());
+        // The room can be booked again straight away
+        assertNotNull(reservationDAO.saveBooking(booking("ONL_4", CHECK_IN, CHECK_OUT), "RESERVED", approved("TXN-4")));
+    }
+
+    @Test
+    public void testCancellingReleasesTheNightClaims() throws Exception {
+        Reservation reservation = reservationDAO.saveBooking(booking("ONL_5", CHECK_IN, CHECK_OUT), "RESERVED", approved("TXN-5"));
+        reservation.cancel();
+
+        reservationDAO.update(reservation);
+
+        assertEquals("CANCELLED", queryString("SELECT status FROM reservations WHERE id = 'ONL_5'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM room_night_claims"));
+    }
+
+    @Test
+    public void testExpiredHoldIsReleased() throws Exception {
+        execute("INSERT INTO rooms (id, number, type, base_price, status, is_clean) VALUES (8, '108', 'SINGLE', 100.00, 'RESERVED', TRUE)");
+        execute("UPDATE rooms SET status = 'RESERVED' WHERE id = 7");
+        // A hold whose process died an hour ago, one still waiting on its payment, and an old PENDING booking with no hold
+        insertPending("ONL_OLD", 7, CHECK_IN, "DATEADD(HOUR, -1, CURRENT_TIMESTAMP)", true);
+        insertPending("ONL_NEW", 8, CHECK_IN, "CURRENT_TIMESTAMP", true);
+        insertPending("ONL_LEGACY", 7, CHECK_OUT, "DATEADD(DAY, -30, CURRENT_TIMESTAMP)", false);
+
+        assertEquals(1, reservationDAO.releaseExpiredHolds("RESERVED", 15 * 60 * 1000));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM reservations WHERE id = 'ONL_OLD'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM room_night_claims WHERE reservation_id = 'ONL_OLD'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM notification_outbox WHERE reservation_id = 'ONL_OLD'"));
+        assertEquals("AVAILABLE", roomStatus());
+        assertEquals(1, count("SELECT COUNT(*) FROM notification_outbox WHERE reservation_id = 'ONL_NEW'"));
+        assertEquals("RESERVED", queryString("SELECT status FROM rooms WHERE id = 8"));
+        assertEquals(1, count("SELECT COUNT(*) FROM reservations WHERE id = 'ONL_LEGACY'"));
+        assertEquals(0, reservationDAO.releaseExpiredHolds("RESERVED", 15 * 60 * 1000));
+    }
+
+    @Test
+    public void testConfirmedBookingIsNotReleased() throws Exception {
+        reservationDAO.saveBooking(booking("ONL_6", CHECK_IN, CHECK_OUT), "RESERVED", approved("TXN-6"));
+
+        assertEquals(0, reservationDAO.releaseExpiredHolds("RESERVED", 0));
+
+        assertEquals("RESERVED", roomStatus());
+        assertEquals(3, count("SELECT COUNT(*) FROM room_night_claims WHERE reservation_id = 'ONL_6'"));
+    }
+
+    /**
+     * Insert a one-night PENDING reservation with its claim, created at the given SQL time;
+     * with its notification queued it is a hold as holdBooking leaves it
+     */
+    private static void insertPending(String id, int roomId, LocalDate checkIn, String createdAt,
+                                      boolean queueNotification) throws SQLException {
+        execute("INSERT INTO reservations (id, guest_id, room_id, check_in_date, check_out_date, total_amount, status,"
+                + " reservation_type, payment_method, created_at) VALUES ('" + id + "', 1, " + roomId + ", DATE '" + checkIn
+                + "', DATE '" + checkIn.plusDays(1) + "', 100.00, 'PENDING', 'ONLINE', 'ONLINE_GATEWAY', " + createdAt + ")");
+        execute("INSERT INTO room_night_claims (room_id, night, reservation_id) VALUES (" + roomId + ", DATE '" + checkIn + "', '" + id + "')");
+        if (queueNotification) {
+            execute("INSERT INTO notification_outbox (reservation_id, kind) VALUES ('" + id + "', 'CONFIRMATION_EMAIL')");
+        }
+    }
+
+    private static String roomStatus() throws SQLException {
+        return queryString("SELECT status FROM rooms WHERE id = 7");
+    }
+}
@@ -0,0 +1,185 @@
+package com.hotelreservation.service;
+
+import com.hotelreservation.dto.GuestDTO;
+import com.hotelreservation.dto.PageCursor;
+import com.hotelreservation.dto.ReservationDTO;
+import com.hotelreservation.dto.ReservationFilter;
+import com.hotelreservation.dto.ReservationPage;
+import com.hotelreservation.dto.RoomDTO;
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.exception.PaymentException;
+import com.hotelreservation.exception.RoomNotAvailableException;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.PaymentStep;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.service.impl.BookingService;
+import com.hotelreservation.service.impl.OnlineResService;
+import com.hotelreservation.service.impl.WalkInResService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the BookingService commit path
+ * Tests that bookings go through ReservationRepository.saveBooking in one step
+ * and that conflicts and declined payments leave nothing behind.
+ */
+public class BookingServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2026, 7, 4);
+
+    private ReservationRepository reservationRepository;
+    private RoomService roomService;
+    private PaymentService paymentService;
+    private BookingService bookingService;
+    private GuestDTO guestDTO;
+
+    @Before
+    public void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        roomService = mock(RoomService.class);
+        paymentService = mock(PaymentService.class);
+        GuestRepository guestRepository = mock(GuestRepository.class);
+
+        when(roomService.getRoomById(7)).thenReturn(new RoomDTO(7, "107", "SINGLE", 100.00, "AVAILABLE", true));
+        when(guestRepository.findById(3)).thenReturn(Optional.of(
+                new Guest(3, "Jane Doe", "NIC3", "0771234567", null, null)));
+        guestDTO = new GuestDTO(3, "Jane Doe", "NIC3", "0771234567", null, null);
+
+        bookingService = new BookingService(new OnlineResService(reservationRepository),
+                new WalkInResService(reservationRepository), roomService, paymentService,
+                reservationRepository, guestRepository);
+    }
+
+    @Test
+    public void testWalkInBookingCommitsInOneStep() throws Exception {
+        when(paymentService.processPayment(anyDouble(), any())).thenReturn(true);
+        when(reservationRepository.saveBooking(any(Reservation.class), eq("RESERVED"), any(PaymentStep.class)))
+                .thenAnswer(inv -> {
+                    Reservation reservation = inv.getArgument(0);
+                    ((PaymentStep) inv.getArgument(2)).charge(reservation);
+                    return reservation;
+                });
+
+        ReservationDTO dto = bookingService.makeWalkInReservation(guestDTO, 7, CHECK_IN, CHECK_OUT);
+
+        assertEquals("CONFIRMED", dto.getStatus());
+        assertEquals(300.00, dto.getTotalAmount(), 0.001);
+        verify(paymentService).processPayment(eq(300.00), any());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(roomService, never()).updateRoomStatus(anyInt(), anyString());
+    }
+
+    @Test
+    public void testDeclinedPaymentRollsBackWithoutCancelledRow() throws Exception {
+        when(paymentService.processPayment(anyDouble(), any())).thenReturn(false);
+        when(reservationRepository.saveBooking(any(Reservation.class), anyString(), any(PaymentStep.class)))
+                .thenAnswer(inv -> ((PaymentStep) inv.getArgument(2)).charge(inv.getArgument(0)));
+
+        try {
+            bookingService.makeWalkInReservation(guestDTO, 7, CHECK_IN, CHECK_OUT);
+            fail("Expected PaymentException");
+        } catch (PaymentException e) {
+            assertEquals("Payment declined at POS terminal", e.getMessage());
+        }
+        verify(reservationRepository, never()).update(any(Reservation.class));
+    }
+
+    @Test
+    public void testChargeRefundedWhenBookingCannotBeRecorded() throws Exception {
+        when(paymentService.processPayment(anyDouble(), any())).thenReturn(true);
+        boolean[] refunded = new boolean[1];
+        when(reservationRepository.saveBooking(any(Reservation.class), anyString(), any(PaymentStep.class)))
+                .thenAnswer(inv -> {
+                    PaymentStep payment = inv.getArgument(2);
+                    String transactionId = payment.charge(inv.getArgument(0));
+                    refunded[0] = payment.refund(inv.getArgument(0), transactionId);
+                    return null;
+                });
+
+        try {
+            bookingService.makeWalkInReservation(guestDTO, 7, CHECK_IN, CHECK_OUT);
+            fail("Expected the booking to fail");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().startsWith("Failed to save reservation"));
+        }
+        assertTrue(refunded[0]);
+        verify(paymentService).processPayment(eq(300.00), any());
+    }
+
+    @Test
+    public void testConflictingBookingIsNeverCharged() throws Exception {
+        when(reservationRepository.saveBooking(any(Reservation.class), anyString(), any(PaymentStep.class)))
+                .thenThrow(new RoomNotAvailableException("Room 7 is already booked"));
+
+        try {
+            bookingService.makeOnlineReservation(guestDTO, 7, CHECK_IN, CHECK_OUT);
+            fail("Expected RoomNotAvailableException");
+        } catch (RoomNotAvailableException e) {
+            assertEquals("ROOM_NOT_AVAILABLE", e.getErrorCode());
+        }
+        verify(paymentService, never()).processPayment(anyDouble(), any());
+        verify(paymentService, never()).processPayment(anyDouble());
+    }
+
+    @Test
+    public void testAllReservationsStreamedIntoDtos() {
+        when(reservationRepository.forEach(any())).thenAnswer(inv -> {
+            java.util.function.Consumer<Reservation> action = inv.getArgument(0);
+            action.accept(new OnlineReservation("RES-1", 3, 7, CHECK_IN, CHECK_OUT, 300.00));
+            action.accept(new OnlineReservation("RES-2", 3, 7, CHECK_OUT, CHECK_OUT.plusDays(1), 100.00));
+            return 2;
+        });
+
+        List<ReservationDTO> all = bookingService.getAllReservations();
+
+        assertEquals(2, all.size());
+        assertEquals("RES-2", all.get(1).getId());
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    public void testReservationPageSeeksFromCursor() {
+        when(reservationRepository.findPage(any(ReservationFilter.class), any(), eq(3))).thenAnswer(inv -> {
+            List<Reservation> rows = new java.util.ArrayList<>();
+            for (int i = 3; i >= 1; i--) {
+                Reservation row = new OnlineReservation("RES-" + i, 3, 7, CHECK_IN, CHECK_OUT, 300.00);
+                row.setCreatedAt(1_000L * i);
+                rows.add(row);
+            }
+            return rows;
+        });
+
+        ReservationPage page = bookingService.getReservationPage(
+                new ReservationFilter(3, "CONFIRMED", ""), "5000:RES-9", 2);
+
+        assertEquals(2, page.getReservations().size());
+        assertEquals("2000:RES-2", page.getNextCursor());
+        verify(reservationRepository).findPage(argThat(filter -> filter.getGuestId() == 3
+                        && "CONFIRMED".equals(filter.getStatus()) && filter.getReservationType() == null),
+                argThat(cursor -> cursor.getCreatedAt() == 5000L && "RES-9".equals(cursor.getId())), eq(3));
+    }
+
+    @Test
+    public void testLastPageHasNoCursorAndBadCursorMeansFirstPage() {
+        when(reservationRepository.findPage(any(ReservationFilter.class), isNull(), anyInt()))
+                .thenReturn(java.util.Collections.singletonList(
+                        new OnlineReservation("RES-1", 3, 7, CHECK_IN, CHECK_OUT, 300.00)));
+
+        ReservationPage page = bookingService.getReservationPage(ReservationFilter.all(), "not-a-cursor", 20);
+
+        assertEquals(1, page.getReservations().size());
+        assertFalse(page.hasNext());
+        assertNull(PageCursor.decode("abc:RES-1"));
+        assertEquals("ONL_x:y", PageCursor.decode("12:ONL_x:y").getId());
+    }
+}
@@ -0,0 +1,162 @@
+package com.hotelreservation.service;
+
+import com.hotelreservation.adapter.IPaymentAdapter;
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.service.impl.OnlineResService;
+import com.hotelreservation.service.impl.PaymentServiceImpl;
+import com.hotelreservation.service.impl.WalkInResService;
+import com.hotelreservation.strategy.SeasonalRateStrategy;
+import com.hotelreservation.strategy.StandardRateStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Multi-threaded stress tests for the booking path
+ * One shared OnlineResService/WalkInResService/PaymentServiceImpl is hammered from many
+ * threads, each with its own BookingContext and payment adapter; every result must
+ * carry only its own request's dates, price and adapter.
+ */
+public class ConcurrentBookingTest {
+
+    private static final int THREADS = 32;
+    private static final int BOOKINGS_PER_THREAD = 200;
+
+    private ExecutorService executor;
+    private ReservationRepository mockRepository;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        mockRepository = mock(ReservationRepository.class);
+        when(mockRepository.save(any(Reservation.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSharedReservationServicesHaveNoCrossTalk() throws Exception {
+        OnlineResService online = new OnlineResService(mockRepository);
+        WalkInResService walkIn = new WalkInResService(mockRepository);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int threadNo = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int checked = 0;
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    // Every request gets distinct dates, room, rate and multiplier
+                    int nights = 1 + (threadNo + i) % 9;
+                    LocalDate checkIn = LocalDate.of(2026, 1, 1).plusDays(threadNo * 10L + i);
+                    LocalDate checkOut = checkIn.plusDays(nights);
+                    double multiplier = 1.0 + threadNo / 10.0;
+                    double baseRate = 100.0 + i;
+                    BookingContext context = new BookingContext(checkIn, checkOut,
+                            threadNo % 2 == 0 ? new SeasonalRateStrategy(multiplier) : new StandardRateStrategy());
+                    Room room = new Room(threadNo * 1000 + i, "R" + i, "SINGLE", baseRate, "AVAILABLE", true);
+                    Guest guest = new Guest(threadNo, "Guest " + threadNo, "NIC" + threadNo, "070000000", null, null);
+
+                    ReservationService service = i % 2 == 0 ? online : walkIn;
+                    Reservation reservation = service.processBooking(guest, room, context);
+
+                    double expected = nights * baseRate * (threadNo % 2 == 0 ? multiplier : 1.0);
+                    assertEquals(checkIn, reservation.getCheckInDate());
+                    assertEquals(checkOut, reservation.getCheckOutDate());
+                    assertEquals(room.getId(), reservation.getRoomId());
+                    assertEquals(threadNo, reservation.getGuestId());
+                    assertEquals(expected, reservation.getTotalAmount(), 0.0001);
+                    assertEquals(service.getReservationType(), reservation.getReservationType());
+                    checked++;
+                }
+                return checked;
+            }));
+        }
+
+        start.countDown();
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, sum(futures));
+        verify(mockRepository, times(THREADS * BOOKINGS_PER_THREAD)).save(any(Reservation.class));
+    }
+
+    @Test
+    public void testPerRequestAdaptersDoNotReplaceDefault() throws Exception {
+        IPaymentAdapter defaultAdapter = mock(IPaymentAdapter.class);
+        when(defaultAdapter.getAdapterName()).thenReturn("DEFAULT");
+        PaymentServiceImpl paymentService = new PaymentServiceImpl(defaultAdapter);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final double amount = 100.0 + t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int paid = 0;
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    RecordingAdapter adapter = new RecordingAdapter();
+                    assertTrue(paymentService.processPayment(amount, adapter));
+                    assertEquals(1, adapter.calls);
+                    assertEquals(amount, adapter.lastAmount, 0.0001);
+                    paid++;
+                }
+                return paid;
+            }));
+        }
+
+        start.countDown();
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, sum(futures));
+        assertSame(defaultAdapter, paymentService.getCurrentAdapter());
+        verify(defaultAdapter, never()).pay(anyDouble());
+    }
+
+    private static int sum(List<Future<Integer>> futures) throws Exception {
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get(60, TimeUnit.SECONDS);
+        }
+        return total;
+    }
+
+    /**
+     * Adapter that records what it was asked to charge
+     */
+    private static class RecordingAdapter implements IPaymentAdapter {
+        private int calls;
+        private double lastAmount;
+
+        @Override
+        public boolean pay(double amount) {
+            calls++;
+            lastAmount = amount;
+            return true;
+        }
+
+        @Override
+        public String getAdapterName() {
+            return "RECORDING";
+        }
+
+        @Override
+        public String getPaymentDetails() {
+            return "Recorded " + lastAmount;
+        }
+    }
+}
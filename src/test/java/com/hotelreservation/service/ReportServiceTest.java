@@ -0,0 +1,137 @@
+package com.hotelreservation.service;
+
+import com.hotelreservation.cache.ReportingCounters;
+import com.hotelreservation.dto.ReportSnapshot;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.repository.StayVisitor;
+import com.hotelreservation.service.impl.ReportServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportServiceImpl
+ * Tests that reports are built from one aggregate snapshot instead of per-counter queries.
+ */
+public class ReportServiceTest {
+
+    private ReservationRepository reservationRepository;
+    private RoomRepository roomRepository;
+    private ReportServiceImpl reportService;
+
+    @Before
+    public void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        roomRepository = mock(RoomRepository.class);
+
+        when(reservationRepository.getReportSnapshot()).thenAnswer(inv -> {
+            ReportSnapshot snapshot = new ReportSnapshot();
+            snapshot.addReservations("CHECKED_OUT", "ONLINE", 3, 900.00);
+            snapshot.addReservations("CHECKED_OUT", "WALK_IN", 1, 100.00);
+            snapshot.addReservations("CANCELLED", "ONLINE", 2, 400.00);
+            snapshot.addReservations("CONFIRMED", "WALK_IN", 4, 800.00);
+            return snapshot;
+        });
+        Map<String, Integer> rooms = new HashMap<>();
+        rooms.put("AVAILABLE", 5);
+        rooms.put("OCCUPIED", 3);
+        rooms.put("RESERVED", 1);
+        rooms.put("UNDER_MAINTENANCE", 1);
+        when(roomRepository.countAllByStatus()).thenReturn(rooms);
+
+        reportService = new ReportServiceImpl(reservationRepository, roomRepository);
+    }
+
+    @Test
+    public void testRevenueCountsOnlyCheckedOut() {
+        String report = reportService.getRevenueStats();
+        assertTrue(report.contains("Total Revenue: $1000.00"));
+        assertTrue(report.contains("Completed Reservations: 4"));
+        assertTrue(report.contains("Cancelled Reservations: 2"));
+    }
+
+    @Test
+    public void testOccupancyFromGroupedRoomCounts() {
+        String report = reportService.getOccupancyStats();
+        assertTrue(report.contains("Total Rooms: 10"));
+        assertTrue(report.contains("Occupancy Rate: 30.00%"));
+        verify(roomRepository, never()).findAll();
+        verify(roomRepository, never()).countByStatus(anyString());
+    }
+
+    @Test
+    public void testCancellationAndTypeBreakdown() {
+        assertTrue(reportService.getCancellationStats().contains("Cancellation Rate: 20.00%"));
+        String breakdown = reportService.getReservationTypeBreakdown();
+        assertTrue(breakdown.contains("Online: 5 (50.00%)"));
+        assertTrue(breakdown.contains("Walk-In: 5 (50.00%)"));
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    public void testComprehensiveReportUsesOneSnapshot() {
+        String report = reportService.getComprehensiveReport();
+        assertTrue(report.contains("OCCUPANCY STATISTICS"));
+        assertTrue(report.contains("RESERVATION TYPE BREAKDOWN"));
+        verify(reservationRepository, times(1)).getReportSnapshot();
+        verify(roomRepository, times(1)).countAllByStatus();
+        verifyNoMoreInteractions(reservationRepository, roomRepository);
+    }
+
+    @Test
+    public void testDateRangeOccupancyFromStreamedStays() {
+        when(reservationRepository.forEachStayInRange(any(), any(), any())).thenAnswer(inv -> {
+            StayVisitor visitor = inv.getArgument(2);
+            // Starts before the range: only 2026-03-01 counts, at 100/night
+            visitor.visit(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 2), 200.00);
+            // Two nights inside the range at 150/night
+            visitor.visit(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3), 300.00);
+            // Runs past the range: only 2026-03-03 counts
+            visitor.visit(LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 10), 700.00);
+            return 3;
+        });
+
+        String report = reportService.getOccupancyStatsByDateRange("2026-03-01", "2026-03-03");
+        assertTrue(report.contains("Nights: 3"));
+        assertTrue(report.contains("Peak Occupancy: 2 rooms (20.00%) on 2026-03-01"));
+        assertTrue(report.contains("2026-03-02: 1/10 (10.00%)"));
+        assertTrue(report.contains("2026-03-03: 1/10 (10.00%)"));
+        // 4 of 30 room-nights; (100 + 150 + 150 + 100) / 30
+        assertTrue(report.contains("Average Occupancy Rate: 13.33%"));
+        assertTrue(report.contains("Room Revenue: $500.00"));
+        assertTrue(report.contains("RevPAR: $16.67"));
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    public void testDateRangeOccupancyRejectsReversedRange() {
+        String report = reportService.getOccupancyStatsByDateRange("2026-03-05", "2026-03-01");
+        assertTrue(report.startsWith("Error"));
+        verify(reservationRepository, never()).forEachStayInRange(any(), any(), any());
+    }
+
+    @Test
+    public void testDateRangeRevenueTotalIsTheSumOfTheDays() {
+        ReportingCounters counters = mock(ReportingCounters.class);
+        Map<LocalDate, Double> daily = new TreeMap<>();
+        daily.put(LocalDate.of(2026, 3, 2), 150.00);
+        daily.put(LocalDate.of(2026, 3, 4), 275.50);
+        when(counters.getDailyRevenue(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31))).thenReturn(daily);
+        reportService = new ReportServiceImpl(reservationRepository, roomRepository, counters);
+
+        String report = reportService.getRevenueStatsByDateRange("2026-03-01", "2026-03-31");
+
+        assertTrue(report.contains("Total Revenue: $425.50"));
+        assertTrue(report.contains("2026-03-04: $275.50"));
+        verify(reservationRepository, never()).getRevenueByDateRange(any(), any());
+        verify(reservationRepository, never()).getDailyRevenue(any(), any());
+    }
+}
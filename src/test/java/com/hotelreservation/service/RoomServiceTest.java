@@ -0,0 +1,55 @@
+package com.hotelreservation.service;
+
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.repository.RoomRepository;
+import com.hotelreservation.service.impl.RoomServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RoomServiceImpl
+ * Tests that bulk status changes read only the selected rooms and write them in one batch.
+ */
+public class RoomServiceTest {
+
+    private RoomRepository roomRepository;
+    private RoomServiceImpl roomService;
+
+    @Before
+    public void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        roomService = new RoomServiceImpl(roomRepository);
+    }
+
+    @Test
+    public void testBulkStatusChangeReadsOnlySelectedRooms() {
+        List<Integer> ids = List.of(3, 7);
+        when(roomRepository.findByIds(ids)).thenReturn(new ArrayList<>(List.of(
+                new Room(3, "103", "SINGLE", 100.0, "UNDER_MAINTENANCE", false),
+                new Room(7, "107", "DOUBLE", 150.0, "UNDER_MAINTENANCE", false))));
+        when(roomRepository.updateAll(any())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        assertEquals(2, roomService.updateRoomStatuses(ids, "AVAILABLE", true));
+
+        verify(roomRepository).updateAll(argThat(rooms -> rooms.size() == 2
+                && rooms.stream().allMatch(room -> "AVAILABLE".equals(room.getStatus()) && room.isClean())));
+        verify(roomRepository, never()).forEach(any());
+        verify(roomRepository, never()).findAll();
+    }
+
+    @Test
+    public void testBulkStatusChangeWithUnknownRoomsUpdatesNothing() {
+        when(roomRepository.findByIds(List.of(99))).thenReturn(new ArrayList<>());
+
+        assertEquals(0, roomService.updateRoomStatuses(List.of(99), "UNDER_MAINTENANCE", false));
+
+        verify(roomRepository, never()).updateAll(any());
+    }
+}
@@ -1,11 +1,15 @@
 package com.hotelreservation.strategy;
 
 import org.junit.Test;
+
+import java.time.LocalDate;
+
 import static org.junit.Assert.*;
 
 /**
  * Unit tests for Strategy Pattern — IPricingStrategy implementations
- * Tests StandardRateStrategy and SeasonalRateStrategy pricing calculations.
+ * Tests StandardRateStrategy and SeasonalRateStrategy pricing calculations,
+ * and the per-night NightlyRateEngine.
  */
 public class PricingStrategyTest {
 
@@ -150,5 +154,46 @@ public class PricingStrategyTest {
         assertEquals(1137.50, seasonalResult, 0.001);
         assertTrue(seasonalResult > standardResult);
     }
-}
 
+    // =============================================
+    //  NightlyRateEngine Tests
+    // =============================================
+
+    /** Calendar from 2026-07-01: three nights at 1.0, then two at 1.5 */
+    private static NightlyRateEngine julyEngine() {
+        return new NightlyRateEngine(LocalDate.of(2026, 7, 1), new double[] {1.0, 1.0, 1.0, 1.5, 1.5});
+    }
+
+    @Test
+    public void testNightlyRateSplitsStayAtSeasonBoundary() {
+        NightlyRateBreakdown breakdown = julyEngine().price(100.00, LocalDate.of(2026, 7, 2), LocalDate.of(2026, 7, 6));
+        assertEquals(4, breakdown.getNights());
+        assertEquals(100.00, breakdown.getRate(0), 0.001);
+        assertEquals(150.00, breakdown.getRate(2), 0.001);
+        assertEquals(500.00, breakdown.getTotal(), 0.001);
+        assertEquals(2, breakdown.getRateRuns().size());
+        assertEquals(LocalDate.of(2026, 7, 4), breakdown.getRateRuns().get(1).getFirstNight());
+    }
+
+    @Test
+    public void testNightlyRateOutsideCalendarUsesBaseRate() {
+        NightlyRateBreakdown breakdown = julyEngine().price(80.00, LocalDate.of(2026, 6, 29), LocalDate.of(2026, 7, 8));
+        assertEquals(9, breakdown.getNights());
+        // 2 before + 3 standard + 2 peak + 2 after
+        assertEquals(80.00 * 7 + 120.00 * 2, breakdown.getTotal(), 0.001);
+        assertEquals(80.00, breakdown.getRate(8), 0.001);
+    }
+
+    @Test
+    public void testNightlyRateMatchesStrategyWithinOneSeason() {
+        NightlyRateBreakdown breakdown = julyEngine().price(175.00, LocalDate.of(2026, 7, 4), LocalDate.of(2026, 7, 6));
+        assertEquals(new SeasonalRateStrategy(1.5).calculateTotal(2, 175.00), breakdown.getTotal(), 0.001);
+    }
+
+    @Test
+    public void testNightlyRateSameDayChargesOneNight() {
+        NightlyRateBreakdown breakdown = NightlyRateEngine.STANDARD.price(99.99, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 1));
+        assertEquals(1, breakdown.getNights());
+        assertEquals(99.99, breakdown.getTotal(), 0.001);
+    }
+}
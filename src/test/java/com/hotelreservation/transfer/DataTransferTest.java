@@ -0,0 +1,197 @@
+package com.hotelreservation.transfer;
+
+import com.hotelreservation.entity.Guest;
+import com.hotelreservation.entity.OnlineReservation;
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import com.hotelreservation.entity.WalkInReservation;
+import com.hotelreservation.repository.GuestRepository;
+import com.hotelreservation.repository.ReservationRepository;
+import com.hotelreservation.repository.RoomRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DataTransfer
+ * Tests CSV/JSON Lines round trips, batching across parse workers, rejected records
+ * and ID re-mapping on import, with mocked repositories and temporary files.
+ */
+public class DataTransferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private RoomRepository roomRepository;
+    private GuestRepository guestRepository;
+    private ReservationRepository reservationRepository;
+    private PrintStream out;
+
+    @Before
+    public void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        guestRepository = mock(GuestRepository.class);
+        reservationRepository = mock(ReservationRepository.class);
+        out = new PrintStream(new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void testCsvRoundTripKeepsAwkwardValues() throws IOException {
+        DataTransfer transfer = new DataTransfer(roomRepository, guestRepository, reservationRepository,
+                RecordFormat.forName("csv"), 2, 2, out);
+        List<Guest> guests = List.of(
+                new Guest(1, "Perera, Nimal", "901234567V", "0771234567", null, "12 \"Sea View\"\nGalle"),
+                new Guest(2, "Ann", "885551234V", "0719876543", "ann@example.com", ""));
+        Path file = folder.getRoot().toPath().resolve("guests.csv");
+
+        transfer.export(EntityRecords.guests(), file, visitAll(guests));
+        List<Guest> imported = new ArrayList<>();
+        TransferProgress progress = transfer.importRecords(EntityRecords.guests(), file, batch -> {
+            imported.addAll(batch);
+            return batch.size();
+        });
+
+        assertEquals(2, progress.getRecords());
+        assertEquals("Perera, Nimal", imported.get(0).getName());
+        assertNull(imported.get(0).getEmail());
+        assertEquals("12 \"Sea View\"\nGalle", imported.get(0).getAddress());
+        assertEquals("", imported.get(1).getAddress());
+        assertEquals("ann@example.com", imported.get(1).getEmail());
+    }
+
+    @Test
+    public void testJsonImportKeepsFileOrderAcrossWorkersAndRejectsBadRecords() throws IOException {
+        DataTransfer transfer = new DataTransfer(roomRepository, guestRepository, reservationRepository,
+                RecordFormat.forName("json"), 3, 4, out);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            LocalDate checkIn = LocalDate.of(2025, 1, i);
+            Reservation reservation = i % 2 == 0
+                    ? new OnlineReservation("RES-" + i, 7, 3, checkIn, checkIn.plusDays(2), 150.5 * i)
+                    : new WalkInReservation("RES-" + i, 7, 3, checkIn, checkIn.plusDays(1), 99.99);
+            reservation.setStatus("CHECKED_OUT");
+            reservation.setCreatedAt(1_700_000_000_000L + i);
+            reservations.add(reservation);
+        }
+        Path file = folder.getRoot().toPath().resolve("reservations.jsonl");
+        transfer.export(EntityRecords.reservations(id -> id, id -> id), file, visitAll(reservations));
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.add(4, "{\"id\":\"RES-BAD\",\"reservation_type\":\"ONLINE\",\"guest_id\":7}");
+        Files.write(file, lines);
+
+        List<Integer> batchSizes = new ArrayList<>();
+        List<Reservation> imported = new ArrayList<>();
+        TransferProgress progress = transfer.importRecords(EntityRecords.reservations(id -> id + 100, id -> id), file, batch -> {
+            batchSizes.add(batch.size());
+            imported.addAll(batch);
+            return batch.size();
+        });
+
+        assertEquals(10, progress.getRecords());
+        assertEquals(1, progress.getRejected());
+        assertEquals(List.of(3, 2, 3, 2), batchSizes);
+        for (int i = 0; i < 10; i++) {
+            Reservation original = reservations.get(i);
+            Reservation copy = imported.get(i);
+            assertEquals(original.getId(), copy.getId());
+            assertEquals(original.getReservationType(), copy.getReservationType());
+            assertEquals(107, copy.getGuestId());
+            assertEquals(original.getCheckOutDate(), copy.getCheckOutDate());
+            assertEquals(original.getTotalAmount(), copy.getTotalAmount(), 0.001);
+            assertEquals("CHECKED_OUT", copy.getStatus());
+            assertEquals(original.getCreatedAt(), copy.getCreatedAt());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportAllPointsReservationsAtNewIds() throws IOException {
+        DataTransfer transfer = new DataTransfer(roomRepository, guestRepository, reservationRepository,
+                RecordFormat.forName("csv"), 100, 2, out);
+        Path dir = folder.getRoot().toPath();
+        Files.write(dir.resolve("rooms.csv"), List.of("id,number,type,base_price,status,is_clean", "5,101,SINGLE,100.00,AVAILABLE,true"));
+        Files.write(dir.resolve("guests.csv"), List.of("id,name,nic,phone", "9,Ann,885551234V,0719876543"));
+        Files.write(dir.resolve("reservations.csv"), List.of(
+                "id,reservation_type,guest_id,room_id,check_in_date,check_out_date,total_amount,status",
+                "RES-1,WALK_IN,9,5,2025-03-01,2025-03-03,200.00,CONFIRMED"));
+        when(roomRepository.saveAll(anyList())).thenAnswer(call -> {
+            List<Room> rooms = call.getArgument(0);
+            rooms.forEach(room -> room.setId(51));
+            return rooms;
+        });
+        when(guestRepository.saveAll(anyList())).thenAnswer(call -> {
+            List<Guest> guests = call.getArgument(0);
+            guests.forEach(guest -> guest.setId(91));
+            return guests;
+        });
+        List<Reservation> saved = new ArrayList<>();
+        when(reservationRepository.saveAll(anyList())).thenAnswer(call -> {
+            saved.addAll(call.getArgument(0));
+            return call.getArgument(0);
+        });
+
+        transfer.importAll(dir);
+
+        assertEquals(1, saved.size());
+        assertEquals(91, saved.get(0).getGuestId());
+        assertEquals(51, saved.get(0).getRoomId());
+        verify(roomRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportAllRejectsReservationsOfGuestsThatWereNotImported() throws IOException {
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        DataTransfer transfer = new DataTransfer(roomRepository, guestRepository, reservationRepository,
+                RecordFormat.forName("csv"), 100, 2, new PrintStream(printed));
+        Path dir = folder.getRoot().toPath();
+        Files.write(dir.resolve("guests.csv"), List.of("id,name,nic,phone", "9,Ann,885551234V,0719876543"));
+        Files.write(dir.resolve("reservations.csv"), List.of(
+                "id,reservation_type,guest_id,room_id,check_in_date,check_out_date,total_amount,status",
+                "RES-1,WALK_IN,9,5,2025-03-01,2025-03-03,200.00,CONFIRMED"));
+        // The guest batch is rolled back; with no rooms file, room 5 is taken as it is
+        when(guestRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
+        List<Reservation> saved = new ArrayList<>();
+        when(reservationRepository.saveAll(anyList())).thenAnswer(call -> {
+            saved.addAll(call.getArgument(0));
+            return call.getArgument(0);
+        });
+
+        transfer.importAll(dir);
+
+        assertTrue(saved.isEmpty());
+        verify(reservationRepository, never()).saveAll(anyList());
+        assertTrue(printed.toString().contains("rejected record 1: guest_id 9 was not imported"));
+
+        Files.delete(dir.resolve("guests.csv"));
+        transfer.importAll(dir);
+
+        assertEquals(1, saved.size());
+        assertEquals(9, saved.get(0).getGuestId());
+        assertEquals(5, saved.get(0).getRoomId());
+    }
+
+    private static <T> ToIntFunction<Consumer<T>> visitAll(List<T> entities) {
+        return action -> {
+            entities.forEach(action);
+            return entities.size();
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.hotelreservation.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for QueryLogger
+ * Tests ring-buffer wrap-around, lazy parameter formatting, clear and the disabled path.
+ */
+public class QueryLoggerTest {
+
+    private QueryLogger queryLogger;
+
+    @Before
+    public void setUp() {
+        queryLogger = new QueryLogger(4, true);
+    }
+
+    @Test
+    public void testNewestFirstAndOldestOverwritten() {
+        for (int i = 1; i <= 6; i++) {
+            queryLogger.logSuccess("SELECT " + i, null, i, i, "TestDAO");
+        }
+
+        List<QueryLogger.QueryEntry> entries = queryLogger.getEntries();
+        assertEquals(4, entries.size());
+        assertEquals(4, queryLogger.size());
+        assertEquals("SELECT 6", entries.get(0).sql);
+        assertEquals("SELECT 3", entries.get(3).sql);
+        assertNotNull(entries.get(0).timestamp);
+        assertTrue(entries.get(0).epochNanos >= entries.get(3).epochNanos);
+    }
+
+    @Test
+    public void testParamsFormattedOnlyWhenRead() {
+        StringBuilder params = new StringBuilder("id=1");
+        queryLogger.logSuccess("SELECT 1", params, 1, 0, "TestDAO");
+        queryLogger.logError("SELECT 2", new Object[]{7, "CONFIRMED"}, 0, "boom", "TestDAO");
+        params.append(", late=true");
+
+        List<QueryLogger.QueryEntry> entries = queryLogger.getEntries();
+        assertEquals("[7, CONFIRMED]", entries.get(0).params);
+        assertFalse(entries.get(0).isSuccess());
+        assertEquals("id=1, late=true", entries.get(1).params);
+    }
+
+    @Test
+    public void testClearAndDisabled() {
+        queryLogger.logSuccess("SELECT 1", null, 0, 0, "TestDAO");
+        queryLogger.clear();
+        assertEquals(0, queryLogger.size());
+        assertTrue(queryLogger.getEntries().isEmpty());
+
+        queryLogger.setEnabled(false);
+        queryLogger.logSuccess("SELECT 2", null, 0, 0, "TestDAO");
+        assertTrue(queryLogger.getEntries().isEmpty());
+
+        queryLogger.setEnabled(true);
+        queryLogger.logSuccess("SELECT 3", null, 0, 0, "TestDAO");
+        assertEquals(1, queryLogger.getEntries().size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotelreservation.util;
+
+import com.hotelreservation.entity.Reservation;
+import com.hotelreservation.entity.Room;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SeedDataGenerator
+ * Tests that a seed always gives the same data and that the stays it lays out are plausible.
+ */
+public class SeedDataGeneratorTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 1);
+    private static final LocalDate AS_OF = LocalDate.of(2025, 7, 1);
+
+    @Test
+    public void testSameSeedGivesSameData() {
+        SeedDataGenerator first = new SeedDataGenerator(7, 20, 500, START, END, AS_OF, 0.12);
+        SeedDataGenerator second = new SeedDataGenerator(7, 20, 500, START, END, AS_OF, 0.12);
+
+        // Generate the second one's rooms backwards: each room has its own random stream
+        List<String> forward = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            forward.addAll(describe(first, i));
+        }
+        List<String> backward = new ArrayList<>();
+        for (int i = 19; i >= 0; i--) {
+            backward.addAll(0, describe(second, i));
+        }
+
+        assertEquals(forward, backward);
+        assertEquals(first.guest(123).getName(), second.guest(123).getName());
+        assertEquals(first.room(5).getType(), second.room(5).getType());
+        assertNotEquals(forward, describeAll(new SeedDataGenerator(8, 20, 500, START, END, AS_OF, 0.12)));
+    }
+
+    @Test
+    public void testStaysDoNotOverlapAndFollowTheAsOfDate() {
+        SeedDataGenerator generator = new SeedDataGenerator(42, 30, 1000, START, END, AS_OF, 0.12);
+        Map<String, Integer> statuses = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            Room room = generator.room(i);
+            LocalDate[] occupiedUntil = {START};
+            generator.reservations(i, room.getId(), index -> index + 1, reservation -> {
+                statuses.merge(reservation.getStatus(), 1, Integer::sum);
+                assertTrue(reservation.getGuestId() >= 1 && reservation.getGuestId() <= 1000);
+                assertTrue(reservation.getTotalAmount() > 0);
+                assertFalse(reservation.getCheckOutDate().isAfter(reservation.getCheckInDate().plusDays(14)));
+                if ("CANCELLED".equals(reservation.getStatus())) {
+                    return;
+                }
+                assertFalse(reservation.getCheckInDate().isBefore(occupiedUntil[0]));
+                occupiedUntil[0] = reservation.getCheckOutDate();
+                switch (reservation.getStatus()) {
+                    case "CHECKED_OUT" -> assertFalse(reservation.getCheckOutDate().isAfter(AS_OF));
+                    case "CHECKED_IN" -> assertTrue(!reservation.getCheckInDate().isAfter(AS_OF)
+                            && reservation.getCheckOutDate().isAfter(AS_OF));
+                    default -> assertTrue(reservation.getCheckInDate().isAfter(AS_OF));
+                }
+            });
+        }
+
+        int total = statuses.values().stream().mapToInt(Integer::intValue).sum();
+        double cancelled = statuses.getOrDefault("CANCELLED", 0) / (double) total;
+        assertTrue("cancelled share " + cancelled, cancelled > 0.05 && cancelled < 0.2);
+        assertTrue(statuses.get("CHECKED_OUT") > statuses.get("CONFIRMED"));
+    }
+
+    @Test
+    public void testSummerIsBusierThanSpring() {
+        SeedDataGenerator generator = new SeedDataGenerator(42, 40, 1000, START, END, AS_OF, 0.0);
+        int[] nightsByMonth = new int[13];
+        for (int i = 0; i < 40; i++) {
+            generator.reservations(i, i + 1, index -> index + 1, reservation -> {
+                for (LocalDate night = reservation.getCheckInDate(); night.isBefore(reservation.getCheckOutDate());
+                     night = night.plusDays(1)) {
+                    nightsByMonth[night.getMonthValue()]++;
+                }
+            });
+        }
+
+        assertTrue(nightsByMonth[8] > nightsByMonth[3] * 1.4);
+        assertEquals(1.5, SeedDataGenerator.multiplier(LocalDate.of(2024, 12, 24)), 0.0);
+        assertEquals(0.85, SeedDataGenerator.multiplier(LocalDate.of(2024, 2, 10)), 0.0);
+    }
+
+    private static List<String> describeAll(SeedDataGenerator generator) {
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < generator.getRoomCount(); i++) {
+            all.addAll(describe(generator, i));
+        }
+        return all;
+    }
+
+    private static List<String> describe(SeedDataGenerator generator, int roomIndex) {
+        List<String> rows = new ArrayList<>();
+        Room room = generator.room(roomIndex);
+        rows.add(room.getNumber() + " " + room.getType() + " " + room.getBasePrice());
+        generator.reservations(roomIndex, room.getId(), index -> index + 1, (Reservation reservation) ->
+                rows.add(reservation.getId() + " " + reservation.getGuestId() + " " + reservation.getCheckInDate() + " "
+                        + reservation.getCheckOutDate() + " " + reservation.getStatus() + " " + reservation.getTotalAmount()
+                        + " " + reservation.getCreatedAt()));
+        return rows;
+    }
+}